@@ -49,8 +49,10 @@ tasks.check { dependsOn(integrationTest) }
 dependencies {
     api(project(":line-bot-model"))
     implementation(libs.slf4j.api)
-    implementation(libs.okhttp3.logging.interceptor)
+    implementation(libs.okhttp3)
     implementation(libs.bundles.retrofit2)
+    // Optional. Required only to use MetricsInterceptor.
+    compileOnly(libs.micrometer.core)
 
     testCompileOnly(libs.lombok)
     testAnnotationProcessor(libs.lombok)
@@ -60,6 +62,7 @@ dependencies {
     testImplementation(libs.bundles.tests)
     testImplementation(libs.jul.to.slf4j)
     testImplementation(libs.guava)
+    testImplementation(libs.micrometer.core)
 
     integrationTestImplementation(platform(org.springframework.boot.gradle.plugin.SpringBootPlugin.BOM_COORDINATES))
     integrationTestCompileOnly(libs.lombok)
@@ -0,0 +1,227 @@
+/*
+ * Copyright 2023 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package com.linecorp.bot.client;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+import lombok.Builder;
+
+/**
+ * Limits the number of in-flight requests, adapting the limit to the capacity of the LINE Platform.
+ *
+ * <p>The limit is controlled by AIMD (additive increase, multiplicative decrease). It grows by one per
+ * round of {@code limit} successful responses while latency is stable, and shrinks by
+ * {@code backoffRatio} on {@code 429 Too Many Requests} or by {@code latencyBackoffRatio} when latency
+ * exceeds {@code latencyTolerance} times of its moving average.
+ *
+ * <p>Requests over the limit wait in a queue of up to {@code maxPending} requests without blocking
+ * any thread, and are rejected with {@link com.linecorp.bot.client.exception.RateLimitExceededException}
+ * when the queue is full.
+ *
+ * @see LineMessagingClientBuilder#concurrencyLimiter(AdaptiveConcurrencyLimiter)
+ */
+public final class AdaptiveConcurrencyLimiter {
+    // Weight of a new sample in the moving average of latency.
+    private static final double SMOOTHING = 0.1;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final int maxPending;
+    private final double backoffRatio;
+    private final double latencyBackoffRatio;
+    private final double latencyTolerance;
+
+    // Guarded by this.
+    private double limit;
+    private int inFlight;
+    private double averageLatencyNanos;
+    private long rejectedCount;
+    private final Deque<Runnable> pending = new ArrayDeque<>();
+
+    @Builder
+    private AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, int maxPending,
+                                       double backoffRatio, double latencyBackoffRatio,
+                                       double latencyTolerance) {
+        if (minLimit <= 0 || initialLimit < minLimit || maxLimit < initialLimit) {
+            throw new IllegalArgumentException(
+                    "0 < minLimit <= initialLimit <= maxLimit is required: "
+                    + minLimit + ", " + initialLimit + ", " + maxLimit);
+        }
+        if (maxPending < 0) {
+            throw new IllegalArgumentException("maxPending must not be negative: " + maxPending);
+        }
+        if (!(backoffRatio > 0 && backoffRatio < 1) || !(latencyBackoffRatio > 0 && latencyBackoffRatio < 1)) {
+            throw new IllegalArgumentException("Backoff ratios must be between 0.0 and 1.0: "
+                                               + backoffRatio + ", " + latencyBackoffRatio);
+        }
+        if (!(latencyTolerance > 1)) {
+            throw new IllegalArgumentException(
+                    "latencyTolerance must be greater than 1.0: " + latencyTolerance);
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.maxPending = maxPending;
+        this.backoffRatio = backoffRatio;
+        this.latencyBackoffRatio = latencyBackoffRatio;
+        this.latencyTolerance = latencyTolerance;
+        limit = initialLimit;
+    }
+
+    /**
+     * Current limit of in-flight requests.
+     */
+    public synchronized int getLimit() {
+        return (int) limit;
+    }
+
+    /**
+     * Number of in-flight requests.
+     */
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+
+    /**
+     * Number of requests waiting for the limit.
+     */
+    public synchronized int getPending() {
+        return pending.size();
+    }
+
+    /**
+     * Number of requests rejected since this limiter was created.
+     */
+    public synchronized long getRejectedCount() {
+        return rejectedCount;
+    }
+
+    /**
+     * Runs {@code task} now or when a slot becomes available.
+     *
+     * @return {@code false} if the request is rejected.
+     */
+    boolean acquire(Runnable task) {
+        synchronized (this) {
+            if (inFlight >= (int) limit) {
+                if (pending.size() >= maxPending) {
+                    rejectedCount++;
+                    return false;
+                }
+                pending.add(task);
+                return true;
+            }
+            inFlight++;
+        }
+        task.run();
+        return true;
+    }
+
+    /**
+     * Takes a slot if available now, without waiting.
+     */
+    synchronized boolean tryAcquire() {
+        if (inFlight >= (int) limit) {
+            rejectedCount++;
+            return false;
+        }
+        inFlight++;
+        return true;
+    }
+
+    /**
+     * Releases a slot of a request completed successfully in {@code latencyNanos}.
+     */
+    void onSuccess(long latencyNanos) {
+        synchronized (this) {
+            if (averageLatencyNanos == 0) {
+                averageLatencyNanos = latencyNanos;
+            }
+            if (latencyNanos > averageLatencyNanos * latencyTolerance) {
+                limit = Math.max(minLimit, limit * latencyBackoffRatio);
+            } else if (inFlight * 2 >= limit) {
+                // Grow only while the limit is actually used.
+                limit = Math.min(maxLimit, limit + 1 / limit);
+            }
+            averageLatencyNanos += (latencyNanos - averageLatencyNanos) * SMOOTHING;
+        }
+        release();
+    }
+
+    /**
+     * Releases a slot of a request rejected by the server due to overload.
+     */
+    void onOverload() {
+        synchronized (this) {
+            limit = Math.max(minLimit, limit * backoffRatio);
+        }
+        release();
+    }
+
+    /**
+     * Releases a slot of a request which says nothing about the capacity, e.g. I/O error.
+     */
+    void onIgnore() {
+        release();
+    }
+
+    private void release() {
+        final List<Runnable> tasks = new ArrayList<>(1);
+        synchronized (this) {
+            inFlight--;
+            while (inFlight < (int) limit && !pending.isEmpty()) {
+                inFlight++;
+                tasks.add(pending.poll());
+            }
+        }
+        tasks.forEach(Runnable::run);
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "AdaptiveConcurrencyLimiter(limit=" + (int) limit + ", inFlight=" + inFlight
+               + ", pending=" + pending.size() + ", rejectedCount=" + rejectedCount + ')';
+    }
+
+    public static class AdaptiveConcurrencyLimiterBuilder {
+        // Default values. Other members are filled by lombok.
+
+        /** Initial limit. Default = 20. */
+        private int initialLimit = 20;
+
+        /** Lower bound of limit. Default = 1. */
+        private int minLimit = 1;
+
+        /** Upper bound of limit. Default = 500. */
+        private int maxLimit = 500;
+
+        /** Maximum number of requests waiting for the limit. Default = 10000. */
+        private int maxPending = 10_000;
+
+        /** Ratio to shrink limit on 429 response. Default = 0.5. */
+        private double backoffRatio = 0.5;
+
+        /** Ratio to shrink limit on latency spike. Default = 0.9. */
+        private double latencyBackoffRatio = 0.9;
+
+        /** Latency above this times of its moving average is regarded as a spike. Default = 2.0. */
+        private double latencyTolerance = 2.0;
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2023 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package com.linecorp.bot.client;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigInteger;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.PrivateKey;
+import java.security.spec.RSAPrivateCrtKeySpec;
+import java.util.Base64;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.ToString;
+
+/**
+ * Assertion signing key of a channel, used to sign JWTs to issue channel access tokens v2.1.
+ *
+ * @see <a href="https://developers.line.biz/en/docs/messaging-api/generate-json-web-token/">Issue a JSON Web Token (JWT)</a>
+ */
+@Getter
+@ToString(exclude = "privateKey")
+@AllArgsConstructor(staticName = "of")
+public final class AssertionSigningKey {
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    /**
+     * Key ID ({@code kid}) issued by the LINE Developers Console.
+     */
+    @NonNull
+    private final String keyId;
+
+    /**
+     * RSA private key.
+     */
+    @NonNull
+    private final PrivateKey privateKey;
+
+    /**
+     * Parses a private key in JWK format, which the LINE Developers Console shows on key creation.
+     */
+    public static AssertionSigningKey fromJwk(String jwk) {
+        final JsonNode node;
+        try {
+            node = OBJECT_MAPPER.readTree(jwk);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (!"RSA".equals(node.path("kty").asText())) {
+            throw new IllegalArgumentException("Not an RSA key: kty = " + node.path("kty"));
+        }
+
+        final RSAPrivateCrtKeySpec keySpec = new RSAPrivateCrtKeySpec(
+                parameter(node, "n"), parameter(node, "e"), parameter(node, "d"),
+                parameter(node, "p"), parameter(node, "q"),
+                parameter(node, "dp"), parameter(node, "dq"), parameter(node, "qi"));
+        try {
+            return of(node.path("kid").asText(), KeyFactory.getInstance("RSA").generatePrivate(keySpec));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalArgumentException("Invalid RSA private key", e);
+        }
+    }
+
+    private static BigInteger parameter(JsonNode node, String name) {
+        final String value = node.path(name).asText(null);
+        if (value == null) {
+            throw new IllegalArgumentException("Missing JWK parameter: " + name);
+        }
+        return new BigInteger(1, Base64.getUrlDecoder().decode(value));
+    }
+}
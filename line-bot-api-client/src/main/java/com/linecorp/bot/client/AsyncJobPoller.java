@@ -0,0 +1,219 @@
+/*
+ * Copyright 2023 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package com.linecorp.bot.client;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import com.linecorp.bot.client.exception.CircuitBreakerOpenException;
+import com.linecorp.bot.client.exception.RateLimitExceededException;
+import com.linecorp.bot.model.manageaudience.AudienceGroup;
+import com.linecorp.bot.model.manageaudience.AudienceGroupJob;
+import com.linecorp.bot.model.manageaudience.AudienceGroupJobStatus;
+import com.linecorp.bot.model.manageaudience.AudienceGroupStatus;
+import com.linecorp.bot.model.manageaudience.response.GetAudienceDataResponse;
+import com.linecorp.bot.model.response.NarrowcastProgressResponse;
+import com.linecorp.bot.model.response.NarrowcastProgressResponse.Phase;
+
+import lombok.Builder;
+import lombok.NonNull;
+import lombok.ToString;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Polls asynchronous jobs on the platform until they reach a terminal state.
+ *
+ * <p>All jobs are multiplexed onto one {@link ScheduledExecutorService}; a poll only enqueues an API call,
+ * so one thread can track hundreds of jobs without blocking. Poll intervals grow from
+ * {@code initialInterval} to {@code maxInterval}. Transient failures, i.e. I/O errors, server errors, 429
+ * and local rate limits, are retried at the next poll as {@link RetryableLineMessagingClient} does; other
+ * failures complete the future exceptionally. Cancel the returned future to stop polling.
+ * <pre>{@code
+ * AsyncJobPoller poller = AsyncJobPoller.builder().build();
+ * String requestId = client.narrowcast(narrowcast).join().getRequestId();
+ * poller.awaitNarrowcast(client, requestId)
+ *       .thenAccept(progress -> log.info("Sent to {} users", progress.getSuccessCount()));
+ * }</pre>
+ */
+@Slf4j
+@ToString(exclude = "scheduler")
+public final class AsyncJobPoller {
+    private final Duration initialInterval;
+    private final Duration maxInterval;
+    private final double multiplier;
+    private final double jitter;
+    private final Duration timeout;
+    private final ScheduledExecutorService scheduler;
+
+    @Builder
+    private AsyncJobPoller(@NonNull Duration initialInterval, @NonNull Duration maxInterval, double multiplier,
+                           double jitter, @NonNull Duration timeout, ScheduledExecutorService scheduler) {
+        if (initialInterval.isNegative() || initialInterval.isZero()
+            || maxInterval.compareTo(initialInterval) < 0) {
+            throw new IllegalArgumentException("0 < initialInterval <= maxInterval is required: "
+                                               + initialInterval + ", " + maxInterval);
+        }
+        if (multiplier < 1) {
+            throw new IllegalArgumentException("multiplier must be 1.0 or larger: " + multiplier);
+        }
+        if (!(jitter >= 0 && jitter < 1)) {
+            throw new IllegalArgumentException("jitter must be in [0.0, 1.0): " + jitter);
+        }
+        this.initialInterval = initialInterval;
+        this.maxInterval = maxInterval;
+        this.multiplier = multiplier;
+        this.jitter = jitter;
+        this.timeout = timeout;
+        this.scheduler = scheduler != null ? scheduler : LineClientScheduler.shared();
+    }
+
+    /**
+     * Waits until the narrowcast is {@link Phase#SUCCEEDED succeeded} or {@link Phase#FAILED failed}.
+     *
+     * @param requestId value of {@literal X-Line-Request-Id} returned by
+     *         {@link LineMessagingClient#narrowcast(com.linecorp.bot.model.Narrowcast)}
+     */
+    public CompletableFuture<NarrowcastProgressResponse> awaitNarrowcast(LineMessagingClient client,
+                                                                        String requestId) {
+        return poll(() -> client.getNarrowcastProgress(requestId),
+                    progress -> progress.getPhase() == Phase.SUCCEEDED || progress.getPhase() == Phase.FAILED);
+    }
+
+    /**
+     * Waits until the audience is no longer {@link AudienceGroupStatus#IN_PROGRESS in progress} and all of
+     * its jobs, e.g. added user IDs, are {@link AudienceGroupJobStatus#FINISHED finished} or
+     * {@link AudienceGroupJobStatus#FAILED failed}.
+     */
+    public CompletableFuture<GetAudienceDataResponse> awaitAudience(ManageAudienceClient client,
+                                                                   long audienceGroupId) {
+        return poll(() -> client.getAudienceData(audienceGroupId), AsyncJobPoller::isAudienceSettled);
+    }
+
+    /**
+     * Polls {@code fetcher} until a result satisfies {@code isTerminal}, and completes the returned future
+     * with it.
+     */
+    public <T> CompletableFuture<T> poll(Supplier<CompletableFuture<T>> fetcher, Predicate<T> isTerminal) {
+        final CompletableFuture<T> result = new CompletableFuture<>();
+        final long deadline = System.nanoTime() + timeout.toNanos();
+        pollOnce(fetcher, isTerminal, result, deadline, 0);
+        return result;
+    }
+
+    private <T> void pollOnce(Supplier<CompletableFuture<T>> fetcher, Predicate<T> isTerminal,
+                              CompletableFuture<T> result, long deadline, int attempts) {
+        if (result.isDone()) {
+            return;
+        }
+        CompletableFuture<T> future;
+        try {
+            future = fetcher.get();
+        } catch (RuntimeException e) {
+            future = new CompletableFuture<>();
+            future.completeExceptionally(e);
+        }
+        future.whenComplete((value, throwable) -> {
+            if (throwable == null) {
+                try {
+                    if (isTerminal.test(value)) {
+                        result.complete(value);
+                        return;
+                    }
+                } catch (RuntimeException e) {
+                    result.completeExceptionally(e);
+                    return;
+                }
+            } else {
+                final Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null
+                                        ? throwable.getCause() : throwable;
+                if (!isTransient(cause)) {
+                    result.completeExceptionally(cause);
+                    return;
+                }
+                log.debug("Failed to poll a job. Retrying at the next poll.", cause);
+            }
+            scheduleNext(fetcher, isTerminal, result, deadline, attempts + 1);
+        });
+    }
+
+    private <T> void scheduleNext(Supplier<CompletableFuture<T>> fetcher, Predicate<T> isTerminal,
+                                  CompletableFuture<T> result, long deadline, int attempts) {
+        final long delayNanos = intervalNanos(attempts);
+        if (System.nanoTime() + delayNanos - deadline > 0) {
+            result.completeExceptionally(new TimeoutException("Job did not finish within " + timeout));
+            return;
+        }
+        scheduler.schedule(() -> pollOnce(fetcher, isTerminal, result, deadline, attempts),
+                           delayNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private long intervalNanos(int attempts) {
+        final double exponential = initialInterval.toNanos() * Math.pow(multiplier, attempts - 1);
+        final double interval = Math.min(exponential, maxInterval.toNanos());
+        if (jitter <= 0) {
+            return (long) interval;
+        }
+        final double delta = interval * jitter;
+        return (long) (interval + ThreadLocalRandom.current().nextDouble(-delta, delta));
+    }
+
+    private static boolean isTransient(Throwable cause) {
+        // Other GeneralLineMessagingExceptions, e.g. 413 Payload Too Large, fail the same way on every poll.
+        return RetryExecutor.isRetryable(cause)
+               || cause instanceof RateLimitExceededException
+               || cause instanceof CircuitBreakerOpenException;
+    }
+
+    private static boolean isAudienceSettled(GetAudienceDataResponse response) {
+        final AudienceGroup audienceGroup = response.getAudienceGroup();
+        if (audienceGroup == null || audienceGroup.getStatus() == AudienceGroupStatus.IN_PROGRESS) {
+            return false;
+        }
+        final List<AudienceGroupJob> jobs = response.getJobs();
+        return jobs == null || jobs.stream().allMatch(
+                job -> job.getJobStatus() == AudienceGroupJobStatus.FINISHED
+                       || job.getJobStatus() == AudienceGroupJobStatus.FAILED);
+    }
+
+    public static class AsyncJobPollerBuilder {
+        // Default values. Other members are filled by lombok.
+
+        /** Interval before the second poll. Default = 1 second. */
+        private Duration initialInterval = Duration.ofSeconds(1);
+
+        /** Upper bound of intervals. Default = 30 seconds. */
+        private Duration maxInterval = Duration.ofSeconds(30);
+
+        /** Multiplier of intervals for each poll. Default = 1.5. */
+        private double multiplier = 1.5;
+
+        /** Ratio of randomization of intervals to spread polls of many jobs. Default = 0.1. */
+        private double jitter = 0.1;
+
+        /** Time to give up polling with {@link TimeoutException}. Default = 1 hour. */
+        private Duration timeout = Duration.ofHours(1);
+    }
+}
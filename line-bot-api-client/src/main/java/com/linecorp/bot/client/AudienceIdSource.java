@@ -0,0 +1,192 @@
+/*
+ * Copyright 2023 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package com.linecorp.bot.client;
+
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+
+/**
+ * Pulls user IDs or IFAs from an {@link Iterator}, skipping invalid and duplicate ones.
+ *
+ * <p>Both user IDs ({@code U} followed by 32 hex digits) and IFAs (UUIDs) are 128-bit values, so seen IDs
+ * are kept packed in a {@code long[]} hash set, about 32 bytes per ID instead of a {@code HashSet<String>}.
+ * Not thread safe; callers must hand it over with a happens-before edge.
+ */
+final class AudienceIdSource {
+    private final Iterator<String> ids;
+    private final boolean isIfaAudience;
+    private final IdSet seen = new IdSet();
+    private long invalidCount;
+    private long duplicateCount;
+
+    AudienceIdSource(Iterator<String> ids, boolean isIfaAudience) {
+        this.ids = ids;
+        this.isIfaAudience = isIfaAudience;
+    }
+
+    /**
+     * Returns the next valid and unique ID, or {@code null} if no more IDs.
+     */
+    String next() {
+        while (ids.hasNext()) {
+            final String raw = ids.next();
+            if (raw == null) {
+                continue;
+            }
+            final String id = raw.trim();
+            if (id.isEmpty()) {
+                continue;
+            }
+            final long[] key = isIfaAudience ? parseIfa(id) : parseUserId(id);
+            if (key == null) {
+                invalidCount++;
+                continue;
+            }
+            if (!seen.add(key[0], key[1])) {
+                duplicateCount++;
+                continue;
+            }
+            return id;
+        }
+        return null;
+    }
+
+    /**
+     * Returns an iterator of lines of UTF-8 text. I/O errors are thrown as {@link UncheckedIOException}.
+     */
+    static Iterator<String> lines(InputStream inputStream) {
+        final BufferedReader reader =
+                new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+        return reader.lines().iterator();
+    }
+
+    long invalidCount() {
+        return invalidCount;
+    }
+
+    long duplicateCount() {
+        return duplicateCount;
+    }
+
+    private static long[] parseUserId(String id) {
+        if (id.length() != 33 || id.charAt(0) != 'U' || !isHex(id, 1, 33)) {
+            return null;
+        }
+        return new long[] { parseHex(id, 1, 17), parseHex(id, 17, 33) };
+    }
+
+    private static long[] parseIfa(String id) {
+        // 8-4-4-4-12
+        if (id.length() != 36 || id.charAt(8) != '-' || id.charAt(13) != '-' || id.charAt(18) != '-'
+            || id.charAt(23) != '-') {
+            return null;
+        }
+        final String hex = id.substring(0, 8) + id.substring(9, 13) + id.substring(14, 18)
+                           + id.substring(19, 23) + id.substring(24);
+        if (!isHex(hex, 0, 32)) {
+            return null;
+        }
+        return new long[] { parseHex(hex, 0, 16), parseHex(hex, 16, 32) };
+    }
+
+    private static boolean isHex(String s, int from, int to) {
+        for (int i = from; i < to; i++) {
+            final char c = s.charAt(i);
+            if (!(c >= '0' && c <= '9' || c >= 'a' && c <= 'f' || c >= 'A' && c <= 'F')) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long parseHex(String s, int from, int to) {
+        long value = 0;
+        for (int i = from; i < to; i++) {
+            value = (value << 4) | Character.digit(s.charAt(i), 16);
+        }
+        return value;
+    }
+
+    /**
+     * Open addressing hash set of 128-bit values.
+     */
+    private static final class IdSet {
+        // Pairs of (high, low). (0, 0) marks an empty slot, so the value (0, 0) is tracked separately.
+        private long[] slots = new long[2 * 1024];
+        private int size;
+        private boolean containsZero;
+
+        boolean add(long high, long low) {
+            if (high == 0 && low == 0) {
+                if (containsZero) {
+                    return false;
+                }
+                containsZero = true;
+                return true;
+            }
+            if (size * 2 >= slots.length / 2) {
+                resize();
+            }
+            if (!insert(slots, high, low)) {
+                return false;
+            }
+            size++;
+            return true;
+        }
+
+        private static boolean insert(long[] slots, long high, long low) {
+            final int mask = slots.length / 2 - 1;
+            int index = hash(high, low) & mask;
+            while (true) {
+                final long h = slots[index * 2];
+                final long l = slots[index * 2 + 1];
+                if (h == 0 && l == 0) {
+                    slots[index * 2] = high;
+                    slots[index * 2 + 1] = low;
+                    return true;
+                }
+                if (h == high && l == low) {
+                    return false;
+                }
+                index = (index + 1) & mask;
+            }
+        }
+
+        private void resize() {
+            final long[] newSlots = new long[slots.length * 2];
+            for (int i = 0; i < slots.length; i += 2) {
+                if (slots[i] != 0 || slots[i + 1] != 0) {
+                    insert(newSlots, slots[i], slots[i + 1]);
+                }
+            }
+            slots = newSlots;
+        }
+
+        private static int hash(long high, long low) {
+            long h = high * 0x9E3779B97F4A7C15L ^ low;
+            h ^= h >>> 33;
+            h *= 0xFF51AFD7ED558CCDL;
+            h ^= h >>> 33;
+            return (int) h;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2023 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package com.linecorp.bot.client;
+
+import lombok.Value;
+
+/**
+ * Result of uploading user IDs or IFAs from a stream, possibly split into multiple uploads.
+ *
+ * @see ManageAudienceBlobClient#createAudienceForUploadingUserIds(String, boolean, String, java.util.Iterator)
+ * @see ManageAudienceBlobClient#addUserIdsToAudience(long, String, boolean, java.util.Iterator)
+ */
+@Value
+public class AudienceUploadResult {
+    /**
+     * ID of the audience which IDs were uploaded to.
+     */
+    long audienceGroupId;
+
+    /**
+     * Number of upload requests.
+     */
+    int uploadCount;
+
+    /**
+     * Number of uploaded IDs.
+     */
+    long uploadedCount;
+
+    /**
+     * Number of IDs skipped because they appeared earlier in the stream.
+     */
+    long duplicateCount;
+
+    /**
+     * Number of IDs skipped because they were neither user IDs nor IFAs.
+     */
+    long invalidCount;
+}
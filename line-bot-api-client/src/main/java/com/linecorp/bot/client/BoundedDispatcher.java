@@ -0,0 +1,302 @@
+/*
+ * Copyright 2023 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package com.linecorp.bot.client;
+
+import java.util.Iterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import com.linecorp.bot.client.exception.RateLimitExceededException;
+import com.linecorp.bot.client.exception.TooManyRequestsException;
+
+/**
+ * Dispatches asynchronous calls for tasks pulled from a {@link Source}, keeping at most
+ * {@link BulkOptions#getParallelism()} calls in flight.
+ *
+ * <p>Tasks are pulled lazily, only when a slot is free, so the source is never materialized. An
+ * asynchronous source, e.g. {@link PageCursor}, calls {@link #onSourceReady()} when it has more tasks.
+ * Calls rejected by rate limits are retried after a backoff, during which no new calls are dispatched.
+ *
+ * @param <T> type of tasks
+ * @param <R> type of call results
+ */
+final class BoundedDispatcher<T, R> {
+    /**
+     * Receives results of tasks. Called concurrently from threads completing calls.
+     */
+    interface Listener<T, R> {
+        void onSuccess(T task, R result);
+
+        void onFailure(T task, Throwable cause);
+    }
+
+    /**
+     * Non-blocking source of tasks.
+     */
+    interface Source<T> {
+        /**
+         * Returns the next task, or {@code null} if none is available now. Called by one thread at a time,
+         * without the lock of the dispatcher held.
+         */
+        T poll();
+
+        /**
+         * Whether all tasks were taken.
+         */
+        boolean isExhausted();
+
+        /**
+         * Returns the cause if the source failed, otherwise {@code null}.
+         */
+        Throwable failure();
+
+        static <T> Source<T> of(Iterator<T> iterator) {
+            return new Source<T>() {
+                @Override
+                public T poll() {
+                    return iterator.hasNext() ? iterator.next() : null;
+                }
+
+                @Override
+                public boolean isExhausted() {
+                    return !iterator.hasNext();
+                }
+
+                @Override
+                public Throwable failure() {
+                    return null;
+                }
+            };
+        }
+    }
+
+    private final Source<? extends T> tasks;
+    private final Function<? super T, CompletableFuture<R>> call;
+    private final Listener<? super T, ? super R> listener;
+    private final int parallelism;
+    private final int rateLimitRetries;
+    private final long rateLimitBackoffNanos;
+    private final ScheduledExecutorService scheduler;
+    private final CompletableFuture<Void> completion = new CompletableFuture<>();
+
+    // Guarded by this.
+    private int inFlight;
+    private boolean exhausted;
+    private boolean draining;
+    private boolean redrain;
+    private boolean paused;
+    private boolean resumeScheduled;
+    private long resumeAtNanos;
+    private Throwable sourceFailure;
+
+    BoundedDispatcher(Source<? extends T> tasks, Function<? super T, CompletableFuture<R>> call,
+                      Listener<? super T, ? super R> listener, BulkOptions options) {
+        this.tasks = tasks;
+        this.call = call;
+        this.listener = listener;
+        parallelism = options.getParallelism();
+        rateLimitRetries = options.getRateLimitRetries();
+        rateLimitBackoffNanos = options.getRateLimitBackoff().toNanos();
+        scheduler = options.schedulerOrShared();
+    }
+
+    /**
+     * Starts dispatching. The returned future completes when all tasks are done, or fails when the source
+     * of tasks throws an exception. Failures of calls are passed to the {@link Listener}.
+     */
+    CompletableFuture<Void> start() {
+        drain();
+        return completion;
+    }
+
+    /**
+     * Notifies that the source has more tasks or failed.
+     */
+    void onSourceReady() {
+        drain();
+    }
+
+    /**
+     * Dispatches tasks while slots are free. Only one thread dispatches at a time. It polls the source and
+     * starts calls outside the lock, so neither a source fetching more tasks, e.g. the next page of a
+     * {@link PageCursor}, nor a slow or synchronously completing call blocks threads completing other calls.
+     */
+    private void drain() {
+        synchronized (this) {
+            if (completion.isDone()) {
+                return;
+            }
+            if (draining) {
+                // Another thread is dispatching, or a call completed synchronously while dispatching; the
+                // running loop picks up the free slot or the new tasks.
+                redrain = true;
+                return;
+            }
+            draining = true;
+        }
+        final boolean done;
+        for (;;) {
+            synchronized (this) {
+                redrain = false;
+                if (!hasFreeSlot()) {
+                    draining = false;
+                    done = exhausted && inFlight == 0;
+                    break;
+                }
+            }
+            final T task = pollSource();
+            synchronized (this) {
+                if (task != null) {
+                    inFlight++;
+                } else if (exhausted || !redrain) {
+                    draining = false;
+                    done = exhausted && inFlight == 0;
+                    break;
+                }
+            }
+            if (task != null) {
+                dispatch(task, 0);
+            }
+        }
+        if (done) {
+            if (sourceFailure != null) {
+                completion.completeExceptionally(sourceFailure);
+            } else {
+                completion.complete(null);
+            }
+        }
+    }
+
+    /**
+     * Whether a task can be dispatched now, i.e. the source may have more tasks, a slot is free and
+     * dispatching isn't paused. Called with the lock held.
+     */
+    private boolean hasFreeSlot() {
+        if (exhausted || inFlight >= parallelism) {
+            return false;
+        }
+        if (paused) {
+            final long waitNanos = resumeAtNanos - System.nanoTime();
+            if (waitNanos > 0) {
+                scheduleResume(waitNanos);
+                return false;
+            }
+            paused = false;
+        }
+        return true;
+    }
+
+    /**
+     * Returns the next task of the source, or {@code null} if it has no task now. Called by the draining
+     * thread without the lock held.
+     */
+    private T pollSource() {
+        try {
+            final T task = tasks.poll();
+            if (task == null) {
+                final Throwable failure = tasks.failure();
+                final boolean sourceExhausted = failure != null || tasks.isExhausted();
+                // Otherwise the source calls onSourceReady() when it has more tasks.
+                synchronized (this) {
+                    if (failure != null) {
+                        sourceFailure = failure;
+                    }
+                    if (sourceExhausted) {
+                        exhausted = true;
+                    }
+                }
+            }
+            return task;
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                exhausted = true;
+                sourceFailure = e;
+            }
+            return null;
+        }
+    }
+
+    // Called with the lock held.
+    private void scheduleResume(long waitNanos) {
+        if (resumeScheduled) {
+            return;
+        }
+        resumeScheduled = true;
+        scheduler.schedule(() -> {
+            synchronized (this) {
+                resumeScheduled = false;
+            }
+            drain();
+        }, waitNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private void dispatch(T task, int retries) {
+        CompletableFuture<R> future;
+        try {
+            future = call.apply(task);
+        } catch (RuntimeException e) {
+            future = new CompletableFuture<>();
+            future.completeExceptionally(e);
+        }
+        future.whenComplete((result, throwable) -> {
+            if (throwable == null) {
+                listener.onSuccess(task, result);
+            } else {
+                final Throwable cause = unwrap(throwable);
+                if (isRateLimited(cause) && retries < rateLimitRetries) {
+                    retryLater(task, retries + 1);
+                    return;
+                }
+                listener.onFailure(task, cause);
+            }
+            synchronized (this) {
+                inFlight--;
+            }
+            drain();
+        });
+    }
+
+    private void retryLater(T task, int retries) {
+        final long delayNanos = rateLimitBackoffNanos * retries;
+        synchronized (this) {
+            final long resumeAt = System.nanoTime() + delayNanos;
+            if (!paused || resumeAt - resumeAtNanos > 0) {
+                resumeAtNanos = resumeAt;
+            }
+            paused = true;
+        }
+        scheduler.schedule(() -> dispatch(task, retries), delayNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private static boolean isRateLimited(Throwable cause) {
+        return cause instanceof TooManyRequestsException || cause instanceof RateLimitExceededException;
+    }
+
+    private static Throwable unwrap(Throwable throwable) {
+        Throwable cause = throwable;
+        while ((cause instanceof CompletionException || cause instanceof ExecutionException)
+               && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+}
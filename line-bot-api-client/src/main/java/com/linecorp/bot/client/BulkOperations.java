@@ -0,0 +1,269 @@
+/*
+ * Copyright 2023 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package com.linecorp.bot.client;
+
+import java.net.FileNameMap;
+import java.net.URLConnection;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import com.linecorp.bot.model.Multicast;
+import com.linecorp.bot.model.profile.MembersIdsResponse;
+import com.linecorp.bot.model.profile.UserProfileResponse;
+import com.linecorp.bot.model.response.BotApiResponse;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Bulk operations which split user IDs into chunks of the maximum size accepted by the API.
+ */
+@Slf4j
+final class BulkOperations {
+    /**
+     * Maximum number of recipients of a multicast.
+     */
+    static final int MULTICAST_MAX_RECIPIENTS = 500;
+
+    /**
+     * Maximum number of users to link or unlink a rich menu at once.
+     */
+    static final int RICH_MENU_BULK_MAX_USERS = 500;
+
+    private static final FileNameMap FILE_NAME_MAP = URLConnection.getFileNameMap();
+
+    private BulkOperations() {
+    }
+
+    static CompletableFuture<BulkResult> multicast(LineMessagingClient client, Iterator<String> to,
+                                                  Multicast template, BulkOptions options) {
+        return execute(to, MULTICAST_MAX_RECIPIENTS, options, userIds -> client.multicast(
+                new Multicast(new LinkedHashSet<>(userIds), template.getMessages(),
+                              template.isNotificationDisabled(), template.getCustomAggregationUnits())));
+    }
+
+    static CompletableFuture<BulkResult> linkRichMenu(LineMessagingClient client, Iterator<String> userIds,
+                                                     String richMenuId, BulkOptions options) {
+        return execute(userIds, RICH_MENU_BULK_MAX_USERS, options,
+                       chunk -> client.linkRichMenuIdToUsers(chunk, richMenuId));
+    }
+
+    static CompletableFuture<BulkResult> unlinkRichMenu(LineMessagingClient client, Iterator<String> userIds,
+                                                       BulkOptions options) {
+        return execute(userIds, RICH_MENU_BULK_MAX_USERS, options, client::unlinkRichMenuIdFromUsers);
+    }
+
+    static CompletableFuture<BulkProfileResult> memberProfiles(
+            Function<String, CompletableFuture<MembersIdsResponse>> memberIdsFetcher,
+            Function<String, CompletableFuture<UserProfileResponse>> profileFetcher,
+            Consumer<? super UserProfileResponse> consumer, BulkOptions options) {
+        // Member IDs are paged in background and fed to the dispatcher as pages arrive.
+        final AtomicReference<BoundedDispatcher<String, UserProfileResponse>> dispatcher =
+                new AtomicReference<>();
+        final PageCursor<MembersIdsResponse, String> memberIds =
+                new PageCursor<>(memberIdsFetcher, MembersIdsResponse::getMemberIds,
+                                 MembersIdsResponse::getNext, 2, () -> dispatcher.get().onSourceReady());
+        final ProfileCollector collector = new ProfileCollector(consumer);
+        dispatcher.set(new BoundedDispatcher<>(memberIds, profileFetcher, collector, options));
+        return dispatcher.get().start().thenApply(unused -> collector.toResult());
+    }
+
+    static CompletableFuture<BulkUploadResult> richMenuImages(LineBlobClient client, Map<String, Path> images,
+                                                             BulkOptions options) {
+        final UploadCollector collector = new UploadCollector();
+        return new BoundedDispatcher<>(BoundedDispatcher.Source.of(images.entrySet().iterator()),
+                                       image -> uploadRichMenuImage(client, image.getKey(), image.getValue()),
+                                       collector, options)
+                .start()
+                .thenApply(unused -> collector.toResult());
+    }
+
+    private static CompletableFuture<BotApiResponse> uploadRichMenuImage(LineBlobClient client,
+                                                                         String richMenuId, Path image) {
+        final String contentType = FILE_NAME_MAP.getContentTypeFor(image.getFileName().toString());
+        if (contentType == null) {
+            final CompletableFuture<BotApiResponse> future = new CompletableFuture<>();
+            future.completeExceptionally(new IllegalArgumentException("Unknown content type: " + image));
+            return future;
+        }
+        return client.setRichMenuImage(richMenuId, contentType, image);
+    }
+
+    static CompletableFuture<BulkResult> execute(
+            Iterator<String> userIds, int chunkSize, BulkOptions options,
+            Function<List<String>, CompletableFuture<BotApiResponse>> call) {
+        final ResultCollector collector = new ResultCollector(options.getProgressListener());
+        return new BoundedDispatcher<>(BoundedDispatcher.Source.of(new ChunkIterator(userIds, chunkSize)),
+                                       chunk -> call.apply(chunk.userIds), collector, options)
+                .start()
+                .thenApply(unused -> collector.toResult());
+    }
+
+    private static final class Chunk {
+        final int index;
+        final List<String> userIds;
+
+        Chunk(int index, List<String> userIds) {
+            this.index = index;
+            this.userIds = userIds;
+        }
+    }
+
+    /**
+     * Splits user IDs into chunks lazily.
+     */
+    private static final class ChunkIterator implements Iterator<Chunk> {
+        private final Iterator<String> userIds;
+        private final int chunkSize;
+        private int index;
+
+        ChunkIterator(Iterator<String> userIds, int chunkSize) {
+            this.userIds = userIds;
+            this.chunkSize = chunkSize;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return userIds.hasNext();
+        }
+
+        @Override
+        public Chunk next() {
+            if (!userIds.hasNext()) {
+                throw new NoSuchElementException();
+            }
+            final List<String> chunk = new ArrayList<>(chunkSize);
+            while (chunk.size() < chunkSize && userIds.hasNext()) {
+                chunk.add(userIds.next());
+            }
+            return new Chunk(index++, Collections.unmodifiableList(chunk));
+        }
+    }
+
+    private static final class ResultCollector implements BoundedDispatcher.Listener<Chunk, BotApiResponse> {
+        // Keyed by chunk index to report in the order of chunks. Only failed chunks keep their user IDs.
+        private final TreeMap<Integer, String> requestIds = new TreeMap<>();
+        private final TreeMap<Integer, BulkResult.FailedChunk> failedChunks = new TreeMap<>();
+        private final BulkProgressListener progressListener;
+        private long succeededUserCount;
+
+        ResultCollector(BulkProgressListener progressListener) {
+            this.progressListener = progressListener;
+        }
+
+        @Override
+        public synchronized void onSuccess(Chunk chunk, BotApiResponse response) {
+            succeededUserCount += chunk.userIds.size();
+            requestIds.put(chunk.index, response != null ? response.getRequestId() : null);
+            notifyProgress(null);
+        }
+
+        @Override
+        public synchronized void onFailure(Chunk chunk, Throwable cause) {
+            final BulkResult.FailedChunk failedChunk =
+                    new BulkResult.FailedChunk(chunk.index, chunk.userIds, cause);
+            failedChunks.put(chunk.index, failedChunk);
+            notifyProgress(failedChunk);
+        }
+
+        // Called with the lock held, so that progress is reported in order.
+        private void notifyProgress(BulkResult.FailedChunk failedChunk) {
+            if (progressListener == null) {
+                return;
+            }
+            try {
+                progressListener.onChunkCompleted(requestIds.size() + failedChunks.size(), succeededUserCount,
+                                                  failedChunk);
+            } catch (RuntimeException e) {
+                log.warn("BulkProgressListener threw an exception.", e);
+            }
+        }
+
+        synchronized BulkResult toResult() {
+            return new BulkResult(requestIds.size() + failedChunks.size(), succeededUserCount,
+                                  Collections.unmodifiableList(new ArrayList<>(requestIds.values())),
+                                  Collections.unmodifiableList(new ArrayList<>(failedChunks.values())));
+        }
+    }
+
+    private static final class UploadCollector
+            implements BoundedDispatcher.Listener<Map.Entry<String, Path>, BotApiResponse> {
+        private final Map<String, Throwable> failures = new LinkedHashMap<>();
+        private long succeededCount;
+
+        @Override
+        public synchronized void onSuccess(Map.Entry<String, Path> image, BotApiResponse response) {
+            succeededCount++;
+        }
+
+        @Override
+        public synchronized void onFailure(Map.Entry<String, Path> image, Throwable cause) {
+            failures.put(image.getKey(), cause);
+        }
+
+        synchronized BulkUploadResult toResult() {
+            return new BulkUploadResult(succeededCount,
+                                        Collections.unmodifiableMap(new LinkedHashMap<>(failures)));
+        }
+    }
+
+    private static final class ProfileCollector
+            implements BoundedDispatcher.Listener<String, UserProfileResponse> {
+        private final Consumer<? super UserProfileResponse> consumer;
+        private final Map<String, Throwable> failures = new LinkedHashMap<>();
+        private long succeededCount;
+
+        ProfileCollector(Consumer<? super UserProfileResponse> consumer) {
+            this.consumer = consumer;
+        }
+
+        @Override
+        public void onSuccess(String userId, UserProfileResponse profile) {
+            try {
+                consumer.accept(profile);
+            } catch (RuntimeException e) {
+                onFailure(userId, e);
+                return;
+            }
+            synchronized (this) {
+                succeededCount++;
+            }
+        }
+
+        @Override
+        public synchronized void onFailure(String userId, Throwable cause) {
+            failures.put(userId, cause);
+        }
+
+        synchronized BulkProfileResult toResult() {
+            return new BulkProfileResult(succeededCount,
+                                         Collections.unmodifiableMap(new LinkedHashMap<>(failures)));
+        }
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2023 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package com.linecorp.bot.client;
+
+import java.time.Duration;
+import java.util.concurrent.ScheduledExecutorService;
+
+import lombok.Builder;
+import lombok.NonNull;
+import lombok.Value;
+
+/**
+ * Options of bulk operations which split a large number of user IDs into multiple API calls.
+ *
+ * @see LineMessagingClient#multicastAll(java.util.Iterator, com.linecorp.bot.model.Multicast, BulkOptions)
+ */
+@Value
+public class BulkOptions {
+    /**
+     * Options with default values.
+     */
+    public static final BulkOptions DEFAULT = builder().build();
+
+    /**
+     * Maximum number of API calls in flight.
+     */
+    int parallelism;
+
+    /**
+     * Maximum number of retries of a call rejected by rate limits, i.e. with
+     * {@link com.linecorp.bot.client.exception.TooManyRequestsException} or
+     * {@link com.linecorp.bot.client.exception.RateLimitExceededException}.
+     */
+    int rateLimitRetries;
+
+    /**
+     * Delay before retrying a call rejected by rate limits. The n-th retry waits n times of this.
+     * No new calls are dispatched while waiting.
+     */
+    Duration rateLimitBackoff;
+
+    /**
+     * Timer to wait for {@link #rateLimitBackoff}. {@code null} to use the timer shared by clients.
+     */
+    ScheduledExecutorService scheduler;
+
+    /**
+     * Listener notified whenever a chunk is done. {@code null} to report nothing.
+     */
+    BulkProgressListener progressListener;
+
+    @Builder(toBuilder = true)
+    private BulkOptions(int parallelism, int rateLimitRetries, @NonNull Duration rateLimitBackoff,
+                        ScheduledExecutorService scheduler, BulkProgressListener progressListener) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("parallelism must be positive: " + parallelism);
+        }
+        if (rateLimitRetries < 0) {
+            throw new IllegalArgumentException("rateLimitRetries must not be negative: " + rateLimitRetries);
+        }
+        this.parallelism = parallelism;
+        this.rateLimitRetries = rateLimitRetries;
+        this.rateLimitBackoff = rateLimitBackoff;
+        this.scheduler = scheduler;
+        this.progressListener = progressListener;
+    }
+
+    ScheduledExecutorService schedulerOrShared() {
+        return scheduler != null ? scheduler : LineClientScheduler.shared();
+    }
+
+    public static class BulkOptionsBuilder {
+        // Default values. Other members are filled by lombok.
+
+        /** Maximum number of API calls in flight. Default = 8. */
+        private int parallelism = 8;
+
+        /** Maximum number of retries of a call rejected by rate limits. Default = 3. */
+        private int rateLimitRetries = 3;
+
+        /** Delay before retrying a call rejected by rate limits. Default = 1 second. */
+        private Duration rateLimitBackoff = Duration.ofSeconds(1);
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright 2023 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package com.linecorp.bot.client;
+
+import java.util.Map;
+
+import lombok.Value;
+
+/**
+ * Result of fetching profiles of many users.
+ *
+ * @see LineMessagingClient#getAllGroupMemberProfiles(String, java.util.function.Consumer, BulkOptions)
+ */
+@Value
+public class BulkProfileResult {
+    /**
+     * Number of profiles fetched.
+     */
+    long succeededCount;
+
+    /**
+     * Causes of failures keyed by user IDs whose profiles couldn't be fetched.
+     */
+    Map<String, Throwable> failures;
+
+    /**
+     * Whether all profiles were fetched.
+     */
+    public boolean isAllSucceeded() {
+        return failures.isEmpty();
+    }
+}
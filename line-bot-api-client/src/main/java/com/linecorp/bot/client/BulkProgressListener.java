@@ -0,0 +1,38 @@
+/*
+ * Copyright 2023 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package com.linecorp.bot.client;
+
+/**
+ * Receives progress of a bulk operation.
+ *
+ * <p>Called from threads completing API calls, one chunk at a time. Implementations should return
+ * quickly because dispatching of other chunks waits for them.
+ *
+ * @see BulkOptions#getProgressListener()
+ */
+@FunctionalInterface
+public interface BulkProgressListener {
+    /**
+     * Called when a chunk is done.
+     *
+     * @param completedChunks number of chunks done so far, including this one
+     * @param succeededUserCount number of user IDs in succeeded chunks so far
+     * @param failedChunk this chunk if it failed, otherwise {@code null}
+     */
+    void onChunkCompleted(int completedChunks, long succeededUserCount, BulkResult.FailedChunk failedChunk);
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2023 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package com.linecorp.bot.client;
+
+import java.util.List;
+
+import lombok.Value;
+
+/**
+ * Aggregated result of a bulk operation which was split into chunks of user IDs.
+ */
+@Value
+public class BulkResult {
+    /**
+     * Number of chunks, i.e. API calls.
+     */
+    int chunkCount;
+
+    /**
+     * Number of user IDs in succeeded chunks.
+     */
+    long succeededUserCount;
+
+    /**
+     * Values of {@literal X-Line-Request-Id} of succeeded chunks, in the order of chunks.
+     */
+    List<String> requestIds;
+
+    /**
+     * Chunks which failed, in the order of chunks.
+     */
+    List<FailedChunk> failedChunks;
+
+    /**
+     * Whether all chunks succeeded.
+     */
+    public boolean isAllSucceeded() {
+        return failedChunks.isEmpty();
+    }
+
+    /**
+     * A chunk which failed. Retry with {@link #getUserIds()} if needed.
+     */
+    @Value
+    public static class FailedChunk {
+        /**
+         * 0-based index of the chunk.
+         */
+        int index;
+
+        /**
+         * User IDs in the chunk.
+         */
+        List<String> userIds;
+
+        /**
+         * Cause of the failure.
+         */
+        Throwable cause;
+    }
+}
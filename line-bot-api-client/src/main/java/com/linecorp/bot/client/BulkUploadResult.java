@@ -0,0 +1,46 @@
+/*
+ * Copyright 2023 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.linecorp.bot.client;
+
+import java.util.Map;
+
+import lombok.Value;
+
+/**
+ * Result of uploading many rich menu images.
+ *
+ * @see LineBlobClient#setRichMenuImages(Map, BulkOptions)
+ */
+@Value
+public class BulkUploadResult {
+    /**
+     * Number of images uploaded.
+     */
+    long succeededCount;
+
+    /**
+     * Causes of failures keyed by rich menu IDs whose images couldn't be uploaded.
+     */
+    Map<String, Throwable> failures;
+
+    /**
+     * Whether all images were uploaded.
+     */
+    public boolean isAllSucceeded() {
+        return failures.isEmpty();
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2023 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.linecorp.bot.client;
+
+import java.nio.file.Path;
+
+import lombok.Value;
+
+/**
+ * Message content stored in a {@link MessageContentCache}.
+ */
+@Value
+public class CachedMessageContent {
+    /**
+     * ID of the message.
+     */
+    String messageId;
+
+    /**
+     * File holding the content, shared by messages with the same content. Entries are not pinned, so the
+     * file can be deleted by eviction at any time, even before it is opened. Read the content with
+     * {@link MessageContentCache#map(String)}, whose mapping survives eviction.
+     */
+    Path path;
+
+    /**
+     * File size of this content.
+     */
+    long length;
+
+    /**
+     * File contents type represented by MIME.
+     */
+    String mimeType;
+
+    /**
+     * Hex-encoded SHA-256 hash of the content.
+     */
+    String contentHash;
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright 2023 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package com.linecorp.bot.client;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+
+import com.linecorp.bot.model.event.Event;
+import com.linecorp.bot.model.event.FollowEvent;
+import com.linecorp.bot.model.event.LeaveEvent;
+import com.linecorp.bot.model.event.MemberLeftEvent;
+import com.linecorp.bot.model.event.UnfollowEvent;
+import com.linecorp.bot.model.event.source.Source;
+import com.linecorp.bot.model.profile.UserProfileResponse;
+
+import lombok.Builder;
+import lombok.NonNull;
+import lombok.ToString;
+import lombok.Value;
+import lombok.experimental.Delegate;
+
+/**
+ * {@link LineMessagingClient} which caches user profiles.
+ *
+ * <p>{@link #getProfile(String)}, {@link #getGroupMemberProfile(String, String)} and
+ * {@link #getRoomMemberProfile(String, String)} are cached for {@code ttl} up to {@code maximumSize}
+ * profiles. Concurrent calls for the same profile share one API call. Failures are not cached.
+ * Other methods are passed through to the delegate as is.
+ *
+ * <p>Pass received events to {@link #invalidate(Event)} to drop profiles which may have changed.
+ * <pre>{@code
+ * LineMessagingClient client = CachingLineMessagingClient.builder()
+ *                                                        .delegate(LineMessagingClient.builder(token).build())
+ *                                                        .ttl(Duration.ofMinutes(10))
+ *                                                        .build();
+ * }</pre>
+ */
+@ToString(onlyExplicitlyIncluded = true)
+public final class CachingLineMessagingClient implements LineMessagingClient {
+    @ToString.Include
+    @Delegate(types = LineMessagingClient.class, excludes = CachedMethods.class)
+    private final LineMessagingClient delegate;
+
+    private final SingleFlightCache<ProfileKey, UserProfileResponse> cache;
+
+    @Builder
+    private CachingLineMessagingClient(@NonNull LineMessagingClient delegate, @NonNull Duration ttl,
+                                       int maximumSize) {
+        this.delegate = delegate;
+        cache = new SingleFlightCache<>(ttl.toNanos(), maximumSize);
+    }
+
+    @Override
+    public CompletableFuture<UserProfileResponse> getProfile(String userId) {
+        return cache.get(new ProfileKey(null, userId), key -> delegate.getProfile(userId));
+    }
+
+    @Override
+    public CompletableFuture<UserProfileResponse> getGroupMemberProfile(String groupId, String userId) {
+        return cache.get(new ProfileKey(groupId, userId),
+                         key -> delegate.getGroupMemberProfile(groupId, userId));
+    }
+
+    @Override
+    public CompletableFuture<UserProfileResponse> getRoomMemberProfile(String roomId, String userId) {
+        return cache.get(new ProfileKey(roomId, userId),
+                         key -> delegate.getRoomMemberProfile(roomId, userId));
+    }
+
+    /**
+     * Drops cached profiles affected by the {@code event}.
+     *
+     * <ul>
+     *     <li>{@link FollowEvent}, {@link UnfollowEvent}: all profiles of the user.</li>
+     *     <li>{@link MemberLeftEvent}: member profiles of the users who left the group or room.</li>
+     *     <li>{@link LeaveEvent}: all member profiles of the group or room.</li>
+     * </ul>
+     *
+     * <p>Other events are ignored.
+     */
+    public void invalidate(Event event) {
+        final Source source = event.getSource();
+        if (source == null) {
+            return;
+        }
+        if (event instanceof FollowEvent || event instanceof UnfollowEvent) {
+            invalidateUser(source.getUserId());
+        } else if (event instanceof MemberLeftEvent) {
+            final MemberLeftEvent.LeftMembers left = ((MemberLeftEvent) event).getLeft();
+            final List<Source> members = left != null ? left.getMembers() : null;
+            if (members != null) {
+                final String chatId = source.getSenderId();
+                members.forEach(member -> invalidateMember(chatId, member.getUserId()));
+            }
+        } else if (event instanceof LeaveEvent) {
+            final String chatId = source.getSenderId();
+            cache.invalidateIf(key -> Objects.equals(key.chatId, chatId));
+        }
+    }
+
+    /**
+     * Drops all cached profiles of the user, including member profiles in groups and rooms.
+     */
+    public void invalidateUser(String userId) {
+        cache.invalidateIf(key -> Objects.equals(key.userId, userId));
+    }
+
+    /**
+     * Drops the cached member profile of the user in the group or room.
+     */
+    public void invalidateMember(String groupOrRoomId, String userId) {
+        cache.invalidate(new ProfileKey(groupOrRoomId, userId));
+    }
+
+    /**
+     * Drops all cached profiles.
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * Number of cached profiles, including ones being loaded.
+     */
+    public int cachedProfiles() {
+        return cache.size();
+    }
+
+    @Value
+    private static class ProfileKey {
+        // Group or room ID. null for getProfile.
+        String chatId;
+        String userId;
+    }
+
+    private interface CachedMethods {
+        CompletableFuture<UserProfileResponse> getProfile(String userId);
+
+        CompletableFuture<UserProfileResponse> getGroupMemberProfile(String groupId, String userId);
+
+        CompletableFuture<UserProfileResponse> getRoomMemberProfile(String roomId, String userId);
+    }
+
+    public static class CachingLineMessagingClientBuilder {
+        // Default values. Other members are filled by lombok.
+
+        /** Time to keep a profile. Default = 5 minutes. */
+        private Duration ttl = Duration.ofMinutes(5);
+
+        /** Maximum number of cached profiles. Default = 10000. */
+        private int maximumSize = 10_000;
+    }
+}
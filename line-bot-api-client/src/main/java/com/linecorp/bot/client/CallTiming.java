@@ -0,0 +1,64 @@
+/*
+ * Copyright 2023 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.linecorp.bot.client;
+
+import java.time.Duration;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Durations of the phases of an HTTP call, recorded by {@link CallTimingRecorder}.
+ *
+ * <p>A phase which did not happen in the call is {@link Duration#ZERO}, e.g. DNS lookup, connect and TLS
+ * handshake when a pooled connection is reused.
+ */
+@Value
+@Builder
+public class CallTiming {
+    /**
+     * Method name of Retrofit interface, e.g. {@code "pushMessage"}.
+     */
+    String endpoint;
+
+    /** Time spent resolving the host name. */
+    Duration dns;
+
+    /** Time spent establishing the connection, including TLS handshake. */
+    Duration connect;
+
+    /** Time spent in TLS handshake. */
+    Duration tls;
+
+    /** Time from the end of the request to the start of the response headers. */
+    Duration timeToFirstByte;
+
+    /** Time spent reading the response body. */
+    Duration bodyTransfer;
+
+    /** Time from the start to the end of the call. */
+    Duration total;
+
+    /** Whether the call acquired a connection. {@code false} when it failed before, e.g. at DNS lookup. */
+    boolean connectionAcquired;
+
+    /** Whether the call used a pooled connection instead of connecting. */
+    boolean connectionReused;
+
+    /** Whether the call failed with an I/O error. */
+    boolean failed;
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright 2023 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.linecorp.bot.client;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.time.Duration;
+import java.util.List;
+
+import okhttp3.Call;
+import okhttp3.Connection;
+import okhttp3.EventListener;
+import okhttp3.Handshake;
+import okhttp3.Protocol;
+import okhttp3.Request;
+
+/**
+ * Measures phases of one call for {@link CallTimingRecorder}.
+ *
+ * <p>OkHttp calls an event listener from one thread at a time, so the fields need no synchronization.
+ * Durations of phases repeated in a call, e.g. by following a redirect, are summed up.
+ */
+class CallTimingEventListener extends EventListener {
+    private final CallTimingRecorder recorder;
+
+    private long callStartNanos;
+    private long dnsStartNanos;
+    private long dnsNanos;
+    private long connectStartNanos;
+    private long connectNanos;
+    private long secureConnectStartNanos;
+    private long tlsNanos;
+    private long requestEndNanos;
+    private long timeToFirstByteNanos;
+    private long responseBodyStartNanos;
+    private long bodyTransferNanos;
+    private boolean connecting;
+    private boolean connectionAcquired;
+    private boolean connectionReused;
+
+    CallTimingEventListener(CallTimingRecorder recorder) {
+        this.recorder = recorder;
+    }
+
+    @Override
+    public void callStart(Call call) {
+        callStartNanos = System.nanoTime();
+    }
+
+    @Override
+    public void dnsStart(Call call, String domainName) {
+        dnsStartNanos = System.nanoTime();
+    }
+
+    @Override
+    public void dnsEnd(Call call, String domainName, List<InetAddress> inetAddressList) {
+        dnsNanos += System.nanoTime() - dnsStartNanos;
+    }
+
+    @Override
+    public void connectStart(Call call, InetSocketAddress inetSocketAddress, Proxy proxy) {
+        connecting = true;
+        connectStartNanos = System.nanoTime();
+    }
+
+    @Override
+    public void secureConnectStart(Call call) {
+        secureConnectStartNanos = System.nanoTime();
+    }
+
+    @Override
+    public void secureConnectEnd(Call call, Handshake handshake) {
+        tlsNanos += System.nanoTime() - secureConnectStartNanos;
+    }
+
+    @Override
+    public void connectEnd(Call call, InetSocketAddress inetSocketAddress, Proxy proxy, Protocol protocol) {
+        connectNanos += System.nanoTime() - connectStartNanos;
+    }
+
+    @Override
+    public void connectFailed(Call call, InetSocketAddress inetSocketAddress, Proxy proxy,
+                              Protocol protocol, IOException ioe) {
+        connectNanos += System.nanoTime() - connectStartNanos;
+    }
+
+    @Override
+    public void connectionAcquired(Call call, Connection connection) {
+        connectionAcquired = true;
+        connectionReused = !connecting;
+        connecting = false;
+        recorder.onConnectionAcquired(connectionReused);
+    }
+
+    @Override
+    public void requestHeadersEnd(Call call, Request request) {
+        requestEndNanos = System.nanoTime();
+    }
+
+    @Override
+    public void requestBodyEnd(Call call, long byteCount) {
+        requestEndNanos = System.nanoTime();
+    }
+
+    @Override
+    public void responseHeadersStart(Call call) {
+        timeToFirstByteNanos += System.nanoTime() - requestEndNanos;
+    }
+
+    @Override
+    public void responseBodyStart(Call call) {
+        responseBodyStartNanos = System.nanoTime();
+    }
+
+    @Override
+    public void responseBodyEnd(Call call, long byteCount) {
+        bodyTransferNanos += System.nanoTime() - responseBodyStartNanos;
+    }
+
+    @Override
+    public void callEnd(Call call) {
+        finish(call, false);
+    }
+
+    @Override
+    public void callFailed(Call call, IOException ioe) {
+        finish(call, true);
+    }
+
+    private void finish(Call call, boolean failed) {
+        recorder.onCallFinished(CallTiming.builder()
+                                          .endpoint(Endpoints.nameOf(call.request()))
+                                          .dns(Duration.ofNanos(dnsNanos))
+                                          .connect(Duration.ofNanos(connectNanos))
+                                          .tls(Duration.ofNanos(tlsNanos))
+                                          .timeToFirstByte(Duration.ofNanos(timeToFirstByteNanos))
+                                          .bodyTransfer(Duration.ofNanos(bodyTransferNanos))
+                                          .total(Duration.ofNanos(System.nanoTime() - callStartNanos))
+                                          .connectionAcquired(connectionAcquired)
+                                          .connectionReused(connectionReused)
+                                          .failed(failed)
+                                          .build());
+    }
+}
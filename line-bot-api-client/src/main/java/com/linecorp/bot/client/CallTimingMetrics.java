@@ -0,0 +1,101 @@
+/*
+ * Copyright 2023 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.linecorp.bot.client;
+
+import java.time.Duration;
+import java.util.function.Consumer;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.Builder;
+import lombok.NonNull;
+import lombok.ToString;
+
+/**
+ * Records {@link CallTiming} to a Micrometer {@link MeterRegistry}.
+ *
+ * <p>The following meters are recorded with the {@code endpoint} tag.
+ * <ul>
+ *     <li>{@code <prefix>.phase}: Timer of each phase tagged by {@code phase}, which is one of
+ *     {@code dns}, {@code connect}, {@code tls}, {@code ttfb} and {@code body}. Phases which didn't
+ *     happen in a call are not recorded.</li>
+ *     <li>{@code <prefix>.connections}: Counter of acquired connections tagged by {@code reused}.
+ *     The connection reuse ratio is the ratio of {@code reused=true} to all.</li>
+ * </ul>
+ *
+ * <p>This class requires {@code io.micrometer:micrometer-core} on the classpath.
+ *
+ * @see CallTimingRecorder.CallTimingRecorderBuilder#consumer(Consumer)
+ */
+@ToString(of = "prefix")
+public final class CallTimingMetrics implements Consumer<CallTiming> {
+    public static final String DEFAULT_PREFIX = "line.bot.client.http";
+
+    private final MeterRegistry registry;
+    private final String prefix;
+    private final boolean percentileHistogram;
+
+    @Builder
+    private CallTimingMetrics(@NonNull MeterRegistry registry, @NonNull String prefix,
+                              boolean percentileHistogram) {
+        this.registry = registry;
+        this.prefix = prefix;
+        this.percentileHistogram = percentileHistogram;
+    }
+
+    public static class CallTimingMetricsBuilder {
+        // Default values. Other members are filled by lombok.
+
+        /** Prefix of meter names. Default = {@value CallTimingMetrics#DEFAULT_PREFIX}. */
+        private String prefix = DEFAULT_PREFIX;
+
+        /** Publish histogram buckets to compute percentiles in the monitoring system. Default = true. */
+        private boolean percentileHistogram = true;
+    }
+
+    @Override
+    public void accept(CallTiming timing) {
+        final String endpoint = timing.getEndpoint();
+        recordPhase(endpoint, "dns", timing.getDns());
+        recordPhase(endpoint, "connect", timing.getConnect());
+        recordPhase(endpoint, "tls", timing.getTls());
+        recordPhase(endpoint, "ttfb", timing.getTimeToFirstByte());
+        recordPhase(endpoint, "body", timing.getBodyTransfer());
+        if (timing.isConnectionAcquired()) {
+            Counter.builder(prefix + ".connections")
+                   .description("Connections acquired by LINE API calls")
+                   .tag("endpoint", endpoint)
+                   .tag("reused", String.valueOf(timing.isConnectionReused()))
+                   .register(registry)
+                   .increment();
+        }
+    }
+
+    private void recordPhase(String endpoint, String phase, Duration duration) {
+        if (duration.isZero()) {
+            return;
+        }
+        Timer.builder(prefix + ".phase")
+             .description("Phases of LINE API calls")
+             .tag("endpoint", endpoint)
+             .tag("phase", phase)
+             .publishPercentileHistogram(percentileHistogram)
+             .register(registry)
+             .record(duration);
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2023 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.linecorp.bot.client;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+import lombok.Builder;
+import lombok.NonNull;
+import lombok.ToString;
+import lombok.extern.slf4j.Slf4j;
+import okhttp3.Call;
+import okhttp3.EventListener;
+
+/**
+ * {@link EventListener.Factory} which measures DNS lookup, connect, TLS handshake, time to first byte and
+ * body transfer of each call, to tell a slow network or a pool misconfiguration apart from a slow API.
+ *
+ * <p>Each finished call is passed to {@code consumer} as a {@link CallTiming}. By default, timings are
+ * logged to the {@value #DEFAULT_LOGGER_NAME} logger at DEBUG level. Use {@link CallTimingMetrics} to
+ * record them to Micrometer.
+ *
+ * <p>The consumer is called on the thread finishing the call, so it must not block.
+ * <pre>{@code
+ * LineMessagingClient.builder(channelToken)
+ *                    .eventListenerFactory(CallTimingRecorder.builder().build())
+ *                    .build();
+ * }</pre>
+ */
+@Slf4j(topic = CallTimingRecorder.DEFAULT_LOGGER_NAME)
+@ToString(of = "consumer")
+public final class CallTimingRecorder implements EventListener.Factory {
+    public static final String DEFAULT_LOGGER_NAME = "com.linecorp.bot.client.timing";
+
+    private final Consumer<CallTiming> consumer;
+    private final LongAdder acquiredConnections = new LongAdder();
+    private final LongAdder reusedConnections = new LongAdder();
+
+    @Builder
+    private CallTimingRecorder(@NonNull Consumer<CallTiming> consumer) {
+        this.consumer = consumer;
+    }
+
+    public static class CallTimingRecorderBuilder {
+        // Default values. Other members are filled by lombok.
+
+        /** Consumer of timings. Default = logs at DEBUG level. */
+        private Consumer<CallTiming> consumer = CallTimingRecorder::log;
+    }
+
+    @Override
+    public EventListener create(Call call) {
+        return new CallTimingEventListener(this);
+    }
+
+    /**
+     * Ratio of connections acquired from the pool to all acquired connections, or {@code NaN} if no
+     * connection has been acquired yet. A low ratio under steady load suggests that the pool keeps too few
+     * idle connections or closes them too early.
+     */
+    public double getConnectionReuseRatio() {
+        final long acquired = acquiredConnections.sum();
+        return acquired > 0 ? (double) reusedConnections.sum() / acquired : Double.NaN;
+    }
+
+    void onConnectionAcquired(boolean reused) {
+        acquiredConnections.increment();
+        if (reused) {
+            reusedConnections.increment();
+        }
+    }
+
+    void onCallFinished(CallTiming timing) {
+        try {
+            consumer.accept(timing);
+        } catch (RuntimeException e) {
+            log.warn("Failed to record timing of {}", timing.getEndpoint(), e);
+        }
+    }
+
+    private static void log(CallTiming timing) {
+        if (log.isDebugEnabled()) {
+            log.debug("{}: total={}ms dns={}ms connect={}ms tls={}ms ttfb={}ms body={}ms reused={} failed={}",
+                      timing.getEndpoint(), timing.getTotal().toMillis(), timing.getDns().toMillis(),
+                      timing.getConnect().toMillis(), timing.getTls().toMillis(),
+                      timing.getTimeToFirstByte().toMillis(), timing.getBodyTransfer().toMillis(),
+                      timing.isConnectionReused(), timing.isFailed());
+        }
+    }
+}
@@ -21,10 +21,14 @@ import static com.linecorp.bot.client.LineMessagingClientBuilder.buildLoggingInt
 import static com.linecorp.bot.client.LineMessagingClientBuilder.createDefaultRetrofitBuilder;
 
 import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
 
 import lombok.NonNull;
 import lombok.Setter;
 import lombok.experimental.Accessors;
+import okhttp3.EventListener;
+import okhttp3.Interceptor;
 import okhttp3.OkHttpClient;
 import okhttp3.OkHttpClient.Builder;
 import retrofit2.Retrofit;
@@ -35,6 +39,32 @@ public class ChannelManagementClientBuilder {
     private URI apiEndPoint = LineClientConstants.DEFAULT_API_END_POINT;
     private ChannelTokenSupplier channelTokenSupplier;
 
+    /**
+     * Shared HTTP transport. A dedicated connection pool is used in case of {@code null} (default).
+     */
+    private LineClientTransport transport;
+
+    /**
+     * Interceptor to log HTTP requests and responses. Default {@link WireLoggingInterceptor} is used
+     * in case of {@code null} (default).
+     */
+    private Interceptor wireLoggingInterceptor;
+
+    /**
+     * Add interceptors which are applied after the authentication interceptor, e.g.
+     * {@link MetricsInterceptor}.
+     */
+    private List<Interceptor> additionalInterceptors = new ArrayList<>();
+
+    /**
+     * Factory of {@link EventListener} to observe connections and phases of HTTP calls.
+     *
+     * <p>No listener is installed in case of {@code null} (default).
+     *
+     * @see CallTimingRecorder
+     */
+    private EventListener.Factory eventListenerFactory;
+
     /**
      * Create a new {@link ChannelManagementClientBuilder} with specified {@link ChannelTokenSupplier}.
      */
@@ -47,11 +77,18 @@ public class ChannelManagementClientBuilder {
      * Build a new {@link ChannelManagementSyncClient}.
      */
     public ChannelManagementSyncClient build() {
-        final Builder okHttpClientBuilder = new Builder();
+        final Builder okHttpClientBuilder = transport != null ? transport.newOkHttpClientBuilder()
+                                                              : new Builder();
 
-        okHttpClientBuilder
-                .addInterceptor(buildAuthenticationInterceptor(channelTokenSupplier))
-                .addInterceptor(buildLoggingInterceptor());
+        okHttpClientBuilder.addInterceptor(buildAuthenticationInterceptor(channelTokenSupplier));
+        if (additionalInterceptors != null) {
+            additionalInterceptors.forEach(okHttpClientBuilder::addInterceptor);
+        }
+        okHttpClientBuilder.addInterceptor(wireLoggingInterceptor != null ? wireLoggingInterceptor
+                                                                          : buildLoggingInterceptor());
+        if (eventListenerFactory != null) {
+            okHttpClientBuilder.eventListenerFactory(eventListenerFactory);
+        }
 
         final OkHttpClient okHttpClient = okHttpClientBuilder.build();
 
@@ -16,6 +16,7 @@
 
 package com.linecorp.bot.client;
 
+import static com.linecorp.bot.client.LineMessagingClientImpl.EXCEPTION_CONVERTER;
 import static com.linecorp.bot.client.LineMessagingClientImpl.toFuture;
 
 import java.util.concurrent.ExecutionException;
@@ -55,7 +56,7 @@ public class ChannelManagementSyncClientImpl implements ChannelManagementSyncCli
 
     private <T> T syncGet(Call<T> wrap) {
         try {
-            return toFuture(wrap).get();
+            return toFuture(wrap, EXCEPTION_CONVERTER).get();
         } catch (ExecutionException | InterruptedException e) {
             final Throwable cause;
             if (e.getCause() instanceof LineMessagingException) {
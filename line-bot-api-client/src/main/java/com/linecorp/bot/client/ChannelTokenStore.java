@@ -0,0 +1,58 @@
+/*
+ * Copyright 2023 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package com.linecorp.bot.client;
+
+import java.nio.file.Path;
+
+/**
+ * Storage of channel access tokens shared by {@link StatelessChannelTokenSupplier}s.
+ *
+ * <p>Suppliers sharing a store use the token issued by any of them instead of issuing their own.
+ * Implement this interface on a storage shared by nodes, e.g. Redis or a database, to share tokens across
+ * a fleet. Implementations must be thread-safe.
+ */
+public interface ChannelTokenStore {
+    /**
+     * Returns the store shared in this JVM.
+     */
+    static ChannelTokenStore inMemory() {
+        return InMemoryChannelTokenStore.INSTANCE;
+    }
+
+    /**
+     * Returns a store which keeps tokens in files under the {@code directory}, which can be shared by
+     * processes on the same host.
+     */
+    static ChannelTokenStore file(Path directory) {
+        return new FileChannelTokenStore(directory);
+    }
+
+    /**
+     * Returns the token of the channel, or {@code null} if not stored.
+     */
+    StoredChannelToken load(String channelId);
+
+    /**
+     * Stores {@code newToken} only if the stored token is {@code expected}.
+     *
+     * @param expected the token returned by {@link #load(String)}; {@code null} for no token.
+     * @return {@code true} if {@code newToken} is stored. {@code false} if another token was stored
+     *     in the meantime.
+     */
+    boolean compareAndSet(String channelId, StoredChannelToken expected, StoredChannelToken newToken);
+}
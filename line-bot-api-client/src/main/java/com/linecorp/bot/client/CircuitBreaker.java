@@ -0,0 +1,213 @@
+/*
+ * Copyright 2023 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package com.linecorp.bot.client;
+
+import java.time.Duration;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Circuit breaker of an API endpoint.
+ *
+ * <p>Outcomes of the latest {@code windowSize} calls are recorded. When the failure rate of them reaches
+ * {@code failureRateThreshold}, the circuit opens and calls fail immediately for {@code openDuration}.
+ * Then the circuit becomes half-open and lets {@code halfOpenCalls} trial calls through; the circuit closes
+ * if all of them succeed, or opens again otherwise.
+ *
+ * @see EndpointCircuitBreakers
+ */
+@Slf4j
+public final class CircuitBreaker {
+    /**
+     * State of {@link CircuitBreaker}.
+     */
+    public enum State {
+        /** Calls are allowed. */
+        CLOSED,
+        /** Calls fail immediately. */
+        OPEN,
+        /** Limited number of trial calls are allowed. */
+        HALF_OPEN
+    }
+
+    private final String name;
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final long openDurationNanos;
+    private final int halfOpenCalls;
+
+    // Read without lock in the fast path. Other fields are guarded by this.
+    private volatile State state = State.CLOSED;
+
+    // Ring buffer of the latest outcomes; true means failure.
+    private final boolean[] window;
+    private int windowIndex;
+    private int windowCount;
+    private int failureCount;
+
+    private long openedAtNanos;
+    private int halfOpenPermits;
+    private int halfOpenSuccesses;
+
+    CircuitBreaker(String name, int windowSize, int minimumCalls, double failureRateThreshold,
+                   Duration openDuration, int halfOpenCalls) {
+        this.name = name;
+        this.minimumCalls = minimumCalls;
+        this.failureRateThreshold = failureRateThreshold;
+        this.halfOpenCalls = halfOpenCalls;
+        openDurationNanos = openDuration.toNanos();
+        window = new boolean[windowSize];
+    }
+
+    /**
+     * Name of the endpoint.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Current state.
+     */
+    public State getState() {
+        if (state == State.OPEN) {
+            synchronized (this) {
+                halfOpenIfExpired();
+            }
+        }
+        return state;
+    }
+
+    /**
+     * Returns whether a call is allowed now.
+     */
+    boolean tryAcquire() {
+        if (state == State.CLOSED) {
+            return true;
+        }
+        synchronized (this) {
+            halfOpenIfExpired();
+            switch (state) {
+                case CLOSED:
+                    return true;
+                case HALF_OPEN:
+                    if (halfOpenPermits > 0) {
+                        halfOpenPermits--;
+                        return true;
+                    }
+                    return false;
+                default:
+                    return false;
+            }
+        }
+    }
+
+    /**
+     * Records a successful call.
+     */
+    synchronized void onSuccess() {
+        switch (state) {
+            case CLOSED:
+                record(false);
+                break;
+            case HALF_OPEN:
+                if (++halfOpenSuccesses >= halfOpenCalls) {
+                    transitionTo(State.CLOSED);
+                }
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * Records a failed call.
+     */
+    synchronized void onFailure() {
+        switch (state) {
+            case CLOSED:
+                record(true);
+                if (windowCount >= minimumCalls && failureCount >= failureRateThreshold * windowCount) {
+                    transitionTo(State.OPEN);
+                }
+                break;
+            case HALF_OPEN:
+                transitionTo(State.OPEN);
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * Records a call which ended without reaching the endpoint, e.g. rejected by a client side limiter or
+     * canceled. The outcome is not recorded, and the trial permit is given back in half-open state.
+     */
+    synchronized void onIgnore() {
+        if (state == State.HALF_OPEN && halfOpenPermits + halfOpenSuccesses < halfOpenCalls) {
+            halfOpenPermits++;
+        }
+    }
+
+    private void record(boolean failure) {
+        if (windowCount == window.length) {
+            if (window[windowIndex]) {
+                failureCount--;
+            }
+        } else {
+            windowCount++;
+        }
+        window[windowIndex] = failure;
+        if (failure) {
+            failureCount++;
+        }
+        windowIndex = (windowIndex + 1) % window.length;
+    }
+
+    private void halfOpenIfExpired() {
+        if (state == State.OPEN && System.nanoTime() - openedAtNanos >= openDurationNanos) {
+            transitionTo(State.HALF_OPEN);
+        }
+    }
+
+    private void transitionTo(State newState) {
+        log.info("Circuit breaker of {} changed: {} -> {}", name, state, newState);
+        switch (newState) {
+            case CLOSED:
+                windowIndex = 0;
+                windowCount = 0;
+                failureCount = 0;
+                break;
+            case OPEN:
+                openedAtNanos = System.nanoTime();
+                break;
+            case HALF_OPEN:
+                halfOpenPermits = halfOpenCalls;
+                halfOpenSuccesses = 0;
+                break;
+            default:
+                throw new IllegalStateException(newState.toString());
+        }
+        state = newState;
+    }
+
+    @Override
+    public String toString() {
+        return "CircuitBreaker(name=" + name + ", state=" + getState() + ')';
+    }
+}
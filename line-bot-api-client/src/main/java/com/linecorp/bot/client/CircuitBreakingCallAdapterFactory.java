@@ -0,0 +1,144 @@
+/*
+ * Copyright 2023 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package com.linecorp.bot.client;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import com.linecorp.bot.client.exception.CircuitBreakerOpenException;
+import com.linecorp.bot.client.exception.RateLimitExceededException;
+
+import lombok.AllArgsConstructor;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+/**
+ * {@link retrofit2.CallAdapter.Factory} which guards calls by {@link EndpointCircuitBreakers}.
+ */
+@AllArgsConstructor
+class CircuitBreakingCallAdapterFactory extends ForwardingCallAdapterFactory {
+    private final EndpointCircuitBreakers circuitBreakers;
+
+    @Override
+    <T> Call<T> wrap(Call<T> call) {
+        return new CircuitBreakingCall<>(call);
+    }
+
+    private static boolean isFailure(Response<?> response) {
+        return response.code() >= 500;
+    }
+
+    private final class CircuitBreakingCall<T> extends ForwardingCall<T> {
+        CircuitBreakingCall(Call<T> delegate) {
+            super(delegate);
+        }
+
+        @Override
+        public void enqueue(Callback<T> callback) {
+            final CircuitBreaker circuitBreaker =
+                    circuitBreakers.circuitBreaker(Endpoints.nameOf(delegate.request()));
+            if (!circuitBreaker.tryAcquire()) {
+                callback.onFailure(this, circuitBreakerOpen(circuitBreaker));
+                return;
+            }
+
+            // Guards against releasing the permit twice when the delegate completes synchronously and
+            // then throws.
+            final AtomicBoolean released = new AtomicBoolean();
+            try {
+                delegate.enqueue(new Callback<T>() {
+                    @Override
+                    public void onResponse(Call<T> call, Response<T> response) {
+                        if (released.compareAndSet(false, true)) {
+                            onResponseReceived(circuitBreaker, response);
+                        }
+                        callback.onResponse(CircuitBreakingCall.this, response);
+                    }
+
+                    @Override
+                    public void onFailure(Call<T> call, Throwable t) {
+                        if (released.compareAndSet(false, true)) {
+                            onCallFailure(circuitBreaker, t);
+                        }
+                        callback.onFailure(CircuitBreakingCall.this, t);
+                    }
+                });
+            } catch (RuntimeException e) {
+                // e.g. "Already executed"; nothing was sent.
+                if (released.compareAndSet(false, true)) {
+                    circuitBreaker.onIgnore();
+                }
+                throw e;
+            }
+        }
+
+        @Override
+        public Response<T> execute() throws IOException {
+            final CircuitBreaker circuitBreaker =
+                    circuitBreakers.circuitBreaker(Endpoints.nameOf(delegate.request()));
+            if (!circuitBreaker.tryAcquire()) {
+                throw new IOException(circuitBreakerOpen(circuitBreaker));
+            }
+
+            final Response<T> response;
+            try {
+                response = delegate.execute();
+            } catch (IOException e) {
+                onCallFailure(circuitBreaker, e);
+                throw e;
+            } catch (RuntimeException e) {
+                // e.g. "Already executed" or a converter failure, which say nothing about the endpoint.
+                circuitBreaker.onIgnore();
+                throw e;
+            }
+            onResponseReceived(circuitBreaker, response);
+            return response;
+        }
+
+        private void onResponseReceived(CircuitBreaker circuitBreaker, Response<T> response) {
+            if (isFailure(response)) {
+                circuitBreaker.onFailure();
+            } else {
+                circuitBreaker.onSuccess();
+            }
+        }
+
+        /**
+         * Calls rejected by client side limiters inside this breaker or canceled by the caller don't
+         * reflect the health of the endpoint.
+         */
+        private void onCallFailure(CircuitBreaker circuitBreaker, Throwable t) {
+            if (delegate.isCanceled() || t instanceof RateLimitExceededException
+                || t.getCause() instanceof RateLimitExceededException) {
+                circuitBreaker.onIgnore();
+            } else {
+                circuitBreaker.onFailure();
+            }
+        }
+
+        private CircuitBreakerOpenException circuitBreakerOpen(CircuitBreaker circuitBreaker) {
+            return new CircuitBreakerOpenException("Circuit breaker is open: " + circuitBreaker.getName());
+        }
+
+        @Override
+        public Call<T> clone() {
+            return new CircuitBreakingCall<>(delegate.clone());
+        }
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2023 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package com.linecorp.bot.client;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import com.linecorp.bot.client.exception.RateLimitExceededException;
+
+import lombok.AllArgsConstructor;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+/**
+ * {@link retrofit2.CallAdapter.Factory} which limits in-flight calls by {@link AdaptiveConcurrencyLimiter}
+ * and feeds their results back to it.
+ *
+ * <p>The latency fed back is measured by OkHttp from writing the request to the network until receiving
+ * the response headers, so time queued in the dispatcher or spent on connecting doesn't count as server
+ * latency.
+ */
+@AllArgsConstructor
+class ConcurrencyLimitingCallAdapterFactory extends ForwardingCallAdapterFactory {
+    private static final int TOO_MANY_REQUESTS = 429;
+
+    private final AdaptiveConcurrencyLimiter limiter;
+
+    @Override
+    <T> Call<T> wrap(Call<T> call) {
+        return new ConcurrencyLimitedCall<>(call);
+    }
+
+    private final class ConcurrencyLimitedCall<T> extends ForwardingCall<T> {
+        ConcurrencyLimitedCall(Call<T> delegate) {
+            super(delegate);
+        }
+
+        @Override
+        public void enqueue(Callback<T> callback) {
+            if (!limiter.acquire(() -> start(callback))) {
+                callback.onFailure(this, concurrencyLimitExceeded());
+            }
+        }
+
+        private void start(Callback<T> callback) {
+            if (delegate.isCanceled()) {
+                limiter.onIgnore();
+                callback.onFailure(this, new IOException("Canceled"));
+                return;
+            }
+
+            delegate.enqueue(new Callback<T>() {
+                @Override
+                public void onResponse(Call<T> call, Response<T> response) {
+                    onCompletion(response);
+                    callback.onResponse(ConcurrencyLimitedCall.this, response);
+                }
+
+                @Override
+                public void onFailure(Call<T> call, Throwable t) {
+                    limiter.onIgnore();
+                    callback.onFailure(ConcurrencyLimitedCall.this, t);
+                }
+            });
+        }
+
+        @Override
+        public Response<T> execute() throws IOException {
+            if (!limiter.tryAcquire()) {
+                throw new IOException(concurrencyLimitExceeded());
+            }
+            final Response<T> response;
+            try {
+                response = delegate.execute();
+            } catch (IOException | RuntimeException e) {
+                limiter.onIgnore();
+                throw e;
+            }
+            onCompletion(response);
+            return response;
+        }
+
+        private void onCompletion(Response<T> response) {
+            if (response.code() == TOO_MANY_REQUESTS) {
+                limiter.onOverload();
+            } else if (response.isSuccessful()) {
+                final okhttp3.Response raw = response.raw();
+                limiter.onSuccess(TimeUnit.MILLISECONDS.toNanos(
+                        raw.receivedResponseAtMillis() - raw.sentRequestAtMillis()));
+            } else {
+                limiter.onIgnore();
+            }
+        }
+
+        private RateLimitExceededException concurrencyLimitExceeded() {
+            return new RateLimitExceededException(
+                    "Concurrency limit exceeded: " + Endpoints.nameOf(delegate.request()));
+        }
+
+        @Override
+        public Call<T> clone() {
+            return new ConcurrencyLimitedCall<>(delegate.clone());
+        }
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2023 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.linecorp.bot.client;
+
+import java.nio.file.Path;
+
+import lombok.Builder;
+import lombok.NonNull;
+import lombok.Value;
+
+/**
+ * Options of holding downloaded content in a {@link MessageContentBuffer}.
+ *
+ * <p>Content up to {@link #getHeapThreshold()} bytes is held on the heap, content fitting in a buffer of
+ * {@link #getDirectBufferPool()} in a pooled direct buffer, and larger content or content of unknown
+ * length in a memory-mapped temporary file.
+ *
+ * @see LineBlobClient#getMessageContentBuffer(String, ContentBufferOptions)
+ */
+@Value
+public class ContentBufferOptions {
+    /**
+     * Options with default values.
+     */
+    public static final ContentBufferOptions DEFAULT = builder().build();
+
+    /**
+     * Maximum size of content held on the heap.
+     */
+    long heapThreshold;
+
+    /**
+     * Pool of direct buffers for content larger than {@link #heapThreshold}.
+     */
+    DirectBufferPool directBufferPool;
+
+    /**
+     * Directory to create temporary files in. {@code null} to use the default temporary directory.
+     */
+    Path spoolDirectory;
+
+    @Builder(toBuilder = true)
+    private ContentBufferOptions(long heapThreshold, @NonNull DirectBufferPool directBufferPool,
+                                 Path spoolDirectory) {
+        if (heapThreshold < 0) {
+            throw new IllegalArgumentException("heapThreshold must not be negative: " + heapThreshold);
+        }
+        this.heapThreshold = heapThreshold;
+        this.directBufferPool = directBufferPool;
+        this.spoolDirectory = spoolDirectory;
+    }
+
+    public static class ContentBufferOptionsBuilder {
+        // Default values. Other members are filled by lombok.
+
+        /** Maximum size of content held on the heap. Default = 16 KiB. */
+        private long heapThreshold = 16 * 1024;
+
+        /** Pool of direct buffers. Default = {@link DirectBufferPool#DEFAULT}. */
+        private DirectBufferPool directBufferPool = DirectBufferPool.DEFAULT;
+    }
+}
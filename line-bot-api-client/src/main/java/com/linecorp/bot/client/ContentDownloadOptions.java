@@ -0,0 +1,47 @@
+/*
+ * Copyright 2023 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.linecorp.bot.client;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Options of downloading content into a file or a channel.
+ *
+ * @see LineBlobClient#getMessageContent(String, java.nio.file.Path, ContentDownloadOptions)
+ */
+@Value
+@Builder(toBuilder = true)
+public class ContentDownloadOptions {
+    /**
+     * Options with default values.
+     */
+    public static final ContentDownloadOptions DEFAULT = builder().build();
+
+    /**
+     * Whether to continue from the end of an existing file instead of downloading it again.
+     * The rest of the content is requested with a {@code Range} header; when the server returns the whole
+     * content, the file is overwritten. Only applicable when downloading into a file. Default = false.
+     */
+    boolean resume;
+
+    /**
+     * Whether to force the written content to the storage device before completing the future.
+     * Only applicable when the target is a file or a {@link java.nio.channels.FileChannel}. Default = false.
+     */
+    boolean fsync;
+}
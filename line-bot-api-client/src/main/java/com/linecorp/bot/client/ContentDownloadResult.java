@@ -0,0 +1,58 @@
+/*
+ * Copyright 2023 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.linecorp.bot.client;
+
+import java.util.List;
+import java.util.Map;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Result of downloading content into a file or a channel.
+ *
+ * @see LineBlobClient#getMessageContent(String, java.nio.file.Path, ContentDownloadOptions)
+ */
+@Value
+@Builder
+public class ContentDownloadResult {
+    /**
+     * Size of the whole content, including bytes which had been downloaded before a resumed download.
+     */
+    long length;
+
+    /**
+     * Number of bytes transferred by this download.
+     */
+    long transferredBytes;
+
+    /**
+     * Whether this download continued from the end of an existing file.
+     */
+    boolean resumed;
+
+    /** File contents type represented by MIME. {@code null} when no content was transferred. */
+    String mimeType;
+
+    /**
+     * All HTTP headers of API response.
+     *
+     * <p>Note: there are no SPEC for those headers.
+     * Current field values are provided AS-IS and can be changed/removed without announces.
+     */
+    Map<String, List<String>> allHeaders;
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2023 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.linecorp.bot.client;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Pool of direct buffers of the same size, reused to hold downloaded content off the Java heap.
+ *
+ * <p>Buffers are allocated on demand; at most {@code maxPooledBuffers} released buffers are kept for
+ * reuse and the rest are left to the garbage collector.
+ *
+ * @see ContentBufferOptions#getDirectBufferPool()
+ */
+@ToString(exclude = "pooled")
+public final class DirectBufferPool {
+    /**
+     * Pool shared by default, with 1 MiB buffers.
+     */
+    public static final DirectBufferPool DEFAULT = builder().build();
+
+    /**
+     * Capacity of each buffer in bytes.
+     */
+    @Getter
+    private final int bufferSize;
+    private final BlockingQueue<ByteBuffer> pooled;
+
+    @Builder
+    private DirectBufferPool(int bufferSize, int maxPooledBuffers) {
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("bufferSize must be positive: " + bufferSize);
+        }
+        if (maxPooledBuffers <= 0) {
+            throw new IllegalArgumentException("maxPooledBuffers must be positive: " + maxPooledBuffers);
+        }
+        this.bufferSize = bufferSize;
+        pooled = new ArrayBlockingQueue<>(maxPooledBuffers);
+    }
+
+    /**
+     * Returns a cleared buffer of {@link #getBufferSize()} bytes.
+     */
+    ByteBuffer acquire() {
+        final ByteBuffer buffer = pooled.poll();
+        if (buffer == null) {
+            return ByteBuffer.allocateDirect(bufferSize);
+        }
+        buffer.clear();
+        return buffer;
+    }
+
+    /**
+     * Returns the buffer to the pool. The buffer must not be used afterwards.
+     */
+    void release(ByteBuffer buffer) {
+        pooled.offer(buffer);
+    }
+
+    /**
+     * Number of buffers waiting for reuse.
+     */
+    int pooledCount() {
+        return pooled.size();
+    }
+
+    public static class DirectBufferPoolBuilder {
+        // Default values. Other members are filled by lombok.
+
+        /** Capacity of each buffer in bytes. Default = 1 MiB. */
+        private int bufferSize = 1024 * 1024;
+
+        /** Maximum number of released buffers kept for reuse. Default = 32. */
+        private int maxPooledBuffers = 32;
+    }
+}
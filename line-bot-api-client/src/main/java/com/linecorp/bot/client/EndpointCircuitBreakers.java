@@ -0,0 +1,109 @@
+/*
+ * Copyright 2023 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package com.linecorp.bot.client;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import lombok.Builder;
+import lombok.NonNull;
+import lombok.ToString;
+
+/**
+ * Circuit breakers per API endpoint.
+ *
+ * <p>Endpoints are identified by the method names of {@link LineMessagingService} and
+ * {@link LineBlobService}, e.g. {@code "replyMessage"} and {@code "getMessageContent"}, so an outage of
+ * one endpoint doesn't affect the others. While a circuit is open, calls of the endpoint fail immediately
+ * with {@link com.linecorp.bot.client.exception.CircuitBreakerOpenException} instead of waiting for
+ * timeouts.
+ *
+ * <p>Failures are I/O errors including timeouts and 5xx responses. Other error responses are regarded as
+ * successes because they prove that the server is working.
+ *
+ * @see LineMessagingClientBuilder#circuitBreakers(EndpointCircuitBreakers)
+ * @see LineBlobClientBuilder#circuitBreakers(EndpointCircuitBreakers)
+ */
+@ToString(exclude = "circuitBreakers")
+public final class EndpointCircuitBreakers {
+    private final int windowSize;
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final Duration openDuration;
+    private final int halfOpenCalls;
+
+    private final Map<String, CircuitBreaker> circuitBreakers = new ConcurrentHashMap<>();
+
+    @Builder
+    private EndpointCircuitBreakers(int windowSize, int minimumCalls, double failureRateThreshold,
+                                    @NonNull Duration openDuration, int halfOpenCalls) {
+        if (windowSize <= 0 || minimumCalls <= 0 || minimumCalls > windowSize) {
+            throw new IllegalArgumentException("0 < minimumCalls <= windowSize is required: "
+                                               + minimumCalls + ", " + windowSize);
+        }
+        if (!(failureRateThreshold > 0 && failureRateThreshold <= 1)) {
+            throw new IllegalArgumentException(
+                    "failureRateThreshold must be in (0.0, 1.0]: " + failureRateThreshold);
+        }
+        if (halfOpenCalls <= 0) {
+            throw new IllegalArgumentException("halfOpenCalls must be positive: " + halfOpenCalls);
+        }
+        this.windowSize = windowSize;
+        this.minimumCalls = minimumCalls;
+        this.failureRateThreshold = failureRateThreshold;
+        this.openDuration = openDuration;
+        this.halfOpenCalls = halfOpenCalls;
+    }
+
+    /**
+     * Returns the circuit breaker of the endpoint.
+     */
+    public CircuitBreaker circuitBreaker(String endpoint) {
+        return circuitBreakers.computeIfAbsent(
+                endpoint, name -> new CircuitBreaker(name, windowSize, minimumCalls, failureRateThreshold,
+                                                     openDuration, halfOpenCalls));
+    }
+
+    /**
+     * Returns circuit breakers of endpoints called so far, keyed by endpoint.
+     */
+    public Map<String, CircuitBreaker> circuitBreakers() {
+        return Collections.unmodifiableMap(circuitBreakers);
+    }
+
+    public static class EndpointCircuitBreakersBuilder {
+        // Default values. Other members are filled by lombok.
+
+        /** Number of latest calls to calculate failure rate. Default = 20. */
+        private int windowSize = 20;
+
+        /** Minimum number of calls to open the circuit. Default = 10. */
+        private int minimumCalls = 10;
+
+        /** Failure rate to open the circuit. Default = 0.5. */
+        private double failureRateThreshold = 0.5;
+
+        /** Duration to keep the circuit open before trial calls. Default = 10 seconds. */
+        private Duration openDuration = Duration.ofSeconds(10);
+
+        /** Number of successful trial calls to close the circuit. Default = 1. */
+        private int halfOpenCalls = 1;
+    }
+}
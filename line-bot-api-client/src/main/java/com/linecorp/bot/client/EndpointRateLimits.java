@@ -0,0 +1,106 @@
+/*
+ * Copyright 2023 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package com.linecorp.bot.client;
+
+import java.time.Duration;
+import java.util.Map;
+
+import lombok.Builder;
+import lombok.NonNull;
+import lombok.Singular;
+import lombok.ToString;
+
+/**
+ * Client side rate limits per API endpoint.
+ *
+ * <p>Endpoints are identified by the method names of {@link LineMessagingService} and
+ * {@link LineBlobService}, e.g. {@code "pushMessage"}. Endpoints sharing a limit of the LINE Platform
+ * should share one {@link RateLimiter}.
+ * <pre>{@code
+ * EndpointRateLimits.builder()
+ *                   .group(RateLimiter.create(2000, 200), "pushMessage", "multicast")
+ *                   .group(RateLimiter.create(60.0 / 3600), "broadcast", "narrowcast")
+ *                   .mode(EndpointRateLimits.Mode.WAIT)
+ *                   .build();
+ * }</pre>
+ *
+ * @see LineMessagingClientBuilder#rateLimits(EndpointRateLimits)
+ */
+@ToString
+public final class EndpointRateLimits {
+    /**
+     * Behavior when no permit is available.
+     */
+    public enum Mode {
+        /**
+         * Delays the request until a permit is available, without blocking any thread.
+         * Fails if a permit won't be available within {@code maxWait}.
+         */
+        WAIT,
+        /**
+         * Fails the request immediately with
+         * {@link com.linecorp.bot.client.exception.RateLimitExceededException}.
+         */
+        FAIL_FAST
+    }
+
+    private final Map<String, RateLimiter> limiters;
+    private final RateLimiter defaultLimiter;
+    private final Mode mode;
+    private final Duration maxWait;
+
+    @Builder
+    private EndpointRateLimits(@Singular Map<String, RateLimiter> limiters, RateLimiter defaultLimiter,
+                               @NonNull Mode mode, @NonNull Duration maxWait) {
+        this.limiters = limiters;
+        this.defaultLimiter = defaultLimiter;
+        this.mode = mode;
+        this.maxWait = maxWait;
+    }
+
+    /**
+     * Returns the limiter of the endpoint, or {@code null} if the endpoint isn't limited.
+     */
+    RateLimiter limiterFor(String endpoint) {
+        return limiters.getOrDefault(endpoint, defaultLimiter);
+    }
+
+    long maxWaitNanos() {
+        return mode == Mode.FAIL_FAST ? 0 : maxWait.toNanos();
+    }
+
+    public static class EndpointRateLimitsBuilder {
+        // Default values. Other members are filled by lombok.
+
+        /** Behavior when no permit is available. Default = {@link Mode#WAIT}. */
+        private Mode mode = Mode.WAIT;
+
+        /** Maximum delay of a request in {@link Mode#WAIT}. Default = 30 seconds. */
+        private Duration maxWait = Duration.ofSeconds(30);
+
+        /**
+         * Applies one {@link RateLimiter} to all of {@code endpoints}.
+         */
+        public EndpointRateLimitsBuilder group(RateLimiter limiter, String... endpoints) {
+            for (String endpoint : endpoints) {
+                limiter(endpoint, limiter);
+            }
+            return this;
+        }
+    }
+}
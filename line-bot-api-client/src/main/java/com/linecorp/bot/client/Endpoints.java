@@ -0,0 +1,41 @@
+/*
+ * Copyright 2023 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package com.linecorp.bot.client;
+
+import okhttp3.Request;
+import retrofit2.Invocation;
+
+/**
+ * Utilities to identify API endpoints of requests.
+ */
+final class Endpoints {
+    private Endpoints() {
+    }
+
+    /**
+     * Returns the endpoint name of the request, which is the name of the Retrofit interface method
+     * (e.g. {@code "pushMessage"}). Falls back to the URL path for requests not created by Retrofit.
+     */
+    static String nameOf(Request request) {
+        final Invocation invocation = request.tag(Invocation.class);
+        if (invocation != null) {
+            return invocation.method().getName();
+        }
+        return request.url().encodedPath();
+    }
+}
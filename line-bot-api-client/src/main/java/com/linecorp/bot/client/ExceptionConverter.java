@@ -20,6 +20,7 @@ import static java.util.Collections.singletonMap;
 
 import java.io.IOException;
 import java.util.function.Function;
+import java.util.function.Supplier;
 
 import com.fasterxml.jackson.databind.InjectableValues;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -36,12 +37,44 @@ import com.linecorp.bot.client.exception.TooManyRequestsException;
 import com.linecorp.bot.client.exception.UnauthorizedException;
 import com.linecorp.bot.model.error.ErrorResponse;
 
+import lombok.extern.slf4j.Slf4j;
 import okhttp3.ResponseBody;
 import retrofit2.Response;
 
+/**
+ * Converts an error response to an exception.
+ *
+ * <p>Only the error body is read here; it is parsed when the error response or the message of the
+ * exception is accessed first, so that a burst of errors which are only counted or retried costs about
+ * as much as successful responses.
+ *
+ * <p>A stackless converter creates exceptions of {@code 429 Too Many Requests} and {@code 5xx} responses
+ * without stack traces. Clients choose it with {@code stacklessExceptions} of their builders, which defaults
+ * to the system property {@value #STACKLESS_EXCEPTIONS_PROPERTY}.
+ */
+@Slf4j
 class ExceptionConverter implements Function<Response<?>, LineMessagingException> {
     public static final ObjectReader OBJECT_READER = new ObjectMapper().readerFor(ErrorResponse.class);
 
+    static final String STACKLESS_EXCEPTIONS_PROPERTY = "line.bot.client.stacklessExceptions";
+
+    /**
+     * Reader shared by all responses. The request ID is set after parsing instead of creating a reader
+     * injecting it for each response.
+     */
+    private static final ObjectReader ERROR_RESPONSE_READER =
+            OBJECT_READER.with(new InjectableValues.Std(singletonMap("requestId", null)));
+
+    private final boolean stacklessExceptions;
+
+    ExceptionConverter() {
+        this(Boolean.getBoolean(STACKLESS_EXCEPTIONS_PROPERTY));
+    }
+
+    ExceptionConverter(final boolean stacklessExceptions) {
+        this.stacklessExceptions = stacklessExceptions;
+    }
+
     @Override
     public LineMessagingException apply(Response<?> response) {
         final String requestId = response.headers().get("x-line-request-id");
@@ -53,39 +86,68 @@ class ExceptionConverter implements Function<Response<?>, LineMessagingException
         }
     }
 
-    private static LineMessagingException applyInternal(final String requestId, final Response<?> response)
+    private LineMessagingException applyInternal(final String requestId, final Response<?> response)
             throws IOException {
         final int code = response.code();
         final ResponseBody responseBody = response.errorBody();
 
-        final ErrorResponse errorResponse = OBJECT_READER
-                .with(new InjectableValues.Std(singletonMap("requestId", requestId)))
-                .readValue(responseBody.byteStream());
+        // Retrofit buffers error bodies, so this only copies the bytes.
+        final byte[] body = responseBody.source().readByteArray();
+        final Supplier<ErrorResponse> errorResponse = () -> parse(requestId, body);
+        final boolean writableStackTrace = !(stacklessExceptions && (code == 429 || code >= 500));
 
         switch (code) {
             case 400:
-                return new BadRequestException(
-                        errorResponse.getMessage(), errorResponse);
+                return new BadRequestException(errorResponse, true);
             case 401:
-                return new UnauthorizedException(
-                        errorResponse.getMessage(), errorResponse);
+                return new UnauthorizedException(errorResponse, true);
             case 403:
-                return new ForbiddenException(
-                        errorResponse.getMessage(), errorResponse);
+                return new ForbiddenException(errorResponse, true);
             case 404:
-                return new NotFoundException(
-                        errorResponse.getMessage(), errorResponse);
+                return new NotFoundException(errorResponse, true);
             case 409:
-                return new ConflictException(
-                        errorResponse.getMessage(), errorResponse);
+                return new ConflictException(errorResponse, true,
+                                             response.headers().get("x-line-accepted-request-id"));
             case 429:
-                return new TooManyRequestsException(
-                        errorResponse.getMessage(), errorResponse);
+                return new TooManyRequestsException(errorResponse, writableStackTrace);
             case 500:
-                return new LineServerException(
-                        errorResponse.getMessage(), errorResponse);
+                return new LineServerException(errorResponse, writableStackTrace);
         }
 
-        return new GeneralLineMessagingException(errorResponse.getMessage(), errorResponse, null);
+        return new GeneralLineMessagingException(errorResponse, writableStackTrace);
+    }
+
+    /**
+     * Returns the class of the exception converted from a response of the status code.
+     */
+    static Class<? extends LineMessagingException> exceptionClassOf(final int code) {
+        switch (code) {
+            case 400:
+                return BadRequestException.class;
+            case 401:
+                return UnauthorizedException.class;
+            case 403:
+                return ForbiddenException.class;
+            case 404:
+                return NotFoundException.class;
+            case 409:
+                return ConflictException.class;
+            case 429:
+                return TooManyRequestsException.class;
+            case 500:
+                return LineServerException.class;
+        }
+        return GeneralLineMessagingException.class;
+    }
+
+    private static ErrorResponse parse(final String requestId, final byte[] body) {
+        final ErrorResponse parsed;
+        try {
+            parsed = ERROR_RESPONSE_READER.readValue(body);
+        } catch (IOException e) {
+            log.debug("Failed to parse error response of request {}", requestId, e);
+            return new ErrorResponse(requestId, null, null);
+        }
+        return new ErrorResponse(requestId, parsed.getMessage(), parsed.getDetails());
     }
 }
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2023 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package com.linecorp.bot.client;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.List;
+import java.util.Objects;
+
+import lombok.ToString;
+
+/**
+ * {@link ChannelTokenStore} which keeps a token per channel in a file.
+ *
+ * <p>Updates are serialized among processes by a lock file, and the token file is replaced atomically so
+ * that readers never see a partially written file.
+ */
+@ToString
+final class FileChannelTokenStore implements ChannelTokenStore {
+    private static final Object JVM_LOCK = new Object();
+
+    private final Path directory;
+
+    FileChannelTokenStore(Path directory) {
+        this.directory = Objects.requireNonNull(directory, "directory");
+    }
+
+    @Override
+    public StoredChannelToken load(String channelId) {
+        try {
+            return read(tokenFile(channelId));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public boolean compareAndSet(String channelId, StoredChannelToken expected, StoredChannelToken newToken) {
+        // File locks are held by the JVM, so threads in this JVM are serialized separately.
+        synchronized (JVM_LOCK) {
+            try {
+                return compareAndSetLocked(channelId, expected, newToken);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    private boolean compareAndSetLocked(String channelId, StoredChannelToken expected,
+                                        StoredChannelToken newToken) throws IOException {
+        final Path tokenFile = tokenFile(channelId);
+        Files.createDirectories(directory);
+        try (FileChannel lockChannel = FileChannel.open(directory.resolve(channelId + ".lock"),
+                                                        StandardOpenOption.CREATE,
+                                                        StandardOpenOption.WRITE)) {
+            // Released by closing the channel.
+            lockChannel.lock();
+            if (!Objects.equals(read(tokenFile), expected)) {
+                return false;
+            }
+            final Path tempFile = Files.createTempFile(directory, channelId, ".tmp");
+            try {
+                Files.write(tempFile, (newToken.getExpiresAt().toEpochMilli() + "\n"
+                                       + newToken.getAccessToken() + '\n').getBytes(UTF_8));
+                Files.move(tempFile, tokenFile, StandardCopyOption.REPLACE_EXISTING,
+                           StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(tempFile);
+            }
+            return true;
+        }
+    }
+
+    private Path tokenFile(String channelId) {
+        return directory.resolve(channelId + ".token");
+    }
+
+    private static StoredChannelToken read(Path tokenFile) throws IOException {
+        final List<String> lines;
+        try {
+            lines = Files.readAllLines(tokenFile, UTF_8);
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+        if (lines.size() < 2) {
+            return null;
+        }
+        return new StoredChannelToken(lines.get(1), Instant.ofEpochMilli(Long.parseLong(lines.get(0))));
+    }
+}
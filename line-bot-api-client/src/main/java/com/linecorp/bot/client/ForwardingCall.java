@@ -0,0 +1,73 @@
+/*
+ * Copyright 2023 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package com.linecorp.bot.client;
+
+import java.io.IOException;
+
+import lombok.AllArgsConstructor;
+import okhttp3.Request;
+import okio.Timeout;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+/**
+ * {@link Call} which forwards all methods to another {@link Call}.
+ */
+@AllArgsConstructor
+abstract class ForwardingCall<T> implements Call<T> {
+    protected final Call<T> delegate;
+
+    @Override
+    public Response<T> execute() throws IOException {
+        return delegate.execute();
+    }
+
+    @Override
+    public void enqueue(Callback<T> callback) {
+        delegate.enqueue(callback);
+    }
+
+    @Override
+    public boolean isExecuted() {
+        return delegate.isExecuted();
+    }
+
+    @Override
+    public void cancel() {
+        delegate.cancel();
+    }
+
+    @Override
+    public boolean isCanceled() {
+        return delegate.isCanceled();
+    }
+
+    @Override
+    public abstract Call<T> clone();
+
+    @Override
+    public Request request() {
+        return delegate.request();
+    }
+
+    @Override
+    public Timeout timeout() {
+        return delegate.timeout();
+    }
+}
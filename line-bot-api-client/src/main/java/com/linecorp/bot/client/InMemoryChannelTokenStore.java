@@ -0,0 +1,48 @@
+/*
+ * Copyright 2023 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package com.linecorp.bot.client;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * {@link ChannelTokenStore} shared in the JVM.
+ */
+final class InMemoryChannelTokenStore implements ChannelTokenStore {
+    static final InMemoryChannelTokenStore INSTANCE = new InMemoryChannelTokenStore();
+
+    private final ConcurrentMap<String, StoredChannelToken> tokens = new ConcurrentHashMap<>();
+
+    @Override
+    public StoredChannelToken load(String channelId) {
+        return tokens.get(channelId);
+    }
+
+    @Override
+    public boolean compareAndSet(String channelId, StoredChannelToken expected, StoredChannelToken newToken) {
+        if (expected == null) {
+            return tokens.putIfAbsent(channelId, newToken) == null;
+        }
+        return tokens.replace(channelId, expected, newToken);
+    }
+
+    @Override
+    public String toString() {
+        return "InMemoryChannelTokenStore";
+    }
+}
@@ -0,0 +1,263 @@
+/*
+ * Copyright 2023 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package com.linecorp.bot.client;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.security.GeneralSecurityException;
+import java.security.Signature;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import com.linecorp.bot.model.oauth.IssueChannelAccessTokenResponse;
+
+import lombok.Builder;
+import lombok.NonNull;
+import lombok.ToString;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * {@link ChannelTokenSupplier} which issues channel access tokens v2.1 by JWT assertion and refreshes them
+ * in background.
+ *
+ * <p>Issuing the first token starts when this supplier is built. A new token is issued after
+ * {@code refreshRatio} of the lifetime of the current one, so {@link #get()} is just a volatile read and
+ * never waits for the LINE Platform except for the first token. The superseded token is revoked
+ * asynchronously after {@code revocationDelay} to let in-flight requests finish; revocation is skipped
+ * when {@code channelSecret} is not given.
+ * <pre>{@code
+ * JwtChannelTokenSupplier supplier = JwtChannelTokenSupplier.builder()
+ *                                                           .oAuthClient(LineOAuthClient.builder().build())
+ *                                                           .channelId(channelId)
+ *                                                           .channelSecret(channelSecret)
+ *                                                           .signingKey(AssertionSigningKey.fromJwk(jwk))
+ *                                                           .build();
+ * LineMessagingClient client = LineMessagingClient.builder(supplier).build();
+ * }</pre>
+ *
+ * @see LineOAuthClient#issueChannelTokenByJWT(String)
+ */
+@Slf4j
+@ToString(of = { "channelId", "signingKey", "tokenLifetime" })
+public final class JwtChannelTokenSupplier implements ChannelTokenSupplier, AutoCloseable {
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final Duration ASSERTION_LIFETIME = Duration.ofMinutes(30);
+    // Renew the cached assertion a bit before it expires.
+    private static final Duration ASSERTION_MARGIN = Duration.ofMinutes(1);
+
+    private final LineOAuthClient oAuthClient;
+    private final String channelId;
+    private final String channelSecret;
+    private final AssertionSigningKey signingKey;
+    private final String audience;
+    private final Duration tokenLifetime;
+    private final double refreshRatio;
+    private final Duration revocationDelay;
+    private final Duration retryInterval;
+    private final ScheduledExecutorService scheduler;
+
+    private final CompletableFuture<String> firstToken = new CompletableFuture<>();
+    private volatile String token;
+    private volatile boolean closed;
+    private volatile ScheduledFuture<?> nextRefresh;
+
+    // Accessed only by refresh, which never runs concurrently.
+    private String assertion;
+    private Instant assertionExpiresAt = Instant.MIN;
+
+    @Builder
+    private JwtChannelTokenSupplier(@NonNull LineOAuthClient oAuthClient, @NonNull String channelId,
+                                    String channelSecret, @NonNull AssertionSigningKey signingKey,
+                                    @NonNull String audience, @NonNull Duration tokenLifetime,
+                                    double refreshRatio, @NonNull Duration revocationDelay,
+                                    @NonNull Duration retryInterval, ScheduledExecutorService scheduler) {
+        if (!(refreshRatio > 0 && refreshRatio < 1)) {
+            throw new IllegalArgumentException("refreshRatio must be between 0.0 and 1.0: " + refreshRatio);
+        }
+        this.oAuthClient = oAuthClient;
+        this.channelId = channelId;
+        this.channelSecret = channelSecret;
+        this.signingKey = signingKey;
+        this.audience = audience;
+        this.tokenLifetime = tokenLifetime;
+        this.refreshRatio = refreshRatio;
+        this.revocationDelay = revocationDelay;
+        this.retryInterval = retryInterval;
+        this.scheduler = scheduler != null ? scheduler : LineClientScheduler.shared();
+        refresh();
+    }
+
+    /**
+     * Returns the current channel access token.
+     *
+     * <p>Waits for the first token only if it's not issued yet.
+     */
+    @Override
+    public String get() {
+        final String current = token;
+        if (current != null) {
+            return current;
+        }
+        return firstToken.join();
+    }
+
+    /**
+     * Stops refreshing tokens. The current token is left valid until it expires.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        final ScheduledFuture<?> scheduled = nextRefresh;
+        if (scheduled != null) {
+            scheduled.cancel(false);
+        }
+    }
+
+    private synchronized void refresh() {
+        if (closed) {
+            return;
+        }
+        final String clientAssertion;
+        try {
+            clientAssertion = assertion();
+        } catch (RuntimeException e) {
+            onFailure(e);
+            return;
+        }
+        oAuthClient.issueChannelTokenByJWT(clientAssertion).whenComplete((response, throwable) -> {
+            if (throwable != null) {
+                onFailure(throwable);
+            } else {
+                onIssued(response);
+            }
+        });
+    }
+
+    private void onIssued(IssueChannelAccessTokenResponse response) {
+        final String previous = token;
+        token = response.getAccessToken();
+        firstToken.complete(token);
+        log.debug("Issued channel access token. channelId: {}, keyId: {}, expiresIn: {}s",
+                  channelId, response.getKeyId(), response.getExpiresInSecs());
+
+        schedule(this::refresh, (long) (TimeUnit.SECONDS.toMillis(response.getExpiresInSecs()) * refreshRatio));
+        if (previous != null) {
+            scheduler.schedule(() -> revoke(previous), revocationDelay.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void onFailure(Throwable throwable) {
+        log.warn("Failed to issue channel access token. Retrying in {}. channelId: {}",
+                 retryInterval, channelId, throwable);
+        if (token == null) {
+            firstToken.completeExceptionally(throwable);
+        }
+        schedule(this::refresh, retryInterval.toMillis());
+    }
+
+    private void schedule(Runnable task, long delayMillis) {
+        if (!closed) {
+            nextRefresh = scheduler.schedule(task, delayMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void revoke(String accessToken) {
+        if (channelSecret == null) {
+            return;
+        }
+        oAuthClient.revokeChannelTokenByJWT(channelId, channelSecret, accessToken)
+                   .whenComplete((unused, throwable) -> {
+                       if (throwable != null) {
+                           log.warn("Failed to revoke superseded channel access token. channelId: {}",
+                                    channelId, throwable);
+                       }
+                   });
+    }
+
+    private String assertion() {
+        final Instant now = Instant.now();
+        if (assertion == null || now.isAfter(assertionExpiresAt.minus(ASSERTION_MARGIN))) {
+            assertionExpiresAt = now.plus(ASSERTION_LIFETIME);
+            assertion = sign(now, assertionExpiresAt);
+        }
+        return assertion;
+    }
+
+    private String sign(Instant now, Instant expiresAt) {
+        final Map<String, Object> header = new LinkedHashMap<>();
+        header.put("alg", "RS256");
+        header.put("typ", "JWT");
+        header.put("kid", signingKey.getKeyId());
+
+        final Map<String, Object> claims = new LinkedHashMap<>();
+        claims.put("iss", channelId);
+        claims.put("sub", channelId);
+        claims.put("aud", audience);
+        claims.put("exp", expiresAt.getEpochSecond());
+        claims.put("token_exp", tokenLifetime.getSeconds());
+
+        final Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        final String signingInput = encoder.encodeToString(toJson(header)) + '.'
+                                    + encoder.encodeToString(toJson(claims));
+        try {
+            final Signature signature = Signature.getInstance("SHA256withRSA");
+            signature.initSign(signingKey.getPrivateKey());
+            signature.update(signingInput.getBytes(UTF_8));
+            return signingInput + '.' + encoder.encodeToString(signature.sign());
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Failed to sign JWT assertion", e);
+        }
+    }
+
+    private static byte[] toJson(Map<String, Object> value) {
+        try {
+            return OBJECT_MAPPER.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public static class JwtChannelTokenSupplierBuilder {
+        // Default values. Other members are filled by lombok.
+
+        /** {@code aud} claim of the assertion. Default = "https://api.line.me/". */
+        private String audience = "https://api.line.me/";
+
+        /** Requested lifetime of each token. Default = 30 days, which is the maximum. */
+        private Duration tokenLifetime = Duration.ofDays(30);
+
+        /** Ratio of the lifetime of a token to elapse before refreshing it. Default = 0.8. */
+        private double refreshRatio = 0.8;
+
+        /** Delay before revoking a superseded token. Default = 1 minute. */
+        private Duration revocationDelay = Duration.ofMinutes(1);
+
+        /** Interval to retry failed issuance. Default = 30 seconds. */
+        private Duration retryInterval = Duration.ofSeconds(30);
+    }
+}
@@ -16,6 +16,11 @@
 
 package com.linecorp.bot.client;
 
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 
 import com.linecorp.bot.model.response.BotApiResponse;
@@ -31,6 +36,75 @@ public interface LineBlobClient {
      */
     CompletableFuture<MessageContentResponse> getMessageContent(String messageId);
 
+    /**
+     * Downloads image, video, audio and file data sent from users into a file.
+     *
+     * @see #getMessageContent(String, Path, ContentDownloadOptions)
+     */
+    default CompletableFuture<ContentDownloadResult> getMessageContent(String messageId, Path target) {
+        return getMessageContent(messageId, target, ContentDownloadOptions.DEFAULT);
+    }
+
+    /**
+     * Downloads image, video, audio and file data sent from users into a file.
+     *
+     * <p>The response body is transferred into a {@link java.nio.channels.FileChannel} on the thread
+     * receiving the response, without being exposed as an {@link java.io.InputStream}. The future fails
+     * when the number of transferred bytes differs from the {@code Content-Length}. A partially written
+     * file is left as is, so it can be completed with {@link ContentDownloadOptions#isResume()}.
+     * Cancelling the future cancels the HTTP call.
+     *
+     * @see <a href="https://developers.line.biz/en/reference/messaging-api/#get-content">Get content</a>
+     */
+    CompletableFuture<ContentDownloadResult> getMessageContent(
+            String messageId, Path target, ContentDownloadOptions options);
+
+    /**
+     * Downloads image, video, audio and file data sent from users into a channel.
+     *
+     * @see #getMessageContent(String, WritableByteChannel, ContentDownloadOptions)
+     */
+    default CompletableFuture<ContentDownloadResult> getMessageContent(
+            String messageId, WritableByteChannel target) {
+        return getMessageContent(messageId, target, ContentDownloadOptions.DEFAULT);
+    }
+
+    /**
+     * Downloads image, video, audio and file data sent from users into a channel.
+     *
+     * <p>A {@link java.nio.channels.FileChannel} is written from its current position, which must not be
+     * beyond the end of the file, and the position is advanced by the transferred bytes. The channel is not
+     * closed. {@link ContentDownloadOptions#isResume()} is ignored, and
+     * {@link ContentDownloadOptions#isFsync()} applies only to a {@link java.nio.channels.FileChannel};
+     * flush other channels yourself. Non-blocking channels are not supported.
+     *
+     * @see #getMessageContent(String, Path, ContentDownloadOptions)
+     */
+    CompletableFuture<ContentDownloadResult> getMessageContent(
+            String messageId, WritableByteChannel target, ContentDownloadOptions options);
+
+    /**
+     * Downloads image, video, audio and file data sent from users into a buffer.
+     *
+     * @see #getMessageContentBuffer(String, ContentBufferOptions)
+     */
+    default CompletableFuture<MessageContentBuffer> getMessageContentBuffer(String messageId) {
+        return getMessageContentBuffer(messageId, ContentBufferOptions.DEFAULT);
+    }
+
+    /**
+     * Downloads image, video, audio and file data sent from users into a buffer.
+     *
+     * <p>Depending on its length, the content is held on the heap, in a pooled direct buffer or in a
+     * memory-mapped temporary file, and can be read at random through {@link java.nio.ByteBuffer} views.
+     * The returned buffer must be closed to release the direct buffer or the temporary file.
+     * Content larger than 2 GiB is not supported.
+     *
+     * @see <a href="https://developers.line.biz/en/reference/messaging-api/#get-content">Get content</a>
+     */
+    CompletableFuture<MessageContentBuffer> getMessageContentBuffer(
+            String messageId, ContentBufferOptions options);
+
     /**
      * Download rich menu image.
      *
@@ -46,6 +120,46 @@ public interface LineBlobClient {
     CompletableFuture<BotApiResponse> setRichMenuImage(
             String richMenuId, String contentType, byte[] content);
 
+    /**
+     * Set RichMenu image from a file. The file is streamed to the connection instead of being read into
+     * the heap.
+     *
+     * @see #setRichMenuImage(String, String, byte[])
+     */
+    CompletableFuture<BotApiResponse> setRichMenuImage(
+            String richMenuId, String contentType, Path image);
+
+    /**
+     * Set RichMenu image from the remaining bytes of a buffer, e.g. a direct or memory-mapped buffer.
+     * The position of the buffer is not changed.
+     *
+     * @see #setRichMenuImage(String, String, byte[])
+     */
+    CompletableFuture<BotApiResponse> setRichMenuImage(
+            String richMenuId, String contentType, ByteBuffer content);
+
+    /**
+     * Set RichMenu image from a stream. The stream is copied to the connection and is not closed; the call
+     * is not retried because the stream can't be read again.
+     *
+     * @param contentLength number of bytes in the stream, or -1 to send with chunked transfer encoding
+     * @see #setRichMenuImage(String, String, byte[])
+     */
+    CompletableFuture<BotApiResponse> setRichMenuImage(
+            String richMenuId, String contentType, InputStream content, long contentLength);
+
+    /**
+     * Uploads images of many rich menus, keeping at most {@link BulkOptions#getParallelism()} uploads in
+     * flight. The content type of each image is guessed from its file name, e.g. {@code .png} or
+     * {@code .jpeg}. Progress is not reported to {@link BulkOptions#getProgressListener()}.
+     *
+     * @param images image files keyed by rich menu IDs
+     */
+    default CompletableFuture<BulkUploadResult> setRichMenuImages(Map<String, Path> images,
+                                                                  BulkOptions options) {
+        return BulkOperations.richMenuImages(this, images, options);
+    }
+
     static LineBlobClientBuilder builder(String channelToken) {
         return builder(FixedChannelTokenSupplier.of(channelToken));
     }
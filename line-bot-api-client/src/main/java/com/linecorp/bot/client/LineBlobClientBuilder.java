@@ -23,9 +23,6 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
 
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import com.linecorp.bot.model.objectmapper.ModelObjectMapper;
@@ -35,10 +32,9 @@ import lombok.Setter;
 import lombok.ToString;
 import lombok.experimental.Accessors;
 import lombok.experimental.PackagePrivate;
+import okhttp3.EventListener;
 import okhttp3.Interceptor;
 import okhttp3.OkHttpClient;
-import okhttp3.logging.HttpLoggingInterceptor;
-import okhttp3.logging.HttpLoggingInterceptor.Level;
 import retrofit2.Retrofit;
 import retrofit2.converter.jackson.JacksonConverterFactory;
 
@@ -126,6 +122,45 @@ public class LineBlobClientBuilder {
 
     private OkHttpClient.Builder okHttpClientBuilder;
 
+    /**
+     * Shared HTTP transport.
+     *
+     * <p>If specified, this client reuses the connection pool and the dispatcher of the transport.
+     * Ignored when {@link OkHttpClient.Builder} is given explicitly.
+     *
+     * @see LineClientTransport
+     */
+    @Setter
+    private LineClientTransport transport;
+
+    /**
+     * Interceptor to log HTTP requests and responses.
+     *
+     * <p>Default {@link WireLoggingInterceptor} is used in case of {@code null} (default).
+     * You can plug in your own configured one, e.g. to sample or to truncate logs.
+     */
+    @Setter
+    private Interceptor wireLoggingInterceptor;
+
+    /**
+     * Circuit breakers per endpoint.
+     *
+     * <p>Circuit breakers are disabled in case of {@code null} (default).
+     *
+     * @see EndpointCircuitBreakers
+     */
+    @Setter
+    private EndpointCircuitBreakers circuitBreakers;
+
+    /**
+     * Whether exceptions of {@code 429 Too Many Requests} and {@code 5xx} responses are created without
+     * stack traces. Their stack traces point at the HTTP client thread anyway.
+     *
+     * <p>Default value is the system property {@code line.bot.client.stacklessExceptions}, or {@code false}.
+     */
+    @Setter
+    private boolean stacklessExceptions = Boolean.getBoolean(ExceptionConverter.STACKLESS_EXCEPTIONS_PROPERTY);
+
     /**
      * Custom interceptors.
      *
@@ -138,6 +173,15 @@ public class LineBlobClientBuilder {
     @Setter
     private List<Interceptor> additionalInterceptors = new ArrayList<>();
 
+    /**
+     * Factory of {@link EventListener} to observe connections and phases of HTTP calls.
+     *
+     * <p>No listener is installed in case of {@code null} (default). Use {@link CallTimingRecorder} to
+     * measure DNS lookup, connect, TLS handshake, time to first byte and body transfer.
+     */
+    @Setter
+    private EventListener.Factory eventListenerFactory;
+
     /**
      * Set fixed channel token. This overwrites {@link #channelTokenSupplier(ChannelTokenSupplier)}.
      *
@@ -174,33 +218,46 @@ public class LineBlobClientBuilder {
      */
     <T> T buildRetrofitIface(URI apiEndPoint, Class<T> retrofitIFace) {
         if (okHttpClientBuilder == null) {
-            okHttpClientBuilder = new OkHttpClient.Builder();
+            okHttpClientBuilder = transport != null ? transport.newOkHttpClientBuilder()
+                                                    : new OkHttpClient.Builder();
         }
+        // Copy the base builder not to add interceptors to it again when building another client.
+        // The copy shares the connection pool and the dispatcher.
+        final OkHttpClient.Builder clientBuilder = okHttpClientBuilder.build().newBuilder();
 
         // Add interceptors.
         if (addAuthenticationHeader) {
-            okHttpClientBuilder.addInterceptor(buildAuthenticationInterceptor(channelTokenSupplier));
+            clientBuilder.addInterceptor(buildAuthenticationInterceptor(channelTokenSupplier));
         }
         if (additionalInterceptors != null) {
-            additionalInterceptors.forEach(okHttpClientBuilder::addInterceptor);
+            additionalInterceptors.forEach(clientBuilder::addInterceptor);
+        }
+        clientBuilder.addInterceptor(wireLoggingInterceptor != null ? wireLoggingInterceptor
+                                                                    : buildLoggingInterceptor());
+        if (eventListenerFactory != null) {
+            clientBuilder.eventListenerFactory(eventListenerFactory);
         }
-        okHttpClientBuilder.addInterceptor(buildLoggingInterceptor());
 
         // Set timeout.
-        okHttpClientBuilder
+        clientBuilder
                 .connectTimeout(connectTimeout, TimeUnit.MILLISECONDS)
                 .readTimeout(readTimeout, TimeUnit.MILLISECONDS)
                 .writeTimeout(writeTimeout, TimeUnit.MILLISECONDS);
 
-        final OkHttpClient okHttpClient = okHttpClientBuilder.build();
+        final OkHttpClient okHttpClient = clientBuilder.build();
 
         if (retrofitBuilder == null) {
             retrofitBuilder = createDefaultRetrofitBuilder();
         }
         retrofitBuilder.client(okHttpClient);
         retrofitBuilder.baseUrl(apiEndPoint.toString());
+        // Call adapters are added to a copy, as the builder may be shared by other clients.
+        final Retrofit.Builder ifaceRetrofitBuilder = retrofitBuilder.build().newBuilder();
+        if (circuitBreakers != null) {
+            ifaceRetrofitBuilder.addCallAdapterFactory(new CircuitBreakingCallAdapterFactory(circuitBreakers));
+        }
 
-        final Retrofit retrofit = retrofitBuilder.build();
+        final Retrofit retrofit = ifaceRetrofitBuilder.build();
 
         return retrofit.create(retrofitIFace);
     }
@@ -211,10 +268,7 @@ public class LineBlobClientBuilder {
     }
 
     static Interceptor buildLoggingInterceptor() {
-        final Logger slf4jLogger = LoggerFactory.getLogger("com.linecorp.bot.client.wire");
-
-        return new HttpLoggingInterceptor(slf4jLogger::info)
-                .setLevel(Level.BODY);
+        return WireLoggingInterceptor.builder().build();
     }
 
     static Retrofit.Builder createDefaultRetrofitBuilder() {
@@ -227,7 +281,8 @@ public class LineBlobClientBuilder {
      */
     public LineBlobClient build() {
         return new LineBlobClientImpl(
-                buildRetrofitIface(apiEndPoint, LineBlobService.class));
+                buildRetrofitIface(apiEndPoint, LineBlobService.class),
+                new ExceptionConverter(stacklessExceptions));
     }
 
     /**
@@ -236,6 +291,7 @@ public class LineBlobClientBuilder {
     public LineBlobClient buildBlobClient() {
         return new LineBlobClientImpl(buildRetrofitIface(
                 apiEndPoint,
-                LineBlobService.class));
+                LineBlobService.class),
+                new ExceptionConverter(stacklessExceptions));
     }
 }
@@ -16,6 +16,17 @@
 
 package com.linecorp.bot.client;
 
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
 
@@ -23,22 +34,71 @@ import com.linecorp.bot.client.exception.GeneralLineMessagingException;
 import com.linecorp.bot.model.response.BotApiResponse;
 
 import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import okhttp3.MediaType;
 import okhttp3.RequestBody;
 import okhttp3.ResponseBody;
+import okio.BufferedSource;
 import retrofit2.Call;
 import retrofit2.Callback;
 import retrofit2.Response;
 
-@AllArgsConstructor
+@Slf4j
 class LineBlobClientImpl implements LineBlobClient {
+    private static final int TRANSFER_BUFFER_SIZE = 64 * 1024;
+
     private final LineBlobService retrofitImpl;
 
+    private final ExceptionConverter exceptionConverter;
+
+    LineBlobClientImpl(final LineBlobService retrofitImpl) {
+        this(retrofitImpl, LineMessagingClientImpl.EXCEPTION_CONVERTER);
+    }
+
+    LineBlobClientImpl(final LineBlobService retrofitImpl, final ExceptionConverter exceptionConverter) {
+        this.retrofitImpl = retrofitImpl;
+        this.exceptionConverter = exceptionConverter;
+    }
+
     @Override
     public CompletableFuture<MessageContentResponse> getMessageContent(final String messageId) {
         return toMessageContentResponseFuture(retrofitImpl.getMessageContent(messageId));
     }
 
+    @Override
+    public CompletableFuture<ContentDownloadResult> getMessageContent(
+            final String messageId, final Path target, final ContentDownloadOptions options) {
+        final long offset;
+        try {
+            offset = options.isResume() && Files.exists(target) ? Files.size(target) : 0;
+        } catch (IOException e) {
+            final CompletableFuture<ContentDownloadResult> future = new CompletableFuture<>();
+            future.completeExceptionally(new GeneralLineMessagingException(e.getMessage(), null, e));
+            return future;
+        }
+        final String range = offset > 0 ? "bytes=" + offset + '-' : null;
+        final ContentDownloadCallbackAdaptor future = new ContentDownloadCallbackAdaptor(
+                exceptionConverter, offset,
+                response -> downloadToFile(response, target, offset, options.isFsync()));
+        return enqueue(retrofitImpl.getMessageContent(messageId, range), future);
+    }
+
+    @Override
+    public CompletableFuture<ContentDownloadResult> getMessageContent(
+            final String messageId, final WritableByteChannel target, final ContentDownloadOptions options) {
+        final ContentDownloadCallbackAdaptor future = new ContentDownloadCallbackAdaptor(
+                exceptionConverter, 0, response -> downloadToChannel(response, target, options.isFsync()));
+        return enqueue(retrofitImpl.getMessageContent(messageId), future);
+    }
+
+    @Override
+    public CompletableFuture<MessageContentBuffer> getMessageContentBuffer(
+            final String messageId, final ContentBufferOptions options) {
+        final ContentCallbackAdaptor<MessageContentBuffer> future =
+                new ContentCallbackAdaptor<>(exceptionConverter, response -> spool(response, options));
+        return enqueue(retrofitImpl.getMessageContent(messageId), future);
+    }
+
     @Override
     public CompletableFuture<MessageContentResponse> getRichMenuImage(final String richMenuId) {
         return toMessageContentResponseFuture(retrofitImpl.getRichMenuImage(richMenuId));
@@ -49,24 +109,341 @@ class LineBlobClientImpl implements LineBlobClient {
             final String richMenuId, final String contentType, final byte[] content) {
         final RequestBody requestBody = RequestBody.create(content, MediaType.parse(contentType));
         return LineMessagingClientImpl.toBotApiFuture(
-                retrofitImpl.uploadRichMenuImage(richMenuId, requestBody));
+                retrofitImpl.uploadRichMenuImage(richMenuId, requestBody), exceptionConverter);
+    }
+
+    @Override
+    public CompletableFuture<BotApiResponse> setRichMenuImage(
+            final String richMenuId, final String contentType, final Path image) {
+        final RequestBody requestBody;
+        try {
+            requestBody = StreamingRequestBody.of(image, MediaType.parse(contentType));
+        } catch (IOException e) {
+            final CompletableFuture<BotApiResponse> future = new CompletableFuture<>();
+            future.completeExceptionally(new GeneralLineMessagingException(e.getMessage(), null, e));
+            return future;
+        }
+        return LineMessagingClientImpl.toBotApiFuture(
+                retrofitImpl.uploadRichMenuImage(richMenuId, requestBody), exceptionConverter);
+    }
+
+    @Override
+    public CompletableFuture<BotApiResponse> setRichMenuImage(
+            final String richMenuId, final String contentType, final ByteBuffer content) {
+        final RequestBody requestBody = StreamingRequestBody.of(content, MediaType.parse(contentType));
+        return LineMessagingClientImpl.toBotApiFuture(
+                retrofitImpl.uploadRichMenuImage(richMenuId, requestBody), exceptionConverter);
+    }
+
+    @Override
+    public CompletableFuture<BotApiResponse> setRichMenuImage(
+            final String richMenuId, final String contentType, final InputStream content,
+            final long contentLength) {
+        final RequestBody requestBody =
+                StreamingRequestBody.of(content, MediaType.parse(contentType), contentLength);
+        return LineMessagingClientImpl.toBotApiFuture(
+                retrofitImpl.uploadRichMenuImage(richMenuId, requestBody), exceptionConverter);
     }
 
-    private static CompletableFuture<MessageContentResponse> toMessageContentResponseFuture(
+    private CompletableFuture<MessageContentResponse> toMessageContentResponseFuture(
             final Call<ResponseBody> callToWrap) {
-        final ResponseBodyCallbackAdaptor future = new ResponseBodyCallbackAdaptor();
+        final ResponseBodyCallbackAdaptor future = new ResponseBodyCallbackAdaptor(exceptionConverter);
         callToWrap.enqueue(future);
         return future;
     }
 
+    /**
+     * Enqueues the call and cancels it when the returned future is cancelled, so that cancelling a download
+     * stops writing the content.
+     */
+    private static <T> CompletableFuture<T> enqueue(
+            final Call<ResponseBody> call, final ContentCallbackAdaptor<T> future) {
+        call.enqueue(future);
+        future.whenComplete((result, throwable) -> {
+            if (future.isCancelled()) {
+                call.cancel();
+            }
+        });
+        return future;
+    }
+
+    private static ContentDownloadResult downloadToFile(
+            final Response<ResponseBody> response, final Path target, final long offset, final boolean fsync)
+            throws IOException {
+        final boolean resumed = response.code() == 206;
+        if (resumed) {
+            final String contentRange = response.headers().get("Content-Range");
+            if (contentRange == null || !contentRange.startsWith("bytes " + offset + '-')) {
+                throw new IOException("Unexpected Content-Range for offset " + offset + ": " + contentRange);
+            }
+        }
+        try (FileChannel channel = FileChannel.open(target, StandardOpenOption.CREATE,
+                                                    StandardOpenOption.WRITE)) {
+            // The server returns the whole content when it ignores the Range header.
+            final long position = resumed ? offset : 0;
+            channel.truncate(position);
+            final long transferred = transfer(Objects.requireNonNull(response.body()), channel, position);
+            if (fsync) {
+                channel.force(true);
+            }
+            return toContentDownloadResult(response, position + transferred, transferred, resumed);
+        }
+    }
+
+    private static ContentDownloadResult downloadToChannel(
+            final Response<ResponseBody> response, final WritableByteChannel target, final boolean fsync)
+            throws IOException {
+        final ResponseBody body = Objects.requireNonNull(response.body());
+        final long transferred;
+        if (target instanceof FileChannel) {
+            final FileChannel channel = (FileChannel) target;
+            final long position = channel.position();
+            transferred = transfer(body, channel, position);
+            channel.position(position + transferred);
+            if (fsync) {
+                channel.force(true);
+            }
+        } else {
+            final BufferedSource source = body.source();
+            final ByteBuffer buffer = ByteBuffer.allocateDirect(TRANSFER_BUFFER_SIZE);
+            long written = 0;
+            while (source.read(buffer) != -1) {
+                buffer.flip();
+                while (buffer.hasRemaining()) {
+                    final int n = target.write(buffer);
+                    if (n == 0) {
+                        // Would spin on a non-blocking channel.
+                        throw new IOException("The channel accepted no bytes; non-blocking channels are "
+                                              + "not supported: " + target);
+                    }
+                    written += n;
+                }
+                buffer.clear();
+            }
+            transferred = written;
+            verifyContentLength(body, transferred);
+        }
+        return toContentDownloadResult(response, transferred, transferred, false);
+    }
+
+    private static MessageContentBuffer spool(
+            final Response<ResponseBody> response, final ContentBufferOptions options) throws IOException {
+        final ResponseBody body = Objects.requireNonNull(response.body());
+        final MediaType contentType = body.contentType();
+        final String mimeType = contentType != null ? contentType.toString() : null;
+        final Map<String, List<String>> headers = response.headers().toMultimap();
+        final long length = body.contentLength();
+
+        if (length >= 0 && length <= options.getHeapThreshold()) {
+            return new MessageContentBuffer(ByteBuffer.wrap(body.bytes()), mimeType, headers, () -> {});
+        }
+
+        final DirectBufferPool pool = options.getDirectBufferPool();
+        if (length >= 0 && length <= pool.getBufferSize()) {
+            final ByteBuffer buffer = pool.acquire();
+            try {
+                readFully(body.source(), buffer, (int) length);
+            } catch (IOException | RuntimeException e) {
+                pool.release(buffer);
+                throw e;
+            }
+            buffer.flip();
+            return new MessageContentBuffer(buffer, mimeType, headers, () -> pool.release(buffer));
+        }
+
+        final Path file = options.getSpoolDirectory() != null
+                          ? Files.createTempFile(options.getSpoolDirectory(), "line-bot-content-", ".tmp")
+                          : Files.createTempFile("line-bot-content-", ".tmp");
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ,
+                                                    StandardOpenOption.WRITE)) {
+            final long transferred = transfer(body, channel, 0);
+            if (transferred > Integer.MAX_VALUE) {
+                throw new IOException("Content larger than 2 GiB cannot be buffered: " + transferred);
+            }
+            // The mapping stays valid after the channel is closed.
+            final ByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, transferred);
+            return new MessageContentBuffer(mapped, mimeType, headers, () -> deleteQuietly(file));
+        } catch (IOException | RuntimeException e) {
+            deleteQuietly(file);
+            throw e;
+        }
+    }
+
+    private static void readFully(final BufferedSource source, final ByteBuffer buffer, final int length)
+            throws IOException {
+        buffer.limit(length);
+        while (buffer.hasRemaining()) {
+            if (source.read(buffer) == -1) {
+                throw new EOFException("Content length mismatch: expected " + length
+                                       + " bytes but transferred " + buffer.position() + " bytes");
+            }
+        }
+        if (!source.exhausted()) {
+            throw new IOException("Content length mismatch: more than " + length + " bytes transferred");
+        }
+    }
+
+    private static void deleteQuietly(final Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Failed to delete buffered content: {}", file, e);
+        }
+    }
+
+    /**
+     * Transfers the body into the file at the position. {@link FileChannel#transferFrom} reads okio's
+     * buffer directly as a {@link java.nio.channels.ReadableByteChannel}, so no stream copy is involved.
+     */
+    private static long transfer(final ResponseBody body, final FileChannel channel, final long position)
+            throws IOException {
+        if (position > channel.size()) {
+            throw new IOException("Position " + position + " is beyond the end of the file: "
+                                  + channel.size());
+        }
+        final BufferedSource source = body.source();
+        long transferred = 0;
+        while (!source.exhausted()) {
+            final long n = channel.transferFrom(source, position + transferred, Long.MAX_VALUE);
+            if (n == 0) {
+                throw new IOException("No bytes transferred at position " + (position + transferred));
+            }
+            transferred += n;
+        }
+        verifyContentLength(body, transferred);
+        return transferred;
+    }
+
+    private static void verifyContentLength(final ResponseBody body, final long transferred)
+            throws IOException {
+        final long expected = body.contentLength();
+        if (expected >= 0 && expected != transferred) {
+            throw new IOException("Content length mismatch: expected " + expected
+                                  + " bytes but transferred " + transferred + " bytes");
+        }
+    }
+
+    private static ContentDownloadResult toContentDownloadResult(
+            final Response<ResponseBody> response, final long length, final long transferred,
+            final boolean resumed) {
+        final ResponseBody body = response.body();
+        final MediaType contentType = body != null ? body.contentType() : null;
+        return ContentDownloadResult
+                .builder()
+                .length(length)
+                .transferredBytes(transferred)
+                .resumed(resumed)
+                .mimeType(contentType != null ? contentType.toString() : null)
+                .allHeaders(response.headers().toMultimap())
+                .build();
+    }
+
+    /**
+     * Returns the complete length in a {@code Content-Range} header, or -1 if unknown.
+     */
+    static long completeLength(final String contentRange) {
+        if (contentRange == null) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(contentRange.substring(contentRange.lastIndexOf('/') + 1).trim());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    @FunctionalInterface
+    interface ContentWriter<T> {
+        T write(Response<ResponseBody> response) throws IOException;
+    }
+
+    /**
+     * Completes with the result of writing a successful response body somewhere. The body is closed after
+     * {@link ContentWriter#write(Response)} returns.
+     */
+    @AllArgsConstructor
+    static class ContentCallbackAdaptor<T> extends CompletableFuture<T> implements Callback<ResponseBody> {
+        private final ExceptionConverter exceptionConverter;
+        private final ContentWriter<T> writer;
+
+        @Override
+        public void onResponse(final Call<ResponseBody> call, final Response<ResponseBody> response) {
+            if (!response.isSuccessful()) {
+                completeExceptionally(exceptionConverter.apply(response));
+                return;
+            }
+
+            final ResponseBody body = response.body();
+            try {
+                complete(writer.write(response));
+            } catch (IOException | RuntimeException e) {
+                completeExceptionally(new GeneralLineMessagingException(e.getMessage(), null, e));
+            } finally {
+                if (body != null) {
+                    body.close();
+                }
+            }
+        }
+
+        @Override
+        public void onFailure(final Call<ResponseBody> call, final Throwable t) {
+            completeExceptionally(LineMessagingClientImpl.toLineMessagingException(t));
+        }
+    }
+
+    static class ContentDownloadCallbackAdaptor extends ContentCallbackAdaptor<ContentDownloadResult> {
+        /** Size of the existing file requested to resume from, or 0. */
+        private final long offset;
+
+        ContentDownloadCallbackAdaptor(final ExceptionConverter exceptionConverter, final long offset,
+                                       final ContentWriter<ContentDownloadResult> writer) {
+            super(exceptionConverter, writer);
+            this.offset = offset;
+        }
+
+        @Override
+        public void onResponse(final Call<ResponseBody> call, final Response<ResponseBody> response) {
+            if (response.code() == 416 && offset > 0) {
+                onRangeNotSatisfiable(response);
+                return;
+            }
+            super.onResponse(call, response);
+        }
+
+        /**
+         * The existing file is complete when its size equals the complete length in
+         * {@code Content-Range: bytes *}{@code /<length>}.
+         */
+        private void onRangeNotSatisfiable(final Response<ResponseBody> response) {
+            response.errorBody().close();
+            final long length = completeLength(response.headers().get("Content-Range"));
+            if (length == offset) {
+                complete(toContentDownloadResult(response, length, 0, true));
+            } else {
+                completeExceptionally(new GeneralLineMessagingException(
+                        "Cannot resume download at " + offset + " bytes, content length is " + length,
+                        null, null));
+            }
+        }
+    }
+
     static class ResponseBodyCallbackAdaptor
             extends CompletableFuture<MessageContentResponse>
             implements Callback<ResponseBody> {
+        private final ExceptionConverter exceptionConverter;
+
+        ResponseBodyCallbackAdaptor() {
+            this(LineMessagingClientImpl.EXCEPTION_CONVERTER);
+        }
+
+        ResponseBodyCallbackAdaptor(final ExceptionConverter exceptionConverter) {
+            this.exceptionConverter = exceptionConverter;
+        }
 
         @Override
         public void onResponse(final Call<ResponseBody> call, final Response<ResponseBody> response) {
             if (!response.isSuccessful()) {
-                completeExceptionally(LineMessagingClientImpl.EXCEPTION_CONVERTER.apply(response));
+                completeExceptionally(exceptionConverter.apply(response));
                 return;
             }
 
@@ -81,8 +458,7 @@ class LineBlobClientImpl implements LineBlobClient {
 
         @Override
         public void onFailure(final Call<ResponseBody> call, final Throwable t) {
-            completeExceptionally(
-                    new GeneralLineMessagingException(t.getMessage(), null, t));
+            completeExceptionally(LineMessagingClientImpl.toLineMessagingException(t));
         }
 
         private MessageContentResponse convert(final Response<ResponseBody> response) {
@@ -21,6 +21,7 @@ import okhttp3.ResponseBody;
 import retrofit2.Call;
 import retrofit2.http.Body;
 import retrofit2.http.GET;
+import retrofit2.http.Header;
 import retrofit2.http.POST;
 import retrofit2.http.Path;
 import retrofit2.http.Streaming;
@@ -35,6 +36,15 @@ interface LineBlobService {
     @GET("v2/bot/message/{messageId}/content")
     Call<ResponseBody> getMessageContent(@Path("messageId") String messageId);
 
+    /**
+     * Method for Retrofit. The {@code Range} header is omitted when {@code null}.
+     *
+     * @see LineBlobClient#getMessageContent(String, java.nio.file.Path, ContentDownloadOptions)
+     */
+    @Streaming
+    @GET("v2/bot/message/{messageId}/content")
+    Call<ResponseBody> getMessageContent(@Path("messageId") String messageId, @Header("Range") String range);
+
     /**
      * Method for Retrofit.
      *
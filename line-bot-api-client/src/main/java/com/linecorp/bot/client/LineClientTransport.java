@@ -0,0 +1,81 @@
+/*
+ * Copyright 2023 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package com.linecorp.bot.client;
+
+import lombok.NonNull;
+import lombok.ToString;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.OkHttpClient;
+
+/**
+ * HTTP transport which can be shared by multiple API clients.
+ *
+ * <p>All clients built with the same transport reuse one {@link ConnectionPool} and one {@link Dispatcher},
+ * so they keep warm connections (and TLS sessions) to LINE API hosts instead of opening their own.
+ *
+ * @see LineMessagingClientBuilder#transport(LineClientTransport)
+ */
+@ToString
+public final class LineClientTransport implements AutoCloseable {
+    private final OkHttpClient okHttpClient;
+
+    LineClientTransport(@NonNull OkHttpClient okHttpClient) {
+        this.okHttpClient = okHttpClient;
+    }
+
+    /**
+     * Creates a new {@link LineClientTransportBuilder}.
+     */
+    public static LineClientTransportBuilder builder() {
+        return new LineClientTransportBuilder();
+    }
+
+    /**
+     * Creates a new {@link OkHttpClient.Builder} sharing the connection pool and the dispatcher
+     * of this transport.
+     */
+    public OkHttpClient.Builder newOkHttpClientBuilder() {
+        return okHttpClient.newBuilder();
+    }
+
+    /**
+     * Connection pool shared by all clients using this transport.
+     */
+    public ConnectionPool connectionPool() {
+        return okHttpClient.connectionPool();
+    }
+
+    /**
+     * Dispatcher shared by all clients using this transport.
+     */
+    public Dispatcher dispatcher() {
+        return okHttpClient.dispatcher();
+    }
+
+    /**
+     * Shuts down the dispatcher and evicts all idle connections.
+     *
+     * <p>Clients using this transport can't be used after closing.
+     */
+    @Override
+    public void close() {
+        okHttpClient.dispatcher().executorService().shutdown();
+        okHttpClient.connectionPool().evictAll();
+    }
+}
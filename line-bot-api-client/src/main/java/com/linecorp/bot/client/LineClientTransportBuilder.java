@@ -0,0 +1,101 @@
+/*
+ * Copyright 2023 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package com.linecorp.bot.client;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import lombok.Setter;
+import lombok.ToString;
+import lombok.experimental.Accessors;
+import lombok.experimental.PackagePrivate;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+
+@Setter
+@ToString
+@Accessors(fluent = true)
+public class LineClientTransportBuilder {
+    /**
+     * Use {@link LineClientTransport#builder()} to create instance.
+     */
+    @PackagePrivate
+    LineClientTransportBuilder() {
+    }
+
+    /**
+     * Maximum number of idle connections kept in the pool.
+     *
+     * <p>Default value = {@value LineClientConstants#DEFAULT_MAX_IDLE_CONNECTIONS}.
+     */
+    private int maxIdleConnections = LineClientConstants.DEFAULT_MAX_IDLE_CONNECTIONS;
+
+    /**
+     * Keep-alive duration of idle connections.
+     *
+     * <p>Default value = {@value LineClientConstants#DEFAULT_KEEP_ALIVE_DURATION_MILLIS}ms.
+     */
+    private long keepAliveDuration = LineClientConstants.DEFAULT_KEEP_ALIVE_DURATION_MILLIS;
+
+    /**
+     * Maximum number of requests to execute concurrently.
+     *
+     * <p>Default value = {@value LineClientConstants#DEFAULT_MAX_REQUESTS}.
+     */
+    private int maxRequests = LineClientConstants.DEFAULT_MAX_REQUESTS;
+
+    /**
+     * Maximum number of requests for each host to execute concurrently.
+     *
+     * <p>All clients sharing the transport share this limit, e.g. every client calling
+     * {@code api.line.me}, so it is as large as {@code maxRequests} by default.
+     *
+     * <p>Default value = {@value LineClientConstants#DEFAULT_MAX_REQUESTS_PER_HOST}.
+     */
+    private int maxRequestsPerHost = LineClientConstants.DEFAULT_MAX_REQUESTS_PER_HOST;
+
+    /**
+     * Prefer HTTP/2 when the server supports it.
+     *
+     * <p>Default = {@code true}. If {@code false}, only HTTP/1.1 is used.
+     */
+    private boolean http2 = true;
+
+    /**
+     * Creates a new {@link LineClientTransport}.
+     */
+    public LineClientTransport build() {
+        final Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequests(maxRequests);
+        dispatcher.setMaxRequestsPerHost(maxRequestsPerHost);
+
+        final ConnectionPool connectionPool =
+                new ConnectionPool(maxIdleConnections, keepAliveDuration, TimeUnit.MILLISECONDS);
+
+        final OkHttpClient okHttpClient = new OkHttpClient.Builder()
+                .connectionPool(connectionPool)
+                .dispatcher(dispatcher)
+                .protocols(http2 ? Arrays.asList(Protocol.HTTP_2, Protocol.HTTP_1_1)
+                                 : Collections.singletonList(Protocol.HTTP_1_1))
+                .build();
+        return new LineClientTransport(okHttpClient);
+    }
+}
@@ -16,8 +16,12 @@
 
 package com.linecorp.bot.client;
 
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 import com.linecorp.bot.model.Broadcast;
 import com.linecorp.bot.model.Multicast;
@@ -29,6 +33,7 @@ import com.linecorp.bot.model.event.source.GroupSource;
 import com.linecorp.bot.model.event.source.RoomSource;
 import com.linecorp.bot.model.group.GroupMemberCountResponse;
 import com.linecorp.bot.model.group.GroupSummaryResponse;
+import com.linecorp.bot.model.message.Message;
 import com.linecorp.bot.model.profile.MembersIdsResponse;
 import com.linecorp.bot.model.profile.UserProfileResponse;
 import com.linecorp.bot.model.request.GetFollowersRequest;
@@ -101,6 +106,46 @@ public interface LineMessagingClient {
      */
     CompletableFuture<BotApiResponse> multicast(Multicast multicast);
 
+    /**
+     * Sends messages to any number of users, splitting them into multicasts of up to 500 recipients.
+     *
+     * @see #multicastAll(Iterator, Multicast, BulkOptions)
+     */
+    default CompletableFuture<BulkResult> multicastAll(Iterable<String> to, List<Message> messages) {
+        return multicastAll(to.iterator(), new Multicast(Collections.emptySet(), messages),
+                            BulkOptions.DEFAULT);
+    }
+
+    /**
+     * Sends messages to any number of users, splitting them into multicasts of up to 500 recipients.
+     * The stream is consumed lazily but not closed.
+     *
+     * @see #multicastAll(Iterator, Multicast, BulkOptions)
+     */
+    default CompletableFuture<BulkResult> multicastAll(Stream<String> to, List<Message> messages) {
+        return multicastAll(to.iterator(), new Multicast(Collections.emptySet(), messages),
+                            BulkOptions.DEFAULT);
+    }
+
+    /**
+     * Sends messages to any number of users, splitting them into multicasts of up to 500 recipients.
+     *
+     * <p>User IDs are pulled from {@code to} only when a multicast can be dispatched, keeping at most
+     * {@link BulkOptions#getParallelism()} multicasts in flight, so millions of users can be streamed without
+     * materializing them. Multicasts rejected by rate limits are retried as configured in {@code options}.
+     *
+     * <p>The returned future completes when all multicasts are done, even if some of them failed; check
+     * {@link BulkResult#getFailedChunks()}. It fails only when {@code to} throws an exception.
+     *
+     * @param to user IDs of recipients. Duplicates are removed only within each multicast.
+     * @param template messages and options of multicasts. {@link Multicast#getTo()} is ignored.
+     * @param options parallelism and retries
+     */
+    default CompletableFuture<BulkResult> multicastAll(Iterator<String> to, Multicast template,
+                                                       BulkOptions options) {
+        return BulkOperations.multicast(this, to, template, options);
+    }
+
     /**
      * Sends push messages to multiple users at any time.
      * Note: LINE@ accounts cannot call this API endpoint. Please migrate it to a LINE official account.
@@ -216,6 +261,44 @@ public interface LineMessagingClient {
      */
     CompletableFuture<MembersIdsResponse> getGroupMembersIds(String groupId, String start);
 
+    /**
+     * Gets user IDs of all members of the group, with one page prefetched.
+     *
+     * @see #getAllGroupMemberIds(String, int)
+     */
+    default Paginator<String> getAllGroupMemberIds(String groupId) {
+        return getAllGroupMemberIds(groupId, 2);
+    }
+
+    /**
+     * Gets user IDs of all members of the group, fetching the next page while the current one is consumed.
+     *
+     * @param maxBufferedPages maximum number of pages kept in memory, including the one being consumed
+     * @see #getGroupMembersIds(String, String)
+     */
+    default Paginator<String> getAllGroupMemberIds(String groupId, int maxBufferedPages) {
+        return Paginator.of(next -> getGroupMembersIds(groupId, next),
+                            MembersIdsResponse::getMemberIds, MembersIdsResponse::getNext, maxBufferedPages);
+    }
+
+    /**
+     * Gets profiles of all members of the group.
+     *
+     * <p>Member IDs are paged in background and each of them is passed to
+     * {@link #getGroupMemberProfile(String, String)} as soon as it arrives, keeping at most
+     * {@link BulkOptions#getParallelism()} calls in flight. Profiles are passed to {@code consumer} as they
+     * arrive, concurrently from multiple threads, so it must be thread safe.
+     *
+     * <p>The returned future completes when all profiles are done, even if some of them failed; check
+     * {@link BulkProfileResult#getFailures()}. It fails only when paging member IDs fails.
+     */
+    default CompletableFuture<BulkProfileResult> getAllGroupMemberProfiles(
+            String groupId, Consumer<? super UserProfileResponse> consumer, BulkOptions options) {
+        return BulkOperations.memberProfiles(next -> getGroupMembersIds(groupId, next),
+                                             userId -> getGroupMemberProfile(groupId, userId),
+                                             consumer, options);
+    }
+
     /**
      * Get (a part of) room member list.
      *
@@ -225,6 +308,38 @@ public interface LineMessagingClient {
      */
     CompletableFuture<MembersIdsResponse> getRoomMembersIds(String roomId, String start);
 
+    /**
+     * Gets user IDs of all members of the room, with one page prefetched.
+     *
+     * @see #getAllRoomMemberIds(String, int)
+     */
+    default Paginator<String> getAllRoomMemberIds(String roomId) {
+        return getAllRoomMemberIds(roomId, 2);
+    }
+
+    /**
+     * Gets user IDs of all members of the room, fetching the next page while the current one is consumed.
+     *
+     * @param maxBufferedPages maximum number of pages kept in memory, including the one being consumed
+     * @see #getRoomMembersIds(String, String)
+     */
+    default Paginator<String> getAllRoomMemberIds(String roomId, int maxBufferedPages) {
+        return Paginator.of(next -> getRoomMembersIds(roomId, next),
+                            MembersIdsResponse::getMemberIds, MembersIdsResponse::getNext, maxBufferedPages);
+    }
+
+    /**
+     * Gets profiles of all members of the room.
+     *
+     * @see #getAllGroupMemberProfiles(String, Consumer, BulkOptions)
+     */
+    default CompletableFuture<BulkProfileResult> getAllRoomMemberProfiles(
+            String roomId, Consumer<? super UserProfileResponse> consumer, BulkOptions options) {
+        return BulkOperations.memberProfiles(next -> getRoomMembersIds(roomId, next),
+                                             userId -> getRoomMemberProfile(roomId, userId),
+                                             consumer, options);
+    }
+
     /**
      * Leave a group.
      *
@@ -316,6 +431,31 @@ public interface LineMessagingClient {
      */
     CompletableFuture<BotApiResponse> linkRichMenuIdToUsers(List<String> userIds, String richMenuId);
 
+    /**
+     * Links a rich menu to any number of users, splitting them into chunks of up to 500 users.
+     * The stream is consumed lazily but not closed; e.g. {@code Files.lines(path)} streams user IDs in a file.
+     *
+     * @see #linkRichMenuIdToAllUsers(Iterator, String, BulkOptions)
+     */
+    default CompletableFuture<BulkResult> linkRichMenuIdToAllUsers(Stream<String> userIds, String richMenuId) {
+        return linkRichMenuIdToAllUsers(userIds.iterator(), richMenuId, BulkOptions.DEFAULT);
+    }
+
+    /**
+     * Links a rich menu to any number of users, splitting them into chunks of up to 500 users.
+     *
+     * <p>User IDs are pulled from {@code userIds} only when a chunk can be dispatched, keeping at most
+     * {@link BulkOptions#getParallelism()} requests in flight. Progress is reported to
+     * {@link BulkOptions#getProgressListener()}. The returned future completes when all chunks are done;
+     * check {@link BulkResult#getFailedChunks()}.
+     *
+     * @see #linkRichMenuIdToUsers(List, String)
+     */
+    default CompletableFuture<BulkResult> linkRichMenuIdToAllUsers(Iterator<String> userIds, String richMenuId,
+                                                                   BulkOptions options) {
+        return BulkOperations.linkRichMenu(this, userIds, richMenuId, options);
+    }
+
     /**
      * Unlink rich menu from user.
      *
@@ -331,6 +471,27 @@ public interface LineMessagingClient {
      */
     CompletableFuture<BotApiResponse> unlinkRichMenuIdFromUsers(List<String> userIds);
 
+    /**
+     * Unlinks rich menus from any number of users, splitting them into chunks of up to 500 users.
+     * The stream is consumed lazily but not closed.
+     *
+     * @see #unlinkRichMenuIdFromAllUsers(Iterator, BulkOptions)
+     */
+    default CompletableFuture<BulkResult> unlinkRichMenuIdFromAllUsers(Stream<String> userIds) {
+        return unlinkRichMenuIdFromAllUsers(userIds.iterator(), BulkOptions.DEFAULT);
+    }
+
+    /**
+     * Unlinks rich menus from any number of users, splitting them into chunks of up to 500 users.
+     *
+     * @see #linkRichMenuIdToAllUsers(Iterator, String, BulkOptions)
+     * @see #unlinkRichMenuIdFromUsers(List)
+     */
+    default CompletableFuture<BulkResult> unlinkRichMenuIdFromAllUsers(Iterator<String> userIds,
+                                                                       BulkOptions options) {
+        return BulkOperations.unlinkRichMenu(this, userIds, options);
+    }
+
     /**
      * Gets a list of all uploaded rich menus.
      *
@@ -419,6 +580,32 @@ public interface LineMessagingClient {
      */
     CompletableFuture<GetFollowersResponse> getFollowers(GetFollowersRequest request);
 
+    /**
+     * Gets user IDs of all users who added your LINE Official Account as a friend, 1000 IDs per page with
+     * one page prefetched.
+     *
+     * @see #getAllFollowerIds(Integer, int)
+     */
+    default Paginator<String> getAllFollowerIds() {
+        return getAllFollowerIds(1000, 2);
+    }
+
+    /**
+     * Gets user IDs of all users who added your LINE Official Account as a friend.
+     *
+     * <p>The next page is requested as soon as the previous one arrives and fewer than
+     * {@code maxBufferedPages} pages are waiting to be consumed, so an export is bounded by throughput
+     * rather than by round trips.
+     *
+     * @param limit maximum number of user IDs per page, or {@code null} for the server default
+     * @param maxBufferedPages maximum number of pages kept in memory, including the one being consumed
+     * @see #getFollowers(GetFollowersRequest)
+     */
+    default Paginator<String> getAllFollowerIds(Integer limit, int maxBufferedPages) {
+        return Paginator.of(next -> getFollowers(GetFollowersRequest.builder().next(next).limit(limit).build()),
+                            GetFollowersResponse::getUserIds, GetFollowersResponse::getNext, maxBufferedPages);
+    }
+
     /**
      * Returns statistics about how users interact with narrowcast messages or broadcast messages sent from your
      * LINE Official Account.
@@ -490,6 +677,28 @@ public interface LineMessagingClient {
     CompletableFuture<GetAggregationUnitNameListResponse> getAggregationUnitNameList(String limit,
                                                                                      String start);
 
+    /**
+     * Gets names of all units used this month, 100 names per page with one page prefetched.
+     *
+     * @see #getAllAggregationUnitNames(String, int)
+     */
+    default Paginator<String> getAllAggregationUnitNames() {
+        return getAllAggregationUnitNames("100", 2);
+    }
+
+    /**
+     * Gets names of all units used this month, fetching the next page while the current one is consumed.
+     *
+     * @param limit maximum number of names per page, or {@code null} for the server default
+     * @param maxBufferedPages maximum number of pages kept in memory, including the one being consumed
+     * @see #getAggregationUnitNameList(String, String)
+     */
+    default Paginator<String> getAllAggregationUnitNames(String limit, int maxBufferedPages) {
+        return Paginator.of(next -> getAggregationUnitNameList(limit, next),
+                            GetAggregationUnitNameListResponse::getCustomAggregationUnits,
+                            GetAggregationUnitNameListResponse::getNext, maxBufferedPages);
+    }
+
     /**
      * Validate message objects of a reply message.
      *
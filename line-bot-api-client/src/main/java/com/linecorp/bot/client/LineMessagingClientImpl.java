@@ -22,6 +22,7 @@ import java.util.List;
 import java.util.concurrent.CompletableFuture;
 
 import com.linecorp.bot.client.exception.GeneralLineMessagingException;
+import com.linecorp.bot.client.exception.LineMessagingException;
 import com.linecorp.bot.model.Broadcast;
 import com.linecorp.bot.model.Multicast;
 import com.linecorp.bot.model.Narrowcast;
@@ -65,7 +66,6 @@ import com.linecorp.bot.model.richmenualias.RichMenuAliasResponse;
 import com.linecorp.bot.model.richmenualias.UpdateRichMenuAliasRequest;
 import com.linecorp.bot.model.room.RoomMemberCountResponse;
 
-import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import retrofit2.Call;
 import retrofit2.Callback;
@@ -75,8 +75,10 @@ import retrofit2.Response;
  * Proxy implementation of {@link LineMessagingClient} to hind internal implementation.
  */
 @Slf4j
-@AllArgsConstructor
 public class LineMessagingClientImpl implements LineMessagingClient {
+    /**
+     * Converter used unless a client is built with its own, configured by system properties.
+     */
     static final ExceptionConverter EXCEPTION_CONVERTER = new ExceptionConverter();
     private static final String ORG_TYPE_GROUP = "group"; // TODO Enum
     private static final String ORG_TYPE_ROOM = "room";
@@ -87,6 +89,19 @@ public class LineMessagingClientImpl implements LineMessagingClient {
 
     private final LineBlobClient blobDelegationTarget;
 
+    private final ExceptionConverter exceptionConverter;
+
+    public LineMessagingClientImpl(LineMessagingService retrofitImpl, LineBlobClient blobDelegationTarget) {
+        this(retrofitImpl, blobDelegationTarget, EXCEPTION_CONVERTER);
+    }
+
+    LineMessagingClientImpl(LineMessagingService retrofitImpl, LineBlobClient blobDelegationTarget,
+                            ExceptionConverter exceptionConverter) {
+        this.retrofitImpl = retrofitImpl;
+        this.blobDelegationTarget = blobDelegationTarget;
+        this.exceptionConverter = exceptionConverter;
+    }
+
     @Override
     public CompletableFuture<BotApiResponse> replyMessage(final ReplyMessage replyMessage) {
         return toBotApiResponseFuture(retrofitImpl.replyMessage(replyMessage));
@@ -396,63 +411,107 @@ public class LineMessagingClientImpl implements LineMessagingClient {
     }
 
     // TODO: Extract this method.
-    static <T> CompletableFuture<T> toFuture(Call<T> callToWrap) {
-        final CallbackAdaptor<T> completableFuture = new CallbackAdaptor<>();
+    private <T> CompletableFuture<T> toFuture(Call<T> callToWrap) {
+        return toFuture(callToWrap, exceptionConverter);
+    }
+
+    static <T> CompletableFuture<T> toFuture(Call<T> callToWrap, ExceptionConverter exceptionConverter) {
+        final CallbackAdaptor<T> completableFuture = new CallbackAdaptor<>(exceptionConverter);
         callToWrap.enqueue(completableFuture);
         return completableFuture;
     }
 
-    private static CompletableFuture<BotApiResponse> toBotApiResponseFuture(
+    private CompletableFuture<BotApiResponse> toBotApiResponseFuture(
             final Call<BotApiResponseBody> callToWrap) {
-        final BotApiCallbackAdaptor completableFuture = new BotApiCallbackAdaptor();
+        final BotApiCallbackAdaptor completableFuture = new BotApiCallbackAdaptor(exceptionConverter);
         callToWrap.enqueue(completableFuture);
         return completableFuture;
     }
 
-    static CompletableFuture<BotApiResponse> toBotApiFuture(Call<Void> callToWrap) {
-        final VoidToBotApiCallbackAdaptor completableFuture = new VoidToBotApiCallbackAdaptor();
+    private CompletableFuture<BotApiResponse> toBotApiFuture(Call<Void> callToWrap) {
+        return toBotApiFuture(callToWrap, exceptionConverter);
+    }
+
+    static CompletableFuture<BotApiResponse> toBotApiFuture(Call<Void> callToWrap,
+                                                           ExceptionConverter exceptionConverter) {
+        final VoidToBotApiCallbackAdaptor completableFuture =
+                new VoidToBotApiCallbackAdaptor(exceptionConverter);
         callToWrap.enqueue(completableFuture);
         return completableFuture;
     }
 
+    /**
+     * Converts a failure before getting a response, e.g. I/O error or rejection by the client itself.
+     */
+    static LineMessagingException toLineMessagingException(Throwable t) {
+        if (t instanceof LineMessagingException) {
+            return (LineMessagingException) t;
+        }
+        return new GeneralLineMessagingException(t.getMessage(), null, t);
+    }
+
     static class CallbackAdaptor<T> extends CompletableFuture<T> implements Callback<T> {
+        private final ExceptionConverter exceptionConverter;
+
+        CallbackAdaptor() {
+            this(EXCEPTION_CONVERTER);
+        }
+
+        CallbackAdaptor(final ExceptionConverter exceptionConverter) {
+            this.exceptionConverter = exceptionConverter;
+        }
+
         @Override
         public void onResponse(final Call<T> call, final Response<T> response) {
             if (response.isSuccessful()) {
                 complete(response.body());
             } else {
-                completeExceptionally(EXCEPTION_CONVERTER.apply(response));
+                completeExceptionally(exceptionConverter.apply(response));
             }
         }
 
         @Override
         public void onFailure(final Call<T> call, final Throwable t) {
-            completeExceptionally(
-                    new GeneralLineMessagingException(t.getMessage(), null, t));
+            completeExceptionally(toLineMessagingException(t));
         }
     }
 
     static class VoidToBotApiCallbackAdaptor extends CompletableFuture<BotApiResponse>
             implements Callback<Void> {
+        private final ExceptionConverter exceptionConverter;
+
+        VoidToBotApiCallbackAdaptor() {
+            this(EXCEPTION_CONVERTER);
+        }
+
+        VoidToBotApiCallbackAdaptor(final ExceptionConverter exceptionConverter) {
+            this.exceptionConverter = exceptionConverter;
+        }
+
         @Override
         public void onResponse(final Call<Void> call, final Response<Void> response) {
             if (response.isSuccessful()) {
                 final String requestId = response.headers().get("x-line-request-id");
                 complete(BOT_API_SUCCESS_RESPONSE_BODY.withRequestId(requestId));
             } else {
-                completeExceptionally(EXCEPTION_CONVERTER.apply(response));
+                completeExceptionally(exceptionConverter.apply(response));
             }
         }
 
         @Override
         public void onFailure(final Call<Void> call, final Throwable t) {
-            completeExceptionally(
-                    new GeneralLineMessagingException(t.getMessage(), null, t));
+            completeExceptionally(toLineMessagingException(t));
         }
     }
 
     static class BotApiCallbackAdaptor extends CompletableFuture<BotApiResponse>
             implements Callback<BotApiResponseBody> {
+        private final ExceptionConverter exceptionConverter;
+
+        BotApiCallbackAdaptor(final ExceptionConverter exceptionConverter) {
+            this.exceptionConverter = exceptionConverter;
+        }
+
         @Override
         public void onResponse(final Call<BotApiResponseBody> call,
                                final Response<BotApiResponseBody> response) {
@@ -460,14 +519,13 @@ public class LineMessagingClientImpl implements LineMessagingClient {
                 final String requestId = response.headers().get("x-line-request-id");
                 complete(response.body().withRequestId(requestId));
             } else {
-                completeExceptionally(EXCEPTION_CONVERTER.apply(response));
+                completeExceptionally(exceptionConverter.apply(response));
             }
         }
 
         @Override
         public void onFailure(final Call<BotApiResponseBody> call, final Throwable t) {
-            completeExceptionally(
-                    new GeneralLineMessagingException(t.getMessage(), null, t));
+            completeExceptionally(toLineMessagingException(t));
         }
     }
 }
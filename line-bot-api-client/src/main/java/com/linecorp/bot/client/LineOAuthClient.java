@@ -79,6 +79,21 @@ public interface LineOAuthClient {
      */
     CompletableFuture<IssueChannelAccessTokenResponse> issueChannelToken(IssueChannelAccessTokenRequest req);
 
+    /**
+     * Issues a stateless channel access token. Stateless tokens are valid for 15 minutes and can't be revoked,
+     * and any number of them can be issued.
+     *
+     * <p>{@link IssueChannelAccessTokenResponse#getKeyId()} of the response is always {@code null}.
+     * It will return a failed {@link CompletableFuture} with {@link ChannelAccessTokenException} if
+     * it has an error during calling the API.
+     *
+     * @param clientId Channel ID
+     * @param clientSecret Channel secret
+     * @see <a href="https://developers.line.biz/en/reference/messaging-api/#issue-stateless-channel-access-token">Issue stateless channel access token</a>
+     */
+    CompletableFuture<IssueChannelAccessTokenResponse> issueStatelessChannelToken(
+            String clientId, String clientSecret);
+
     /**
      * Revokes a channel access token. It will return a failed {@link CompletableFuture} with
      * {@link ChannelAccessTokenException} if it has an error during calling the API.
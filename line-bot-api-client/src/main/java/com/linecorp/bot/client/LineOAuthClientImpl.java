@@ -73,6 +73,12 @@ class LineOAuthClientImpl implements LineOAuthClient {
                                                   req.getClientSecret()));
     }
 
+    @Override
+    public CompletableFuture<IssueChannelAccessTokenResponse> issueStatelessChannelToken(
+            String clientId, String clientSecret) {
+        return toFuture(service.issueStatelessChannelToken("client_credentials", clientId, clientSecret));
+    }
+
     @Override
     public CompletableFuture<Void> revokeChannelToken(String accessToken) {
         return toFuture(service.revokeChannelToken(accessToken));
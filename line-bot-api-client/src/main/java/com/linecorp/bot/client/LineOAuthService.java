@@ -71,6 +71,16 @@ interface LineOAuthService {
                                                             @Field("client_id") String clientId,
                                                             @Field("client_secret") String clientSecret);
 
+    /**
+     * Issues a stateless channel access token, which is valid for 15 minutes and can't be revoked.
+     */
+    @FormUrlEncoded
+    @POST("oauth2/v3/token")
+    Call<IssueChannelAccessTokenResponse> issueStatelessChannelToken(
+            @Field("grant_type") String grantType,
+            @Field("client_id") String clientId,
+            @Field("client_secret") String clientSecret);
+
     /**
      * Revokes a channel access token. It will return a failed {@link CompletableFuture} with
      * {@link ChannelAccessTokenException} if it has an error during calling the API.
@@ -17,12 +17,19 @@
 package com.linecorp.bot.client;
 
 import java.io.File;
+import java.io.InputStream;
+import java.util.Iterator;
 import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
 
 import com.linecorp.bot.model.manageaudience.response.CreateAudienceForUploadingResponse;
 import com.linecorp.bot.model.response.BotApiResponse;
 
 public interface ManageAudienceBlobClient {
+    /**
+     * Maximum number of IDs in an upload.
+     */
+    int MAX_IDS_PER_UPLOAD = 1_500_000;
 
     /**
      * Create audience for uploading user IDs (by file).
@@ -34,6 +41,53 @@ public interface ManageAudienceBlobClient {
             File file
     );
 
+    /**
+     * Create audience for uploading user IDs or IFAs streamed from an {@link Iterator}.
+     *
+     * <p>IDs are written straight into the request body without a temporary file. Blank lines, invalid IDs
+     * and duplicates are skipped on the fly. If there are more than
+     * {@value #MAX_IDS_PER_UPLOAD} IDs, the rest are added with
+     * {@link #addUserIdsToAudience(long, String, boolean, Iterator)} one upload after another.
+     *
+     * @param ids user IDs, or IFAs if {@code isIfaAudience}. The iterator is read from I/O threads.
+     */
+    CompletableFuture<AudienceUploadResult> createAudienceForUploadingUserIds(
+            String description,
+            boolean isIfaAudience,
+            String uploadDescription,
+            Iterator<String> ids
+    );
+
+    /**
+     * Create audience for uploading user IDs or IFAs streamed from a {@link Stream}. The stream is not closed.
+     *
+     * @see #createAudienceForUploadingUserIds(String, boolean, String, Iterator)
+     */
+    default CompletableFuture<AudienceUploadResult> createAudienceForUploadingUserIds(
+            String description,
+            boolean isIfaAudience,
+            String uploadDescription,
+            Stream<String> ids
+    ) {
+        return createAudienceForUploadingUserIds(description, isIfaAudience, uploadDescription, ids.iterator());
+    }
+
+    /**
+     * Create audience for uploading user IDs or IFAs read from UTF-8 text, one ID per line.
+     * The input stream is not closed.
+     *
+     * @see #createAudienceForUploadingUserIds(String, boolean, String, Iterator)
+     */
+    default CompletableFuture<AudienceUploadResult> createAudienceForUploadingUserIds(
+            String description,
+            boolean isIfaAudience,
+            String uploadDescription,
+            InputStream ids
+    ) {
+        return createAudienceForUploadingUserIds(description, isIfaAudience, uploadDescription,
+                                                 AudienceIdSource.lines(ids));
+    }
+
     /**
      * Add user IDs or Identifiers for Advertisers (IFAs) to an audience for uploading user IDs (by file).
      */
@@ -43,6 +97,52 @@ public interface ManageAudienceBlobClient {
             File file
     );
 
+    /**
+     * Add user IDs or IFAs streamed from an {@link Iterator} to an audience for uploading user IDs.
+     *
+     * <p>IDs are written straight into the request body, skipping blank lines, invalid IDs and duplicates,
+     * and split into uploads of up to {@value #MAX_IDS_PER_UPLOAD} IDs.
+     *
+     * @param isIfaAudience whether the audience consists of IFAs, to validate IDs
+     * @param ids user IDs, or IFAs if {@code isIfaAudience}. The iterator is read from I/O threads.
+     */
+    CompletableFuture<AudienceUploadResult> addUserIdsToAudience(
+            long audienceGroupId,
+            String uploadDescription,
+            boolean isIfaAudience,
+            Iterator<String> ids
+    );
+
+    /**
+     * Add user IDs or IFAs streamed from a {@link Stream} to an audience. The stream is not closed.
+     *
+     * @see #addUserIdsToAudience(long, String, boolean, Iterator)
+     */
+    default CompletableFuture<AudienceUploadResult> addUserIdsToAudience(
+            long audienceGroupId,
+            String uploadDescription,
+            boolean isIfaAudience,
+            Stream<String> ids
+    ) {
+        return addUserIdsToAudience(audienceGroupId, uploadDescription, isIfaAudience, ids.iterator());
+    }
+
+    /**
+     * Add user IDs or IFAs read from UTF-8 text, one ID per line, to an audience.
+     * The input stream is not closed.
+     *
+     * @see #addUserIdsToAudience(long, String, boolean, Iterator)
+     */
+    default CompletableFuture<AudienceUploadResult> addUserIdsToAudience(
+            long audienceGroupId,
+            String uploadDescription,
+            boolean isIfaAudience,
+            InputStream ids
+    ) {
+        return addUserIdsToAudience(audienceGroupId, uploadDescription, isIfaAudience,
+                                    AudienceIdSource.lines(ids));
+    }
+
     static ManageAudienceBlobClientBuilder builder() {
         return new ManageAudienceBlobClientBuilder();
     }
@@ -18,6 +18,7 @@ package com.linecorp.bot.client;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.Iterator;
 import java.util.concurrent.CompletableFuture;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -36,6 +37,7 @@ import retrofit2.Callback;
 import retrofit2.Response;
 
 public class ManageAudienceBlobClientImpl implements ManageAudienceBlobClient {
+    private static final String STREAMING_FILE_NAME = "ids.txt";
     private static final ObjectMapper objectMapper = ModelObjectMapper.createNewObjectMapper();
     private final ManageAudienceBlobService retrofitImpl;
 
@@ -57,6 +59,40 @@ public class ManageAudienceBlobClientImpl implements ManageAudienceBlobClient {
         return toFuture(retrofitImpl.createAudienceForUploadingUserIds(parts));
     }
 
+    @Override
+    public CompletableFuture<AudienceUploadResult> createAudienceForUploadingUserIds(
+            String description, boolean isIfaAudience, String uploadDescription, Iterator<String> ids) {
+        return createAudienceForUploadingUserIds(description, isIfaAudience, uploadDescription, ids,
+                                                 MAX_IDS_PER_UPLOAD);
+    }
+
+    CompletableFuture<AudienceUploadResult> createAudienceForUploadingUserIds(
+            String description, boolean isIfaAudience, String uploadDescription, Iterator<String> ids,
+            int maxIdsPerUpload) {
+        final AudienceIdSource source = new AudienceIdSource(ids, isIfaAudience);
+        final String firstId;
+        try {
+            firstId = source.next();
+        } catch (RuntimeException e) {
+            return failedFuture(e);
+        }
+        if (firstId == null) {
+            return failedFuture(new IllegalArgumentException("No valid IDs to create an audience."));
+        }
+
+        final StreamingAudienceFileBody body = new StreamingAudienceFileBody(firstId, source, maxIdsPerUpload);
+        final MultipartBody parts = new MultipartBody.Builder()
+                .addFormDataPart("description", description)
+                .addFormDataPart("isIfaAudience", String.valueOf(isIfaAudience))
+                .addFormDataPart("uploadDescription", uploadDescription)
+                .addFormDataPart("file", STREAMING_FILE_NAME, body)
+                .build();
+
+        return toFuture(retrofitImpl.createAudienceForUploadingUserIds(parts))
+                .thenCompose(response -> addRest(response.getAudienceGroupId(), uploadDescription, source,
+                                                 maxIdsPerUpload, 1, checkWritten(body)));
+    }
+
     @Override
     public CompletableFuture<BotApiResponse> addUserIdsToAudience(long audienceGroupId,
                                                                   String uploadDescription,
@@ -70,7 +106,65 @@ public class ManageAudienceBlobClientImpl implements ManageAudienceBlobClient {
 
         return LineMessagingClientImpl.toBotApiFuture(retrofitImpl.addUserIdsToAudience(
                 parts
-        ));
+        ), LineMessagingClientImpl.EXCEPTION_CONVERTER);
+    }
+
+    @Override
+    public CompletableFuture<AudienceUploadResult> addUserIdsToAudience(
+            long audienceGroupId, String uploadDescription, boolean isIfaAudience, Iterator<String> ids) {
+        return addUserIdsToAudience(audienceGroupId, uploadDescription, isIfaAudience, ids, MAX_IDS_PER_UPLOAD);
+    }
+
+    CompletableFuture<AudienceUploadResult> addUserIdsToAudience(
+            long audienceGroupId, String uploadDescription, boolean isIfaAudience, Iterator<String> ids,
+            int maxIdsPerUpload) {
+        return addRest(audienceGroupId, uploadDescription, new AudienceIdSource(ids, isIfaAudience),
+                       maxIdsPerUpload, 0, 0);
+    }
+
+    // Uploads the remaining IDs one upload after another. Called from I/O threads except for the first call.
+    private CompletableFuture<AudienceUploadResult> addRest(
+            long audienceGroupId, String uploadDescription, AudienceIdSource source, int maxIdsPerUpload,
+            int uploadCount, long uploadedCount) {
+        final String firstId;
+        try {
+            firstId = source.next();
+        } catch (RuntimeException e) {
+            return failedFuture(e);
+        }
+        if (firstId == null) {
+            return CompletableFuture.completedFuture(new AudienceUploadResult(
+                    audienceGroupId, uploadCount, uploadedCount, source.duplicateCount(),
+                    source.invalidCount()));
+        }
+
+        final StreamingAudienceFileBody body = new StreamingAudienceFileBody(firstId, source, maxIdsPerUpload);
+        final MultipartBody parts = new Builder()
+                .addFormDataPart("audienceGroupId", String.valueOf(audienceGroupId))
+                .addFormDataPart("uploadDescription", uploadDescription)
+                .addFormDataPart("file", STREAMING_FILE_NAME, body)
+                .build();
+
+        return LineMessagingClientImpl.toBotApiFuture(retrofitImpl.addUserIdsToAudience(parts),
+                                                      LineMessagingClientImpl.EXCEPTION_CONVERTER)
+                                      .thenCompose(response -> addRest(
+                                              audienceGroupId, uploadDescription, source, maxIdsPerUpload,
+                                              uploadCount + 1, uploadedCount + checkWritten(body)));
+    }
+
+    private static int checkWritten(StreamingAudienceFileBody body) {
+        final int writtenCount = body.writtenCount();
+        if (writtenCount == 0) {
+            // Never happens with OkHttp. Fail instead of uploading the same IDs forever.
+            throw new IllegalStateException("The request body of an audience upload was not written.");
+        }
+        return writtenCount;
+    }
+
+    private static <T> CompletableFuture<T> failedFuture(Throwable cause) {
+        final CompletableFuture<T> future = new CompletableFuture<>();
+        future.completeExceptionally(cause);
+        return future;
     }
 
     private static <T> CompletableFuture<T> toFuture(Call<T> call) {
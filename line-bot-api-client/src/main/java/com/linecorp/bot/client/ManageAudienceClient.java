@@ -15,7 +15,9 @@
  */
 package com.linecorp.bot.client;
 
+import java.util.Iterator;
 import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
 
 import com.linecorp.bot.model.manageaudience.AudienceGroupCreateRoute;
 import com.linecorp.bot.model.manageaudience.AudienceGroupStatus;
@@ -54,6 +56,32 @@ public interface ManageAudienceClient {
     CompletableFuture<BotApiResponse> addAudienceToAudienceGroup(
             AddAudienceToAudienceGroupRequest request);
 
+    /**
+     * Adds any number of user IDs or IFAs to an audience for uploading user IDs, splitting them into
+     * chunks of up to 10,000 IDs. The stream is consumed lazily but not closed.
+     *
+     * @see #addAudienceToAudienceGroup(long, String, Iterator, BulkOptions)
+     */
+    default CompletableFuture<BulkResult> addAudienceToAudienceGroup(
+            long audienceGroupId, String uploadDescription, Stream<String> ids) {
+        return addAudienceToAudienceGroup(audienceGroupId, uploadDescription, ids.iterator(),
+                                          BulkOptions.DEFAULT);
+    }
+
+    /**
+     * Adds any number of user IDs or IFAs to an audience for uploading user IDs, splitting them into
+     * chunks of up to 10,000 IDs.
+     *
+     * <p>IDs are pulled from {@code ids} only when a chunk can be dispatched, keeping at most
+     * {@link BulkOptions#getParallelism()} requests in flight. Each chunk is serialized directly into its
+     * request body. The returned future completes when all chunks are done; chunks listed in
+     * {@link BulkResult#getFailedChunks()} can be retried by passing their IDs to this method again.
+     *
+     * @param uploadDescription description attached to every chunk; may be {@code null}
+     */
+    CompletableFuture<BulkResult> addAudienceToAudienceGroup(
+            long audienceGroupId, String uploadDescription, Iterator<String> ids, BulkOptions options);
+
     /**
      * Creates an audience for click-based retargeting.
      *
@@ -23,9 +23,6 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
 
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import com.linecorp.bot.model.objectmapper.ModelObjectMapper;
@@ -35,10 +32,9 @@ import lombok.Setter;
 import lombok.ToString;
 import lombok.experimental.Accessors;
 import lombok.experimental.PackagePrivate;
+import okhttp3.EventListener;
 import okhttp3.Interceptor;
 import okhttp3.OkHttpClient;
-import okhttp3.logging.HttpLoggingInterceptor;
-import okhttp3.logging.HttpLoggingInterceptor.Level;
 import retrofit2.Retrofit;
 import retrofit2.converter.jackson.JacksonConverterFactory;
 
@@ -126,6 +122,26 @@ public class ManageAudienceClientBuilder {
 
     private OkHttpClient.Builder okHttpClientBuilder;
 
+    /**
+     * Shared HTTP transport.
+     *
+     * <p>If specified, this client reuses the connection pool and the dispatcher of the transport.
+     * Ignored when {@link OkHttpClient.Builder} is given explicitly.
+     *
+     * @see LineClientTransport
+     */
+    @Setter
+    private LineClientTransport transport;
+
+    /**
+     * Interceptor to log HTTP requests and responses.
+     *
+     * <p>Default {@link WireLoggingInterceptor} is used in case of {@code null} (default).
+     * You can plug in your own configured one, e.g. to sample or to truncate logs.
+     */
+    @Setter
+    private Interceptor wireLoggingInterceptor;
+
     /**
      * Custom interceptors.
      *
@@ -138,6 +154,15 @@ public class ManageAudienceClientBuilder {
     @Setter
     private List<Interceptor> additionalInterceptors = new ArrayList<>();
 
+    /**
+     * Factory of {@link EventListener} to observe connections and phases of HTTP calls.
+     *
+     * <p>No listener is installed in case of {@code null} (default). Use {@link CallTimingRecorder} to
+     * measure DNS lookup, connect, TLS handshake, time to first byte and body transfer.
+     */
+    @Setter
+    private EventListener.Factory eventListenerFactory;
+
     /**
      * Set fixed channel token. This overwrites {@link #channelTokenSupplier(ChannelTokenSupplier)}.
      *
@@ -174,25 +199,33 @@ public class ManageAudienceClientBuilder {
      */
     <T> T buildRetrofitIface(URI apiEndPoint, Class<T> retrofitIFace) {
         if (okHttpClientBuilder == null) {
-            okHttpClientBuilder = new OkHttpClient.Builder();
+            okHttpClientBuilder = transport != null ? transport.newOkHttpClientBuilder()
+                                                    : new OkHttpClient.Builder();
         }
+        // Copy the base builder not to add interceptors to it again when building another client.
+        // The copy shares the connection pool and the dispatcher.
+        final OkHttpClient.Builder clientBuilder = okHttpClientBuilder.build().newBuilder();
 
         // Add interceptors.
         if (addAuthenticationHeader) {
-            okHttpClientBuilder.addInterceptor(buildAuthenticationInterceptor(channelTokenSupplier));
+            clientBuilder.addInterceptor(buildAuthenticationInterceptor(channelTokenSupplier));
         }
         if (additionalInterceptors != null) {
-            additionalInterceptors.forEach(okHttpClientBuilder::addInterceptor);
+            additionalInterceptors.forEach(clientBuilder::addInterceptor);
+        }
+        clientBuilder.addInterceptor(wireLoggingInterceptor != null ? wireLoggingInterceptor
+                                                                    : buildLoggingInterceptor());
+        if (eventListenerFactory != null) {
+            clientBuilder.eventListenerFactory(eventListenerFactory);
         }
-        okHttpClientBuilder.addInterceptor(buildLoggingInterceptor());
 
         // Set timeout.
-        okHttpClientBuilder
+        clientBuilder
                 .connectTimeout(connectTimeout, TimeUnit.MILLISECONDS)
                 .readTimeout(readTimeout, TimeUnit.MILLISECONDS)
                 .writeTimeout(writeTimeout, TimeUnit.MILLISECONDS);
 
-        final OkHttpClient okHttpClient = okHttpClientBuilder.build();
+        final OkHttpClient okHttpClient = clientBuilder.build();
 
         if (retrofitBuilder == null) {
             retrofitBuilder = createDefaultRetrofitBuilder();
@@ -211,10 +244,7 @@ public class ManageAudienceClientBuilder {
     }
 
     static Interceptor buildLoggingInterceptor() {
-        final Logger slf4jLogger = LoggerFactory.getLogger("com.linecorp.bot.client.wire");
-
-        return new HttpLoggingInterceptor(slf4jLogger::info)
-                .setLevel(Level.BODY);
+        return WireLoggingInterceptor.builder().build();
     }
 
     static Retrofit.Builder createDefaultRetrofitBuilder() {
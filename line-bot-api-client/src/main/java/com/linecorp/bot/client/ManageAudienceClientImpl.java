@@ -17,14 +17,19 @@
 package com.linecorp.bot.client;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import com.linecorp.bot.client.LineMessagingClientImpl.VoidToBotApiCallbackAdaptor;
 import com.linecorp.bot.model.manageaudience.AudienceGroupCreateRoute;
 import com.linecorp.bot.model.manageaudience.AudienceGroupStatus;
 import com.linecorp.bot.model.manageaudience.request.AddAudienceToAudienceGroupRequest;
+import com.linecorp.bot.model.manageaudience.request.Audience;
 import com.linecorp.bot.model.manageaudience.request.CreateAudienceGroupRequest;
 import com.linecorp.bot.model.manageaudience.request.CreateClickBasedAudienceGroupRequest;
 import com.linecorp.bot.model.manageaudience.request.CreateImpBasedAudienceGroupRequest;
@@ -41,6 +46,9 @@ import com.linecorp.bot.model.objectmapper.ModelObjectMapper;
 import com.linecorp.bot.model.response.BotApiResponse;
 
 import lombok.AllArgsConstructor;
+import okhttp3.MediaType;
+import okhttp3.RequestBody;
+import okio.Buffer;
 import retrofit2.Call;
 import retrofit2.Callback;
 import retrofit2.Response;
@@ -52,6 +60,12 @@ import retrofit2.http.Body;
 @AllArgsConstructor
 class ManageAudienceClientImpl implements ManageAudienceClient {
     private static final ObjectMapper objectMapper = ModelObjectMapper.createNewObjectMapper();
+    private static final MediaType APPLICATION_JSON = MediaType.get("application/json; charset=utf-8");
+
+    /**
+     * Maximum number of audiences in an {@link AddAudienceToAudienceGroupRequest}.
+     */
+    static final int MAX_AUDIENCES_PER_REQUEST = 10_000;
 
     private final ManageAudienceService retrofitImpl;
 
@@ -67,6 +81,14 @@ class ManageAudienceClientImpl implements ManageAudienceClient {
         return toBotApiFuture(retrofitImpl.addAudienceToAudienceGroup(request));
     }
 
+    @Override
+    public CompletableFuture<BulkResult> addAudienceToAudienceGroup(
+            long audienceGroupId, String uploadDescription, Iterator<String> ids, BulkOptions options) {
+        return BulkOperations.execute(ids, MAX_AUDIENCES_PER_REQUEST, options, chunk -> toBotApiFuture(
+                retrofitImpl.addAudienceToAudienceGroup(
+                        addAudienceRequestBody(audienceGroupId, uploadDescription, chunk))));
+    }
+
     @Override
     public CompletableFuture<CreateClickBasedAudienceGroupResponse> createClickBasedAudienceGroup(
             CreateClickBasedAudienceGroupRequest request) {
@@ -115,6 +137,34 @@ class ManageAudienceClientImpl implements ManageAudienceClient {
         return toBotApiFuture(retrofitImpl.updateAudienceGroupAuthorityLevel(request));
     }
 
+    /**
+     * Serializes the same JSON as {@link AddAudienceToAudienceGroupRequest} without allocating an
+     * {@link Audience} per ID.
+     */
+    static RequestBody addAudienceRequestBody(long audienceGroupId, String uploadDescription,
+                                              List<String> ids) {
+        final Buffer buffer = new Buffer();
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(buffer.outputStream())) {
+            generator.writeStartObject();
+            generator.writeNumberField("audienceGroupId", audienceGroupId);
+            if (uploadDescription != null) {
+                generator.writeStringField("uploadDescription", uploadDescription);
+            }
+            generator.writeArrayFieldStart("audiences");
+            for (String id : ids) {
+                generator.writeStartObject();
+                generator.writeStringField("id", id);
+                generator.writeEndObject();
+            }
+            generator.writeEndArray();
+            generator.writeEndObject();
+        } catch (IOException e) {
+            // Writing to an in-memory buffer never fails.
+            throw new UncheckedIOException(e);
+        }
+        return RequestBody.create(buffer.readByteString(), APPLICATION_JSON);
+    }
+
     private static <T> CompletableFuture<T> toFuture(Call<T> call) {
         final CallbackCompletableFuture<T> future = new CallbackCompletableFuture<>();
         call.enqueue(future);
@@ -30,6 +30,7 @@ import com.linecorp.bot.model.manageaudience.response.GetAudienceDataResponse;
 import com.linecorp.bot.model.manageaudience.response.GetAudienceGroupAuthorityLevelResponse;
 import com.linecorp.bot.model.manageaudience.response.GetAudienceGroupsResponse;
 
+import okhttp3.RequestBody;
 import retrofit2.Call;
 import retrofit2.http.Body;
 import retrofit2.http.DELETE;
@@ -46,6 +47,13 @@ interface ManageAudienceService {
     @PUT("v2/bot/audienceGroup/upload")
     Call<Void> addAudienceToAudienceGroup(@Body AddAudienceToAudienceGroupRequest request);
 
+    /**
+     * Same as {@link #addAudienceToAudienceGroup(AddAudienceToAudienceGroupRequest)} with a pre-serialized
+     * request body.
+     */
+    @PUT("v2/bot/audienceGroup/upload")
+    Call<Void> addAudienceToAudienceGroup(@Body RequestBody request);
+
     @POST("v2/bot/audienceGroup/click")
     Call<CreateClickBasedAudienceGroupResponse> createClickBasedAudienceGroup(
             @Body CreateClickBasedAudienceGroupRequest request);
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2023 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.linecorp.bot.client;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Downloaded content held in a heap buffer, a pooled direct buffer or a memory-mapped temporary file,
+ * as an alternative to the {@link java.io.InputStream} of {@link MessageContentResponse}.
+ *
+ * <p>The content is reference counted. It starts with one reference, {@link #retain()} adds one and
+ * {@link #close()} releases one. When the last reference is released, the direct buffer returns to its
+ * pool or the temporary file is deleted. Buffers obtained from this object must not be used afterwards.
+ * <pre>{@code
+ * try (MessageContentBuffer content = client.getMessageContentBuffer(messageId).get()) {
+ *     ByteBuffer header = content.slice(0, 12);
+ *     ...
+ * }
+ * }</pre>
+ *
+ * @see ContentBufferOptions
+ */
+@ToString(of = {"length", "mimeType"})
+public final class MessageContentBuffer implements AutoCloseable {
+    private final ByteBuffer content;
+    private final Runnable releaser;
+    private final AtomicInteger references = new AtomicInteger(1);
+
+    /** File size of this content. */
+    @Getter
+    private final int length;
+
+    /** File contents type represented by MIME. */
+    @Getter
+    private final String mimeType;
+
+    /**
+     * All HTTP headers of API response.
+     *
+     * <p>Note: there are no SPEC for those headers.
+     * Current field values are provided AS-IS and can be changed/removed without announces.
+     */
+    @Getter
+    private final Map<String, List<String>> allHeaders;
+
+    MessageContentBuffer(ByteBuffer content, String mimeType, Map<String, List<String>> allHeaders,
+                         Runnable releaser) {
+        this.content = content.asReadOnlyBuffer();
+        this.releaser = releaser;
+        length = content.remaining();
+        this.mimeType = mimeType;
+        this.allHeaders = allHeaders;
+    }
+
+    /**
+     * Returns a read-only view of the whole content. The view has its own position and limit.
+     */
+    public ByteBuffer buffer() {
+        ensureRetained();
+        return content.duplicate();
+    }
+
+    /**
+     * Returns a read-only view of {@code length} bytes from {@code offset}.
+     */
+    public ByteBuffer slice(int offset, int length) {
+        ensureRetained();
+        if (offset < 0 || length < 0 || offset > this.length - length) {
+            throw new IndexOutOfBoundsException(
+                    "offset: " + offset + ", length: " + length + ", content length: " + this.length);
+        }
+        final ByteBuffer view = content.duplicate();
+        view.position(offset).limit(offset + length);
+        return view.slice();
+    }
+
+    /**
+     * Adds a reference, e.g. before handing the content to another thread which closes it.
+     *
+     * @throws IllegalStateException if the content has been released
+     */
+    public MessageContentBuffer retain() {
+        references.updateAndGet(count -> {
+            if (count <= 0) {
+                throw new IllegalStateException("Content has been released");
+            }
+            return count + 1;
+        });
+        return this;
+    }
+
+    /**
+     * Releases a reference. The content is released when no reference is left; releasing more than
+     * retained is ignored.
+     */
+    @Override
+    public void close() {
+        final int remaining = references.updateAndGet(count -> count > 0 ? count - 1 : -1);
+        if (remaining == 0) {
+            releaser.run();
+        }
+    }
+
+    private void ensureRetained() {
+        if (references.get() <= 0) {
+            throw new IllegalStateException("Content has been released");
+        }
+    }
+}
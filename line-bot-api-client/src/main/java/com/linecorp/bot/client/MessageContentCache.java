@@ -0,0 +1,331 @@
+/*
+ * Copyright 2023 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.linecorp.bot.client;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import lombok.Builder;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Local disk cache of message content keyed by message ID, bounded by the total size of cached files.
+ *
+ * <p>Content is stored once per SHA-256 hash, so messages forwarding the same image share one file.
+ * When the total size exceeds {@code maxBytes}, files are evicted by {@code evictionPolicy} together with
+ * all messages referring to them. The most recently added file is kept even if it alone exceeds the
+ * limit.
+ *
+ * <p>Message IDs are not persisted, so content files and unfinished downloads left in {@code directory}
+ * by an earlier process are deleted when the cache is created. Other files are left as is. Don't share
+ * the directory between caches.
+ *
+ * <p>Entries are not pinned: the file of an entry can be evicted at any time, even right after the entry
+ * is returned. Read content with {@link #map(String)}, whose mapping stays valid after eviction, instead
+ * of opening {@link CachedMessageContent#getPath()}.
+ *
+ * <p>{@link #purge(String)} removes content of an unsent message and keeps it from being cached again;
+ * {@link MessageContentPrefetcher#prefetch(com.linecorp.bot.model.event.Event)} calls it for
+ * {@link com.linecorp.bot.model.event.UnsendEvent}.
+ *
+ * @see MessageContentPrefetcher
+ */
+@Slf4j
+public final class MessageContentCache {
+    /**
+     * Number of purged message IDs remembered to reject their content.
+     */
+    private static final int MAX_PURGED_MESSAGE_IDS = 10_000;
+    private static final long MAX_MAPPED_BYTES = 1L << 30;
+    private static final String DOWNLOAD_PREFIX = "download-";
+    private static final String DOWNLOAD_SUFFIX = ".part";
+    private static final Pattern CONTENT_FILE_NAME = Pattern.compile("[0-9a-f]{64}");
+
+    private final Path directory;
+    private final long maxBytes;
+    private final EvictionPolicy evictionPolicy;
+    private final Map<String, CachedMessageContent> messages = new HashMap<>();
+    /** Files keyed by content hash, in access order. */
+    private final LinkedHashMap<String, Blob> blobs = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<String, Boolean> purged = new LinkedHashMap<String, Boolean>() {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+            return size() > MAX_PURGED_MESSAGE_IDS;
+        }
+    };
+    private long totalBytes;
+
+    /**
+     * Policy to choose a file to evict.
+     */
+    public enum EvictionPolicy {
+        /**
+         * Evicts the least recently read or added file.
+         */
+        LRU,
+
+        /**
+         * Evicts the least frequently read file. Ties are broken by recency.
+         */
+        LFU,
+    }
+
+    private static final class Blob {
+        final String hash;
+        final Path path;
+        final long length;
+        final Set<String> messageIds = new HashSet<>();
+        long hits;
+
+        Blob(String hash, Path path, long length) {
+            this.hash = hash;
+            this.path = path;
+            this.length = length;
+        }
+    }
+
+    @Builder
+    private MessageContentCache(@NonNull Path directory, long maxBytes,
+                                @NonNull EvictionPolicy evictionPolicy) {
+        if (maxBytes <= 0) {
+            throw new IllegalArgumentException("maxBytes must be positive: " + maxBytes);
+        }
+        try {
+            Files.createDirectories(directory);
+            deleteLeftovers(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        this.directory = directory;
+        this.maxBytes = maxBytes;
+        this.evictionPolicy = evictionPolicy;
+    }
+
+    /**
+     * Returns the cached content of the message and marks it as used, or {@code null} if absent.
+     */
+    public synchronized CachedMessageContent get(String messageId) {
+        final CachedMessageContent content = messages.get(messageId);
+        if (content != null) {
+            blobs.get(content.getContentHash()).hits++;
+        }
+        return content;
+    }
+
+    synchronized boolean contains(String messageId) {
+        return messages.containsKey(messageId);
+    }
+
+    /**
+     * Maps the cached content of the message into memory, or returns {@code null} if absent.
+     * The mapping stays valid after the file is evicted, so this is the safe way to read cached content.
+     */
+    public synchronized MappedByteBuffer map(String messageId) throws IOException {
+        final CachedMessageContent content = get(messageId);
+        if (content == null) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(content.getPath(), StandardOpenOption.READ)) {
+            return channel.map(MapMode.READ_ONLY, 0, channel.size());
+        }
+    }
+
+    /**
+     * Removes the message from the cache. Its file is deleted unless other messages refer to it.
+     *
+     * @return {@code true} if the content was cached
+     */
+    public synchronized boolean remove(String messageId) {
+        final CachedMessageContent removed = messages.remove(messageId);
+        if (removed == null) {
+            return false;
+        }
+        final Blob blob = blobs.get(removed.getContentHash());
+        blob.messageIds.remove(messageId);
+        if (blob.messageIds.isEmpty()) {
+            delete(blob);
+        }
+        return true;
+    }
+
+    /**
+     * Removes the message from the cache and rejects its content from now on, e.g. when the message is
+     * unsent. Downloads of the message in flight fail instead of caching the content.
+     *
+     * @return {@code true} if the content was cached
+     */
+    public synchronized boolean purge(String messageId) {
+        purged.put(messageId, Boolean.TRUE);
+        return remove(messageId);
+    }
+
+    /**
+     * Returns the total size of cached files in bytes.
+     */
+    public synchronized long totalBytes() {
+        return totalBytes;
+    }
+
+    /**
+     * Creates an empty file in the cache directory to download content into before {@link #put}.
+     */
+    Path createTemporaryFile() throws IOException {
+        return Files.createTempFile(directory, DOWNLOAD_PREFIX, DOWNLOAD_SUFFIX);
+    }
+
+    /**
+     * Moves a downloaded file into the cache, then evicts files exceeding the limit. The downloaded file
+     * is deleted instead if the same content is already cached.
+     *
+     * @throws IllegalStateException if the message has been {@link #purge(String) purged}
+     */
+    CachedMessageContent put(String messageId, Path downloaded, ContentDownloadResult result) {
+        final String hash;
+        final long length;
+        try {
+            // Hashed through a mapping to keep large videos off the heap.
+            length = Files.size(downloaded);
+            hash = sha256(downloaded, length);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        synchronized (this) {
+            if (purged.containsKey(messageId)) {
+                deleteQuietly(downloaded);
+                throw new IllegalStateException("Content of message " + messageId + " has been purged");
+            }
+            remove(messageId);
+            Blob blob = blobs.get(hash);
+            try {
+                if (blob == null) {
+                    final Path path = directory.resolve(hash);
+                    Files.move(downloaded, path,
+                               StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                    blob = new Blob(hash, path, length);
+                    blobs.put(hash, blob);
+                    totalBytes += length;
+                } else {
+                    Files.delete(downloaded);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            final CachedMessageContent content =
+                    new CachedMessageContent(messageId, blob.path, length, result.getMimeType(), hash);
+            messages.put(messageId, content);
+            blob.messageIds.add(messageId);
+            evict(blob);
+            return content;
+        }
+    }
+
+    private void evict(Blob added) {
+        while (totalBytes > maxBytes && blobs.size() > 1) {
+            final Iterator<Blob> it = blobs.values().iterator();
+            Blob victim = null;
+            while (it.hasNext()) {
+                final Blob blob = it.next();
+                if (blob != added && (victim == null || blob.hits < victim.hits)) {
+                    victim = blob;
+                    if (evictionPolicy == EvictionPolicy.LRU) {
+                        break;
+                    }
+                }
+            }
+            victim.messageIds.forEach(messages::remove);
+            delete(victim);
+        }
+    }
+
+    private void delete(Blob blob) {
+        blobs.remove(blob.hash);
+        totalBytes -= blob.length;
+        deleteQuietly(blob.path);
+    }
+
+    /**
+     * Deletes content files and unfinished downloads of an earlier process, which can't be indexed without
+     * their message IDs.
+     */
+    private static void deleteLeftovers(Path directory) throws IOException {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, Files::isRegularFile)) {
+            for (Path file : files) {
+                final String name = file.getFileName().toString();
+                if (CONTENT_FILE_NAME.matcher(name).matches()
+                    || (name.startsWith(DOWNLOAD_PREFIX) && name.endsWith(DOWNLOAD_SUFFIX))) {
+                    deleteQuietly(file);
+                }
+            }
+        }
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Failed to delete cached content: {}", path, e);
+        }
+    }
+
+    private static String sha256(Path file, long length) throws IOException {
+        final MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            for (long position = 0; position < length; position += MAX_MAPPED_BYTES) {
+                digest.update(channel.map(MapMode.READ_ONLY, position,
+                                          Math.min(MAX_MAPPED_BYTES, length - position)));
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    public static class MessageContentCacheBuilder {
+        // Default values. Other members are filled by lombok.
+
+        /** Maximum total size of cached files. Default = 256 MiB. */
+        private long maxBytes = 256L * 1024 * 1024;
+
+        /** Policy to choose a file to evict. Default = {@link EvictionPolicy#LRU}. */
+        private EvictionPolicy evictionPolicy = EvictionPolicy.LRU;
+    }
+}
@@ -0,0 +1,276 @@
+/*
+ * Copyright 2023 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.linecorp.bot.client;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Semaphore;
+
+import com.linecorp.bot.model.event.Event;
+import com.linecorp.bot.model.event.MessageEvent;
+import com.linecorp.bot.model.event.UnsendEvent;
+import com.linecorp.bot.model.event.message.AudioMessageContent;
+import com.linecorp.bot.model.event.message.ContentProvider;
+import com.linecorp.bot.model.event.message.FileMessageContent;
+import com.linecorp.bot.model.event.message.ImageMessageContent;
+import com.linecorp.bot.model.event.message.MessageContent;
+import com.linecorp.bot.model.event.message.VideoMessageContent;
+
+import lombok.Builder;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Downloads content of media messages into a {@link MessageContentCache} as soon as webhook events arrive,
+ * so that event handlers find the content already downloaded or in flight.
+ *
+ * <p>Up to {@code maxConcurrentDownloads} prefetches run at a time on the threads of the
+ * {@link LineBlobClient}; the rest wait in a queue of {@code maxQueuedDownloads}. When the queue is full,
+ * the prefetch is skipped and {@link #getContent(String)} downloads the content on demand.
+ * <pre>{@code
+ * // In the webhook path, before dispatching events
+ * events.forEach(prefetcher::prefetch);
+ *
+ * // In an event handler
+ * prefetcher.getContent(event.getMessage().getId())
+ *           .thenAccept(content -> process(content.getPath()));
+ * }</pre>
+ */
+@Slf4j
+public final class MessageContentPrefetcher implements AutoCloseable {
+    private final LineBlobClient blobClient;
+    private final MessageContentCache cache;
+    private final Semaphore downloadPermits;
+    private final BlockingQueue<String> queue;
+    private final ConcurrentMap<String, CompletableFuture<CachedMessageContent>> inFlight =
+            new ConcurrentHashMap<>();
+    private volatile boolean closed;
+
+    @Builder
+    private MessageContentPrefetcher(@NonNull LineBlobClient blobClient, @NonNull MessageContentCache cache,
+                                     int maxConcurrentDownloads, int maxQueuedDownloads) {
+        if (maxConcurrentDownloads <= 0) {
+            throw new IllegalArgumentException(
+                    "maxConcurrentDownloads must be positive: " + maxConcurrentDownloads);
+        }
+        if (maxQueuedDownloads <= 0) {
+            throw new IllegalArgumentException("maxQueuedDownloads must be positive: " + maxQueuedDownloads);
+        }
+        this.blobClient = blobClient;
+        this.cache = cache;
+        downloadPermits = new Semaphore(maxConcurrentDownloads);
+        queue = new ArrayBlockingQueue<>(maxQueuedDownloads);
+    }
+
+    /**
+     * Starts downloading the content if the event is a message event of an image, a video, an audio or a
+     * file provided by LINE. Content of the message unsent by an {@link UnsendEvent} is
+     * {@link MessageContentCache#purge(String) purged}. Other events are ignored.
+     *
+     * @return {@code true} if the content is cached or being downloaded
+     */
+    public boolean prefetch(Event event) {
+        if (event instanceof UnsendEvent) {
+            cache.purge(((UnsendEvent) event).getUnsend().getMessageId());
+            return false;
+        }
+        final String messageId = mediaMessageId(event);
+        return messageId != null && prefetch(messageId);
+    }
+
+    /**
+     * Starts downloading the content of the message unless it is cached or being downloaded.
+     *
+     * @return {@code false} if the download queue is full or the prefetcher is closed
+     */
+    public boolean prefetch(String messageId) {
+        if (cache.contains(messageId) || inFlight.containsKey(messageId)) {
+            return true;
+        }
+        if (closed) {
+            return false;
+        }
+        final CompletableFuture<CachedMessageContent> future = new CompletableFuture<>();
+        if (inFlight.putIfAbsent(messageId, future) != null) {
+            return true;
+        }
+        if (!queue.offer(messageId)) {
+            inFlight.remove(messageId, future);
+            log.debug("Skipped prefetching content of message {}; the queue is full.", messageId);
+            return false;
+        }
+        startQueuedDownloads();
+        return true;
+    }
+
+    /**
+     * Returns the content of the message from the cache, waits for the download in flight, or downloads it
+     * on demand.
+     *
+     * <p>The returned entry doesn't keep its file from being evicted. Read the content with
+     * {@link #map(String)} after the future completes.
+     */
+    public CompletableFuture<CachedMessageContent> getContent(String messageId) {
+        final CompletableFuture<CachedMessageContent> downloading = inFlight.get(messageId);
+        if (downloading != null) {
+            return downloading;
+        }
+        final CachedMessageContent cached = cache.get(messageId);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        final CompletableFuture<CachedMessageContent> future = new CompletableFuture<>();
+        final CompletableFuture<CachedMessageContent> existing = inFlight.putIfAbsent(messageId, future);
+        if (existing != null) {
+            return existing;
+        }
+        download(messageId, future);
+        return future;
+    }
+
+    /**
+     * Maps the cached content of the message into memory, or returns {@code null} if it is not cached.
+     *
+     * @see MessageContentCache#map(String)
+     */
+    public MappedByteBuffer map(String messageId) throws IOException {
+        return cache.map(messageId);
+    }
+
+    /**
+     * Stops prefetching and cancels the downloads queued or in flight, including their HTTP calls.
+     * Futures returned by {@link #getContent(String)} for them complete with a
+     * {@link CancellationException}. The cache is left as is.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        queue.clear();
+        inFlight.forEach((messageId, future) -> {
+            future.cancel(false);
+            inFlight.remove(messageId, future);
+        });
+    }
+
+    /**
+     * Starts queued prefetches while fewer than {@code maxConcurrentDownloads} are running.
+     */
+    private void startQueuedDownloads() {
+        while (!closed && downloadPermits.tryAcquire()) {
+            final String messageId = queue.poll();
+            if (messageId == null) {
+                downloadPermits.release();
+                // Another thread may have queued a prefetch after the poll but failed to get the permit.
+                if (queue.isEmpty()) {
+                    return;
+                }
+                continue;
+            }
+            final CompletableFuture<CachedMessageContent> future = inFlight.get(messageId);
+            if (future == null) {
+                downloadPermits.release();
+                continue;
+            }
+            download(messageId, future).whenComplete((content, t) -> {
+                downloadPermits.release();
+                startQueuedDownloads();
+            });
+        }
+    }
+
+    private CompletableFuture<CachedMessageContent> download(
+            String messageId, CompletableFuture<CachedMessageContent> future) {
+        final Path file;
+        try {
+            file = cache.createTemporaryFile();
+        } catch (IOException e) {
+            inFlight.remove(messageId, future);
+            future.completeExceptionally(e);
+            return future;
+        }
+        final CompletableFuture<ContentDownloadResult> call =
+                blobClient.getMessageContent(messageId, file, ContentDownloadOptions.DEFAULT);
+        // Cancelling the future, e.g. by close(), cancels the HTTP call.
+        future.whenComplete((content, t) -> {
+            if (t instanceof CancellationException) {
+                call.cancel(false);
+            }
+        });
+        call.thenApply(result -> cache.put(messageId, file, result))
+            .whenComplete((content, t) -> {
+                // The content is in the cache before it leaves inFlight, so no lookup misses it.
+                inFlight.remove(messageId, future);
+                if (t == null) {
+                    future.complete(content);
+                    return;
+                }
+                deleteQuietly(file);
+                future.completeExceptionally(t instanceof CompletionException ? t.getCause() : t);
+            });
+        return future;
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Failed to delete {}", file, e);
+        }
+    }
+
+    /**
+     * Returns the ID of the message whose content can be downloaded from LINE, or {@code null}.
+     */
+    static String mediaMessageId(Event event) {
+        if (!(event instanceof MessageEvent)) {
+            return null;
+        }
+        final MessageContent message = ((MessageEvent<?>) event).getMessage();
+        final ContentProvider provider;
+        if (message instanceof ImageMessageContent) {
+            provider = ((ImageMessageContent) message).getContentProvider();
+        } else if (message instanceof VideoMessageContent) {
+            provider = ((VideoMessageContent) message).getContentProvider();
+        } else if (message instanceof AudioMessageContent) {
+            provider = ((AudioMessageContent) message).getContentProvider();
+        } else if (message instanceof FileMessageContent) {
+            provider = null;
+        } else {
+            return null;
+        }
+        return provider == null || !provider.isExternal() ? message.getId() : null;
+    }
+
+    public static class MessageContentPrefetcherBuilder {
+        // Default values. Other members are filled by lombok.
+
+        /** Number of prefetches downloading content at a time. Default = 4. */
+        private int maxConcurrentDownloads = 4;
+
+        /** Number of prefetches waiting to start. Default = 256. */
+        private int maxQueuedDownloads = 256;
+    }
+}
@@ -0,0 +1,242 @@
+/*
+ * Copyright 2023 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.linecorp.bot.client;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongConsumer;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import lombok.Builder;
+import lombok.NonNull;
+import lombok.ToString;
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+import okio.BufferedSource;
+import okio.ForwardingSource;
+import okio.Okio;
+
+/**
+ * {@link Interceptor} which records metrics of API calls to a Micrometer {@link MeterRegistry}.
+ *
+ * <p>The following meters are recorded with the {@code endpoint} tag, which is the method name of
+ * Retrofit interface, e.g. {@code "pushMessage"} or {@code "getMessageContent"}.
+ * <ul>
+ *     <li>{@code <prefix>.requests}: Timer of calls, also tagged by {@code status} and {@code exception}.
+ *     A call is timed until its response body is exhausted or closed, so the time includes the body
+ *     transfer.</li>
+ *     <li>{@code <prefix>.errors}: Counter of calls failed with an error status or an I/O error, tagged
+ *     by {@code status} and {@code exception}.</li>
+ *     <li>{@code <prefix>.requests.active}: Gauge of in-flight calls, including calls whose response body
+ *     is still open.</li>
+ *     <li>{@code <prefix>.request.size}: Distribution of request body sizes in bytes. Bodies of unknown
+ *     length are not recorded.</li>
+ *     <li>{@code <prefix>.response.size}: Distribution of response body bytes read until the body is
+ *     exhausted or closed.</li>
+ * </ul>
+ *
+ * <p>{@code status} is the HTTP status code or {@code "IO_ERROR"}. {@code exception} is the simple name of
+ * the {@link com.linecorp.bot.client.exception.LineMessagingException} the status is converted to, the
+ * simple name of the {@link IOException}, or {@code "none"}.
+ *
+ * <p>Add an instance to {@code additionalInterceptors} of client builders. One instance can be shared by
+ * all clients. A call whose response body is never closed, e.g. an unclosed stream of
+ * {@link MessageContentResponse}, is not recorded and stays active. This class requires
+ * {@code io.micrometer:micrometer-core} on the classpath.
+ */
+@ToString(of = "prefix")
+public final class MetricsInterceptor implements Interceptor {
+    public static final String DEFAULT_PREFIX = "line.bot.client";
+    private static final String NONE = "none";
+    private static final String IO_ERROR = "IO_ERROR";
+
+    private final MeterRegistry registry;
+    private final String prefix;
+    private final boolean percentileHistogram;
+    private final Map<String, AtomicInteger> activeRequests = new ConcurrentHashMap<>();
+
+    @Builder
+    private MetricsInterceptor(@NonNull MeterRegistry registry, @NonNull String prefix,
+                               boolean percentileHistogram) {
+        this.registry = registry;
+        this.prefix = prefix;
+        this.percentileHistogram = percentileHistogram;
+    }
+
+    public static class MetricsInterceptorBuilder {
+        // Default values. Other members are filled by lombok.
+
+        /** Prefix of meter names. Default = {@value MetricsInterceptor#DEFAULT_PREFIX}. */
+        private String prefix = DEFAULT_PREFIX;
+
+        /** Publish histogram buckets to compute percentiles in the monitoring system. Default = true. */
+        private boolean percentileHistogram = true;
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        final Request request = chain.request();
+        final String endpoint = Endpoints.nameOf(request);
+        recordSize("request.size", endpoint, contentLength(request.body()));
+
+        final AtomicInteger active = activeRequests.computeIfAbsent(endpoint, this::registerActiveRequests);
+        active.incrementAndGet();
+        final long startNanos = System.nanoTime();
+        final Response response;
+        try {
+            response = chain.proceed(request);
+        } catch (IOException | RuntimeException e) {
+            active.decrementAndGet();
+            record(endpoint, IO_ERROR, e.getClass().getSimpleName(), startNanos);
+            throw e;
+        }
+
+        final int code = response.code();
+        final String exception = response.isSuccessful()
+                                 ? NONE : ExceptionConverter.exceptionClassOf(code).getSimpleName();
+        final ResponseBody body = response.body();
+        if (body == null) {
+            active.decrementAndGet();
+            record(endpoint, String.valueOf(code), exception, startNanos);
+            return response;
+        }
+        return response.newBuilder()
+                       .body(new MeasuredResponseBody(body, bytesRead -> {
+                           active.decrementAndGet();
+                           record(endpoint, String.valueOf(code), exception, startNanos);
+                           recordSize("response.size", endpoint, bytesRead);
+                       }))
+                       .build();
+    }
+
+    private AtomicInteger registerActiveRequests(String endpoint) {
+        final AtomicInteger active = new AtomicInteger();
+        // The gauge holds the value weakly; this interceptor keeps it in activeRequests.
+        Gauge.builder(prefix + ".requests.active", active, AtomicInteger::get)
+             .description("Number of in-flight LINE API calls")
+             .tag("endpoint", endpoint)
+             .register(registry);
+        return active;
+    }
+
+    private void record(String endpoint, String status, String exception, long startNanos) {
+        final Tags tags = Tags.of("endpoint", endpoint, "status", status, "exception", exception);
+        Timer.builder(prefix + ".requests")
+             .description("LINE API calls")
+             .tags(tags)
+             .publishPercentileHistogram(percentileHistogram)
+             .register(registry)
+             .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        if (!NONE.equals(exception)) {
+            Counter.builder(prefix + ".errors")
+                   .description("LINE API calls failed with an error status or an I/O error")
+                   .tags(tags)
+                   .register(registry)
+                   .increment();
+        }
+    }
+
+    private void recordSize(String name, String endpoint, long bytes) {
+        if (bytes < 0) {
+            return;
+        }
+        DistributionSummary.builder(prefix + '.' + name)
+                           .baseUnit("bytes")
+                           .tag("endpoint", endpoint)
+                           .publishPercentileHistogram(percentileHistogram)
+                           .register(registry)
+                           .record(bytes);
+    }
+
+    private static long contentLength(RequestBody body) throws IOException {
+        return body != null ? body.contentLength() : 0;
+    }
+
+    /**
+     * {@link ResponseBody} which reports the number of bytes read once, when it is closed or exhausted.
+     */
+    private static final class MeasuredResponseBody extends ResponseBody {
+        private final ResponseBody delegate;
+        private final LongConsumer onComplete;
+        private final AtomicBoolean completed = new AtomicBoolean();
+        private long bytesRead;
+        private BufferedSource source;
+
+        MeasuredResponseBody(ResponseBody delegate, LongConsumer onComplete) {
+            this.delegate = delegate;
+            this.onComplete = onComplete;
+        }
+
+        @Override
+        public MediaType contentType() {
+            return delegate.contentType();
+        }
+
+        @Override
+        public long contentLength() {
+            return delegate.contentLength();
+        }
+
+        @Override
+        public synchronized BufferedSource source() {
+            if (source == null) {
+                source = Okio.buffer(new ForwardingSource(delegate.source()) {
+                    @Override
+                    public long read(Buffer sink, long byteCount) throws IOException {
+                        final long read = super.read(sink, byteCount);
+                        if (read == -1) {
+                            complete();
+                        } else {
+                            bytesRead += read;
+                        }
+                        return read;
+                    }
+
+                    @Override
+                    public void close() throws IOException {
+                        try {
+                            super.close();
+                        } finally {
+                            complete();
+                        }
+                    }
+                });
+            }
+            return source;
+        }
+
+        private void complete() {
+            if (completed.compareAndSet(false, true)) {
+                onComplete.accept(bytesRead);
+            }
+        }
+    }
+}
@@ -0,0 +1,202 @@
+/*
+ * Copyright 2023 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package com.linecorp.bot.client;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+/**
+ * Walks through pages of a cursor based API, fetching the next page in background while the buffered
+ * ones are consumed.
+ *
+ * <p>At most {@code maxBufferedPages} pages, including the one being consumed, are kept in memory.
+ * The next page is requested as soon as its cursor is known and the buffer has room, so consumption and
+ * round trips overlap. Fetching stops while the buffer is full, which propagates backpressure to the API.
+ *
+ * @param <P> type of pages
+ * @param <T> type of items in a page
+ */
+final class PageCursor<P, T> implements BoundedDispatcher.Source<T> {
+    private final Function<String, CompletableFuture<P>> fetcher;
+    private final Function<P, List<T>> itemsOf;
+    private final Function<P, String> nextCursorOf;
+    private final int maxBufferedPages;
+    private final Runnable listener;
+
+    // Guarded by this.
+    private final ArrayDeque<Iterator<T>> pages = new ArrayDeque<>();
+    private String cursor;
+    private boolean fetching;
+    private boolean lastPageFetched;
+    private boolean cancelled;
+    private Throwable failure;
+
+    /**
+     * Creates a cursor.
+     *
+     * @param fetcher fetches a page by a cursor; {@code null} for the first page
+     * @param itemsOf extracts items of a page
+     * @param nextCursorOf extracts the cursor of the next page; {@code null} or empty on the last page
+     * @param listener called whenever a page arrives or fetching fails
+     */
+    PageCursor(Function<String, CompletableFuture<P>> fetcher, Function<P, List<T>> itemsOf,
+               Function<P, String> nextCursorOf, int maxBufferedPages, Runnable listener) {
+        if (maxBufferedPages <= 0) {
+            throw new IllegalArgumentException("maxBufferedPages must be positive: " + maxBufferedPages);
+        }
+        this.fetcher = fetcher;
+        this.itemsOf = itemsOf;
+        this.nextCursorOf = nextCursorOf;
+        this.maxBufferedPages = maxBufferedPages;
+        this.listener = listener;
+    }
+
+    /**
+     * Returns the next item if buffered, otherwise {@code null}. Never blocks.
+     */
+    @Override
+    public T poll() {
+        T item = pollBuffered();
+        if (item == null) {
+            fetchIfNeeded();
+            // Pages may arrive synchronously.
+            item = pollBuffered();
+        }
+        // The slot of a consumed page is released early to fetch the next page while this item is processed.
+        fetchIfNeeded();
+        return item;
+    }
+
+    /**
+     * Returns the next item, waiting for the next page if needed, or {@code null} if all items were
+     * consumed.
+     *
+     * @throws CompletionException if fetching a page failed
+     */
+    T take() throws InterruptedException {
+        while (true) {
+            final T item = poll();
+            if (item != null) {
+                return item;
+            }
+            synchronized (this) {
+                if (failure != null && !cancelled) {
+                    throw new CompletionException(failure);
+                }
+                if (isExhausted()) {
+                    return null;
+                }
+                if (pages.isEmpty() && fetching) {
+                    wait();
+                }
+            }
+        }
+    }
+
+    /**
+     * Whether all items were consumed or the cursor was cancelled.
+     */
+    @Override
+    public synchronized boolean isExhausted() {
+        return cancelled || lastPageFetched && !fetching && pages.isEmpty();
+    }
+
+    /**
+     * Returns the cause of the failure of fetching a page once the items fetched before it were consumed,
+     * otherwise {@code null}.
+     */
+    @Override
+    public synchronized Throwable failure() {
+        return pages.isEmpty() ? failure : null;
+    }
+
+    /**
+     * Stops fetching pages and discards buffered ones.
+     */
+    synchronized void cancel() {
+        cancelled = true;
+        pages.clear();
+        notifyAll();
+    }
+
+    private synchronized T pollBuffered() {
+        while (!pages.isEmpty()) {
+            final Iterator<T> page = pages.peek();
+            if (page.hasNext()) {
+                final T item = page.next();
+                if (!page.hasNext()) {
+                    pages.poll();
+                }
+                return item;
+            }
+            pages.poll();
+        }
+        return null;
+    }
+
+    /**
+     * Requests the next page if the buffer has room. The request is started outside the lock, so neither
+     * this cursor nor the caller's locks are held during the API call.
+     */
+    private void fetchIfNeeded() {
+        final String nextCursor;
+        synchronized (this) {
+            if (fetching || lastPageFetched || cancelled || failure != null
+                || pages.size() >= maxBufferedPages) {
+                return;
+            }
+            fetching = true;
+            nextCursor = cursor;
+        }
+        CompletableFuture<P> future;
+        try {
+            future = fetcher.apply(nextCursor);
+        } catch (RuntimeException e) {
+            future = new CompletableFuture<>();
+            future.completeExceptionally(e);
+        }
+        future.whenComplete(this::onPage);
+    }
+
+    private void onPage(P page, Throwable throwable) {
+        synchronized (this) {
+            fetching = false;
+            if (cancelled) {
+                return;
+            }
+            if (throwable != null) {
+                failure = throwable instanceof CompletionException && throwable.getCause() != null
+                          ? throwable.getCause() : throwable;
+            } else {
+                final List<T> items = itemsOf.apply(page);
+                if (items != null && !items.isEmpty()) {
+                    pages.add(items.iterator());
+                }
+                cursor = nextCursorOf.apply(page);
+                lastPageFetched = cursor == null || cursor.isEmpty();
+            }
+            notifyAll();
+        }
+        fetchIfNeeded();
+        listener.run();
+    }
+}
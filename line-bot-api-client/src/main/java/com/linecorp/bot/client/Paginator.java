@@ -0,0 +1,189 @@
+/*
+ * Copyright 2023 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package com.linecorp.bot.client;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * All items of a paginated API, fetching the next page in background while the current one is consumed.
+ *
+ * <p>Each call of {@link #stream()} or {@link #subscribe(Flow.Subscriber)} walks through the pages from the
+ * beginning. At most {@code maxBufferedPages} pages are kept in memory; fetching pauses while they are not
+ * consumed.
+ * <pre>{@code
+ * try (Stream<String> userIds = client.getAllFollowerIds().stream()) {
+ *     userIds.forEach(writer::println);
+ * }
+ * }</pre>
+ *
+ * @param <T> type of items
+ */
+public final class Paginator<T> implements Flow.Publisher<T> {
+    private final Function<Runnable, PageCursor<?, T>> cursorFactory;
+
+    private Paginator(Function<Runnable, PageCursor<?, T>> cursorFactory) {
+        this.cursorFactory = cursorFactory;
+    }
+
+    /**
+     * Creates a paginator of a cursor based API. Use this for endpoints without a dedicated method, e.g.
+     * {@code Paginator.of(next -> client.getGroupMembersIds(groupId, next), MembersIdsResponse::getMemberIds,
+     * MembersIdsResponse::getNext, 2)}.
+     *
+     * @param fetcher fetches a page by a cursor; {@code null} for the first page
+     * @param itemsOf extracts items of a page
+     * @param nextCursorOf extracts the cursor of the next page; {@code null} or empty on the last page
+     * @param maxBufferedPages maximum number of pages kept in memory, including the one being consumed
+     */
+    public static <P, T> Paginator<T> of(Function<String, CompletableFuture<P>> fetcher,
+                                         Function<P, List<T>> itemsOf, Function<P, String> nextCursorOf,
+                                         int maxBufferedPages) {
+        if (maxBufferedPages <= 0) {
+            throw new IllegalArgumentException("maxBufferedPages must be positive: " + maxBufferedPages);
+        }
+        return new Paginator<>(
+                listener -> new PageCursor<>(fetcher, itemsOf, nextCursorOf, maxBufferedPages, listener));
+    }
+
+    /**
+     * Returns a sequential stream of all items. The stream blocks while waiting for pages and throws
+     * {@link CompletionException} if fetching a page failed. Close the stream to stop fetching early.
+     */
+    public Stream<T> stream() {
+        final PageCursor<?, T> cursor = cursorFactory.apply(() -> {});
+        final Iterator<T> iterator = new BlockingIterator<>(cursor);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(
+                                            iterator, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                            .onClose(cursor::cancel);
+    }
+
+    /**
+     * Publishes all items to the subscriber. Pages are fetched only as far as the subscriber requested
+     * plus {@code maxBufferedPages}.
+     */
+    @Override
+    public void subscribe(Flow.Subscriber<? super T> subscriber) {
+        final PageSubscription<T> subscription = new PageSubscription<>(subscriber);
+        subscription.cursor = cursorFactory.apply(subscription::drain);
+        subscriber.onSubscribe(subscription);
+    }
+
+    private static final class BlockingIterator<T> implements Iterator<T> {
+        private final PageCursor<?, T> cursor;
+        private T next;
+
+        BlockingIterator(PageCursor<?, T> cursor) {
+            this.cursor = cursor;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next == null) {
+                try {
+                    next = cursor.take();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    cursor.cancel();
+                    throw new CompletionException(e);
+                }
+            }
+            return next != null;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            final T item = next;
+            next = null;
+            return item;
+        }
+    }
+
+    private static final class PageSubscription<T> implements Flow.Subscription {
+        private final Flow.Subscriber<? super T> subscriber;
+        private final AtomicLong demand = new AtomicLong();
+        private final AtomicInteger wip = new AtomicInteger();
+        private volatile boolean done;
+        PageCursor<?, T> cursor;
+
+        PageSubscription(Flow.Subscriber<? super T> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                cancel();
+                subscriber.onError(new IllegalArgumentException("non-positive request: " + n));
+                return;
+            }
+            demand.getAndAccumulate(n, (current, added) -> {
+                final long sum = current + added;
+                return sum < 0 ? Long.MAX_VALUE : sum;
+            });
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            done = true;
+            cursor.cancel();
+        }
+
+        // Serializes signals to the subscriber; whoever increments wip from 0 emits for all callers.
+        void drain() {
+            if (wip.getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+            do {
+                while (!done && demand.get() > 0) {
+                    final T item = cursor.poll();
+                    if (item == null) {
+                        break;
+                    }
+                    demand.decrementAndGet();
+                    subscriber.onNext(item);
+                }
+                final Throwable failure = cursor.failure();
+                if (!done && failure != null) {
+                    done = true;
+                    subscriber.onError(failure);
+                } else if (!done && cursor.isExhausted()) {
+                    done = true;
+                    subscriber.onComplete();
+                }
+                missed = wip.addAndGet(-missed);
+            } while (missed != 0);
+        }
+    }
+}
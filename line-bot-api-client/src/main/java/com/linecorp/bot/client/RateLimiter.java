@@ -0,0 +1,104 @@
+/*
+ * Copyright 2023 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package com.linecorp.bot.client;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import lombok.ToString;
+
+/**
+ * Lock-free token bucket.
+ *
+ * <p>Permits are refilled at {@code permitsPerSecond} and up to {@code burst} permits can be taken at once.
+ * The bucket is implemented as the generic cell rate algorithm; the whole state is a single
+ * {@link AtomicLong} updated by CAS, so acquiring a permit never blocks nor takes a lock.
+ *
+ * <p>Share one instance among the endpoints which are limited together by the LINE Platform.
+ *
+ * @see EndpointRateLimits
+ */
+@ToString(exclude = "theoreticalArrivalTime")
+public final class RateLimiter {
+    private final double permitsPerSecond;
+    private final int burst;
+    private final long intervalNanos;
+    private final long toleranceNanos;
+
+    // Time in System.nanoTime() when the bucket becomes full again after all issued permits.
+    private final AtomicLong theoreticalArrivalTime;
+
+    private RateLimiter(double permitsPerSecond, int burst) {
+        if (!(permitsPerSecond > 0)) {
+            throw new IllegalArgumentException("permitsPerSecond must be positive: " + permitsPerSecond);
+        }
+        if (burst <= 0) {
+            throw new IllegalArgumentException("burst must be positive: " + burst);
+        }
+        this.permitsPerSecond = permitsPerSecond;
+        this.burst = burst;
+        intervalNanos = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond));
+        toleranceNanos = intervalNanos * (burst - 1);
+        theoreticalArrivalTime = new AtomicLong(System.nanoTime());
+    }
+
+    /**
+     * Creates a new {@link RateLimiter} which allows {@code permitsPerSecond} permits per second
+     * without burst.
+     */
+    public static RateLimiter create(double permitsPerSecond) {
+        return new RateLimiter(permitsPerSecond, 1);
+    }
+
+    /**
+     * Creates a new {@link RateLimiter} which allows {@code permitsPerSecond} permits per second
+     * and up to {@code burst} permits at once.
+     */
+    public static RateLimiter create(double permitsPerSecond, int burst) {
+        return new RateLimiter(permitsPerSecond, burst);
+    }
+
+    /**
+     * Acquires a permit if it's available immediately.
+     *
+     * @return {@code true} if a permit is acquired.
+     */
+    public boolean tryAcquire() {
+        return reserve(0) == 0;
+    }
+
+    /**
+     * Reserves a permit if it's available within {@code maxWaitNanos}.
+     *
+     * @return nanoseconds to wait before using the permit, or {@code -1} if not reserved.
+     */
+    long reserve(long maxWaitNanos) {
+        for (;;) {
+            final long now = System.nanoTime();
+            final long current = theoreticalArrivalTime.get();
+            final long waitNanos = Math.max(0, current - toleranceNanos - now);
+            if (waitNanos > maxWaitNanos) {
+                return -1;
+            }
+            final long next = (current - now > 0 ? current : now) + intervalNanos;
+            if (theoreticalArrivalTime.compareAndSet(current, next)) {
+                return waitNanos;
+            }
+        }
+    }
+}
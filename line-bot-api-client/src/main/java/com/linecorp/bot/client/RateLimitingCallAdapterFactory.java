@@ -0,0 +1,113 @@
+/*
+ * Copyright 2023 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package com.linecorp.bot.client;
+
+import java.io.IOException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import com.linecorp.bot.client.exception.RateLimitExceededException;
+
+import lombok.AllArgsConstructor;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+/**
+ * {@link retrofit2.CallAdapter.Factory} which paces calls by {@link EndpointRateLimits}.
+ *
+ * <p>In {@link EndpointRateLimits.Mode#WAIT}, {@link Call#enqueue(Callback)} is deferred on a timer
+ * until a permit is available, so no thread is blocked while waiting.
+ */
+@AllArgsConstructor
+class RateLimitingCallAdapterFactory extends ForwardingCallAdapterFactory {
+    private final EndpointRateLimits rateLimits;
+    private final ScheduledExecutorService scheduler;
+
+    RateLimitingCallAdapterFactory(EndpointRateLimits rateLimits) {
+        this(rateLimits, LineClientScheduler.shared());
+    }
+
+    @Override
+    <T> Call<T> wrap(Call<T> call) {
+        return new RateLimitedCall<>(call);
+    }
+
+    private final class RateLimitedCall<T> extends ForwardingCall<T> {
+        RateLimitedCall(Call<T> delegate) {
+            super(delegate);
+        }
+
+        @Override
+        public void enqueue(Callback<T> callback) {
+            final String endpoint = Endpoints.nameOf(delegate.request());
+            final RateLimiter limiter = rateLimits.limiterFor(endpoint);
+            if (limiter == null) {
+                delegate.enqueue(callback);
+                return;
+            }
+
+            final long waitNanos = limiter.reserve(rateLimits.maxWaitNanos());
+            if (waitNanos < 0) {
+                callback.onFailure(this, rateLimitExceeded(endpoint));
+            } else if (waitNanos == 0) {
+                delegate.enqueue(callback);
+            } else {
+                scheduler.schedule(() -> {
+                    if (delegate.isCanceled()) {
+                        callback.onFailure(this, new IOException("Canceled"));
+                    } else {
+                        delegate.enqueue(callback);
+                    }
+                }, waitNanos, TimeUnit.NANOSECONDS);
+            }
+        }
+
+        @Override
+        public Response<T> execute() throws IOException {
+            final String endpoint = Endpoints.nameOf(delegate.request());
+            final RateLimiter limiter = rateLimits.limiterFor(endpoint);
+            if (limiter != null) {
+                final long waitNanos = limiter.reserve(rateLimits.maxWaitNanos());
+                if (waitNanos < 0) {
+                    throw new IOException(rateLimitExceeded(endpoint));
+                }
+                sleep(waitNanos);
+            }
+            return delegate.execute();
+        }
+
+        private RateLimitExceededException rateLimitExceeded(String endpoint) {
+            return new RateLimitExceededException("Rate limit exceeded: " + endpoint);
+        }
+
+        private void sleep(long nanos) throws IOException {
+            try {
+                TimeUnit.NANOSECONDS.sleep(nanos);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while waiting for rate limit", e);
+            }
+        }
+
+        @Override
+        public Call<T> clone() {
+            return new RateLimitedCall<>(delegate.clone());
+        }
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2023 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package com.linecorp.bot.client;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import lombok.ToString;
+
+/**
+ * Token based retry budget to avoid retry storms during platform outages.
+ *
+ * <p>Each retryable failure consumes one token and each success deposits {@code tokenRatio} tokens,
+ * up to {@code maxTokens}. Retrying is allowed only while more than half of {@code maxTokens} remain.
+ * Share one instance among clients to enforce a global budget.
+ */
+@ToString
+public final class RetryBudget {
+    public static final int DEFAULT_MAX_TOKENS = 100;
+    public static final double DEFAULT_TOKEN_RATIO = 0.1;
+
+    // Tokens are scaled to keep the fractional part of tokenRatio in an int.
+    private static final int SCALE = 1000;
+
+    private final int maxTokens;
+    private final int threshold;
+    private final int tokenRatio;
+    private final AtomicInteger tokens;
+
+    private RetryBudget(int maxTokens, double tokenRatio) {
+        if (maxTokens <= 0 || maxTokens > Integer.MAX_VALUE / SCALE) {
+            throw new IllegalArgumentException("maxTokens out of range: " + maxTokens);
+        }
+        if (tokenRatio <= 0) {
+            throw new IllegalArgumentException("tokenRatio must be positive: " + tokenRatio);
+        }
+        this.maxTokens = maxTokens * SCALE;
+        this.threshold = this.maxTokens / 2;
+        this.tokenRatio = (int) (tokenRatio * SCALE);
+        this.tokens = new AtomicInteger(this.maxTokens);
+    }
+
+    /**
+     * Creates a new {@link RetryBudget}.
+     */
+    public static RetryBudget create(int maxTokens, double tokenRatio) {
+        return new RetryBudget(maxTokens, tokenRatio);
+    }
+
+    /**
+     * Creates a new {@link RetryBudget} with {@value #DEFAULT_MAX_TOKENS} tokens and
+     * {@value #DEFAULT_TOKEN_RATIO} token ratio.
+     */
+    public static RetryBudget createDefault() {
+        return create(DEFAULT_MAX_TOKENS, DEFAULT_TOKEN_RATIO);
+    }
+
+    /**
+     * Number of available tokens.
+     */
+    public double availableTokens() {
+        return (double) tokens.get() / SCALE;
+    }
+
+    /**
+     * Records a retryable failure and returns whether a retry is allowed.
+     */
+    boolean tryRetry() {
+        return tokens.updateAndGet(current -> Math.max(0, current - SCALE)) > threshold;
+    }
+
+    /**
+     * Records a success.
+     */
+    void onSuccess() {
+        if (tokens.get() < maxTokens) {
+            tokens.updateAndGet(current -> Math.min(maxTokens, current + tokenRatio));
+        }
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2023 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package com.linecorp.bot.client;
+
+import static java.util.Collections.emptyList;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import com.linecorp.bot.client.exception.ConflictException;
+import com.linecorp.bot.client.exception.GeneralLineMessagingException;
+import com.linecorp.bot.client.exception.LineServerException;
+import com.linecorp.bot.client.exception.TooManyRequestsException;
+import com.linecorp.bot.model.response.BotApiResponse;
+
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Executes an API call with retries.
+ *
+ * <p>Retries are scheduled on a timer instead of sleeping on a thread, so pending retries don't occupy
+ * threads.
+ */
+@Slf4j
+@AllArgsConstructor
+class RetryExecutor {
+    private final RetryPolicy retryPolicy;
+    private final RetryBudget retryBudget;
+    private final ScheduledExecutorService scheduler;
+
+    /**
+     * Calls {@code attempt} until it succeeds, fails with non-retryable error, or retries are exhausted.
+     *
+     * <p>{@link ConflictException} is treated as success because it means the request with the same retry key
+     * was already accepted. The request ID of the response is the ID of the accepted request, or {@code null}
+     * if the server didn't tell it.
+     *
+     * <p>Cancelling the returned future cancels the attempt in flight and stops retrying.
+     */
+    CompletableFuture<BotApiResponse> execute(Supplier<CompletableFuture<BotApiResponse>> attempt) {
+        final CompletableFuture<BotApiResponse> result = new CompletableFuture<>();
+        run(attempt, 0, result);
+        return result;
+    }
+
+    private void run(Supplier<CompletableFuture<BotApiResponse>> attempt, int retryCount,
+                     CompletableFuture<BotApiResponse> result) {
+        if (result.isDone()) {
+            // cancelled by caller.
+            return;
+        }
+        final CompletableFuture<BotApiResponse> future;
+        try {
+            future = attempt.get();
+        } catch (RuntimeException e) {
+            // Thrown on a scheduler thread for retries, where nobody would see it.
+            result.completeExceptionally(e);
+            return;
+        }
+        result.whenComplete((ignored, throwable) -> {
+            if (result.isCancelled()) {
+                future.cancel(true);
+            }
+        });
+        future.whenComplete((response, throwable) -> {
+            if (throwable == null) {
+                retryBudget.onSuccess();
+                result.complete(response);
+                return;
+            }
+
+            final Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null
+                                    ? throwable.getCause() : throwable;
+            if (cause instanceof ConflictException) {
+                retryBudget.onSuccess();
+                result.complete(toAcceptedResponse((ConflictException) cause));
+                return;
+            }
+            if (!isRetryable(cause) || retryCount >= retryPolicy.getMaxRetries() || !retryBudget.tryRetry()) {
+                result.completeExceptionally(cause);
+                return;
+            }
+
+            final long backoffMillis = retryPolicy.backoffMillis(retryCount + 1);
+            if (log.isDebugEnabled()) {
+                // toString() parses the error response of the exception.
+                log.debug("Retrying in {}ms ({}/{}): {}",
+                          backoffMillis, retryCount + 1, retryPolicy.getMaxRetries(), cause.toString());
+            }
+            scheduler.schedule(() -> run(attempt, retryCount + 1, result),
+                               backoffMillis, TimeUnit.MILLISECONDS);
+        });
+    }
+
+    static boolean isRetryable(Throwable throwable) {
+        if (throwable instanceof TooManyRequestsException || throwable instanceof LineServerException) {
+            return true;
+        }
+        // I/O failure before getting a response.
+        return throwable instanceof GeneralLineMessagingException
+               && throwable.getCause() instanceof IOException
+               && ((GeneralLineMessagingException) throwable).getErrorResponse() == null;
+    }
+
+    private static BotApiResponse toAcceptedResponse(ConflictException e) {
+        // The request ID of the conflict itself doesn't identify the accepted request.
+        return new BotApiResponse(e.getAcceptedRequestId(), e.getErrorResponse().getMessage(), emptyList());
+    }
+}
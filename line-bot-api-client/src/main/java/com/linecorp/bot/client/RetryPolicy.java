@@ -0,0 +1,91 @@
+/*
+ * Copyright 2023 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package com.linecorp.bot.client;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+import lombok.Builder;
+import lombok.Builder.Default;
+import lombok.NonNull;
+import lombok.Value;
+
+/**
+ * Retry policy of {@link RetryableLineMessagingClient}.
+ *
+ * <p>The n-th retry waits {@code initialBackoff * multiplier^(n-1)} (capped by {@code maxBackoff})
+ * randomized by {@code ±jitter}.
+ */
+@Value
+@Builder
+public class RetryPolicy {
+    /**
+     * Default policy. Retries up to 3 times starting from 500ms backoff.
+     */
+    public static final RetryPolicy DEFAULT = RetryPolicy.builder().build();
+
+    /**
+     * Policy which never retries.
+     */
+    public static final RetryPolicy NONE = RetryPolicy.builder().maxRetries(0).build();
+
+    /**
+     * Maximum number of retries. {@code 0} disables retrying.
+     */
+    @Default
+    int maxRetries = 3;
+
+    /**
+     * Backoff before the first retry.
+     */
+    @NonNull
+    @Default
+    Duration initialBackoff = Duration.ofMillis(500);
+
+    /**
+     * Upper bound of backoff.
+     */
+    @NonNull
+    @Default
+    Duration maxBackoff = Duration.ofSeconds(30);
+
+    /**
+     * Multiplier of backoff for each retry.
+     */
+    @Default
+    double multiplier = 2.0;
+
+    /**
+     * Ratio of randomization between 0.0 and 1.0 applied to backoff, to spread retries of many clients.
+     */
+    @Default
+    double jitter = 0.2;
+
+    /**
+     * Returns backoff in milliseconds before the {@code retryCount}-th retry (1-origin).
+     */
+    long backoffMillis(int retryCount) {
+        final double exponential = initialBackoff.toMillis() * Math.pow(multiplier, retryCount - 1);
+        final double backoff = Math.min(exponential, maxBackoff.toMillis());
+        if (jitter <= 0 || backoff <= 0) {
+            return (long) backoff;
+        }
+        final double delta = backoff * jitter;
+        return (long) (backoff + ThreadLocalRandom.current().nextDouble(-delta, delta));
+    }
+}
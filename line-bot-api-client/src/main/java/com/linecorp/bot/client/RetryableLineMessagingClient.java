@@ -25,6 +25,17 @@ import com.linecorp.bot.model.Narrowcast;
 import com.linecorp.bot.model.PushMessage;
 import com.linecorp.bot.model.response.BotApiResponse;
 
+/**
+ * Client for APIs accepting {@code X-Line-Retry-Key}.
+ *
+ * <p>Failed requests by {@link com.linecorp.bot.client.exception.TooManyRequestsException},
+ * {@link com.linecorp.bot.client.exception.LineServerException} or I/O errors are retried automatically
+ * with the same retry key according to {@link RetryPolicy}.
+ * A {@link com.linecorp.bot.client.exception.ConflictException} means that the request was already accepted,
+ * so it's treated as success.
+ *
+ * @see RetryableLineMessagingClientBuilder#retryPolicy(RetryPolicy)
+ */
 public interface RetryableLineMessagingClient {
     /**
      * Send messages to users when you want to.
@@ -35,6 +46,15 @@ public interface RetryableLineMessagingClient {
      */
     CompletableFuture<BotApiResponse> pushMessage(UUID retryKey, PushMessage pushMessage);
 
+    /**
+     * Send messages to users with a generated retry key.
+     *
+     * @see #pushMessage(UUID, PushMessage)
+     */
+    default CompletableFuture<BotApiResponse> pushMessage(PushMessage pushMessage) {
+        return pushMessage(UUID.randomUUID(), pushMessage);
+    }
+
     /**
      * Send messages to multiple users at any time. <strong>IDs of groups or rooms cannot be used.</strong>
      *
@@ -48,6 +68,15 @@ public interface RetryableLineMessagingClient {
      */
     CompletableFuture<BotApiResponse> multicast(UUID retryKey, Multicast multicast);
 
+    /**
+     * Send messages to multiple users with a generated retry key.
+     *
+     * @see #multicast(UUID, Multicast)
+     */
+    default CompletableFuture<BotApiResponse> multicast(Multicast multicast) {
+        return multicast(UUID.randomUUID(), multicast);
+    }
+
     /**
      * Sends push messages to multiple users at any time.
      * Note: LINE@ accounts cannot call this API endpoint. Please migrate it to a LINE official account.
@@ -56,6 +85,15 @@ public interface RetryableLineMessagingClient {
      */
     CompletableFuture<BotApiResponse> broadcast(UUID retryKey, Broadcast broadcast);
 
+    /**
+     * Sends push messages to multiple users with a generated retry key.
+     *
+     * @see #broadcast(UUID, Broadcast)
+     */
+    default CompletableFuture<BotApiResponse> broadcast(Broadcast broadcast) {
+        return broadcast(UUID.randomUUID(), broadcast);
+    }
+
     /**
      * Sends a push message to multiple users. You can specify recipients using attributes (such as age, gender,
      * OS, and region) or by retargeting (audiences). Messages cannot be sent to groups or rooms.
@@ -66,6 +104,15 @@ public interface RetryableLineMessagingClient {
      */
     CompletableFuture<BotApiResponse> narrowcast(UUID retryKey, Narrowcast broadcast);
 
+    /**
+     * Sends a push message to multiple users with a generated retry key.
+     *
+     * @see #narrowcast(UUID, Narrowcast)
+     */
+    default CompletableFuture<BotApiResponse> narrowcast(Narrowcast narrowcast) {
+        return narrowcast(UUID.randomUUID(), narrowcast);
+    }
+
     static RetryableLineMessagingClientBuilder builder(String channelToken) {
         return builder(FixedChannelTokenSupplier.of(channelToken));
     }
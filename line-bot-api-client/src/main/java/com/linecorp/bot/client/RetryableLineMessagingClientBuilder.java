@@ -21,11 +21,9 @@ import static java.util.Objects.requireNonNull;
 import java.net.URI;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import com.linecorp.bot.model.objectmapper.ModelObjectMapper;
@@ -35,10 +33,9 @@ import lombok.Setter;
 import lombok.ToString;
 import lombok.experimental.Accessors;
 import lombok.experimental.PackagePrivate;
+import okhttp3.EventListener;
 import okhttp3.Interceptor;
 import okhttp3.OkHttpClient;
-import okhttp3.logging.HttpLoggingInterceptor;
-import okhttp3.logging.HttpLoggingInterceptor.Level;
 import retrofit2.Retrofit;
 import retrofit2.converter.jackson.JacksonConverterFactory;
 
@@ -137,6 +134,82 @@ public class RetryableLineMessagingClientBuilder {
 
     private OkHttpClient.Builder okHttpClientBuilder;
 
+    /**
+     * Shared HTTP transport.
+     *
+     * <p>If specified, this client reuses the connection pool and the dispatcher of the transport.
+     * Ignored when {@link OkHttpClient.Builder} is given explicitly.
+     *
+     * @see LineClientTransport
+     */
+    @Setter
+    private LineClientTransport transport;
+
+    /**
+     * Interceptor to log HTTP requests and responses.
+     *
+     * <p>Default {@link WireLoggingInterceptor} is used in case of {@code null} (default).
+     * You can plug in your own configured one, e.g. to sample or to truncate logs.
+     */
+    @Setter
+    private Interceptor wireLoggingInterceptor;
+
+    /**
+     * Retry policy.
+     *
+     * <p>Default value = {@link RetryPolicy#DEFAULT}. Use {@link RetryPolicy#NONE} to disable retrying.
+     */
+    @Setter
+    @NonNull
+    private RetryPolicy retryPolicy = RetryPolicy.DEFAULT;
+
+    /**
+     * Retry budget.
+     *
+     * <p>A new budget for this client is created in case of {@code null} (default).
+     * Share one {@link RetryBudget} among clients to limit retries globally.
+     */
+    @Setter
+    private RetryBudget retryBudget;
+
+    /**
+     * Timer to schedule retries.
+     *
+     * <p>A timer thread shared in JVM is used in case of {@code null} (default).
+     */
+    @Setter
+    private ScheduledExecutorService retryScheduler;
+
+    /**
+     * Client side rate limits per endpoint.
+     *
+     * <p>Requests are not limited in case of {@code null} (default).
+     *
+     * @see EndpointRateLimits
+     */
+    @Setter
+    private EndpointRateLimits rateLimits;
+
+    /**
+     * Adaptive limit of in-flight requests.
+     *
+     * <p>Requests are not limited in case of {@code null} (default).
+     * Share one instance among clients calling the same channel.
+     *
+     * @see AdaptiveConcurrencyLimiter
+     */
+    @Setter
+    private AdaptiveConcurrencyLimiter concurrencyLimiter;
+
+    /**
+     * Whether exceptions of {@code 429 Too Many Requests} and {@code 5xx} responses are created without
+     * stack traces. Their stack traces point at the HTTP client thread anyway.
+     *
+     * <p>Default value is the system property {@code line.bot.client.stacklessExceptions}, or {@code false}.
+     */
+    @Setter
+    private boolean stacklessExceptions = Boolean.getBoolean(ExceptionConverter.STACKLESS_EXCEPTIONS_PROPERTY);
+
     /**
      * Custom interceptors.
      *
@@ -149,6 +222,15 @@ public class RetryableLineMessagingClientBuilder {
     @Setter
     private List<Interceptor> additionalInterceptors = new ArrayList<>();
 
+    /**
+     * Factory of {@link EventListener} to observe connections and phases of HTTP calls.
+     *
+     * <p>No listener is installed in case of {@code null} (default). Use {@link CallTimingRecorder} to
+     * measure DNS lookup, connect, TLS handshake, time to first byte and body transfer.
+     */
+    @Setter
+    private EventListener.Factory eventListenerFactory;
+
     /**
      * Set fixed channel token. This overwrites {@link #channelTokenSupplier(ChannelTokenSupplier)}.
      *
@@ -185,33 +267,52 @@ public class RetryableLineMessagingClientBuilder {
      */
     <T> T buildRetrofitIface(URI apiEndPoint, Class<T> retrofitIFace) {
         if (okHttpClientBuilder == null) {
-            okHttpClientBuilder = new OkHttpClient.Builder();
+            okHttpClientBuilder = transport != null ? transport.newOkHttpClientBuilder()
+                                                    : new OkHttpClient.Builder();
         }
+        // Copy the base builder not to add interceptors to it again when building another client.
+        // The copy shares the connection pool and the dispatcher.
+        final OkHttpClient.Builder clientBuilder = okHttpClientBuilder.build().newBuilder();
 
         // Add interceptors.
         if (addAuthenticationHeader) {
-            okHttpClientBuilder.addInterceptor(buildAuthenticationInterceptor(channelTokenSupplier));
+            clientBuilder.addInterceptor(buildAuthenticationInterceptor(channelTokenSupplier));
         }
         if (additionalInterceptors != null) {
-            additionalInterceptors.forEach(okHttpClientBuilder::addInterceptor);
+            additionalInterceptors.forEach(clientBuilder::addInterceptor);
+        }
+        clientBuilder.addInterceptor(wireLoggingInterceptor != null ? wireLoggingInterceptor
+                                                                    : buildLoggingInterceptor());
+        if (eventListenerFactory != null) {
+            clientBuilder.eventListenerFactory(eventListenerFactory);
         }
-        okHttpClientBuilder.addInterceptor(buildLoggingInterceptor());
 
         // Set timeout.
-        okHttpClientBuilder
+        clientBuilder
                 .connectTimeout(connectTimeout, TimeUnit.MILLISECONDS)
                 .readTimeout(readTimeout, TimeUnit.MILLISECONDS)
                 .writeTimeout(writeTimeout, TimeUnit.MILLISECONDS);
 
-        final OkHttpClient okHttpClient = okHttpClientBuilder.build();
+        final OkHttpClient okHttpClient = clientBuilder.build();
 
         if (retrofitBuilder == null) {
             retrofitBuilder = createDefaultRetrofitBuilder();
         }
         retrofitBuilder.client(okHttpClient);
         retrofitBuilder.baseUrl(apiEndPoint.toString());
+        // Call adapters are added to a copy, as the builder may be shared by other clients.
+        final Retrofit.Builder ifaceRetrofitBuilder = retrofitBuilder.build().newBuilder();
+        // The first added factory is applied innermost. Concurrency limit is applied inside the rate
+        // limit not to hold a slot while waiting for a permit.
+        if (concurrencyLimiter != null) {
+            ifaceRetrofitBuilder.addCallAdapterFactory(
+                    new ConcurrencyLimitingCallAdapterFactory(concurrencyLimiter));
+        }
+        if (rateLimits != null) {
+            ifaceRetrofitBuilder.addCallAdapterFactory(new RateLimitingCallAdapterFactory(rateLimits));
+        }
 
-        final Retrofit retrofit = retrofitBuilder.build();
+        final Retrofit retrofit = ifaceRetrofitBuilder.build();
 
         return retrofit.create(retrofitIFace);
     }
@@ -222,10 +323,7 @@ public class RetryableLineMessagingClientBuilder {
     }
 
     static Interceptor buildLoggingInterceptor() {
-        final Logger slf4jLogger = LoggerFactory.getLogger("com.linecorp.bot.client.wire");
-
-        return new HttpLoggingInterceptor(slf4jLogger::info)
-                .setLevel(Level.BODY);
+        return WireLoggingInterceptor.builder().build();
     }
 
     static Retrofit.Builder createDefaultRetrofitBuilder() {
@@ -237,7 +335,13 @@ public class RetryableLineMessagingClientBuilder {
      * Creates a new {@link LineMessagingService}.
      */
     public RetryableLineMessagingClient build() {
+        final RetryExecutor retryExecutor = new RetryExecutor(
+                retryPolicy,
+                retryBudget != null ? retryBudget : RetryBudget.createDefault(),
+                retryScheduler != null ? retryScheduler : LineClientScheduler.shared());
         return new RetryableLineMessagingClientImpl(
-                buildRetrofitIface(apiEndPoint, LineMessagingService.class));
+                buildRetrofitIface(apiEndPoint, LineMessagingService.class),
+                retryExecutor,
+                new ExceptionConverter(stacklessExceptions));
     }
 }
@@ -19,14 +19,12 @@ package com.linecorp.bot.client;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 
-import com.linecorp.bot.client.exception.GeneralLineMessagingException;
 import com.linecorp.bot.model.Broadcast;
 import com.linecorp.bot.model.Multicast;
 import com.linecorp.bot.model.Narrowcast;
 import com.linecorp.bot.model.PushMessage;
 import com.linecorp.bot.model.response.BotApiResponse;
 
-import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import retrofit2.Call;
 import retrofit2.Callback;
@@ -36,41 +34,70 @@ import retrofit2.Response;
  * Proxy implementation of {@link RetryableLineMessagingClient} to hind internal implementation.
  */
 @Slf4j
-@AllArgsConstructor
 public class RetryableLineMessagingClientImpl implements RetryableLineMessagingClient {
-    static final ExceptionConverter EXCEPTION_CONVERTER = new ExceptionConverter();
-
     private final LineMessagingService retrofitImpl;
 
+    private final RetryExecutor retryExecutor;
+
+    private final ExceptionConverter exceptionConverter;
+
+    public RetryableLineMessagingClientImpl(final LineMessagingService retrofitImpl,
+                                            final RetryExecutor retryExecutor) {
+        this(retrofitImpl, retryExecutor, LineMessagingClientImpl.EXCEPTION_CONVERTER);
+    }
+
+    RetryableLineMessagingClientImpl(final LineMessagingService retrofitImpl,
+                                     final RetryExecutor retryExecutor,
+                                     final ExceptionConverter exceptionConverter) {
+        this.retrofitImpl = retrofitImpl;
+        this.retryExecutor = retryExecutor;
+        this.exceptionConverter = exceptionConverter;
+    }
+
     @Override
     public CompletableFuture<BotApiResponse> pushMessage(final UUID retryKey, final PushMessage pushMessage) {
-        return toBotApiResponseFuture(retrofitImpl.pushMessage(retryKey.toString(), pushMessage));
+        return retryExecutor.execute(
+                () -> toBotApiResponseFuture(retrofitImpl.pushMessage(retryKey.toString(), pushMessage)));
     }
 
     @Override
     public CompletableFuture<BotApiResponse> multicast(final UUID retryKey, final Multicast multicast) {
-        return toBotApiResponseFuture(retrofitImpl.multicast(retryKey.toString(), multicast));
+        return retryExecutor.execute(
+                () -> toBotApiResponseFuture(retrofitImpl.multicast(retryKey.toString(), multicast)));
     }
 
     @Override
     public CompletableFuture<BotApiResponse> broadcast(final UUID retryKey, final Broadcast broadcast) {
-        return toBotApiResponseFuture(retrofitImpl.broadcast(retryKey.toString(), broadcast));
+        return retryExecutor.execute(
+                () -> toBotApiResponseFuture(retrofitImpl.broadcast(retryKey.toString(), broadcast)));
     }
 
     @Override
     public CompletableFuture<BotApiResponse> narrowcast(final UUID retryKey, final Narrowcast narrowcast) {
-        return toBotApiResponseFuture(retrofitImpl.narrowcast(retryKey.toString(), narrowcast));
+        return retryExecutor.execute(
+                () -> toBotApiResponseFuture(retrofitImpl.narrowcast(retryKey.toString(), narrowcast)));
     }
 
-    private static CompletableFuture<BotApiResponse> toBotApiResponseFuture(
+    private CompletableFuture<BotApiResponse> toBotApiResponseFuture(
             final Call<BotApiResponseBody> callToWrap) {
-        final BotApiCallbackAdaptor completableFuture = new BotApiCallbackAdaptor();
+        final BotApiCallbackAdaptor completableFuture = new BotApiCallbackAdaptor(exceptionConverter);
         callToWrap.enqueue(completableFuture);
+        completableFuture.whenComplete((response, throwable) -> {
+            if (completableFuture.isCancelled()) {
+                callToWrap.cancel();
+            }
+        });
         return completableFuture;
     }
 
     static class BotApiCallbackAdaptor extends CompletableFuture<BotApiResponse>
             implements Callback<BotApiResponseBody> {
+        private final ExceptionConverter exceptionConverter;
+
+        BotApiCallbackAdaptor(final ExceptionConverter exceptionConverter) {
+            this.exceptionConverter = exceptionConverter;
+        }
+
         @Override
         public void onResponse(final Call<BotApiResponseBody> call,
                                final Response<BotApiResponseBody> response) {
@@ -78,14 +105,13 @@ public class RetryableLineMessagingClientImpl implements RetryableLineMessagingC
                 final String requestId = response.headers().get("x-line-request-id");
                 complete(response.body().withRequestId(requestId));
             } else {
-                completeExceptionally(EXCEPTION_CONVERTER.apply(response));
+                completeExceptionally(exceptionConverter.apply(response));
             }
         }
 
         @Override
         public void onFailure(final Call<BotApiResponseBody> call, final Throwable t) {
-            completeExceptionally(
-                    new GeneralLineMessagingException(t.getMessage(), null, t));
+            completeExceptionally(LineMessagingClientImpl.toLineMessagingException(t));
         }
     }
 }
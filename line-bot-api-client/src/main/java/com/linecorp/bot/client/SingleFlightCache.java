@@ -0,0 +1,132 @@
+/*
+ * Copyright 2023 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package com.linecorp.bot.client;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Size bounded cache of asynchronously loaded values with expiration.
+ *
+ * <p>While a value is being loaded, callers of the same key share the loading result instead of loading
+ * it again. Failures are not cached. The least recently used entry is evicted when the cache is full.
+ */
+final class SingleFlightCache<K, V> {
+    private final long ttlNanos;
+    private final Map<K, Entry<V>> entries;
+
+    SingleFlightCache(long ttlNanos, int maximumSize) {
+        if (ttlNanos <= 0) {
+            throw new IllegalArgumentException("ttl must be positive: " + ttlNanos + "ns");
+        }
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("maximumSize must be positive: " + maximumSize);
+        }
+        this.ttlNanos = ttlNanos;
+        entries = new LinkedHashMap<K, Entry<V>>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                return size() > maximumSize;
+            }
+        };
+    }
+
+    /**
+     * Returns the cached value of the {@code key}, or loads it by {@code loader}.
+     */
+    CompletableFuture<V> get(K key, Function<? super K, CompletableFuture<V>> loader) {
+        final Entry<V> entry;
+        synchronized (this) {
+            final Entry<V> cached = entries.get(key);
+            if (cached != null && !cached.isExpired(System.nanoTime())) {
+                return cached.future.copy();
+            }
+            entry = new Entry<>();
+            entries.put(key, entry);
+        }
+
+        // Load outside the lock, as the loader may complete the future synchronously.
+        final CompletableFuture<V> loading;
+        try {
+            loading = loader.apply(key);
+        } catch (RuntimeException e) {
+            remove(key, entry);
+            throw e;
+        }
+        loading.whenComplete((value, throwable) -> {
+            if (throwable != null) {
+                remove(key, entry);
+                entry.future.completeExceptionally(throwable);
+            } else {
+                entry.expiresAtNanos = System.nanoTime() + ttlNanos;
+                entry.future.complete(value);
+            }
+        });
+        return entry.future.copy();
+    }
+
+    /**
+     * Removes the entry of the {@code key}.
+     */
+    synchronized void invalidate(K key) {
+        entries.remove(key);
+    }
+
+    /**
+     * Removes entries whose key matches the {@code predicate}.
+     */
+    synchronized void invalidateIf(Predicate<? super K> predicate) {
+        for (Iterator<K> it = entries.keySet().iterator(); it.hasNext();) {
+            if (predicate.test(it.next())) {
+                it.remove();
+            }
+        }
+    }
+
+    /**
+     * Removes all entries.
+     */
+    synchronized void invalidateAll() {
+        entries.clear();
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    private synchronized void remove(K key, Entry<V> entry) {
+        entries.remove(key, entry);
+    }
+
+    private static final class Entry<V> {
+        final CompletableFuture<V> future = new CompletableFuture<>();
+
+        // Long.MAX_VALUE until the value is loaded.
+        volatile long expiresAtNanos = Long.MAX_VALUE;
+
+        boolean isExpired(long nowNanos) {
+            return expiresAtNanos != Long.MAX_VALUE && nowNanos - expiresAtNanos >= 0;
+        }
+    }
+}
@@ -0,0 +1,216 @@
+/*
+ * Copyright 2023 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package com.linecorp.bot.client;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import com.linecorp.bot.model.oauth.IssueChannelAccessTokenResponse;
+
+import lombok.Builder;
+import lombok.NonNull;
+import lombok.ToString;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * {@link ChannelTokenSupplier} which supplies stateless channel access tokens and fetches the next token
+ * in background before the current one expires.
+ *
+ * <p>Tokens are shared through {@link ChannelTokenStore}; a supplier uses a token stored by another one
+ * if it's still fresh, instead of issuing a new token. The default {@link ChannelTokenStore#inMemory()}
+ * shares tokens among all suppliers in the JVM. To share tokens among nodes, use a store backed by a
+ * shared storage. Refreshes of suppliers are spread randomly within {@code refreshMargin} to reduce
+ * concurrent issuance.
+ *
+ * <p>{@link #get()} is a volatile read while the token is valid. Once it expired, e.g. because issuing failed
+ * for longer than {@code refreshMargin}, the expired token is returned while the next one is fetched rather
+ * than blocking the caller. {@link #get()} waits only until the first token is issued. As it's called by
+ * the Authorization interceptor on OkHttp threads, build {@code oAuthClient} with an
+ * {@link okhttp3.OkHttpClient} not sharing the {@link okhttp3.Dispatcher} of clients using this supplier;
+ * otherwise their calls waiting for the first token may take all slots needed to issue it.
+ *
+ * @see LineOAuthClient#issueStatelessChannelToken(String, String)
+ */
+@Slf4j
+@ToString(of = { "channelId", "store" })
+public final class StatelessChannelTokenSupplier implements ChannelTokenSupplier, AutoCloseable {
+    private final LineOAuthClient oAuthClient;
+    private final String channelId;
+    private final String channelSecret;
+    private final ChannelTokenStore store;
+    private final Duration refreshMargin;
+    private final Duration retryInterval;
+    private final ScheduledExecutorService scheduler;
+
+    private volatile StoredChannelToken current;
+    private volatile boolean closed;
+
+    // Guarded by this.
+    private CompletableFuture<StoredChannelToken> inFlight;
+    private ScheduledFuture<?> nextRefresh;
+
+    @Builder
+    private StatelessChannelTokenSupplier(@NonNull LineOAuthClient oAuthClient, @NonNull String channelId,
+                                          @NonNull String channelSecret, @NonNull ChannelTokenStore store,
+                                          @NonNull Duration refreshMargin, @NonNull Duration retryInterval,
+                                          ScheduledExecutorService scheduler) {
+        this.oAuthClient = oAuthClient;
+        this.channelId = channelId;
+        this.channelSecret = channelSecret;
+        this.store = store;
+        this.refreshMargin = refreshMargin;
+        this.retryInterval = retryInterval;
+        this.scheduler = scheduler != null ? scheduler : LineClientScheduler.shared();
+        synchronized (this) {
+            scheduleRefresh(Duration.ZERO);
+        }
+    }
+
+    /**
+     * Returns the channel access token.
+     *
+     * <p>Waits only if no token was issued yet. An expired token is returned while the next one is fetched.
+     */
+    @Override
+    public String get() {
+        final StoredChannelToken token = current;
+        if (token != null && Instant.now().isBefore(token.getExpiresAt())) {
+            return token.getAccessToken();
+        }
+        final CompletableFuture<StoredChannelToken> refreshing = refresh();
+        if (token == null) {
+            return refreshing.join().getAccessToken();
+        }
+        // The caller may be an OkHttp dispatcher thread which the refresh needs, so don't wait for it.
+        if (refreshing.isDone() && !refreshing.isCompletedExceptionally()) {
+            return refreshing.join().getAccessToken();
+        }
+        return token.getAccessToken();
+    }
+
+    /**
+     * Stops fetching tokens in background.
+     */
+    @Override
+    public synchronized void close() {
+        closed = true;
+        if (nextRefresh != null) {
+            nextRefresh.cancel(false);
+        }
+    }
+
+    private synchronized CompletableFuture<StoredChannelToken> refresh() {
+        if (inFlight != null) {
+            return inFlight;
+        }
+
+        final StoredChannelToken stored;
+        try {
+            stored = store.load(channelId);
+        } catch (RuntimeException e) {
+            log.warn("Failed to load channel access token from {}. channelId: {}", store, channelId, e);
+            return issue(null);
+        }
+        if (stored != null && isFresh(stored)) {
+            onRefreshed(stored);
+            return CompletableFuture.completedFuture(stored);
+        }
+        return issue(stored);
+    }
+
+    // Called with the lock held.
+    private CompletableFuture<StoredChannelToken> issue(StoredChannelToken expected) {
+        final CompletableFuture<StoredChannelToken> future =
+                oAuthClient.issueStatelessChannelToken(channelId, channelSecret)
+                           .thenApply(response -> save(expected, response));
+        inFlight = future;
+        future.whenComplete((token, throwable) -> {
+            synchronized (this) {
+                inFlight = null;
+                if (throwable != null) {
+                    log.warn("Failed to issue stateless channel access token. Retrying in {}. channelId: {}",
+                             retryInterval, channelId, throwable);
+                    scheduleRefresh(retryInterval);
+                } else {
+                    onRefreshed(token);
+                }
+            }
+        });
+        return future;
+    }
+
+    private StoredChannelToken save(StoredChannelToken expected, IssueChannelAccessTokenResponse response) {
+        final StoredChannelToken issued = new StoredChannelToken(
+                response.getAccessToken(), Instant.now().plusSeconds(response.getExpiresInSecs()));
+        try {
+            if (store.compareAndSet(channelId, expected, issued)) {
+                return issued;
+            }
+            // Another supplier stored a token in the meantime. Prefer it to converge on one token.
+            final StoredChannelToken stored = store.load(channelId);
+            return stored != null && isFresh(stored) ? stored : issued;
+        } catch (RuntimeException e) {
+            log.warn("Failed to save channel access token to {}. channelId: {}", store, channelId, e);
+            return issued;
+        }
+    }
+
+    // Called with the lock held.
+    private void onRefreshed(StoredChannelToken token) {
+        current = token;
+        final Duration untilRefresh =
+                Duration.between(Instant.now(), token.getExpiresAt()).minus(refreshMargin);
+        final long jitterMillis = ThreadLocalRandom.current().nextLong(refreshMargin.toMillis() / 2 + 1);
+        scheduleRefresh(untilRefresh.plusMillis(jitterMillis));
+    }
+
+    // Called with the lock held.
+    private void scheduleRefresh(Duration delay) {
+        if (closed) {
+            return;
+        }
+        if (nextRefresh != null) {
+            nextRefresh.cancel(false);
+        }
+        nextRefresh = scheduler.schedule(() -> {
+            refresh();
+        }, Math.max(0, delay.toMillis()), TimeUnit.MILLISECONDS);
+    }
+
+    private boolean isFresh(StoredChannelToken token) {
+        return Instant.now().plus(refreshMargin).isBefore(token.getExpiresAt());
+    }
+
+    public static class StatelessChannelTokenSupplierBuilder {
+        // Default values. Other members are filled by lombok.
+
+        /** Store to share tokens. Default = {@link ChannelTokenStore#inMemory()}. */
+        private ChannelTokenStore store = ChannelTokenStore.inMemory();
+
+        /** Fetch the next token when the current one expires within this. Default = 3 minutes. */
+        private Duration refreshMargin = Duration.ofMinutes(3);
+
+        /** Interval to retry failed issuance. Default = 10 seconds. */
+        private Duration retryInterval = Duration.ofSeconds(10);
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2023 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package com.linecorp.bot.client;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+import okhttp3.MediaType;
+import okhttp3.RequestBody;
+import okio.BufferedSink;
+
+/**
+ * File part of an audience upload which writes IDs straight from an {@link AudienceIdSource} to the
+ * connection, up to {@code maxIds} IDs.
+ *
+ * <p>The body can be written only once because the source can't be rewound.
+ */
+final class StreamingAudienceFileBody extends RequestBody {
+    private static final MediaType TEXT_PLAIN = MediaType.get("text/plain");
+
+    private final String firstId;
+    private final AudienceIdSource source;
+    private final int maxIds;
+    private volatile int writtenCount;
+
+    /**
+     * Creates a body starting with {@code firstId}, which was already taken from the source to make sure
+     * the upload isn't empty.
+     */
+    StreamingAudienceFileBody(String firstId, AudienceIdSource source, int maxIds) {
+        this.firstId = firstId;
+        this.source = source;
+        this.maxIds = maxIds;
+    }
+
+    @Override
+    public MediaType contentType() {
+        return TEXT_PLAIN;
+    }
+
+    @Override
+    public long contentLength() {
+        return -1;
+    }
+
+    @Override
+    public boolean isOneShot() {
+        return true;
+    }
+
+    @Override
+    public void writeTo(BufferedSink sink) throws IOException {
+        int count = 0;
+        try {
+            for (String id = firstId; id != null; id = source.next()) {
+                sink.writeUtf8(id).writeByte('\n');
+                if (++count >= maxIds) {
+                    break;
+                }
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            writtenCount = count;
+        }
+    }
+
+    /**
+     * Number of IDs written, or {@code 0} if not written yet.
+     */
+    int writtenCount() {
+        return writtenCount;
+    }
+}
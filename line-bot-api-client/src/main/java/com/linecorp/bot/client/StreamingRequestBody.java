@@ -0,0 +1,129 @@
+/*
+ * Copyright 2023 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.linecorp.bot.client;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import okhttp3.MediaType;
+import okhttp3.RequestBody;
+import okio.BufferedSink;
+import okio.Okio;
+
+/**
+ * Request bodies which write content to the connection as it is read, instead of holding a
+ * {@code byte[]} copy on the heap.
+ */
+final class StreamingRequestBody {
+    private StreamingRequestBody() {
+    }
+
+    /**
+     * Creates a body which transfers the file through a {@link FileChannel}. The file is read each time the
+     * body is written, so the call can be retried.
+     */
+    static RequestBody of(Path file, MediaType contentType) throws IOException {
+        final long length = Files.size(file);
+        return new RequestBody() {
+            @Override
+            public MediaType contentType() {
+                return contentType;
+            }
+
+            @Override
+            public long contentLength() {
+                return length;
+            }
+
+            @Override
+            public void writeTo(BufferedSink sink) throws IOException {
+                try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                    long position = 0;
+                    while (position < length) {
+                        final long transferred = channel.transferTo(position, length - position, sink);
+                        if (transferred <= 0) {
+                            throw new IOException("File was truncated while uploading: " + file);
+                        }
+                        position += transferred;
+                    }
+                }
+            }
+        };
+    }
+
+    /**
+     * Creates a body which writes the remaining bytes of the buffer without changing its position.
+     * A direct buffer is written without a heap copy of the whole content.
+     */
+    static RequestBody of(ByteBuffer content, MediaType contentType) {
+        final ByteBuffer buffer = content.slice();
+        return new RequestBody() {
+            @Override
+            public MediaType contentType() {
+                return contentType;
+            }
+
+            @Override
+            public long contentLength() {
+                return buffer.remaining();
+            }
+
+            @Override
+            public void writeTo(BufferedSink sink) throws IOException {
+                final ByteBuffer duplicate = buffer.duplicate();
+                while (duplicate.hasRemaining()) {
+                    sink.write(duplicate);
+                }
+            }
+        };
+    }
+
+    /**
+     * Creates a body which copies the stream to the connection. The body can be written only once and
+     * the stream is not closed.
+     *
+     * @param contentLength number of bytes in the stream, or -1 if unknown
+     */
+    static RequestBody of(InputStream content, MediaType contentType, long contentLength) {
+        return new RequestBody() {
+            @Override
+            public MediaType contentType() {
+                return contentType;
+            }
+
+            @Override
+            public long contentLength() {
+                return contentLength;
+            }
+
+            @Override
+            public boolean isOneShot() {
+                return true;
+            }
+
+            @Override
+            public void writeTo(BufferedSink sink) throws IOException {
+                sink.writeAll(Okio.source(content));
+            }
+        };
+    }
+}
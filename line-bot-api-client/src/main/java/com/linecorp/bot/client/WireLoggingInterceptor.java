@@ -0,0 +1,228 @@
+/*
+ * Copyright 2023 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package com.linecorp.bot.client;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import lombok.Builder;
+import lombok.Singular;
+import lombok.ToString;
+import okhttp3.Headers;
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+
+/**
+ * {@link Interceptor} which logs HTTP requests and responses to the {@value #DEFAULT_LOGGER_NAME} logger.
+ *
+ * <p>This interceptor does nothing when the logger is disabled for INFO level, so bodies aren't buffered nor
+ * formatted unless the log is actually written. Binary bodies are never logged and text bodies are
+ * truncated to {@code maxBodyBytes}.
+ *
+ * <p>You can sample logs for each endpoint. The endpoint name is the method name of Retrofit
+ * interface, e.g. {@code "pushMessage"} or {@code "getMessageContent"}.
+ */
+@ToString
+public final class WireLoggingInterceptor implements Interceptor {
+    public static final String DEFAULT_LOGGER_NAME = "com.linecorp.bot.client.wire";
+    private static final Pattern USER_ID_PATTERN = Pattern.compile("U[0-9a-f]{32}");
+    private static final String CREDENTIAL_NAMES =
+            "client_secret|client_assertion|access_token|refresh_token|id_token";
+    // Form fields and query parameters of the OAuth endpoints, e.g. client_secret=xxx
+    private static final Pattern CREDENTIAL_PARAMETER_PATTERN =
+            Pattern.compile("(^|[?&])(" + CREDENTIAL_NAMES + ")=[^&]*");
+    // JSON fields of the token responses, e.g. "access_token":"xxx"
+    private static final Pattern CREDENTIAL_FIELD_PATTERN =
+            Pattern.compile("(\"(?:" + CREDENTIAL_NAMES + ")\"\\s*:\\s*)\"[^\"]*\"");
+    private static final String REDACTED = "<redacted>";
+
+    public enum Level {
+        /** No logs. */
+        NONE,
+        /** Logs request and response lines and their headers. */
+        HEADERS,
+        /** Logs request and response lines, their headers and text bodies. */
+        BODY,
+    }
+
+    @ToString.Exclude
+    private final Logger logger;
+    private final Level level;
+    private final double samplingRate;
+    private final Map<String, Double> samplingRates;
+    private final long maxBodyBytes;
+    private final boolean redactAuthorization;
+    private final boolean redactUserIds;
+
+    @Builder
+    private WireLoggingInterceptor(String loggerName,
+                                   Level level,
+                                   double samplingRate,
+                                   @Singular Map<String, Double> samplingRates,
+                                   long maxBodyBytes,
+                                   boolean redactAuthorization,
+                                   boolean redactUserIds) {
+        this.logger = LoggerFactory.getLogger(loggerName);
+        this.level = level;
+        this.samplingRate = samplingRate;
+        this.samplingRates = samplingRates;
+        this.maxBodyBytes = maxBodyBytes;
+        this.redactAuthorization = redactAuthorization;
+        this.redactUserIds = redactUserIds;
+    }
+
+    public static class WireLoggingInterceptorBuilder {
+        // Default values. Other members are filled by lombok.
+
+        /** Logger name. Default = {@value WireLoggingInterceptor#DEFAULT_LOGGER_NAME}. */
+        private String loggerName = DEFAULT_LOGGER_NAME;
+
+        /** Log level. Default = {@link Level#BODY}. */
+        private Level level = Level.BODY;
+
+        /** Sampling rate of endpoints not in {@code samplingRates}, between 0.0 and 1.0. Default = 1.0. */
+        private double samplingRate = 1.0;
+
+        /** Maximum bytes of each body to log. Default = 32KiB. */
+        private long maxBodyBytes = 32 * 1024;
+
+        /**
+         * Mask value of Authorization header, and client secrets, client assertions and tokens sent to or
+         * returned from the OAuth endpoints. Default = {@code true}.
+         */
+        private boolean redactAuthorization = true;
+
+        /** Mask user IDs in URLs and bodies. Default = {@code true}. */
+        private boolean redactUserIds = true;
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        final Request request = chain.request();
+        if (level == Level.NONE || !logger.isInfoEnabled() || !isSampled(Endpoints.nameOf(request))) {
+            return chain.proceed(request);
+        }
+
+        logRequest(request);
+
+        final long startNs = System.nanoTime();
+        final Response response;
+        try {
+            response = chain.proceed(request);
+        } catch (IOException e) {
+            logger.info("<-- HTTP FAILED: {}", e.toString());
+            throw e;
+        }
+        final long tookMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNs);
+
+        logResponse(response, tookMs);
+        return response;
+    }
+
+    private boolean isSampled(String endpoint) {
+        final double rate = samplingRates.getOrDefault(endpoint, samplingRate);
+        if (rate >= 1.0) {
+            return true;
+        }
+        return rate > 0.0 && ThreadLocalRandom.current().nextDouble() < rate;
+    }
+
+    private void logRequest(Request request) throws IOException {
+        final RequestBody body = request.body();
+        logger.info("--> {} {}", request.method(), redact(request.url().toString()));
+        logHeaders(request.headers());
+        if (level != Level.BODY || body == null) {
+            logger.info("--> END {}", request.method());
+            return;
+        }
+
+        final long contentLength = body.contentLength();
+        if (!isPlainText(body.contentType()) || body.isDuplex() || body.isOneShot()) {
+            logger.info("--> END {} (binary {}-byte body omitted)", request.method(), contentLength);
+        } else if (contentLength < 0 || contentLength > maxBodyBytes) {
+            logger.info("--> END {} ({}-byte body omitted)", request.method(), contentLength);
+        } else {
+            final Buffer buffer = new Buffer();
+            body.writeTo(buffer);
+            logger.info("{}", redact(buffer.readString(StandardCharsets.UTF_8)));
+            logger.info("--> END {} ({}-byte body)", request.method(), contentLength);
+        }
+    }
+
+    private void logResponse(Response response, long tookMs) throws IOException {
+        logger.info("<-- {} {} {} ({}ms)", response.code(), response.message(),
+                    redact(response.request().url().toString()), tookMs);
+        logHeaders(response.headers());
+
+        final ResponseBody body = response.body();
+        if (level != Level.BODY || body == null) {
+            logger.info("<-- END HTTP");
+            return;
+        }
+
+        if (!isPlainText(body.contentType())) {
+            logger.info("<-- END HTTP (binary {}-byte body omitted)", body.contentLength());
+            return;
+        }
+        // Peeking doesn't consume the original body and buffers at most maxBodyBytes.
+        final ResponseBody peeked = response.peekBody(maxBodyBytes);
+        logger.info("{}", redact(peeked.string()));
+        logger.info("<-- END HTTP ({}-byte body)", body.contentLength());
+    }
+
+    private void logHeaders(Headers headers) {
+        for (int i = 0; i < headers.size(); i++) {
+            final String name = headers.name(i);
+            final String value = redactAuthorization && "Authorization".equalsIgnoreCase(name)
+                                 ? REDACTED : headers.value(i);
+            logger.info("{}: {}", name, value);
+        }
+    }
+
+    private String redact(String text) {
+        String redacted = text;
+        if (redactAuthorization) {
+            redacted = CREDENTIAL_PARAMETER_PATTERN.matcher(redacted).replaceAll("$1$2=" + REDACTED);
+            redacted = CREDENTIAL_FIELD_PATTERN.matcher(redacted).replaceAll("$1\"" + REDACTED + '"');
+        }
+        if (redactUserIds) {
+            redacted = USER_ID_PATTERN.matcher(redacted).replaceAll(REDACTED);
+        }
+        return redacted;
+    }
+
+    private static boolean isPlainText(MediaType mediaType) {
+        if (mediaType == null) {
+            return false;
+        }
+        return "text".equals(mediaType.type()) || "json".equals(mediaType.subtype())
+               || "x-www-form-urlencoded".equals(mediaType.subtype());
+    }
+}
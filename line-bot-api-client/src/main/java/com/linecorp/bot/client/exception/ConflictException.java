@@ -16,8 +16,12 @@
 
 package com.linecorp.bot.client.exception;
 
+import java.util.function.Supplier;
+
 import com.linecorp.bot.model.error.ErrorResponse;
 
+import lombok.Getter;
+
 /**
  * <p>Messaging API returns `409 Conflict`.</p>
  *
@@ -29,9 +33,37 @@ import com.linecorp.bot.model.error.ErrorResponse;
 public class ConflictException extends LineMessagingException {
     private static final long serialVersionUID = SERIAL_VERSION_UID;
 
+    /**
+     * Request ID of the request accepted first with the same retry key, given by
+     * {@code X-Line-Accepted-Request-Id} header. {@code null} if the header is absent.
+     */
+    @Getter
+    private final String acceptedRequestId;
+
     public ConflictException(
             final String message,
             final ErrorResponse errorResponse) {
         super(message, errorResponse, null);
+        acceptedRequestId = null;
+    }
+
+    /** Creates an exception whose error response is parsed on first access. */
+    public ConflictException(
+            final Supplier<ErrorResponse> errorResponseParser,
+            final boolean writableStackTrace) {
+        this(errorResponseParser, writableStackTrace, null);
+    }
+
+    /**
+     * Creates an exception whose error response is parsed on first access.
+     *
+     * @param acceptedRequestId value of {@code X-Line-Accepted-Request-Id} header, or {@code null}
+     */
+    public ConflictException(
+            final Supplier<ErrorResponse> errorResponseParser,
+            final boolean writableStackTrace,
+            final String acceptedRequestId) {
+        super(errorResponseParser, writableStackTrace);
+        this.acceptedRequestId = acceptedRequestId;
     }
 }
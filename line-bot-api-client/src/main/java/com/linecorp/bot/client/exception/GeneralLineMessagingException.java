@@ -16,6 +16,8 @@
 
 package com.linecorp.bot.client.exception;
 
+import java.util.function.Supplier;
+
 import com.linecorp.bot.model.error.ErrorResponse;
 
 /**
@@ -28,4 +30,11 @@ public class GeneralLineMessagingException extends LineMessagingException {
             final String message, final ErrorResponse errorResponse, final Throwable cause) {
         super(message, errorResponse, cause);
     }
+
+    /** Creates an exception whose error response is parsed on first access. */
+    public GeneralLineMessagingException(
+            final Supplier<ErrorResponse> errorResponseParser,
+            final boolean writableStackTrace) {
+        super(errorResponseParser, writableStackTrace);
+    }
 }
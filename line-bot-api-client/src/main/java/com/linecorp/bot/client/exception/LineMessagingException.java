@@ -16,11 +16,12 @@
 
 package com.linecorp.bot.client.exception;
 
-import com.linecorp.bot.model.error.ErrorResponse;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.util.function.Supplier;
 
-import lombok.Getter;
+import com.linecorp.bot.model.error.ErrorResponse;
 
-@Getter
 @SuppressWarnings("serial")
 public abstract class LineMessagingException extends Exception {
     static final long SERIAL_VERSION_UID = 0x001_003; // 1.3.x
@@ -31,11 +32,57 @@ public abstract class LineMessagingException extends Exception {
      *
      * <p>Null when error response is not exist.
      */
-    private final ErrorResponse errorResponse;
+    private ErrorResponse errorResponse;
+
+    /**
+     * Parses {@link #errorResponse} on first access. Null once parsed or when given eagerly.
+     */
+    private transient Supplier<ErrorResponse> errorResponseParser;
 
     LineMessagingException(final String message, final ErrorResponse errorResponse,
                            final Throwable cause) {
         super(message + (errorResponse != null ? " : " + errorResponse : ""), cause);
         this.errorResponse = errorResponse;
     }
+
+    /**
+     * Creates an exception whose error response is parsed when {@link #getErrorResponse()} or
+     * {@link #getMessage()} is called first.
+     *
+     * @param errorResponseParser parses the error response, never returning null
+     * @param writableStackTrace {@code false} to skip filling in the stack trace
+     */
+    LineMessagingException(final Supplier<ErrorResponse> errorResponseParser,
+                           final boolean writableStackTrace) {
+        super(null, null, true, writableStackTrace);
+        this.errorResponseParser = errorResponseParser;
+    }
+
+    /**
+     * Original error response from server.
+     *
+     * <p>Null when error response is not exist.
+     */
+    public synchronized ErrorResponse getErrorResponse() {
+        if (errorResponseParser != null) {
+            errorResponse = errorResponseParser.get();
+            errorResponseParser = null;
+        }
+        return errorResponse;
+    }
+
+    @Override
+    public String getMessage() {
+        final String message = super.getMessage();
+        if (message != null) {
+            return message;
+        }
+        final ErrorResponse response = getErrorResponse();
+        return response != null ? response.getMessage() + " : " + response : null;
+    }
+
+    private void writeObject(final ObjectOutputStream out) throws IOException {
+        getErrorResponse();
+        out.defaultWriteObject();
+    }
 }
@@ -16,6 +16,8 @@
 
 package com.linecorp.bot.client.exception;
 
+import java.util.function.Supplier;
+
 import com.linecorp.bot.model.error.ErrorResponse;
 
 public class LineServerException extends LineMessagingException {
@@ -26,4 +28,11 @@ public class LineServerException extends LineMessagingException {
             final ErrorResponse errorResponse) {
         super(message, errorResponse, null);
     }
+
+    /** Creates an exception whose error response is parsed on first access. */
+    public LineServerException(
+            final Supplier<ErrorResponse> errorResponseParser,
+            final boolean writableStackTrace) {
+        super(errorResponseParser, writableStackTrace);
+    }
 }
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2023 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package com.linecorp.bot.client;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import com.linecorp.bot.client.exception.TooManyRequestsException;
+
+@Timeout(5)
+public class AdaptiveConcurrencyLimiterTest extends AbstractWiremockTest {
+    @Test
+    public void queueAndReject() {
+        final AdaptiveConcurrencyLimiter limiter = AdaptiveConcurrencyLimiter.builder()
+                                                                             .initialLimit(2)
+                                                                             .maxPending(1)
+                                                                             .build();
+        final AtomicInteger started = new AtomicInteger();
+
+        // Do
+        assertThat(limiter.acquire(started::incrementAndGet)).isTrue();
+        assertThat(limiter.acquire(started::incrementAndGet)).isTrue();
+        assertThat(limiter.acquire(started::incrementAndGet)).isTrue();
+        assertThat(limiter.acquire(started::incrementAndGet)).isFalse();
+
+        // Verify
+        assertThat(started).hasValue(2);
+        assertThat(limiter.getInFlight()).isEqualTo(2);
+        assertThat(limiter.getPending()).isEqualTo(1);
+        assertThat(limiter.getRejectedCount()).isEqualTo(1);
+
+        // Completion starts the pending one.
+        limiter.onIgnore();
+        assertThat(started).hasValue(3);
+        assertThat(limiter.getInFlight()).isEqualTo(2);
+        assertThat(limiter.getPending()).isZero();
+    }
+
+    @Test
+    public void growWhileLatencyIsStable() {
+        final AdaptiveConcurrencyLimiter limiter = AdaptiveConcurrencyLimiter.builder()
+                                                                             .initialLimit(2)
+                                                                             .build();
+
+        // Do
+        for (int i = 0; i < 10; i++) {
+            limiter.acquire(() -> {});
+            limiter.acquire(() -> {});
+            limiter.onSuccess(TimeUnit.MILLISECONDS.toNanos(10));
+            limiter.onSuccess(TimeUnit.MILLISECONDS.toNanos(10));
+        }
+
+        // Verify
+        assertThat(limiter.getLimit()).isGreaterThan(2);
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    @Test
+    public void shrinkOnOverloadAndLatencySpike() {
+        final AdaptiveConcurrencyLimiter limiter = AdaptiveConcurrencyLimiter.builder()
+                                                                             .initialLimit(100)
+                                                                             .build();
+
+        // Do
+        limiter.acquire(() -> {});
+        limiter.onOverload();
+
+        // Verify
+        assertThat(limiter.getLimit()).isEqualTo(50);
+
+        // Do
+        limiter.acquire(() -> {});
+        limiter.onSuccess(TimeUnit.MILLISECONDS.toNanos(10));
+        limiter.acquire(() -> {});
+        limiter.onSuccess(TimeUnit.MILLISECONDS.toNanos(100));
+
+        // Verify
+        assertThat(limiter.getLimit()).isEqualTo(45);
+    }
+
+    @Test
+    public void tooManyRequestsShrinksLimit() {
+        stubFor(get(urlEqualTo("/v2/bot/profile/TEST"))
+                        .willReturn(aResponse().withStatus(429).withBody("{\"message\":\"too many\"}")));
+        final AdaptiveConcurrencyLimiter limiter = AdaptiveConcurrencyLimiter.builder()
+                                                                             .initialLimit(10)
+                                                                             .build();
+        final LineMessagingClient client = LineMessagingClient.builder("token")
+                                                              .apiEndPoint(URI.create(wireMockServer.baseUrl()))
+                                                              .concurrencyLimiter(limiter)
+                                                              .build();
+
+        // Do
+        assertThatThrownBy(() -> client.getProfile("TEST").get())
+                .hasCauseInstanceOf(TooManyRequestsException.class);
+
+        // Verify
+        assertThat(limiter.getLimit()).isEqualTo(5);
+        assertThat(limiter.getInFlight()).isZero();
+    }
+}
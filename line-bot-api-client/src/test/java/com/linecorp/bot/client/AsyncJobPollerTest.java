@@ -0,0 +1,175 @@
+/*
+ * Copyright 2023 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package com.linecorp.bot.client;
+
+import static java.util.Collections.singletonList;
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.net.SocketTimeoutException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.linecorp.bot.client.exception.GeneralLineMessagingException;
+import com.linecorp.bot.client.exception.LineServerException;
+import com.linecorp.bot.client.exception.NotFoundException;
+import com.linecorp.bot.model.manageaudience.AudienceGroup;
+import com.linecorp.bot.model.manageaudience.AudienceGroupJob;
+import com.linecorp.bot.model.manageaudience.AudienceGroupJobStatus;
+import com.linecorp.bot.model.manageaudience.AudienceGroupStatus;
+import com.linecorp.bot.model.manageaudience.response.GetAudienceDataResponse;
+import com.linecorp.bot.model.response.NarrowcastProgressResponse;
+import com.linecorp.bot.model.response.NarrowcastProgressResponse.Phase;
+
+@ExtendWith(MockitoExtension.class)
+@Timeout(5)
+public class AsyncJobPollerTest {
+    @Mock
+    private LineMessagingClient lineMessagingClient;
+
+    @Mock
+    private ManageAudienceClient manageAudienceClient;
+
+    private AsyncJobPoller target;
+
+    @BeforeEach
+    public void setUp() {
+        target = AsyncJobPoller.builder()
+                               .initialInterval(Duration.ofMillis(10))
+                               .maxInterval(Duration.ofMillis(20))
+                               .build();
+    }
+
+    @Test
+    public void awaitNarrowcast() throws Exception {
+        final CompletableFuture<NarrowcastProgressResponse> serverError = new CompletableFuture<>();
+        serverError.completeExceptionally(new LineServerException("Internal error", null));
+        when(lineMessagingClient.getNarrowcastProgress("REQUEST_ID"))
+                .thenReturn(completedFuture(progress(Phase.WAITING)),
+                            serverError,
+                            completedFuture(progress(Phase.SENDING)),
+                            completedFuture(progress(Phase.SUCCEEDED)));
+
+        // Do
+        final NarrowcastProgressResponse actual =
+                target.awaitNarrowcast(lineMessagingClient, "REQUEST_ID").get();
+
+        // Verify
+        assertThat(actual.getPhase()).isEqualTo(Phase.SUCCEEDED);
+        verify(lineMessagingClient, times(4)).getNarrowcastProgress("REQUEST_ID");
+    }
+
+    @Test
+    public void awaitAudienceUntilJobsFinish() throws Exception {
+        when(manageAudienceClient.getAudienceData(1L))
+                .thenReturn(audience(AudienceGroupStatus.IN_PROGRESS, AudienceGroupJobStatus.QUEUED),
+                            audience(AudienceGroupStatus.READY, AudienceGroupJobStatus.WORKING),
+                            audience(AudienceGroupStatus.READY, AudienceGroupJobStatus.FINISHED));
+
+        // Do
+        final GetAudienceDataResponse actual = target.awaitAudience(manageAudienceClient, 1L).get();
+
+        // Verify
+        assertThat(actual.getJobs().get(0).getJobStatus()).isEqualTo(AudienceGroupJobStatus.FINISHED);
+    }
+
+    @Test
+    public void failOnPermanentError() {
+        final CompletableFuture<NarrowcastProgressResponse> notFound = new CompletableFuture<>();
+        notFound.completeExceptionally(new NotFoundException("Not found", null));
+        when(lineMessagingClient.getNarrowcastProgress("REQUEST_ID")).thenReturn(notFound);
+
+        // Do, Verify
+        assertThatThrownBy(() -> target.awaitNarrowcast(lineMessagingClient, "REQUEST_ID").get())
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(NotFoundException.class);
+    }
+
+    @Test
+    public void failOnGeneralErrorStatus() {
+        final CompletableFuture<NarrowcastProgressResponse> payloadTooLarge = new CompletableFuture<>();
+        payloadTooLarge.completeExceptionally(
+                new GeneralLineMessagingException("Payload too large", null, null));
+        when(lineMessagingClient.getNarrowcastProgress("REQUEST_ID")).thenReturn(payloadTooLarge);
+
+        // Do, Verify
+        assertThatThrownBy(() -> target.awaitNarrowcast(lineMessagingClient, "REQUEST_ID").get())
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(GeneralLineMessagingException.class);
+        verify(lineMessagingClient, times(1)).getNarrowcastProgress("REQUEST_ID");
+    }
+
+    @Test
+    public void retryOnIoError() throws Exception {
+        final CompletableFuture<NarrowcastProgressResponse> ioError = new CompletableFuture<>();
+        ioError.completeExceptionally(
+                new GeneralLineMessagingException("timeout", null, new SocketTimeoutException()));
+        when(lineMessagingClient.getNarrowcastProgress("REQUEST_ID"))
+                .thenReturn(ioError, completedFuture(progress(Phase.SUCCEEDED)));
+
+        // Do
+        final NarrowcastProgressResponse actual =
+                target.awaitNarrowcast(lineMessagingClient, "REQUEST_ID").get();
+
+        // Verify
+        assertThat(actual.getPhase()).isEqualTo(Phase.SUCCEEDED);
+        verify(lineMessagingClient, times(2)).getNarrowcastProgress("REQUEST_ID");
+    }
+
+    @Test
+    public void timeout() {
+        target = AsyncJobPoller.builder()
+                               .initialInterval(Duration.ofMillis(10))
+                               .timeout(Duration.ofMillis(50))
+                               .build();
+        when(lineMessagingClient.getNarrowcastProgress("REQUEST_ID"))
+                .thenReturn(completedFuture(progress(Phase.SENDING)));
+
+        // Do, Verify
+        assertThatThrownBy(() -> target.awaitNarrowcast(lineMessagingClient, "REQUEST_ID").get())
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(TimeoutException.class);
+    }
+
+    private static NarrowcastProgressResponse progress(Phase phase) {
+        return NarrowcastProgressResponse.builder().phase(phase).build();
+    }
+
+    private static CompletableFuture<GetAudienceDataResponse> audience(AudienceGroupStatus status,
+                                                                       AudienceGroupJobStatus jobStatus) {
+        final AudienceGroup audienceGroup = AudienceGroup.builder().audienceGroupId(1L).status(status).build();
+        final AudienceGroupJob job = AudienceGroupJob.builder().jobStatus(jobStatus).build();
+        return completedFuture(GetAudienceDataResponse.builder()
+                                                      .audienceGroup(audienceGroup)
+                                                      .jobs(singletonList(job))
+                                                      .build());
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2023 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package com.linecorp.bot.client;
+
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import com.linecorp.bot.client.BoundedDispatcher.Listener;
+import com.linecorp.bot.client.BoundedDispatcher.Source;
+
+@Timeout(5)
+public class BoundedDispatcherTest {
+    @Test
+    public void startCallsOutsideLock() {
+        final AtomicReference<BoundedDispatcher<Integer, Integer>> dispatcher = new AtomicReference<>();
+        final List<Boolean> lockHeld = new CopyOnWriteArrayList<>();
+        final List<Integer> results = new CopyOnWriteArrayList<>();
+        final BoundedDispatcher<Integer, Integer> target = new BoundedDispatcher<>(
+                Source.of(List.of(1, 2, 3).iterator()),
+                task -> {
+                    lockHeld.add(Thread.holdsLock(dispatcher.get()));
+                    return completedFuture(task * 10);
+                },
+                new Listener<Integer, Integer>() {
+                    @Override
+                    public void onSuccess(Integer task, Integer result) {
+                        results.add(result);
+                    }
+
+                    @Override
+                    public void onFailure(Integer task, Throwable cause) {
+                    }
+                },
+                BulkOptions.builder().parallelism(2).build());
+        dispatcher.set(target);
+
+        // Do
+        target.start().join();
+
+        // Verify
+        assertThat(lockHeld).containsExactly(false, false, false);
+        assertThat(results).containsExactly(10, 20, 30);
+    }
+
+    @Test
+    public void fetchPagesOutsideLocks() {
+        final AtomicReference<BoundedDispatcher<Integer, Integer>> dispatcher = new AtomicReference<>();
+        final AtomicReference<PageCursor<String, Integer>> cursor = new AtomicReference<>();
+        final List<Boolean> lockHeld = new CopyOnWriteArrayList<>();
+        final List<Integer> results = new CopyOnWriteArrayList<>();
+        cursor.set(new PageCursor<>(
+                next -> {
+                    lockHeld.add(Thread.holdsLock(dispatcher.get()) || Thread.holdsLock(cursor.get()));
+                    return completedFuture(next == null ? "1" : String.valueOf(Integer.parseInt(next) + 1));
+                },
+                page -> List.of(Integer.parseInt(page)),
+                page -> "3".equals(page) ? null : page,
+                1, () -> dispatcher.get().onSourceReady()));
+        final BoundedDispatcher<Integer, Integer> target = new BoundedDispatcher<>(
+                cursor.get(),
+                task -> completedFuture(task * 10),
+                new Listener<Integer, Integer>() {
+                    @Override
+                    public void onSuccess(Integer task, Integer result) {
+                        results.add(result);
+                    }
+
+                    @Override
+                    public void onFailure(Integer task, Throwable cause) {
+                    }
+                },
+                BulkOptions.builder().parallelism(2).build());
+        dispatcher.set(target);
+
+        // Do
+        target.start().join();
+
+        // Verify
+        assertThat(lockHeld).containsExactly(false, false, false);
+        assertThat(results).containsExactly(10, 20, 30);
+    }
+}
@@ -0,0 +1,218 @@
+/*
+ * Copyright 2023 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package com.linecorp.bot.client;
+
+import static java.util.Collections.singletonList;
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.linecorp.bot.client.exception.BadRequestException;
+import com.linecorp.bot.client.exception.TooManyRequestsException;
+import com.linecorp.bot.model.Multicast;
+import com.linecorp.bot.model.message.TextMessage;
+import com.linecorp.bot.model.response.BotApiResponse;
+
+@ExtendWith(MockitoExtension.class)
+@Timeout(5)
+public class BulkOperationsTest {
+    private static final Multicast TEMPLATE =
+            new Multicast(null, singletonList(new TextMessage("hello")), true);
+
+    @Mock
+    private LineMessagingClient client;
+
+    @Mock
+    private LineBlobClient blobClient;
+
+    @Test
+    public void multicastInChunks() throws Exception {
+        final List<Multicast> requests = new CopyOnWriteArrayList<>();
+        when(client.multicast(any())).thenAnswer(invocation -> {
+            requests.add(invocation.getArgument(0));
+            return completedFuture(new BotApiResponse("REQUEST_" + requests.size(), null, null));
+        });
+
+        // Do
+        final BulkResult result =
+                BulkOperations.multicast(client, userIds(1201).iterator(), TEMPLATE, BulkOptions.DEFAULT)
+                              .get();
+
+        // Verify
+        assertThat(requests).extracting(multicast -> multicast.getTo().size())
+                            .containsExactly(500, 500, 201);
+        assertThat(requests).allSatisfy(multicast -> {
+            assertThat(multicast.getMessages()).isEqualTo(TEMPLATE.getMessages());
+            assertThat(multicast.isNotificationDisabled()).isTrue();
+        });
+        assertThat(requests.get(2).getTo()).first().isEqualTo("USER_1000");
+        assertThat(result.getChunkCount()).isEqualTo(3);
+        assertThat(result.getSucceededUserCount()).isEqualTo(1201);
+        assertThat(result.getRequestIds()).containsExactly("REQUEST_1", "REQUEST_2", "REQUEST_3");
+        assertThat(result.isAllSucceeded()).isTrue();
+    }
+
+    @Test
+    public void boundedParallelism() throws Exception {
+        final List<CompletableFuture<BotApiResponse>> responses = new CopyOnWriteArrayList<>();
+        when(client.multicast(any())).thenAnswer(invocation -> {
+            final CompletableFuture<BotApiResponse> response = new CompletableFuture<>();
+            responses.add(response);
+            return response;
+        });
+        final BulkOptions options = BulkOptions.builder().parallelism(2).build();
+
+        // Do
+        final CompletableFuture<BulkResult> result =
+                BulkOperations.multicast(client, userIds(2000).iterator(), TEMPLATE, options);
+
+        // Verify
+        assertThat(responses).hasSize(2);
+        responses.get(0).complete(new BotApiResponse("REQUEST", null, null));
+        assertThat(responses).hasSize(3);
+        for (int i = 1; i < 4; i++) {
+            responses.get(i).complete(new BotApiResponse("REQUEST", null, null));
+        }
+        assertThat(result.get().getChunkCount()).isEqualTo(4);
+        assertThat(responses).hasSize(4);
+    }
+
+    @Test
+    public void retryRateLimitedChunk() throws Exception {
+        final CompletableFuture<BotApiResponse> rateLimited = new CompletableFuture<>();
+        rateLimited.completeExceptionally(new TooManyRequestsException("Too many requests", null));
+        when(client.multicast(any())).thenReturn(rateLimited,
+                                                 completedFuture(new BotApiResponse("REQUEST", null, null)));
+        final BulkOptions options = BulkOptions.builder().rateLimitBackoff(Duration.ofMillis(10)).build();
+
+        // Do
+        final BulkResult result =
+                BulkOperations.multicast(client, userIds(10).iterator(), TEMPLATE, options).get();
+
+        // Verify
+        assertThat(result.isAllSucceeded()).isTrue();
+        assertThat(result.getRequestIds()).containsExactly("REQUEST");
+    }
+
+    @Test
+    public void reportFailedChunks() throws Exception {
+        final CompletableFuture<BotApiResponse> badRequest = new CompletableFuture<>();
+        badRequest.completeExceptionally(new BadRequestException("Invalid", null));
+        when(client.multicast(any())).thenReturn(completedFuture(new BotApiResponse("REQUEST", null, null)),
+                                                 badRequest);
+
+        // Do
+        final BulkResult result =
+                BulkOperations.multicast(client, userIds(600).iterator(), TEMPLATE, BulkOptions.DEFAULT).get();
+
+        // Verify
+        assertThat(result.isAllSucceeded()).isFalse();
+        assertThat(result.getSucceededUserCount()).isEqualTo(500);
+        assertThat(result.getFailedChunks()).singleElement().satisfies(failedChunk -> {
+            assertThat(failedChunk.getIndex()).isEqualTo(1);
+            assertThat(failedChunk.getUserIds()).hasSize(100).first().isEqualTo("USER_500");
+            assertThat(failedChunk.getCause()).isInstanceOf(BadRequestException.class);
+        });
+    }
+
+    @Test
+    public void linkRichMenuWithProgress() throws Exception {
+        final List<List<String>> requests = new CopyOnWriteArrayList<>();
+        when(client.linkRichMenuIdToUsers(any(), eq("RICH_MENU_ID"))).thenAnswer(invocation -> {
+            requests.add(invocation.getArgument(0));
+            return completedFuture(new BotApiResponse("REQUEST", null, null));
+        });
+        final List<Long> progress = new CopyOnWriteArrayList<>();
+        final BulkOptions options =
+                BulkOptions.builder()
+                           .progressListener((completedChunks, succeededUserCount, failedChunk) -> {
+                               progress.add(succeededUserCount);
+                           })
+                           .build();
+
+        // Do
+        final BulkResult result =
+                BulkOperations.linkRichMenu(client, userIds(1100).iterator(), "RICH_MENU_ID", options).get();
+
+        // Verify
+        assertThat(requests).extracting(List::size).containsExactly(500, 500, 100);
+        assertThat(progress).containsExactly(500L, 1000L, 1100L);
+        assertThat(result.getSucceededUserCount()).isEqualTo(1100);
+    }
+
+    @Test
+    public void unlinkRichMenu() throws Exception {
+        when(client.unlinkRichMenuIdFromUsers(any()))
+                .thenReturn(completedFuture(new BotApiResponse("REQUEST", null, null)));
+
+        // Do
+        final BulkResult result =
+                BulkOperations.unlinkRichMenu(client, userIds(501).iterator(), BulkOptions.DEFAULT).get();
+
+        // Verify
+        assertThat(result.getChunkCount()).isEqualTo(2);
+        assertThat(result.isAllSucceeded()).isTrue();
+    }
+
+    @Test
+    public void uploadRichMenuImages() throws Exception {
+        when(blobClient.setRichMenuImage(eq("RICH_MENU_1"), eq("image/png"), any(Path.class)))
+                .thenReturn(completedFuture(new BotApiResponse("REQUEST", null, null)));
+        final CompletableFuture<BotApiResponse> failure = new CompletableFuture<>();
+        failure.completeExceptionally(new BadRequestException("Invalid image", null));
+        when(blobClient.setRichMenuImage(eq("RICH_MENU_2"), eq("image/jpeg"), any(Path.class)))
+                .thenReturn(failure);
+        final Map<String, Path> images = new LinkedHashMap<>();
+        images.put("RICH_MENU_1", Paths.get("1.png"));
+        images.put("RICH_MENU_2", Paths.get("2.jpg"));
+        images.put("RICH_MENU_3", Paths.get("3.unknown"));
+
+        // Do
+        final BulkUploadResult result =
+                BulkOperations.richMenuImages(blobClient, images, BulkOptions.DEFAULT).get();
+
+        // Verify
+        assertThat(result.getSucceededCount()).isEqualTo(1);
+        assertThat(result.getFailures()).containsOnlyKeys("RICH_MENU_2", "RICH_MENU_3");
+        assertThat(result.getFailures().get("RICH_MENU_2")).isInstanceOf(BadRequestException.class);
+        assertThat(result.getFailures().get("RICH_MENU_3")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static List<String> userIds(int count) {
+        return IntStream.range(0, count).mapToObj(i -> "USER_" + i).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright 2023 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package com.linecorp.bot.client;
+
+import static java.util.Collections.singletonList;
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.linecorp.bot.client.exception.GeneralLineMessagingException;
+import com.linecorp.bot.model.event.FollowEvent;
+import com.linecorp.bot.model.event.MemberLeftEvent;
+import com.linecorp.bot.model.event.MemberLeftEvent.LeftMembers;
+import com.linecorp.bot.model.event.source.GroupSource;
+import com.linecorp.bot.model.event.source.UserSource;
+import com.linecorp.bot.model.profile.UserProfileResponse;
+
+@ExtendWith(MockitoExtension.class)
+@Timeout(5)
+public class CachingLineMessagingClientTest {
+    private static final UserProfileResponse PROFILE =
+            UserProfileResponse.builder().userId("USER_ID").displayName("name").build();
+
+    @Mock
+    private LineMessagingClient delegate;
+
+    private CachingLineMessagingClient target;
+
+    @BeforeEach
+    public void setUp() {
+        target = CachingLineMessagingClient.builder()
+                                           .delegate(delegate)
+                                           .ttl(Duration.ofMinutes(1))
+                                           .maximumSize(2)
+                                           .build();
+    }
+
+    @Test
+    public void concurrentCallsShareOneRequest() throws Exception {
+        final CompletableFuture<UserProfileResponse> response = new CompletableFuture<>();
+        when(delegate.getProfile("USER_ID")).thenReturn(response);
+
+        // Do
+        final CompletableFuture<UserProfileResponse> first = target.getProfile("USER_ID");
+        final CompletableFuture<UserProfileResponse> second = target.getProfile("USER_ID");
+        response.complete(PROFILE);
+
+        // Verify
+        assertThat(first.get()).isEqualTo(PROFILE);
+        assertThat(second.get()).isEqualTo(PROFILE);
+        assertThat(target.getProfile("USER_ID").get()).isEqualTo(PROFILE);
+        verify(delegate, times(1)).getProfile("USER_ID");
+    }
+
+    @Test
+    public void failureIsNotCached() throws Exception {
+        final CompletableFuture<UserProfileResponse> failure = new CompletableFuture<>();
+        failure.completeExceptionally(new GeneralLineMessagingException("error", null, null));
+        when(delegate.getProfile("USER_ID")).thenReturn(failure, completedFuture(PROFILE));
+
+        // Do
+        assertThatThrownBy(() -> target.getProfile("USER_ID").get())
+                .hasCauseInstanceOf(GeneralLineMessagingException.class);
+        final UserProfileResponse profile = target.getProfile("USER_ID").get();
+
+        // Verify
+        assertThat(profile).isEqualTo(PROFILE);
+        verify(delegate, times(2)).getProfile("USER_ID");
+    }
+
+    @Test
+    public void expire() throws Exception {
+        target = CachingLineMessagingClient.builder()
+                                           .delegate(delegate)
+                                           .ttl(Duration.ofMillis(50))
+                                           .build();
+        when(delegate.getProfile("USER_ID")).thenReturn(completedFuture(PROFILE));
+
+        // Do
+        target.getProfile("USER_ID").get();
+        Thread.sleep(100);
+        target.getProfile("USER_ID").get();
+
+        // Verify
+        verify(delegate, times(2)).getProfile("USER_ID");
+    }
+
+    @Test
+    public void evictLeastRecentlyUsed() throws Exception {
+        when(delegate.getProfile("A")).thenReturn(completedFuture(PROFILE));
+        when(delegate.getProfile("B")).thenReturn(completedFuture(PROFILE));
+        when(delegate.getProfile("C")).thenReturn(completedFuture(PROFILE));
+
+        // Do
+        target.getProfile("A").get();
+        target.getProfile("B").get();
+        target.getProfile("A").get();
+        target.getProfile("C").get();
+        target.getProfile("A").get();
+        target.getProfile("B").get();
+
+        // Verify
+        assertThat(target.cachedProfiles()).isEqualTo(2);
+        verify(delegate, times(1)).getProfile("A");
+        verify(delegate, times(2)).getProfile("B");
+    }
+
+    @Test
+    public void invalidateByFollowEvent() throws Exception {
+        when(delegate.getProfile("USER_ID")).thenReturn(completedFuture(PROFILE));
+        when(delegate.getGroupMemberProfile("GROUP_ID", "USER_ID")).thenReturn(completedFuture(PROFILE));
+        target.getProfile("USER_ID").get();
+        target.getGroupMemberProfile("GROUP_ID", "USER_ID").get();
+
+        // Do
+        target.invalidate(FollowEvent.builder()
+                                     .source(UserSource.builder().userId("USER_ID").build())
+                                     .build());
+
+        // Verify
+        assertThat(target.cachedProfiles()).isZero();
+    }
+
+    @Test
+    public void invalidateByMemberLeftEvent() throws Exception {
+        when(delegate.getProfile("USER_ID")).thenReturn(completedFuture(PROFILE));
+        when(delegate.getGroupMemberProfile("GROUP_ID", "USER_ID")).thenReturn(completedFuture(PROFILE));
+        target.getProfile("USER_ID").get();
+        target.getGroupMemberProfile("GROUP_ID", "USER_ID").get();
+        final UserSource member = UserSource.builder().userId("USER_ID").build();
+        final LeftMembers left = LeftMembers.builder().members(singletonList(member)).build();
+
+        // Do
+        target.invalidate(MemberLeftEvent.builder()
+                                         .source(GroupSource.builder().groupId("GROUP_ID").build())
+                                         .left(left)
+                                         .build());
+        target.getGroupMemberProfile("GROUP_ID", "USER_ID").get();
+
+        // Verify
+        verify(delegate, times(2)).getGroupMemberProfile("GROUP_ID", "USER_ID");
+        assertThat(target.cachedProfiles()).isEqualTo(2);
+    }
+}
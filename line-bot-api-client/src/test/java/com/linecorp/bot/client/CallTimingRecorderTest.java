@@ -0,0 +1,98 @@
+/*
+ * Copyright 2023 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.linecorp.bot.client;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.URI;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class CallTimingRecorderTest extends AbstractWiremockTest {
+    private static final String USER_ID = "U0123456789abcdef0123456789abcdef";
+
+    @BeforeEach
+    public void setUpStub() {
+        stubFor(get(urlEqualTo("/v2/bot/profile/" + USER_ID))
+                        .willReturn(aResponse()
+                                            .withHeader("Content-Type", "application/json")
+                                            .withBody("{\"userId\":\"" + USER_ID + "\"}")));
+    }
+
+    @Test
+    public void recordsPhasesAndConnectionReuse() throws Exception {
+        final List<CallTiming> timings = new CopyOnWriteArrayList<>();
+        final CallTimingRecorder recorder = CallTimingRecorder.builder().consumer(timings::add).build();
+        final LineMessagingClient client = createClient(recorder);
+
+        // Do
+        client.getProfile(USER_ID).get();
+        client.getProfile(USER_ID).get();
+
+        // Verify
+        assertThat(timings).hasSize(2);
+        final CallTiming first = timings.get(0);
+        assertThat(first.getEndpoint()).isEqualTo("getProfile");
+        assertThat(first.isConnectionReused()).isFalse();
+        assertThat(first.getConnect()).isPositive();
+        assertThat(first.getTls()).isZero();
+        assertThat(first.getTotal()).isGreaterThanOrEqualTo(first.getTimeToFirstByte());
+        assertThat(first.isFailed()).isFalse();
+        final CallTiming second = timings.get(1);
+        assertThat(second.isConnectionReused()).isTrue();
+        assertThat(second.getConnect()).isZero();
+        assertThat(recorder.getConnectionReuseRatio()).isEqualTo(0.5);
+    }
+
+    @Test
+    public void recordsToMicrometer() throws Exception {
+        final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        final CallTimingRecorder recorder =
+                CallTimingRecorder.builder()
+                                  .consumer(CallTimingMetrics.builder().registry(registry).build())
+                                  .build();
+
+        // Do
+        createClient(recorder).getProfile(USER_ID).get();
+
+        // Verify
+        assertThat(registry.get("line.bot.client.http.phase")
+                           .tags("endpoint", "getProfile", "phase", "connect")
+                           .timer()
+                           .count()).isOne();
+        assertThat(registry.get("line.bot.client.http.connections")
+                           .tags("endpoint", "getProfile", "reused", "false")
+                           .counter()
+                           .count()).isOne();
+    }
+
+    private LineMessagingClient createClient(CallTimingRecorder recorder) {
+        return LineMessagingClient.builder("token")
+                                  .apiEndPoint(URI.create(wireMockServer.baseUrl()))
+                                  .eventListenerFactory(recorder)
+                                  .build();
+    }
+}
@@ -0,0 +1,175 @@
+/*
+ * Copyright 2023 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package com.linecorp.bot.client;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.verify;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.net.URI;
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import com.linecorp.bot.client.CircuitBreaker.State;
+import com.linecorp.bot.client.exception.CircuitBreakerOpenException;
+import com.linecorp.bot.client.exception.LineServerException;
+import com.linecorp.bot.client.exception.RateLimitExceededException;
+
+@Timeout(5)
+public class CircuitBreakerTest extends AbstractWiremockTest {
+    @Test
+    public void openAndClose() throws Exception {
+        final CircuitBreaker target = EndpointCircuitBreakers.builder()
+                                                             .windowSize(4)
+                                                             .minimumCalls(4)
+                                                             .openDuration(Duration.ofMillis(100))
+                                                             .build()
+                                                             .circuitBreaker("pushMessage");
+
+        // Do
+        target.onSuccess();
+        target.onSuccess();
+        target.onFailure();
+        assertThat(target.getState()).isEqualTo(State.CLOSED);
+        target.onFailure();
+
+        // Verify
+        assertThat(target.getState()).isEqualTo(State.OPEN);
+        assertThat(target.tryAcquire()).isFalse();
+
+        // Do
+        Thread.sleep(150);
+
+        // Verify
+        assertThat(target.getState()).isEqualTo(State.HALF_OPEN);
+        assertThat(target.tryAcquire()).isTrue();
+        assertThat(target.tryAcquire()).isFalse();
+        target.onSuccess();
+        assertThat(target.getState()).isEqualTo(State.CLOSED);
+    }
+
+    @Test
+    public void reopenOnFailedTrial() throws Exception {
+        final CircuitBreaker target = EndpointCircuitBreakers.builder()
+                                                             .windowSize(2)
+                                                             .minimumCalls(2)
+                                                             .openDuration(Duration.ofMillis(100))
+                                                             .build()
+                                                             .circuitBreaker("pushMessage");
+        target.onFailure();
+        target.onFailure();
+        Thread.sleep(150);
+
+        // Do
+        assertThat(target.tryAcquire()).isTrue();
+        target.onFailure();
+
+        // Verify
+        assertThat(target.getState()).isEqualTo(State.OPEN);
+    }
+
+    @Test
+    public void ignoredTrialReturnsPermit() throws Exception {
+        final CircuitBreaker target = EndpointCircuitBreakers.builder()
+                                                             .windowSize(2)
+                                                             .minimumCalls(2)
+                                                             .openDuration(Duration.ofMillis(100))
+                                                             .build()
+                                                             .circuitBreaker("pushMessage");
+        target.onFailure();
+        target.onFailure();
+        Thread.sleep(150);
+        assertThat(target.tryAcquire()).isTrue();
+
+        // Do
+        target.onIgnore();
+
+        // Verify
+        assertThat(target.getState()).isEqualTo(State.HALF_OPEN);
+        assertThat(target.tryAcquire()).isTrue();
+        assertThat(target.tryAcquire()).isFalse();
+    }
+
+    @Test
+    public void rateLimitRejectionsDoNotOpen() throws Exception {
+        stubFor(get(urlEqualTo("/v2/bot/profile/TEST"))
+                        .willReturn(aResponse().withBody("{}")));
+        final EndpointCircuitBreakers circuitBreakers = EndpointCircuitBreakers.builder()
+                                                                               .windowSize(2)
+                                                                               .minimumCalls(2)
+                                                                               .build();
+        final LineMessagingClient client =
+                LineMessagingClient.builder("token")
+                                   .apiEndPoint(URI.create(wireMockServer.baseUrl()))
+                                   .rateLimits(EndpointRateLimits.builder()
+                                                                 .group(RateLimiter.create(0.001), "getProfile")
+                                                                 .mode(EndpointRateLimits.Mode.FAIL_FAST)
+                                                                 .build())
+                                   .circuitBreakers(circuitBreakers)
+                                   .build();
+        client.getProfile("TEST").get();
+
+        // Do
+        for (int i = 0; i < 3; i++) {
+            assertThatThrownBy(() -> client.getProfile("TEST").get())
+                    .hasCauseInstanceOf(RateLimitExceededException.class);
+        }
+
+        // Verify
+        assertThat(circuitBreakers.circuitBreaker("getProfile").getState()).isEqualTo(State.CLOSED);
+        verify(1, getRequestedFor(urlEqualTo("/v2/bot/profile/TEST")));
+    }
+
+    @Test
+    public void failFastOnlyForBrokenEndpoint() throws Exception {
+        stubFor(get(urlEqualTo("/v2/bot/profile/TEST"))
+                        .willReturn(aResponse().withStatus(500).withBody("{\"message\":\"error\"}")));
+        stubFor(get(urlEqualTo("/v2/bot/info"))
+                        .willReturn(aResponse().withBody("{}")));
+        final EndpointCircuitBreakers circuitBreakers = EndpointCircuitBreakers.builder()
+                                                                               .windowSize(2)
+                                                                               .minimumCalls(2)
+                                                                               .build();
+        final LineMessagingClient client = LineMessagingClient.builder("token")
+                                                              .apiEndPoint(URI.create(wireMockServer.baseUrl()))
+                                                              .circuitBreakers(circuitBreakers)
+                                                              .build();
+
+        // Do
+        for (int i = 0; i < 2; i++) {
+            assertThatThrownBy(() -> client.getProfile("TEST").get())
+                    .hasCauseInstanceOf(LineServerException.class);
+        }
+
+        // Verify
+        assertThatThrownBy(() -> client.getProfile("TEST").get())
+                .hasCauseInstanceOf(CircuitBreakerOpenException.class);
+        verify(2, getRequestedFor(urlEqualTo("/v2/bot/profile/TEST")));
+        assertThat(circuitBreakers.circuitBreaker("getProfile").getState()).isEqualTo(State.OPEN);
+
+        client.getBotInfo().get();
+        assertThat(circuitBreakers.circuitBreaker("getBotInfo").getState()).isEqualTo(State.CLOSED);
+    }
+}
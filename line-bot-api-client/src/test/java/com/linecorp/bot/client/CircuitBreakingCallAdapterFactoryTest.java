@@ -0,0 +1,108 @@
+/*
+ * Copyright 2023 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package com.linecorp.bot.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.linecorp.bot.client.CircuitBreaker.State;
+import com.linecorp.bot.client.exception.CircuitBreakerOpenException;
+
+import okhttp3.Request;
+import retrofit2.Call;
+import retrofit2.Callback;
+
+@ExtendWith(MockitoExtension.class)
+public class CircuitBreakingCallAdapterFactoryTest {
+    @Mock
+    private Call<String> call;
+
+    @Mock
+    private Callback<String> callback;
+
+    private EndpointCircuitBreakers circuitBreakers;
+    private CircuitBreaker circuitBreaker;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        circuitBreakers = EndpointCircuitBreakers.builder()
+                                                 .windowSize(2)
+                                                 .minimumCalls(2)
+                                                 .openDuration(Duration.ofMillis(10))
+                                                 .build();
+        when(call.request()).thenReturn(new Request.Builder().url("https://api.line.me/v2/bot/info").build());
+        circuitBreaker = circuitBreakers.circuitBreaker("/v2/bot/info");
+
+        // Half-open with one trial permit.
+        circuitBreaker.onFailure();
+        circuitBreaker.onFailure();
+        Thread.sleep(20);
+        assertThat(circuitBreaker.getState()).isEqualTo(State.HALF_OPEN);
+    }
+
+    @Test
+    public void runtimeExceptionOfExecuteReturnsPermit() throws Exception {
+        when(call.execute()).thenThrow(new IllegalStateException("Already executed."));
+
+        // Do
+        assertThatThrownBy(() -> new CircuitBreakingCallAdapterFactory(circuitBreakers).wrap(call).execute())
+                .isInstanceOf(IllegalStateException.class);
+
+        // Verify
+        assertThat(circuitBreaker.getState()).isEqualTo(State.HALF_OPEN);
+        assertThat(circuitBreaker.tryAcquire()).isTrue();
+    }
+
+    @Test
+    public void runtimeExceptionOfEnqueueReturnsPermit() {
+        doThrow(new IllegalStateException("Already executed.")).when(call).enqueue(any());
+
+        // Do
+        assertThatThrownBy(() -> new CircuitBreakingCallAdapterFactory(circuitBreakers).wrap(call)
+                                                                                      .enqueue(callback))
+                .isInstanceOf(IllegalStateException.class);
+
+        // Verify
+        assertThat(circuitBreaker.getState()).isEqualTo(State.HALF_OPEN);
+        assertThat(circuitBreaker.tryAcquire()).isTrue();
+    }
+
+    @Test
+    public void rejectWhileTrialIsInFlight() {
+        final CircuitBreakingCallAdapterFactory target = new CircuitBreakingCallAdapterFactory(circuitBreakers);
+
+        // Do
+        target.wrap(call).enqueue(callback);
+        target.wrap(call).enqueue(callback);
+
+        // Verify
+        verify(callback).onFailure(any(), any(CircuitBreakerOpenException.class));
+    }
+}
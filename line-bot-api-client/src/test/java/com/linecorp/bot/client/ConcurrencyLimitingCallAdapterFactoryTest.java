@@ -0,0 +1,62 @@
+/*
+ * Copyright 2023 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package com.linecorp.bot.client;
+
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import okhttp3.Protocol;
+import okhttp3.Request;
+import retrofit2.Call;
+import retrofit2.Response;
+
+@ExtendWith(MockitoExtension.class)
+public class ConcurrencyLimitingCallAdapterFactoryTest {
+    @Mock
+    private AdaptiveConcurrencyLimiter limiter;
+
+    @Mock
+    private Call<String> call;
+
+    @Test
+    public void latencyExcludesTimeBeforeSending() throws Exception {
+        final okhttp3.Response raw = new okhttp3.Response.Builder()
+                .request(new Request.Builder().url("https://api.line.me/v2/bot/info").build())
+                .protocol(Protocol.HTTP_1_1)
+                .code(200)
+                .message("OK")
+                .sentRequestAtMillis(1_000)
+                .receivedResponseAtMillis(1_250)
+                .build();
+        when(limiter.tryAcquire()).thenReturn(true);
+        when(call.execute()).thenReturn(Response.success("OK", raw));
+
+        // Do
+        new ConcurrencyLimitingCallAdapterFactory(limiter).wrap(call).execute();
+
+        // Verify
+        verify(limiter).onSuccess(TimeUnit.MILLISECONDS.toNanos(250));
+    }
+}
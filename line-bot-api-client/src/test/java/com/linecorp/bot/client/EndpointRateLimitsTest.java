@@ -0,0 +1,170 @@
+/*
+ * Copyright 2023 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package com.linecorp.bot.client;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.verify;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import com.linecorp.bot.client.exception.RateLimitExceededException;
+import com.linecorp.bot.model.profile.UserProfileResponse;
+
+import retrofit2.Retrofit;
+
+@Timeout(5)
+public class EndpointRateLimitsTest extends AbstractWiremockTest {
+    @Test
+    public void rateLimiterAllowsBurst() {
+        final RateLimiter limiter = RateLimiter.create(0.001, 3);
+
+        // Verify
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isFalse();
+    }
+
+    @Test
+    public void rateLimiterReservesFuturePermit() {
+        final RateLimiter limiter = RateLimiter.create(10);
+
+        // Do
+        final long first = limiter.reserve(0);
+        final long second = limiter.reserve(TimeUnit.SECONDS.toNanos(1));
+
+        // Verify
+        assertThat(first).isZero();
+        assertThat(second).isPositive().isLessThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(100));
+        assertThat(limiter.reserve(0)).isEqualTo(-1);
+    }
+
+    @Test
+    public void failFast() throws Exception {
+        stubFor(get(urlEqualTo("/v2/bot/profile/TEST"))
+                        .willReturn(aResponse().withBody("{}")));
+        final LineMessagingClient client =
+                newClient(EndpointRateLimits.builder()
+                                            .group(RateLimiter.create(0.001), "getProfile", "getMemberProfile")
+                                            .mode(EndpointRateLimits.Mode.FAIL_FAST)
+                                            .build());
+
+        // Do
+        client.getProfile("TEST").get();
+        final CompletableFuture<UserProfileResponse> rejected = client.getProfile("TEST");
+
+        // Verify
+        assertThatThrownBy(rejected::get).hasCauseInstanceOf(RateLimitExceededException.class);
+        verify(1, getRequestedFor(urlEqualTo("/v2/bot/profile/TEST")));
+    }
+
+    @Test
+    public void waitForPermit() throws Exception {
+        stubFor(get(urlEqualTo("/v2/bot/profile/TEST"))
+                        .willReturn(aResponse().withBody("{}")));
+        final LineMessagingClient client =
+                newClient(EndpointRateLimits.builder()
+                                            .limiter("getProfile", RateLimiter.create(5))
+                                            .maxWait(Duration.ofSeconds(1))
+                                            .build());
+
+        // Do
+        final long start = System.nanoTime();
+        client.getProfile("TEST").get();
+        client.getProfile("TEST").get();
+
+        // Verify
+        assertThat(System.nanoTime() - start).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(150));
+        verify(2, getRequestedFor(urlEqualTo("/v2/bot/profile/TEST")));
+    }
+
+    @Test
+    public void unlimitedEndpoint() throws Exception {
+        stubFor(get(urlEqualTo("/v2/bot/info"))
+                        .willReturn(aResponse().withBody("{}")));
+        final LineMessagingClient client =
+                newClient(EndpointRateLimits.builder()
+                                            .limiter("getProfile", RateLimiter.create(0.001))
+                                            .mode(EndpointRateLimits.Mode.FAIL_FAST)
+                                            .build());
+
+        // Do
+        client.getBotInfo().get();
+        client.getBotInfo().get();
+
+        // Verify
+        verify(2, getRequestedFor(urlEqualTo("/v2/bot/info")));
+    }
+
+    @Test
+    public void clientsSharingRetrofitBuilderKeepOwnRateLimits() throws Exception {
+        stubFor(get(urlEqualTo("/v2/bot/profile/TEST"))
+                        .willReturn(aResponse().withBody("{}")));
+        final Retrofit.Builder retrofitBuilder = LineMessagingClientBuilder.createDefaultRetrofitBuilder();
+        final LineMessagingClient first = newClient(retrofitBuilder, failFastProfileLimits());
+        final LineMessagingClient unlimited = newClient(retrofitBuilder, null);
+        final LineMessagingClient second = newClient(retrofitBuilder, failFastProfileLimits());
+
+        // Do
+        first.getProfile("TEST").get();
+        unlimited.getProfile("TEST").get();
+        unlimited.getProfile("TEST").get();
+        second.getProfile("TEST").get();
+
+        // Verify
+        assertThatThrownBy(() -> first.getProfile("TEST").get())
+                .hasCauseInstanceOf(RateLimitExceededException.class);
+        assertThatThrownBy(() -> second.getProfile("TEST").get())
+                .hasCauseInstanceOf(RateLimitExceededException.class);
+        verify(4, getRequestedFor(urlEqualTo("/v2/bot/profile/TEST")));
+    }
+
+    private static EndpointRateLimits failFastProfileLimits() {
+        return EndpointRateLimits.builder()
+                                 .group(RateLimiter.create(0.001), "getProfile")
+                                 .mode(EndpointRateLimits.Mode.FAIL_FAST)
+                                 .build();
+    }
+
+    private LineMessagingClient newClient(Retrofit.Builder retrofitBuilder, EndpointRateLimits rateLimits) {
+        return LineMessagingClient.builder("token")
+                                  .apiEndPoint(URI.create(wireMockServer.baseUrl()))
+                                  .retrofitBuilder(retrofitBuilder)
+                                  .rateLimits(rateLimits)
+                                  .build();
+    }
+
+    private LineMessagingClient newClient(EndpointRateLimits rateLimits) {
+        return LineMessagingClient.builder("token")
+                                  .apiEndPoint(URI.create(wireMockServer.baseUrl()))
+                                  .rateLimits(rateLimits)
+                                  .build();
+    }
+}
@@ -22,8 +22,11 @@ import static org.mockito.Mockito.when;
 
 import org.junit.jupiter.api.Test;
 
+import com.linecorp.bot.client.exception.ConflictException;
 import com.linecorp.bot.client.exception.GeneralLineMessagingException;
 import com.linecorp.bot.client.exception.LineMessagingException;
+import com.linecorp.bot.client.exception.LineServerException;
+import com.linecorp.bot.client.exception.TooManyRequestsException;
 import com.linecorp.bot.client.exception.UnauthorizedException;
 
 import okhttp3.MediaType;
@@ -96,4 +99,76 @@ public class ExceptionConverterTest {
         // Verify
         assertThat(result.getErrorResponse().getRequestId()).isEqualTo("5ac44e02-e6be-49c3-a55f-6b2a29bc3aa4");
     }
+
+    @Test
+    public void acceptedRequestIdOfConflictTest() {
+        final ResponseBody responseBody =
+                ResponseBody.create("{\"message\":\"The retry key is already accepted\"}",
+                        MediaType.parse("application/json"));
+        final okhttp3.Response rawResponse = new Builder()
+                .code(409)
+                .message("")
+                .request(new Request.Builder().get().url("https://api.line.me/v2/bot/message/push").build())
+                .addHeader("X-Line-Request-Id", "REQUEST_ID")
+                .addHeader("X-Line-Accepted-Request-Id", "ACCEPTED_REQUEST_ID")
+                .protocol(Protocol.HTTP_1_1)
+                .build();
+
+        // Do
+        final LineMessagingException result =
+                target.apply(Response.error(responseBody, rawResponse));
+
+        // Verify
+        assertThat(result).isInstanceOf(ConflictException.class);
+        assertThat(((ConflictException) result).getAcceptedRequestId()).isEqualTo("ACCEPTED_REQUEST_ID");
+        assertThat(result.getErrorResponse().getRequestId()).isEqualTo("REQUEST_ID");
+    }
+
+    @Test
+    public void errorResponseParsedOnAccessTest() {
+        final ResponseBody responseBody =
+                ResponseBody.create("{\"message\":\"The API rate limit has been exceeded.\"}",
+                        MediaType.parse("application/json"));
+
+        // Do
+        final LineMessagingException result =
+                target.apply(Response.error(429, responseBody));
+
+        // Verify
+        assertThat(result).isInstanceOf(TooManyRequestsException.class);
+        assertThat(result.getStackTrace()).isNotEmpty();
+        assertThat(result.getErrorResponse().getMessage()).isEqualTo("The API rate limit has been exceeded.");
+        assertThat(result.getMessage()).startsWith("The API rate limit has been exceeded. : ErrorResponse(");
+    }
+
+    @Test
+    public void stacklessExceptionTest() {
+        final ExceptionConverter stackless = new ExceptionConverter(true);
+
+        // Do
+        final LineMessagingException serverError =
+                stackless.apply(Response.error(500, ResponseBody.create("{}", null)));
+        final LineMessagingException badRequest =
+                stackless.apply(Response.error(400, ResponseBody.create("{}", null)));
+
+        // Verify
+        assertThat(serverError).isInstanceOf(LineServerException.class);
+        assertThat(serverError.getStackTrace()).isEmpty();
+        assertThat(badRequest.getStackTrace()).isNotEmpty();
+    }
+
+    @Test
+    public void unparsableErrorResponseTest() {
+        final ResponseBody responseBody =
+                ResponseBody.create("<html>Bad Gateway</html>", MediaType.parse("text/html"));
+
+        // Do
+        final LineMessagingException result =
+                target.apply(Response.error(502, responseBody));
+
+        // Verify
+        assertThat(result).isInstanceOf(GeneralLineMessagingException.class);
+        assertThat(result.getErrorResponse().getMessage()).isNull();
+        assertThat(result.getErrorResponse().getDetails()).isEmpty();
+    }
 }
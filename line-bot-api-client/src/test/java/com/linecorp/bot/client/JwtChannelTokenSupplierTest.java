@@ -0,0 +1,161 @@
+/*
+ * Copyright 2023 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package com.linecorp.bot.client;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigInteger;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.Signature;
+import java.security.interfaces.RSAPrivateCrtKey;
+import java.time.Duration;
+import java.util.Base64;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import com.linecorp.bot.model.oauth.IssueChannelAccessTokenResponse;
+
+@ExtendWith(MockitoExtension.class)
+@Timeout(5)
+public class JwtChannelTokenSupplierTest {
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static KeyPair keyPair;
+
+    @Mock
+    private LineOAuthClient oAuthClient;
+
+    @BeforeAll
+    public static void generateKey() throws Exception {
+        final KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        keyPair = generator.generateKeyPair();
+    }
+
+    @Test
+    public void issueTokenBySignedAssertion() throws Exception {
+        when(oAuthClient.issueChannelTokenByJWT(anyString()))
+                .thenReturn(completedFuture(response("TOKEN", 3600)));
+
+        // Do
+        final JwtChannelTokenSupplier target = newSupplier();
+
+        // Verify
+        assertThat(target.get()).isEqualTo("TOKEN");
+        final ArgumentCaptor<String> assertion = ArgumentCaptor.forClass(String.class);
+        verify(oAuthClient).issueChannelTokenByJWT(assertion.capture());
+
+        final String[] parts = assertion.getValue().split("\\.");
+        final JsonNode header = OBJECT_MAPPER.readTree(Base64.getUrlDecoder().decode(parts[0]));
+        final JsonNode claims = OBJECT_MAPPER.readTree(Base64.getUrlDecoder().decode(parts[1]));
+        assertThat(header.get("alg").asText()).isEqualTo("RS256");
+        assertThat(header.get("kid").asText()).isEqualTo("KEY_ID");
+        assertThat(claims.get("iss").asText()).isEqualTo("CHANNEL_ID");
+        assertThat(claims.get("sub").asText()).isEqualTo("CHANNEL_ID");
+        assertThat(claims.get("token_exp").asLong()).isEqualTo(Duration.ofDays(30).getSeconds());
+
+        final Signature signature = Signature.getInstance("SHA256withRSA");
+        signature.initVerify(keyPair.getPublic());
+        signature.update((parts[0] + '.' + parts[1]).getBytes(UTF_8));
+        assertThat(signature.verify(Base64.getUrlDecoder().decode(parts[2]))).isTrue();
+        target.close();
+    }
+
+    @Test
+    public void refreshInBackgroundAndRevokeSupersededToken() {
+        when(oAuthClient.issueChannelTokenByJWT(anyString()))
+                .thenReturn(completedFuture(response("FIRST", 1)),
+                            completedFuture(response("SECOND", 3600)));
+        when(oAuthClient.revokeChannelTokenByJWT("CHANNEL_ID", "SECRET", "FIRST"))
+                .thenReturn(completedFuture(null));
+
+        // Do
+        final JwtChannelTokenSupplier target = newSupplier();
+
+        // Verify
+        assertThat(target.get()).isEqualTo("FIRST");
+        verify(oAuthClient, timeout(2000)).revokeChannelTokenByJWT("CHANNEL_ID", "SECRET", "FIRST");
+        assertThat(target.get()).isEqualTo("SECOND");
+        target.close();
+    }
+
+    @Test
+    public void parseJwk() {
+        final RSAPrivateCrtKey key = (RSAPrivateCrtKey) keyPair.getPrivate();
+        final String jwk = "{\"kty\":\"RSA\",\"kid\":\"KEY_ID\""
+                           + ",\"n\":\"" + encode(key.getModulus()) + '"'
+                           + ",\"e\":\"" + encode(key.getPublicExponent()) + '"'
+                           + ",\"d\":\"" + encode(key.getPrivateExponent()) + '"'
+                           + ",\"p\":\"" + encode(key.getPrimeP()) + '"'
+                           + ",\"q\":\"" + encode(key.getPrimeQ()) + '"'
+                           + ",\"dp\":\"" + encode(key.getPrimeExponentP()) + '"'
+                           + ",\"dq\":\"" + encode(key.getPrimeExponentQ()) + '"'
+                           + ",\"qi\":\"" + encode(key.getCrtCoefficient()) + "\"}";
+
+        // Do
+        final AssertionSigningKey signingKey = AssertionSigningKey.fromJwk(jwk);
+
+        // Verify
+        assertThat(signingKey.getKeyId()).isEqualTo("KEY_ID");
+        assertThat(signingKey.getPrivateKey()).isEqualTo(key);
+    }
+
+    private JwtChannelTokenSupplier newSupplier() {
+        return JwtChannelTokenSupplier.builder()
+                                      .oAuthClient(oAuthClient)
+                                      .channelId("CHANNEL_ID")
+                                      .channelSecret("SECRET")
+                                      .signingKey(AssertionSigningKey.of("KEY_ID", keyPair.getPrivate()))
+                                      .refreshRatio(0.5)
+                                      .revocationDelay(Duration.ZERO)
+                                      .build();
+    }
+
+    private static IssueChannelAccessTokenResponse response(String token, int expiresInSecs) {
+        return IssueChannelAccessTokenResponse.builder()
+                                              .accessToken(token)
+                                              .expiresInSecs(expiresInSecs)
+                                              .keyId("TOKEN_KEY_ID")
+                                              .build();
+    }
+
+    private static String encode(BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        if (bytes[0] == 0 && bytes.length > 1) {
+            final byte[] unsigned = new byte[bytes.length - 1];
+            System.arraycopy(bytes, 1, unsigned, 0, unsigned.length);
+            bytes = unsigned;
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+}
@@ -16,31 +16,50 @@
 
 package com.linecorp.bot.client;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.Collections.emptyList;
 import static java.util.Collections.singletonMap;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.only;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
 
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.Timeout;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.stubbing.OngoingStubbing;
 
+import com.linecorp.bot.client.exception.GeneralLineMessagingException;
 import com.linecorp.bot.model.response.BotApiResponse;
 
 import okhttp3.Headers;
 import okhttp3.MediaType;
+import okhttp3.Protocol;
 import okhttp3.Request;
+import okhttp3.RequestBody;
 import okhttp3.ResponseBody;
+import okio.Buffer;
 import retrofit2.Call;
 import retrofit2.Callback;
 import retrofit2.Response;
@@ -58,9 +77,16 @@ public class LineBlobClientImplTest {
     @Mock
     private LineBlobService retrofitMock;
 
-    @InjectMocks
     private LineBlobClientImpl target;
 
+    @BeforeEach
+    public void setUp() {
+        target = new LineBlobClientImpl(retrofitMock);
+    }
+
+    @TempDir
+    Path tempDir;
+
     @Test
     public void getMessageContentTest() throws Exception {
         whenCall(retrofitMock.getMessageContent(any()),
@@ -75,6 +101,189 @@ public class LineBlobClientImplTest {
         assertThat(contentResponse.getMimeType()).isEqualTo("image/jpeg");
     }
 
+    @Test
+    public void getMessageContentToFileTest() throws Exception {
+        whenCall(retrofitMock.getMessageContent(eq("ID"), isNull()), videoBody("hello"));
+        final Path file = tempDir.resolve("content.mp4");
+        Files.write(file, "stale content".getBytes(UTF_8));
+
+        // Do
+        final ContentDownloadResult result = target.getMessageContent("ID", file).get();
+
+        // Verify
+        assertThat(file).hasContent("hello");
+        assertThat(result.getLength()).isEqualTo(5);
+        assertThat(result.getTransferredBytes()).isEqualTo(5);
+        assertThat(result.isResumed()).isFalse();
+        assertThat(result.getMimeType()).isEqualTo("video/mp4");
+    }
+
+    @Test
+    public void getMessageContentResumeTest() throws Exception {
+        when(retrofitMock.getMessageContent("ID", "bytes=3-"))
+                .thenReturn(enqueue(Response.success(videoBody("lo"), rawResponse(206, "bytes 3-4/5"))));
+        final Path file = tempDir.resolve("content.mp4");
+        Files.write(file, "hel".getBytes(UTF_8));
+
+        // Do
+        final ContentDownloadResult result = target.getMessageContent(
+                "ID", file, ContentDownloadOptions.builder().resume(true).fsync(true).build()).get();
+
+        // Verify
+        assertThat(file).hasContent("hello");
+        assertThat(result.getLength()).isEqualTo(5);
+        assertThat(result.getTransferredBytes()).isEqualTo(2);
+        assertThat(result.isResumed()).isTrue();
+    }
+
+    @Test
+    public void getMessageContentResumeCompletedFileTest() throws Exception {
+        when(retrofitMock.getMessageContent("ID", "bytes=5-"))
+                .thenReturn(enqueue(Response.error(ResponseBody.create(ZERO_BYTES, null),
+                                                   rawResponse(416, "bytes */5"))));
+        final Path file = tempDir.resolve("content.mp4");
+        Files.write(file, "hello".getBytes(UTF_8));
+
+        // Do
+        final ContentDownloadResult result = target.getMessageContent(
+                "ID", file, ContentDownloadOptions.builder().resume(true).build()).get();
+
+        // Verify
+        assertThat(file).hasContent("hello");
+        assertThat(result.getLength()).isEqualTo(5);
+        assertThat(result.getTransferredBytes()).isZero();
+    }
+
+    @Test
+    public void getMessageContentLengthMismatchTest() throws Exception {
+        whenCall(retrofitMock.getMessageContent(eq("ID"), isNull()),
+                 ResponseBody.create(new Buffer().writeUtf8("hel"), MediaType.get("video/mp4"), 5));
+
+        // Do
+        final CompletableFuture<ContentDownloadResult> future =
+                target.getMessageContent("ID", tempDir.resolve("content.mp4"));
+
+        // Verify
+        assertThatThrownBy(future::get)
+                .hasCauseInstanceOf(GeneralLineMessagingException.class)
+                .hasMessageContaining("Content length mismatch");
+    }
+
+    @Test
+    public void getMessageContentToChannelTest() throws Exception {
+        whenCall(retrofitMock.getMessageContent(any()), videoBody("hello"));
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Do
+        final ContentDownloadResult result = target.getMessageContent("ID", Channels.newChannel(out)).get();
+
+        // Verify
+        assertThat(out.toString(UTF_8)).isEqualTo("hello");
+        assertThat(result.getLength()).isEqualTo(5);
+    }
+
+    @Test
+    public void getMessageContentToChannelBeyondEndTest() throws Exception {
+        whenCall(retrofitMock.getMessageContent(any()), videoBody("hello"));
+        final Path file = tempDir.resolve("content.mp4");
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                                                    StandardOpenOption.WRITE)) {
+            channel.position(10);
+
+            // Do, Verify
+            assertThatThrownBy(() -> target.getMessageContent("ID", channel).get())
+                    .hasCauseInstanceOf(GeneralLineMessagingException.class)
+                    .hasMessageContaining("beyond the end of the file");
+        }
+    }
+
+    @Test
+    public void getMessageContentBufferOnHeapTest() throws Exception {
+        whenCall(retrofitMock.getMessageContent(any()), videoBody("hello"));
+
+        // Do
+        final MessageContentBuffer content = target.getMessageContentBuffer("ID").get();
+
+        // Verify
+        assertThat(content.getLength()).isEqualTo(5);
+        assertThat(content.getMimeType()).isEqualTo("video/mp4");
+        assertThat(content.buffer().isDirect()).isFalse();
+        assertThat(UTF_8.decode(content.slice(1, 3)).toString()).isEqualTo("ell");
+        content.close();
+        assertThatThrownBy(content::buffer).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    public void getMessageContentBufferInPooledBufferTest() throws Exception {
+        whenCall(retrofitMock.getMessageContent(any()), videoBody("hello"));
+        final DirectBufferPool pool = DirectBufferPool.builder().bufferSize(8).build();
+        final ContentBufferOptions options = ContentBufferOptions.builder()
+                                                                 .heapThreshold(0)
+                                                                 .directBufferPool(pool)
+                                                                 .build();
+
+        // Do
+        final MessageContentBuffer content = target.getMessageContentBuffer("ID", options).get();
+
+        // Verify
+        assertThat(content.buffer().isDirect()).isTrue();
+        assertThat(UTF_8.decode(content.buffer()).toString()).isEqualTo("hello");
+        content.retain();
+        content.close();
+        assertThat(pool.pooledCount()).isZero();
+        content.close();
+        assertThat(pool.pooledCount()).isOne();
+        content.close();
+        assertThat(pool.pooledCount()).isOne();
+        assertThatThrownBy(content::retain).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    public void getMessageContentBufferInMappedFileTest() throws Exception {
+        final Buffer source = new Buffer().writeUtf8("hello");
+        whenCall(retrofitMock.getMessageContent(any()),
+                 ResponseBody.create(source, MediaType.get("video/mp4"), -1));
+        final ContentBufferOptions options = ContentBufferOptions.builder()
+                                                                 .spoolDirectory(tempDir)
+                                                                 .build();
+
+        // Do
+        final MessageContentBuffer content = target.getMessageContentBuffer("ID", options).get();
+
+        // Verify
+        assertThat(content.getLength()).isEqualTo(5);
+        assertThat(UTF_8.decode(content.slice(3, 2)).toString()).isEqualTo("lo");
+        try (Stream<Path> files = Files.list(tempDir)) {
+            assertThat(files).hasSize(1);
+        }
+        content.close();
+        try (Stream<Path> files = Files.list(tempDir)) {
+            assertThat(files).isEmpty();
+        }
+    }
+
+    @Test
+    public void getMessageContentBufferTruncatedTest() throws Exception {
+        final Buffer source = new Buffer().writeUtf8("hel");
+        whenCall(retrofitMock.getMessageContent(any()),
+                 ResponseBody.create(source, MediaType.get("video/mp4"), 5));
+        final DirectBufferPool pool = DirectBufferPool.builder().bufferSize(8).build();
+        final ContentBufferOptions options = ContentBufferOptions.builder()
+                                                                 .heapThreshold(0)
+                                                                 .directBufferPool(pool)
+                                                                 .build();
+
+        // Do
+        final CompletableFuture<MessageContentBuffer> future = target.getMessageContentBuffer("ID", options);
+
+        // Verify
+        assertThatThrownBy(future::get)
+                .hasCauseInstanceOf(GeneralLineMessagingException.class)
+                .hasMessageContaining("Content length mismatch");
+        assertThat(pool.pooledCount()).isOne();
+    }
+
     @Test
     public void getRichMenuImageTest() throws Exception {
         whenCall(retrofitMock.getRichMenuImage(any()),
@@ -104,14 +313,89 @@ public class LineBlobClientImplTest {
 
     }
 
+    @Test
+    public void uploadRichMenuImageFromFileTest() throws Exception {
+        final ArgumentCaptor<RequestBody> body = ArgumentCaptor.forClass(RequestBody.class);
+        whenCall(retrofitMock.uploadRichMenuImage(eq("ID"), body.capture()), null);
+        final Path image = tempDir.resolve("image.png");
+        Files.write(image, "png image".getBytes(UTF_8));
+
+        // Do
+        final BotApiResponse botApiResponse = target.setRichMenuImage("ID", "image/png", image).get();
+
+        // Verify
+        assertThat(botApiResponse).isEqualTo(BOT_API_SUCCESS_RESPONSE);
+        assertThat(body.getValue().contentLength()).isEqualTo(9);
+        assertThat(body.getValue().contentType()).isEqualTo(MediaType.get("image/png"));
+        // Repeatable to be retried.
+        assertThat(readUtf8(body.getValue())).isEqualTo("png image");
+        assertThat(readUtf8(body.getValue())).isEqualTo("png image");
+    }
+
+    @Test
+    public void uploadRichMenuImageFromByteBufferTest() throws Exception {
+        final ArgumentCaptor<RequestBody> body = ArgumentCaptor.forClass(RequestBody.class);
+        whenCall(retrofitMock.uploadRichMenuImage(eq("ID"), body.capture()), null);
+        final ByteBuffer buffer = ByteBuffer.allocateDirect(16);
+        buffer.put("xxjpeg".getBytes(UTF_8)).flip().position(2);
+
+        // Do
+        target.setRichMenuImage("ID", "image/jpeg", buffer).get();
+
+        // Verify
+        assertThat(buffer.position()).isEqualTo(2);
+        assertThat(body.getValue().contentLength()).isEqualTo(4);
+        assertThat(readUtf8(body.getValue())).isEqualTo("jpeg");
+    }
+
+    @Test
+    public void uploadRichMenuImageFromInputStreamTest() throws Exception {
+        final ArgumentCaptor<RequestBody> body = ArgumentCaptor.forClass(RequestBody.class);
+        whenCall(retrofitMock.uploadRichMenuImage(eq("ID"), body.capture()), null);
+        final ByteArrayInputStream stream = new ByteArrayInputStream("jpeg".getBytes(UTF_8));
+
+        // Do
+        target.setRichMenuImage("ID", "image/jpeg", stream, 4).get();
+
+        // Verify
+        assertThat(body.getValue().isOneShot()).isTrue();
+        assertThat(body.getValue().contentLength()).isEqualTo(4);
+        assertThat(readUtf8(body.getValue())).isEqualTo("jpeg");
+    }
+
     // Utility methods
 
+    private static String readUtf8(RequestBody body) throws IOException {
+        final Buffer buffer = new Buffer();
+        body.writeTo(buffer);
+        return buffer.readUtf8();
+    }
+
     private static <T> void whenCall(Call<T> call, T value) {
         final OngoingStubbing<Call<T>> callOngoingStubbing = when(call);
         callOngoingStubbing.thenReturn(enqueue(value));
     }
 
+    private static ResponseBody videoBody(String content) {
+        return ResponseBody.create(content, MediaType.get("video/mp4"));
+    }
+
+    private static okhttp3.Response rawResponse(int code, String contentRange) {
+        return new okhttp3.Response.Builder()
+                .request(new Request.Builder().url("https://api-data.line.me/").build())
+                .protocol(Protocol.HTTP_1_1)
+                .code(code)
+                .message("")
+                .header("Content-Range", contentRange)
+                .build();
+    }
+
     private static <T> Call<T> enqueue(T value) {
+        final Headers headers = Headers.of(singletonMap("x-line-request-id", REQUEST_ID_FIXTURE));
+        return enqueue(Response.success(value, headers));
+    }
+
+    private static <T> Call<T> enqueue(Response<T> response) {
         return new Call<T>() {
             @Override
             public Response<T> execute() throws IOException {
@@ -120,8 +404,7 @@ public class LineBlobClientImplTest {
 
             @Override
             public void enqueue(Callback<T> callback) {
-                final Headers headers = Headers.of(singletonMap("x-line-request-id", REQUEST_ID_FIXTURE));
-                callback.onResponse(this, Response.success(value, headers));
+                callback.onResponse(this, response);
             }
 
             @Override
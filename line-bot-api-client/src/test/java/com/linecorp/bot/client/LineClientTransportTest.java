@@ -0,0 +1,96 @@
+/*
+ * Copyright 2023 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package com.linecorp.bot.client;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.URI;
+
+import org.junit.jupiter.api.Test;
+
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+
+public class LineClientTransportTest extends AbstractWiremockTest {
+    @Test
+    public void builderSettings() {
+        final LineClientTransport transport = LineClientTransport.builder()
+                                                                 .maxRequests(128)
+                                                                 .maxRequestsPerHost(32)
+                                                                 .http2(false)
+                                                                 .build();
+
+        // Verify
+        assertThat(transport.dispatcher().getMaxRequests()).isEqualTo(128);
+        assertThat(transport.dispatcher().getMaxRequestsPerHost()).isEqualTo(32);
+        assertThat(transport.newOkHttpClientBuilder().build().protocols())
+                .containsExactly(Protocol.HTTP_1_1);
+    }
+
+    @Test
+    public void defaultLimitsAreSharedByAllClients() {
+        final LineClientTransport transport = LineClientTransport.builder().build();
+
+        // Verify
+        assertThat(transport.dispatcher().getMaxRequestsPerHost())
+                .isEqualTo(transport.dispatcher().getMaxRequests())
+                .isEqualTo(LineClientConstants.DEFAULT_MAX_REQUESTS);
+    }
+
+    @Test
+    public void clientsShareConnectionPoolAndDispatcher() {
+        final LineClientTransport transport = LineClientTransport.builder().build();
+
+        // Do
+        final OkHttpClient first = transport.newOkHttpClientBuilder().build();
+        final OkHttpClient second = transport.newOkHttpClientBuilder().build();
+
+        // Verify
+        assertThat(first.connectionPool()).isSameAs(transport.connectionPool());
+        assertThat(second.connectionPool()).isSameAs(transport.connectionPool());
+        assertThat(first.dispatcher()).isSameAs(second.dispatcher());
+    }
+
+    @Test
+    public void clientsReuseConnections() throws Exception {
+        stubFor(get(urlEqualTo("/v2/bot/profile/TEST"))
+                        .willReturn(aResponse().withBody("{}")));
+        final LineClientTransport transport = LineClientTransport.builder().build();
+        final LineMessagingClient messagingClient =
+                LineMessagingClient.builder("token")
+                                   .apiEndPoint(URI.create(wireMockServer.baseUrl()))
+                                   .transport(transport)
+                                   .build();
+        final LineMessagingClient anotherClient =
+                LineMessagingClient.builder("token")
+                                   .apiEndPoint(URI.create(wireMockServer.baseUrl()))
+                                   .transport(transport)
+                                   .build();
+
+        // Do
+        messagingClient.getProfile("TEST").get();
+        anotherClient.getProfile("TEST").get();
+
+        // Verify
+        assertThat(transport.connectionPool().connectionCount()).isEqualTo(1);
+    }
+}
@@ -23,15 +23,22 @@ import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
 import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
 import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
 import static com.github.tomakehurst.wiremock.client.WireMock.verify;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.catchThrowable;
 
 import java.net.URI;
+import java.util.Collections;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import com.linecorp.bot.client.exception.BadRequestException;
+import com.linecorp.bot.client.exception.LineServerException;
+
 @ExtendWith(MockitoExtension.class)
 public class LineMessagingClientBuilderTest extends AbstractWiremockTest {
     @Test
@@ -70,6 +77,53 @@ public class LineMessagingClientBuilderTest extends AbstractWiremockTest {
                        .withHeader("Authorization", equalTo("Bearer MOCKED_TOKEN")));
     }
 
+    @Test
+    public void interceptorsAppliedOnceForEachBuild() throws Exception {
+        stubFor(get(urlEqualTo("/v2/bot/profile/TEST"))
+                        .willReturn(aResponse().withBody("{}")));
+        final AtomicInteger interceptions = new AtomicInteger();
+        final LineMessagingClientBuilder builder =
+                LineMessagingClient.builder("MOCKED_TOKEN")
+                                   .apiEndPoint(URI.create(wireMockServer.baseUrl()))
+                                   .additionalInterceptors(Collections.singletonList(chain -> {
+                                       interceptions.incrementAndGet();
+                                       return chain.proceed(chain.request());
+                                   }));
+        builder.build();
+        lineMessagingClient = builder.build();
+
+        // Do
+        lineMessagingClient.getProfile("TEST").get();
+
+        // Verify
+        assertThat(interceptions).hasValue(1);
+    }
+
+    @Test
+    public void stacklessExceptions() {
+        stubFor(get(urlEqualTo("/v2/bot/profile/TEST"))
+                        .willReturn(aResponse().withStatus(500).withBody("{}")));
+        stubFor(get(urlEqualTo("/v2/bot/profile/BAD"))
+                        .willReturn(aResponse().withStatus(400).withBody("{}")));
+
+        lineMessagingClient = LineMessagingClient.builder("MOCKED_TOKEN")
+                                                 .apiEndPoint(URI.create(wireMockServer.baseUrl()))
+                                                 .stacklessExceptions(true)
+                                                 .build();
+
+        // Do
+        final Throwable serverError =
+                catchThrowable(() -> lineMessagingClient.getProfile("TEST").get()).getCause();
+        final Throwable badRequest =
+                catchThrowable(() -> lineMessagingClient.getProfile("BAD").get()).getCause();
+
+        // Verify
+        assertThat(serverError).isInstanceOf(LineServerException.class);
+        assertThat(serverError.getStackTrace()).isEmpty();
+        assertThat(badRequest).isInstanceOf(BadRequestException.class);
+        assertThat(badRequest.getStackTrace()).isNotEmpty();
+    }
+
     @Test
     public void testBuildWithoutChannelToken() {
         assertThatThrownBy(() -> {
@@ -33,10 +33,10 @@ import java.net.URI;
 import java.time.Instant;
 import java.util.Collections;
 
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.Timeout;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.stubbing.OngoingStubbing;
@@ -112,9 +112,13 @@ public class LineMessagingClientImplTest {
     @Mock
     private LineMessagingService retrofitMock;
 
-    @InjectMocks
     private LineMessagingClientImpl target;
 
+    @BeforeEach
+    public void setUp() {
+        target = new LineMessagingClientImpl(retrofitMock, null);
+    }
+
     @Test
     public void replyMessageTest() throws Exception {
         whenCall(retrofitMock.replyMessage(any()),
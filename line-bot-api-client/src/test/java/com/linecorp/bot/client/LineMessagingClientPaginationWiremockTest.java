@@ -0,0 +1,110 @@
+/*
+ * Copyright 2023 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package com.linecorp.bot.client;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import com.linecorp.bot.client.exception.NotFoundException;
+import com.linecorp.bot.model.profile.UserProfileResponse;
+
+public class LineMessagingClientPaginationWiremockTest extends AbstractWiremockTest {
+    @Test
+    @Timeout(ASYNC_TEST_TIMEOUT)
+    public void getAllGroupMemberIds() {
+        stubFor(get(urlEqualTo("/v2/bot/group/GROUP_ID/members/ids"))
+                        .willReturn(aResponse().withStatus(200)
+                                               .withBody("{\"memberIds\":[\"U1\",\"U2\"],\"next\":\"NEXT\"}")));
+        stubFor(get(urlEqualTo("/v2/bot/group/GROUP_ID/members/ids?start=NEXT"))
+                        .willReturn(aResponse().withStatus(200)
+                                               .withBody("{\"memberIds\":[\"U3\"]}")));
+
+        // Do
+        final List<String> actual;
+        try (Stream<String> memberIds = lineMessagingClient.getAllGroupMemberIds("GROUP_ID").stream()) {
+            actual = memberIds.collect(Collectors.toList());
+        }
+
+        // Verify
+        assertThat(actual).containsExactly("U1", "U2", "U3");
+    }
+
+    @Test
+    @Timeout(ASYNC_TEST_TIMEOUT)
+    public void getAllGroupMemberProfiles() throws Exception {
+        stubFor(get(urlEqualTo("/v2/bot/group/GROUP_ID/members/ids"))
+                        .willReturn(aResponse().withStatus(200)
+                                               .withBody("{\"memberIds\":[\"U1\",\"U2\"],\"next\":\"NEXT\"}")));
+        stubFor(get(urlEqualTo("/v2/bot/group/GROUP_ID/members/ids?start=NEXT"))
+                        .willReturn(aResponse().withStatus(200)
+                                               .withBody("{\"memberIds\":[\"U3\"]}")));
+        for (String userId : asList("U1", "U3")) {
+            stubFor(get(urlEqualTo("/v2/bot/group/GROUP_ID/member/" + userId))
+                            .willReturn(aResponse().withStatus(200)
+                                                   .withBody("{\"userId\":\"" + userId + "\","
+                                                             + "\"displayName\":\"name\"}")));
+        }
+        stubFor(get(urlEqualTo("/v2/bot/group/GROUP_ID/member/U2"))
+                        .willReturn(aResponse().withStatus(404).withBody("{\"message\":\"Not found\"}")));
+        final List<UserProfileResponse> profiles = new CopyOnWriteArrayList<>();
+
+        // Do
+        final BulkProfileResult result =
+                lineMessagingClient.getAllGroupMemberProfiles("GROUP_ID", profiles::add, BulkOptions.DEFAULT)
+                                   .get();
+
+        // Verify
+        assertThat(profiles).extracting(UserProfileResponse::getUserId).containsExactlyInAnyOrder("U1", "U3");
+        assertThat(result.getSucceededCount()).isEqualTo(2);
+        assertThat(result.getFailures()).containsOnlyKeys("U2");
+        assertThat(result.getFailures().get("U2")).isInstanceOf(NotFoundException.class);
+    }
+
+    @Test
+    @Timeout(ASYNC_TEST_TIMEOUT)
+    public void getAllAggregationUnitNames() {
+        stubFor(get(urlEqualTo("/v2/bot/message/aggregation/list?limit=100"))
+                        .willReturn(aResponse().withStatus(200)
+                                               .withBody("{\"customAggregationUnits\":[\"unit1\"],"
+                                                         + "\"next\":\"NEXT\"}")));
+        stubFor(get(urlEqualTo("/v2/bot/message/aggregation/list?limit=100&start=NEXT"))
+                        .willReturn(aResponse().withStatus(200)
+                                               .withBody("{\"customAggregationUnits\":[\"unit2\"]}")));
+
+        // Do
+        final List<String> actual;
+        try (Stream<String> names = lineMessagingClient.getAllAggregationUnitNames().stream()) {
+            actual = names.collect(Collectors.toList());
+        }
+
+        // Verify
+        assertThat(actual).containsExactly("unit1", "unit2");
+    }
+}
@@ -105,6 +105,27 @@ public class LineOAuthClientTest {
         assertThat(actualResponse).isEqualTo(ISSUE_TOKEN_RESPONSE);
     }
 
+    @Test
+    public void issueStatelessToken() throws Exception {
+        stubFor(post(urlEqualTo("/oauth2/v3/token")).willReturn(
+                aResponse()
+                        .withStatus(200)
+                        .withBody(ISSUE_TOKEN_RESPONSE_JSON)
+        ));
+
+        // Do
+        final IssueChannelAccessTokenResponse actualResponse =
+                target.issueStatelessChannelToken("clientId", "clientSecret").join();
+
+        // Verify
+        verify(postRequestedFor(
+                urlEqualTo("/oauth2/v3/token")
+        ).withRequestBody(
+                WireMock.equalTo(
+                        "grant_type=client_credentials&client_id=clientId&client_secret=clientSecret")));
+        assertThat(actualResponse).isEqualTo(ISSUE_TOKEN_RESPONSE);
+    }
+
     @Test
     public void issueTokenError() throws Exception {
         stubFor(post(urlEqualTo("/v2/oauth/accessToken")).willReturn(
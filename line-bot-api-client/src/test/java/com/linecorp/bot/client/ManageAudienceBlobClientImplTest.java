@@ -23,9 +23,16 @@ import static org.mockito.Mockito.only;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
 
 import org.assertj.core.util.Files;
 import org.junit.jupiter.api.Test;
@@ -40,7 +47,9 @@ import com.linecorp.bot.model.manageaudience.response.CreateAudienceForUploading
 import com.linecorp.bot.model.response.BotApiResponse;
 
 import okhttp3.Headers;
+import okhttp3.MultipartBody;
 import okhttp3.Request;
+import okio.Buffer;
 import retrofit2.Call;
 import retrofit2.Callback;
 import retrofit2.Response;
@@ -96,8 +105,65 @@ public class ManageAudienceBlobClientImplTest {
         assertThat(actual).isEqualTo(new BotApiResponse(null, "", Arrays.asList()));
     }
 
+    @Test
+    public void createAudienceFromStreamInChunks() throws Exception {
+        final List<String> uploads = new ArrayList<>();
+        when(retrofitMock.createAudienceForUploadingUserIds(any())).thenAnswer(invocation -> {
+            uploads.add(readBody(invocation.getArgument(0)));
+            return enqueue(CreateAudienceForUploadingResponse.builder().audienceGroupId(5963L).build());
+        });
+        when(retrofitMock.addUserIdsToAudience(any())).thenAnswer(invocation -> {
+            uploads.add(readBody(invocation.getArgument(0)));
+            return new VoidCall();
+        });
+        final Iterator<String> ids = Stream.of(userId(1), userId(2), userId(1), "INVALID", " ", userId(3),
+                                               userId(4), userId(5)).iterator();
+
+        // Do
+        final AudienceUploadResult actual =
+                target.createAudienceForUploadingUserIds("Hello", false, "UPLOAD!", ids, 2).get();
+
+        // Verify
+        assertThat(actual).isEqualTo(new AudienceUploadResult(5963L, 3, 5, 1, 1));
+        assertThat(uploads).hasSize(3);
+        assertThat(uploads.get(0)).contains(userId(1) + "\n" + userId(2) + "\n")
+                                  .contains("name=\"description\"");
+        assertThat(uploads.get(1)).contains(userId(3) + "\n" + userId(4) + "\n")
+                                  .contains("name=\"audienceGroupId\"");
+        assertThat(uploads.get(2)).contains(userId(5) + "\n");
+    }
+
+    @Test
+    public void addIfasFromInputStream() throws Exception {
+        final List<String> uploads = new ArrayList<>();
+        when(retrofitMock.addUserIdsToAudience(any())).thenAnswer(invocation -> {
+            uploads.add(readBody(invocation.getArgument(0)));
+            return new VoidCall();
+        });
+        final String ifa = "0A1B2C3D-4E5F-6789-ABCD-EF0123456789";
+        final InputStream ids = new ByteArrayInputStream(
+                (ifa + "\n" + ifa.toLowerCase() + "\n" + userId(1) + "\n").getBytes(StandardCharsets.UTF_8));
+
+        // Do
+        final AudienceUploadResult actual = target.addUserIdsToAudience(5963L, "UPLOAD!", true, ids).get();
+
+        // Verify
+        assertThat(actual).isEqualTo(new AudienceUploadResult(5963L, 1, 1, 1, 1));
+        assertThat(uploads).singleElement().asString().contains(ifa + "\n");
+    }
+
     // Utility methods
 
+    private static String userId(int i) {
+        return String.format("U%032x", i);
+    }
+
+    private static String readBody(MultipartBody body) throws IOException {
+        final Buffer buffer = new Buffer();
+        body.writeTo(buffer);
+        return buffer.readUtf8();
+    }
+
     private static <T> void whenCall(Call<T> call, T value) {
         final OngoingStubbing<Call<T>> callOngoingStubbing = when(call);
         callOngoingStubbing.thenReturn(enqueue(value));
@@ -27,21 +27,31 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.IntStream;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.Timeout;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.stubbing.OngoingStubbing;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
 import com.linecorp.bot.model.manageaudience.AudienceGroup;
 import com.linecorp.bot.model.manageaudience.AudienceGroupAuthorityLevel;
 import com.linecorp.bot.model.manageaudience.AudienceGroupCreateRoute;
 import com.linecorp.bot.model.manageaudience.AudienceGroupPermission;
 import com.linecorp.bot.model.manageaudience.AudienceGroupStatus;
 import com.linecorp.bot.model.manageaudience.AudienceGroupType;
+import com.linecorp.bot.model.manageaudience.request.AddAudienceToAudienceGroupRequest;
 import com.linecorp.bot.model.manageaudience.request.Audience;
 import com.linecorp.bot.model.manageaudience.request.CreateAudienceGroupRequest;
 import com.linecorp.bot.model.manageaudience.request.CreateClickBasedAudienceGroupRequest;
@@ -54,11 +64,14 @@ import com.linecorp.bot.model.manageaudience.response.CreateImpBasedAudienceGrou
 import com.linecorp.bot.model.manageaudience.response.GetAudienceDataResponse;
 import com.linecorp.bot.model.manageaudience.response.GetAudienceGroupAuthorityLevelResponse;
 import com.linecorp.bot.model.manageaudience.response.GetAudienceGroupsResponse;
+import com.linecorp.bot.model.objectmapper.ModelObjectMapper;
 import com.linecorp.bot.model.response.BotApiResponse;
 import com.linecorp.bot.model.richmenu.RichMenuIdResponse;
 
 import okhttp3.Headers;
 import okhttp3.Request;
+import okhttp3.RequestBody;
+import okio.Buffer;
 import retrofit2.Call;
 import retrofit2.Callback;
 import retrofit2.Response;
@@ -72,6 +85,7 @@ public class ManageAudienceClientImplTest {
     private static final BotApiResponse BOT_API_SUCCESS_RESPONSE =
             BOT_API_SUCCESS_RESPONSE_BODY.withRequestId(REQUEST_ID_FIXTURE);
     private static final RichMenuIdResponse RICH_MENU_ID_RESPONSE = new RichMenuIdResponse("ID");
+    private static final ObjectMapper OBJECT_MAPPER = ModelObjectMapper.createNewObjectMapper();
 
     @Mock
     private ManageAudienceService retrofitMock;
@@ -222,6 +236,55 @@ public class ManageAudienceClientImplTest {
         assertThat(actual).isEqualTo(BOT_API_SUCCESS_RESPONSE);
     }
 
+    @Test
+    public void addAudienceToAudienceGroupInChunks() throws Exception {
+        final ArgumentCaptor<RequestBody> bodies = ArgumentCaptor.forClass(RequestBody.class);
+        whenCall(retrofitMock.addAudienceToAudienceGroup(bodies.capture()), null);
+        final Iterator<String> ids = IntStream.range(0, ManageAudienceClientImpl.MAX_AUDIENCES_PER_REQUEST + 1)
+                                              .mapToObj(i -> "U" + i)
+                                              .iterator();
+
+        // Do
+        final BulkResult result = target.addAudienceToAudienceGroup(4649L, "desc", ids, BulkOptions.DEFAULT)
+                                        .get();
+
+        // Verify
+        assertThat(result.isAllSucceeded()).isTrue();
+        assertThat(result.getChunkCount()).isEqualTo(2);
+        assertThat(result.getSucceededUserCount())
+                .isEqualTo(ManageAudienceClientImpl.MAX_AUDIENCES_PER_REQUEST + 1);
+        final List<JsonNode> sent = new ArrayList<>();
+        for (RequestBody body : bodies.getAllValues()) {
+            final Buffer buffer = new Buffer();
+            body.writeTo(buffer);
+            sent.add(OBJECT_MAPPER.readTree(buffer.readUtf8()));
+        }
+        assertThat(sent).extracting(json -> json.get("audiences").size())
+                        .containsExactlyInAnyOrder(ManageAudienceClientImpl.MAX_AUDIENCES_PER_REQUEST, 1);
+        assertThat(sent).allSatisfy(json -> assertThat(json.get("audienceGroupId").asLong()).isEqualTo(4649L));
+    }
+
+    @Test
+    public void addAudienceRequestBodyMatchesRequestModel() throws Exception {
+        final List<String> ids = Arrays.asList("U1", "quote\"and\\backslash");
+        final AddAudienceToAudienceGroupRequest request = AddAudienceToAudienceGroupRequest
+                .builder()
+                .audienceGroupId(4649L)
+                .uploadDescription("hello")
+                .audiences(Arrays.asList(new Audience(ids.get(0)), new Audience(ids.get(1))))
+                .build();
+
+        // Do
+        final RequestBody body = ManageAudienceClientImpl.addAudienceRequestBody(4649L, "hello", ids);
+
+        // Verify
+        final Buffer buffer = new Buffer();
+        body.writeTo(buffer);
+        assertThat(body.contentType().subtype()).isEqualTo("json");
+        assertThat(OBJECT_MAPPER.readTree(buffer.readUtf8()))
+                .isEqualTo(OBJECT_MAPPER.valueToTree(request));
+    }
+
     // Utility methods
 
     private static <T> void whenCall(Call<T> call, T value) {
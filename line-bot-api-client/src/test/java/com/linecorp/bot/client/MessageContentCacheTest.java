@@ -0,0 +1,179 @@
+/*
+ * Copyright 2023 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.linecorp.bot.client;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.linecorp.bot.client.MessageContentCache.EvictionPolicy;
+
+@Timeout(5)
+public class MessageContentCacheTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void evictLeastRecentlyUsed() throws Exception {
+        final MessageContentCache target = MessageContentCache.builder()
+                                                              .directory(tempDir)
+                                                              .maxBytes(10)
+                                                              .build();
+        final CachedMessageContent first = put(target, "1", "1111");
+        final CachedMessageContent second = put(target, "2", "2222");
+
+        // Do
+        target.get("1");
+        put(target, "3", "3333");
+
+        // Verify
+        assertThat(target.get("2")).isNull();
+        assertThat(second.getPath()).doesNotExist();
+        assertThat(target.get("1")).isEqualTo(first);
+        assertThat(first.getPath()).hasContent("1111");
+        assertThat(target.totalBytes()).isEqualTo(8);
+    }
+
+    @Test
+    public void deleteLeftoversOfEarlierProcess() throws Exception {
+        final Path content = Files.writeString(tempDir.resolve("0123456789abcdef".repeat(4)), "content");
+        final Path download = Files.writeString(tempDir.resolve("download-123.part"), "partial");
+        final Path other = Files.writeString(tempDir.resolve("other.txt"), "other");
+
+        // Do
+        final MessageContentCache target = MessageContentCache.builder().directory(tempDir).build();
+
+        // Verify
+        assertThat(content).doesNotExist();
+        assertThat(download).doesNotExist();
+        assertThat(other).hasContent("other");
+        assertThat(target.totalBytes()).isZero();
+    }
+
+    @Test
+    public void keepLatestEntryLargerThanLimit() throws Exception {
+        final MessageContentCache target = MessageContentCache.builder()
+                                                              .directory(tempDir)
+                                                              .maxBytes(2)
+                                                              .build();
+
+        // Do
+        put(target, "1", "1111");
+
+        // Verify
+        assertThat(target.get("1")).isNotNull();
+        assertThat(target.remove("1")).isTrue();
+        assertThat(target.totalBytes()).isZero();
+    }
+
+    @Test
+    public void deduplicateSameContent() throws Exception {
+        final MessageContentCache target = MessageContentCache.builder().directory(tempDir).build();
+
+        // Do
+        final CachedMessageContent first = put(target, "1", "same");
+        final CachedMessageContent forwarded = put(target, "2", "same");
+
+        // Verify
+        assertThat(forwarded.getPath()).isEqualTo(first.getPath());
+        assertThat(forwarded.getContentHash()).isEqualTo(first.getContentHash());
+        assertThat(target.totalBytes()).isEqualTo(4);
+        try (Stream<Path> files = Files.list(tempDir)) {
+            assertThat(files).containsExactly(first.getPath());
+        }
+
+        assertThat(target.remove("1")).isTrue();
+        assertThat(first.getPath()).hasContent("same");
+        assertThat(target.remove("2")).isTrue();
+        assertThat(first.getPath()).doesNotExist();
+    }
+
+    @Test
+    public void evictLeastFrequentlyUsed() throws Exception {
+        final MessageContentCache target = MessageContentCache.builder()
+                                                              .directory(tempDir)
+                                                              .maxBytes(10)
+                                                              .evictionPolicy(EvictionPolicy.LFU)
+                                                              .build();
+        put(target, "1", "1111");
+        put(target, "2", "2222");
+        target.get("1");
+        target.get("1");
+        target.get("2");
+
+        // Do
+        put(target, "3", "3333");
+
+        // Verify
+        assertThat(target.get("1")).isNotNull();
+        assertThat(target.get("2")).isNull();
+        assertThat(target.get("3")).isNotNull();
+    }
+
+    @Test
+    public void purgeRejectsContentOfUnsentMessage() throws Exception {
+        final MessageContentCache target = MessageContentCache.builder().directory(tempDir).build();
+        final CachedMessageContent content = put(target, "1", "1111");
+
+        // Do
+        assertThat(target.purge("1")).isTrue();
+
+        // Verify
+        assertThat(content.getPath()).doesNotExist();
+        assertThatThrownBy(() -> put(target, "1", "1111"))
+                .isInstanceOf(IllegalStateException.class);
+        try (Stream<Path> files = Files.list(tempDir)) {
+            assertThat(files).isEmpty();
+        }
+    }
+
+    @Test
+    public void mapSurvivesEviction() throws Exception {
+        final MessageContentCache target = MessageContentCache.builder().directory(tempDir).build();
+        put(target, "1", "content");
+
+        // Do
+        final MappedByteBuffer buffer = target.map("1");
+        target.remove("1");
+
+        // Verify
+        final byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        assertThat(new String(bytes, UTF_8)).isEqualTo("content");
+        assertThat(target.map("1")).isNull();
+    }
+
+    private static CachedMessageContent put(MessageContentCache cache, String messageId, String content)
+            throws IOException {
+        final Path file = cache.createTemporaryFile();
+        Files.write(file, content.getBytes(UTF_8));
+        return cache.put(messageId, file, ContentDownloadResult.builder()
+                                                              .length(content.length())
+                                                              .transferredBytes(content.length())
+                                                              .build());
+    }
+}
@@ -0,0 +1,227 @@
+/*
+ * Copyright 2023 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.linecorp.bot.client;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.linecorp.bot.client.exception.NotFoundException;
+import com.linecorp.bot.model.event.MessageEvent;
+import com.linecorp.bot.model.event.UnsendEvent;
+import com.linecorp.bot.model.event.UnsendEvent.UnsendDetail;
+import com.linecorp.bot.model.event.message.ContentProvider;
+import com.linecorp.bot.model.event.message.ImageMessageContent;
+import com.linecorp.bot.model.event.message.TextMessageContent;
+
+@ExtendWith(MockitoExtension.class)
+@Timeout(5)
+public class MessageContentPrefetcherTest {
+    @Mock
+    private LineBlobClient lineBlobClient;
+
+    @TempDir
+    Path tempDir;
+
+    private MessageContentPrefetcher target;
+
+    @BeforeEach
+    public void setUp() {
+        target = newPrefetcher(4);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        target.close();
+    }
+
+    @Test
+    public void prefetchImageMessage() throws Exception {
+        whenDownload("1", "image");
+
+        // Do
+        assertThat(target.prefetch(imageMessageEvent("1", "line"))).isTrue();
+        final CachedMessageContent content = target.getContent("1").get();
+
+        // Verify
+        assertThat(content.getPath()).hasContent("image");
+        assertThat(content.getLength()).isEqualTo(5);
+        assertThat(UTF_8.decode(target.map("1")).toString()).isEqualTo("image");
+        assertThat(target.getContent("1").get()).isEqualTo(content);
+        verify(lineBlobClient, times(1)).getMessageContent(eq("1"), any(Path.class), any());
+    }
+
+    @Test
+    public void skipExternalContentAndTextMessage() {
+        final MessageEvent<TextMessageContent> textMessageEvent =
+                MessageEvent.<TextMessageContent>builder()
+                            .message(TextMessageContent.builder().id("2").text("hello").build())
+                            .build();
+
+        // Do
+        assertThat(target.prefetch(imageMessageEvent("1", "external"))).isFalse();
+        assertThat(target.prefetch(textMessageEvent)).isFalse();
+
+        // Verify
+        verifyNoInteractions(lineBlobClient);
+    }
+
+    @Test
+    public void getContentWithoutPrefetch() throws Exception {
+        whenDownload("1", "video");
+
+        // Do
+        final CachedMessageContent content = target.getContent("1").get();
+
+        // Verify
+        assertThat(content.getPath()).hasContent("video");
+    }
+
+    @Test
+    public void purgeUnsentMessage() throws Exception {
+        whenDownload("1", "image");
+        final CachedMessageContent content = target.getContent("1").get();
+        final UnsendEvent unsendEvent =
+                UnsendEvent.builder()
+                           .unsend(UnsendDetail.builder().messageId("1").build())
+                           .build();
+
+        // Do
+        target.prefetch(unsendEvent);
+
+        // Verify
+        assertThat(content.getPath()).doesNotExist();
+        assertThatThrownBy(() -> target.getContent("1").get())
+                .hasCauseInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    public void failedDownloadIsNotCached() throws Exception {
+        final CompletableFuture<ContentDownloadResult> failure = new CompletableFuture<>();
+        failure.completeExceptionally(new NotFoundException("Not found", null));
+        when(lineBlobClient.getMessageContent(eq("1"), any(Path.class), any()))
+                .thenReturn(failure);
+
+        // Do
+        assertThatThrownBy(() -> target.getContent("1").get())
+                .hasCauseInstanceOf(NotFoundException.class);
+
+        // Verify
+        try (Stream<Path> files = Files.list(tempDir)) {
+            assertThat(files).isEmpty();
+        }
+        assertThatThrownBy(() -> target.getContent("1").get())
+                .hasCauseInstanceOf(NotFoundException.class);
+        verify(lineBlobClient, times(2)).getMessageContent(eq("1"), any(Path.class), any());
+    }
+
+    @Test
+    public void prefetchWaitsForMaxConcurrentDownloads() throws Exception {
+        target.close();
+        target = newPrefetcher(1);
+        final CompletableFuture<ContentDownloadResult> first = new CompletableFuture<>();
+        when(lineBlobClient.getMessageContent(eq("1"), any(Path.class), any())).thenReturn(first);
+        whenDownload("2", "video");
+
+        // Do
+        assertThat(target.prefetch("1")).isTrue();
+        assertThat(target.prefetch("2")).isTrue();
+
+        // Verify
+        verify(lineBlobClient, never()).getMessageContent(eq("2"), any(Path.class), any());
+        first.completeExceptionally(new NotFoundException("Not found", null));
+        assertThat(target.getContent("2").get().getPath()).hasContent("video");
+    }
+
+    @Test
+    public void closeCancelsDownloads() throws Exception {
+        target.close();
+        target = newPrefetcher(1);
+        final CompletableFuture<ContentDownloadResult> call = new CompletableFuture<>();
+        when(lineBlobClient.getMessageContent(eq("1"), any(Path.class), any())).thenReturn(call);
+        target.prefetch("1");
+        target.prefetch("2");
+        final CompletableFuture<CachedMessageContent> downloading = target.getContent("1");
+        final CompletableFuture<CachedMessageContent> queued = target.getContent("2");
+
+        // Do
+        target.close();
+
+        // Verify
+        assertThat(call).isCancelled();
+        assertThat(downloading).isCancelled();
+        assertThat(queued).isCancelled();
+        assertThat(target.prefetch("3")).isFalse();
+        verify(lineBlobClient, never()).getMessageContent(eq("2"), any(Path.class), any());
+        try (Stream<Path> files = Files.list(tempDir)) {
+            assertThat(files).isEmpty();
+        }
+    }
+
+    private MessageContentPrefetcher newPrefetcher(int maxConcurrentDownloads) {
+        return MessageContentPrefetcher
+                .builder()
+                .blobClient(lineBlobClient)
+                .cache(MessageContentCache.builder().directory(tempDir).build())
+                .maxConcurrentDownloads(maxConcurrentDownloads)
+                .build();
+    }
+
+    private void whenDownload(String messageId, String content) {
+        when(lineBlobClient.getMessageContent(eq(messageId), any(Path.class), any()))
+                .thenAnswer(invocation -> {
+                    final byte[] bytes = content.getBytes(UTF_8);
+                    Files.write(invocation.<Path>getArgument(1), bytes);
+                    return completedFuture(ContentDownloadResult.builder()
+                                                                .length(bytes.length)
+                                                                .transferredBytes(bytes.length)
+                                                                .mimeType("image/jpeg")
+                                                                .build());
+                });
+    }
+
+    private static MessageEvent<ImageMessageContent> imageMessageEvent(String messageId, String providerType) {
+        final ImageMessageContent message =
+                ImageMessageContent.builder()
+                                   .id(messageId)
+                                   .contentProvider(ContentProvider.builder().type(providerType).build())
+                                   .build();
+        return MessageEvent.<ImageMessageContent>builder().message(message).build();
+    }
+}
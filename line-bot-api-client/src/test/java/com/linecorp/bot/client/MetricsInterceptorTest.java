@@ -0,0 +1,130 @@
+/*
+ * Copyright 2023 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.linecorp.bot.client;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.InputStream;
+import java.net.URI;
+import java.util.Collections;
+
+import org.junit.jupiter.api.Test;
+
+import com.linecorp.bot.client.exception.NotFoundException;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class MetricsInterceptorTest extends AbstractWiremockTest {
+    private static final String USER_ID = "U0123456789abcdef0123456789abcdef";
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    public void recordsSuccessfulCall() throws Exception {
+        stubFor(get(urlEqualTo("/v2/bot/profile/" + USER_ID))
+                        .willReturn(aResponse()
+                                            .withHeader("Content-Type", "application/json")
+                                            .withBody("{\"userId\":\"" + USER_ID + "\"}")));
+
+        // Do
+        createClient().getProfile(USER_ID).get();
+
+        // Verify
+        final Timer timer = registry.get("line.bot.client.requests")
+                                    .tags("endpoint", "getProfile", "status", "200", "exception", "none")
+                                    .timer();
+        assertThat(timer.count()).isOne();
+        final DistributionSummary requestSize = registry.get("line.bot.client.request.size")
+                                                        .tag("endpoint", "getProfile")
+                                                        .summary();
+        assertThat(requestSize.count()).isOne();
+        assertThat(requestSize.totalAmount()).isZero();
+        assertThat(registry.get("line.bot.client.requests.active").gauge().value()).isZero();
+        assertThat(registry.find("line.bot.client.errors").counter()).isNull();
+    }
+
+    @Test
+    public void recordsErrorStatus() throws Exception {
+        stubFor(get(urlEqualTo("/v2/bot/profile/" + USER_ID))
+                        .willReturn(aResponse().withStatus(404)
+                                               .withHeader("Content-Type", "application/json")
+                                               .withBody("{\"message\":\"Not found\"}")));
+
+        // Do
+        assertThatThrownBy(() -> createClient().getProfile(USER_ID).get())
+                .hasCauseInstanceOf(NotFoundException.class);
+
+        // Verify
+        assertThat(registry.get("line.bot.client.errors")
+                           .tags("endpoint", "getProfile", "status", "404",
+                                 "exception", "NotFoundException")
+                           .counter()
+                           .count()).isOne();
+    }
+
+    @Test
+    public void recordsUntilResponseBodyIsClosed() throws Exception {
+        stubFor(get(urlEqualTo("/v2/bot/message/ID/content"))
+                        .willReturn(aResponse()
+                                            .withHeader("Content-Type", "video/mp4")
+                                            .withBody("hello")));
+        final MetricsInterceptor interceptor = MetricsInterceptor.builder().registry(registry).build();
+        final LineBlobClient client =
+                LineBlobClient.builder("token")
+                              .apiEndPoint(URI.create(wireMockServer.baseUrl()))
+                              .additionalInterceptors(Collections.singletonList(interceptor))
+                              .build();
+
+        // Do
+        final MessageContentResponse response = client.getMessageContent("ID").get();
+
+        // Verify
+        assertThat(registry.get("line.bot.client.requests.active").gauge().value()).isOne();
+        assertThat(registry.find("line.bot.client.requests").timer()).isNull();
+
+        // Do
+        try (InputStream stream = response.getStream()) {
+            assertThat(stream.readAllBytes()).hasSize(5);
+        }
+
+        // Verify
+        assertThat(registry.get("line.bot.client.requests.active").gauge().value()).isZero();
+        assertThat(registry.get("line.bot.client.requests")
+                           .tags("endpoint", "getMessageContent", "status", "200")
+                           .timer()
+                           .count()).isOne();
+        assertThat(registry.get("line.bot.client.response.size")
+                           .tag("endpoint", "getMessageContent")
+                           .summary()
+                           .totalAmount()).isEqualTo(5);
+    }
+
+    private LineMessagingClient createClient() {
+        final MetricsInterceptor interceptor = MetricsInterceptor.builder().registry(registry).build();
+        return LineMessagingClient.builder("token")
+                                  .apiEndPoint(URI.create(wireMockServer.baseUrl()))
+                                  .additionalInterceptors(Collections.singletonList(interceptor))
+                                  .build();
+    }
+}
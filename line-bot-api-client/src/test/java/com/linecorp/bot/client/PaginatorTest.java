@@ -0,0 +1,159 @@
+/*
+ * Copyright 2023 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package com.linecorp.bot.client;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Flow;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import com.linecorp.bot.client.exception.GeneralLineMessagingException;
+import com.linecorp.bot.model.response.GetFollowersResponse;
+
+@Timeout(5)
+public class PaginatorTest {
+    @Test
+    public void streamAllPages() {
+        final Map<String, GetFollowersResponse> pages = new ConcurrentHashMap<>();
+        pages.put("", page(asList("A", "B"), "P2"));
+        pages.put("P2", page(singletonList("C"), "P3"));
+        pages.put("P3", page(asList("D", "E"), null));
+
+        final Paginator<String> target = Paginator.of(
+                next -> completedFuture(pages.get(next == null ? "" : next)),
+                GetFollowersResponse::getUserIds, GetFollowersResponse::getNext, 2);
+
+        // Do
+        final List<String> actual;
+        try (Stream<String> stream = target.stream()) {
+            actual = stream.collect(Collectors.toList());
+        }
+
+        // Verify
+        assertThat(actual).containsExactly("A", "B", "C", "D", "E");
+    }
+
+    @Test
+    public void prefetchUpToMaxBufferedPages() {
+        final List<String> requestedCursors = new CopyOnWriteArrayList<>();
+        final Paginator<String> target = Paginator.of(
+                next -> {
+                    final int index = requestedCursors.size();
+                    requestedCursors.add(String.valueOf(next));
+                    return completedFuture(page(singletonList("ID_" + index), "P" + (index + 1)));
+                },
+                GetFollowersResponse::getUserIds, GetFollowersResponse::getNext, 3);
+
+        // Do
+        final Iterator<String> iterator = target.stream().iterator();
+        final String first = iterator.next();
+
+        // Verify
+        assertThat(first).isEqualTo("ID_0");
+        // The consumed page released its slot, so 3 pages are buffered after it.
+        assertThat(requestedCursors).containsExactly("null", "P1", "P2", "P3");
+    }
+
+    @Test
+    public void streamThrowsOnFailure() {
+        final CompletableFuture<GetFollowersResponse> failed = new CompletableFuture<>();
+        failed.completeExceptionally(new GeneralLineMessagingException("failed", null, null));
+        final Paginator<String> target = Paginator.of(
+                next -> next == null ? completedFuture(page(singletonList("A"), "P2")) : failed,
+                GetFollowersResponse::getUserIds, GetFollowersResponse::getNext, 2);
+
+        // Do
+        final Iterator<String> iterator = target.stream().iterator();
+
+        // Verify
+        assertThat(iterator.next()).isEqualTo("A");
+        assertThatThrownBy(iterator::hasNext)
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(GeneralLineMessagingException.class);
+    }
+
+    @Test
+    public void publishOnDemand() {
+        final List<String> requestedCursors = new CopyOnWriteArrayList<>();
+        final Paginator<String> target = Paginator.of(
+                next -> {
+                    requestedCursors.add(String.valueOf(next));
+                    return completedFuture(next == null ? page(asList("A", "B"), "P2")
+                                                        : page(singletonList("C"), null));
+                },
+                GetFollowersResponse::getUserIds, GetFollowersResponse::getNext, 1);
+        final RecordingSubscriber subscriber = new RecordingSubscriber();
+
+        // Do
+        target.subscribe(subscriber);
+
+        // Verify
+        assertThat(requestedCursors).isEmpty();
+        subscriber.subscription.request(1);
+        assertThat(subscriber.items).containsExactly("A");
+        assertThat(requestedCursors).containsExactly("null");
+        subscriber.subscription.request(10);
+        assertThat(subscriber.items).containsExactly("A", "B", "C");
+        assertThat(subscriber.completed).isTrue();
+    }
+
+    private static GetFollowersResponse page(List<String> userIds, String next) {
+        return GetFollowersResponse.builder().userIds(userIds).next(next).build();
+    }
+
+    private static class RecordingSubscriber implements Flow.Subscriber<String> {
+        final List<String> items = new ArrayList<>();
+        Flow.Subscription subscription;
+        boolean completed;
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(String item) {
+            items.add(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+        }
+    }
+}
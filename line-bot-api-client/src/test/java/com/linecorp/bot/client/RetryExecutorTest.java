@@ -0,0 +1,180 @@
+/*
+ * Copyright 2023 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package com.linecorp.bot.client;
+
+import static java.util.Collections.emptyList;
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import com.linecorp.bot.client.exception.BadRequestException;
+import com.linecorp.bot.client.exception.ConflictException;
+import com.linecorp.bot.client.exception.LineServerException;
+import com.linecorp.bot.client.exception.TooManyRequestsException;
+import com.linecorp.bot.model.error.ErrorResponse;
+import com.linecorp.bot.model.response.BotApiResponse;
+
+@Timeout(5)
+public class RetryExecutorTest {
+    private static final ErrorResponse ERROR_RESPONSE = new ErrorResponse("REQUEST_ID", "error", emptyList());
+    private static final BotApiResponse SUCCESS = new BotApiResponse("REQUEST_ID", "", emptyList());
+    private static final RetryPolicy POLICY = RetryPolicy.builder()
+                                                         .initialBackoff(Duration.ofMillis(1))
+                                                         .jitter(0)
+                                                         .build();
+
+    @Test
+    public void retryUntilSuccess() {
+        final RetryExecutor target = newExecutor(RetryBudget.createDefault());
+        final AtomicInteger attempts = new AtomicInteger();
+
+        // Do
+        final BotApiResponse response = target.execute(() -> {
+            if (attempts.incrementAndGet() < 3) {
+                return failed(new TooManyRequestsException("429", ERROR_RESPONSE));
+            }
+            return completedFuture(SUCCESS);
+        }).join();
+
+        // Verify
+        assertThat(response).isEqualTo(SUCCESS);
+        assertThat(attempts).hasValue(3);
+    }
+
+    @Test
+    public void giveUpAfterMaxRetries() {
+        final RetryExecutor target = newExecutor(RetryBudget.createDefault());
+        final AtomicInteger attempts = new AtomicInteger();
+
+        // Do
+        final CompletableFuture<BotApiResponse> future = target.execute(() -> {
+            attempts.incrementAndGet();
+            return failed(new LineServerException("500", ERROR_RESPONSE));
+        });
+
+        // Verify
+        assertThatThrownBy(future::join).hasCauseInstanceOf(LineServerException.class);
+        assertThat(attempts).hasValue(POLICY.getMaxRetries() + 1);
+    }
+
+    @Test
+    public void notRetryClientError() {
+        final RetryExecutor target = newExecutor(RetryBudget.createDefault());
+        final AtomicInteger attempts = new AtomicInteger();
+
+        // Do
+        final CompletableFuture<BotApiResponse> future = target.execute(() -> {
+            attempts.incrementAndGet();
+            return failed(new BadRequestException("400", ERROR_RESPONSE));
+        });
+
+        // Verify
+        assertThatThrownBy(future::join).hasCauseInstanceOf(BadRequestException.class);
+        assertThat(attempts).hasValue(1);
+    }
+
+    @Test
+    public void conflictIsSuccess() {
+        final RetryExecutor target = newExecutor(RetryBudget.createDefault());
+
+        // Do
+        final BotApiResponse response = target.execute(
+                () -> failed(new ConflictException(() -> ERROR_RESPONSE, true, "ACCEPTED_REQUEST_ID"))).join();
+
+        // Verify
+        assertThat(response.getRequestId()).isEqualTo("ACCEPTED_REQUEST_ID");
+    }
+
+    @Test
+    public void conflictWithoutAcceptedRequestId() {
+        final RetryExecutor target = newExecutor(RetryBudget.createDefault());
+
+        // Do
+        final BotApiResponse response =
+                target.execute(() -> failed(new ConflictException("409", ERROR_RESPONSE))).join();
+
+        // Verify
+        assertThat(response.getRequestId()).isNull();
+    }
+
+    @Test
+    public void attemptThrowingOnRetry() {
+        final RetryExecutor target = newExecutor(RetryBudget.createDefault());
+        final AtomicInteger attempts = new AtomicInteger();
+
+        // Do
+        final CompletableFuture<BotApiResponse> future = target.execute(() -> {
+            if (attempts.incrementAndGet() > 1) {
+                throw new IllegalStateException("closed");
+            }
+            return failed(new LineServerException("500", ERROR_RESPONSE));
+        });
+
+        // Verify
+        assertThatThrownBy(future::join).hasCauseInstanceOf(IllegalStateException.class);
+        assertThat(attempts).hasValue(2);
+    }
+
+    @Test
+    public void cancelInFlightAttempt() {
+        final RetryExecutor target = newExecutor(RetryBudget.createDefault());
+        final CompletableFuture<BotApiResponse> inFlight = new CompletableFuture<>();
+
+        // Do
+        target.execute(() -> inFlight).cancel(false);
+
+        // Verify
+        assertThat(inFlight).isCancelled();
+    }
+
+    @Test
+    public void retryBudgetExhausted() {
+        final RetryBudget budget = RetryBudget.create(2, 0.1);
+        final RetryExecutor target = newExecutor(budget);
+        final AtomicInteger attempts = new AtomicInteger();
+
+        // Do
+        final CompletableFuture<BotApiResponse> future = target.execute(() -> {
+            attempts.incrementAndGet();
+            return failed(new TooManyRequestsException("429", ERROR_RESPONSE));
+        });
+
+        // Verify
+        assertThatThrownBy(future::join).hasCauseInstanceOf(TooManyRequestsException.class);
+        assertThat(attempts).hasValue(1);
+        assertThat(budget.availableTokens()).isEqualTo(1.0);
+    }
+
+    private static RetryExecutor newExecutor(RetryBudget budget) {
+        return new RetryExecutor(POLICY, budget, LineClientScheduler.shared());
+    }
+
+    private static CompletableFuture<BotApiResponse> failed(Exception e) {
+        final CompletableFuture<BotApiResponse> future = new CompletableFuture<>();
+        future.completeExceptionally(new CompletionException(e));
+        return future;
+    }
+}
@@ -29,10 +29,10 @@ import static org.mockito.Mockito.when;
 import java.io.IOException;
 import java.util.UUID;
 
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.Timeout;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.stubbing.OngoingStubbing;
@@ -65,9 +65,16 @@ public class RetryableLineMessagingClientImplTest {
     @Mock
     private LineMessagingService retrofitMock;
 
-    @InjectMocks
     private RetryableLineMessagingClientImpl target;
 
+    @BeforeEach
+    public void setUp() {
+        target = new RetryableLineMessagingClientImpl(
+                retrofitMock,
+                new RetryExecutor(RetryPolicy.DEFAULT, RetryBudget.createDefault(),
+                                  LineClientScheduler.shared()));
+    }
+
     @Test
     public void pushMessageTest() throws Exception {
         UUID retryKey = UUID.randomUUID();
@@ -0,0 +1,153 @@
+/*
+ * Copyright 2023 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package com.linecorp.bot.client;
+
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.linecorp.bot.model.oauth.IssueChannelAccessTokenResponse;
+
+@ExtendWith(MockitoExtension.class)
+@Timeout(5)
+public class StatelessChannelTokenSupplierTest {
+    @Mock
+    private LineOAuthClient oAuthClient;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void suppliersShareOneToken() {
+        when(oAuthClient.issueStatelessChannelToken("SHARED", "SECRET"))
+                .thenReturn(completedFuture(response("TOKEN", 900)));
+
+        // Do
+        final StatelessChannelTokenSupplier first = newSupplier("SHARED", ChannelTokenStore.inMemory());
+        assertThat(first.get()).isEqualTo("TOKEN");
+        final StatelessChannelTokenSupplier second = newSupplier("SHARED", ChannelTokenStore.inMemory());
+
+        // Verify
+        assertThat(second.get()).isEqualTo("TOKEN");
+        verify(oAuthClient, times(1)).issueStatelessChannelToken("SHARED", "SECRET");
+        first.close();
+        second.close();
+    }
+
+    @Test
+    public void fetchNextTokenBeforeExpiry() {
+        when(oAuthClient.issueStatelessChannelToken("REFRESH", "SECRET"))
+                .thenReturn(completedFuture(response("FIRST", 1)),
+                            completedFuture(response("SECOND", 900)));
+
+        // Do
+        final StatelessChannelTokenSupplier target =
+                StatelessChannelTokenSupplier.builder()
+                                             .oAuthClient(oAuthClient)
+                                             .channelId("REFRESH")
+                                             .channelSecret("SECRET")
+                                             .store(ChannelTokenStore.file(tempDir))
+                                             .refreshMargin(Duration.ofMillis(500))
+                                             .build();
+
+        // Verify
+        assertThat(target.get()).isEqualTo("FIRST");
+        verify(oAuthClient, timeout(2000).times(2)).issueStatelessChannelToken("REFRESH", "SECRET");
+        assertThat(target.get()).isEqualTo("SECOND");
+        target.close();
+    }
+
+    @Test
+    public void serveExpiredTokenWhileRefreshing() {
+        final CompletableFuture<IssueChannelAccessTokenResponse> next = new CompletableFuture<>();
+        when(oAuthClient.issueStatelessChannelToken("STALE", "SECRET"))
+                .thenReturn(completedFuture(response("EXPIRED", 0)), next);
+
+        // Do
+        final StatelessChannelTokenSupplier target = newSupplier("STALE", ChannelTokenStore.inMemory());
+
+        // Verify
+        assertThat(target.get()).isEqualTo("EXPIRED");
+        assertThat(target.get()).isEqualTo("EXPIRED");
+        verify(oAuthClient, times(2)).issueStatelessChannelToken("STALE", "SECRET");
+        next.complete(response("NEXT", 900));
+        assertThat(target.get()).isEqualTo("NEXT");
+        target.close();
+    }
+
+    @Test
+    public void useTokenStoredByAnotherNode() {
+        final ChannelTokenStore store = ChannelTokenStore.file(tempDir);
+        final StoredChannelToken stored = new StoredChannelToken("STORED", Instant.now().plusSeconds(900));
+        assertThat(store.compareAndSet("NODE", null, stored)).isTrue();
+
+        // Do
+        final StatelessChannelTokenSupplier target = newSupplier("NODE", store);
+
+        // Verify
+        assertThat(target.get()).isEqualTo("STORED");
+        verify(oAuthClient, never()).issueStatelessChannelToken("NODE", "SECRET");
+        target.close();
+    }
+
+    @Test
+    public void fileStoreCompareAndSet() {
+        final ChannelTokenStore store = ChannelTokenStore.file(tempDir);
+        final StoredChannelToken first = new StoredChannelToken("FIRST", Instant.ofEpochMilli(1000));
+        final StoredChannelToken second = new StoredChannelToken("SECOND", Instant.ofEpochMilli(2000));
+
+        // Verify
+        assertThat(store.load("CAS")).isNull();
+        assertThat(store.compareAndSet("CAS", null, first)).isTrue();
+        assertThat(store.compareAndSet("CAS", null, second)).isFalse();
+        assertThat(store.compareAndSet("CAS", first, second)).isTrue();
+        assertThat(store.load("CAS")).isEqualTo(second);
+    }
+
+    private StatelessChannelTokenSupplier newSupplier(String channelId, ChannelTokenStore store) {
+        return StatelessChannelTokenSupplier.builder()
+                                            .oAuthClient(oAuthClient)
+                                            .channelId(channelId)
+                                            .channelSecret("SECRET")
+                                            .store(store)
+                                            .build();
+    }
+
+    private static IssueChannelAccessTokenResponse response(String token, int expiresInSecs) {
+        return IssueChannelAccessTokenResponse.builder()
+                                              .accessToken(token)
+                                              .expiresInSecs(expiresInSecs)
+                                              .build();
+    }
+}
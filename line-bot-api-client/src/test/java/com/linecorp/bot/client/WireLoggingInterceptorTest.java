@@ -0,0 +1,181 @@
+/*
+ * Copyright 2023 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package com.linecorp.bot.client;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.post;
+import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.URI;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import com.linecorp.bot.model.oauth.IssueChannelAccessTokenRequest;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+
+public class WireLoggingInterceptorTest extends AbstractWiremockTest {
+    private static final String LOGGER_NAME = "com.linecorp.bot.client.wire.test";
+    private static final String USER_ID = "U0123456789abcdef0123456789abcdef";
+
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+    private Logger logger;
+
+    @BeforeEach
+    public void setUpAppender() {
+        logger = (Logger) LoggerFactory.getLogger(LOGGER_NAME);
+        logger.setLevel(Level.INFO);
+        logger.addAppender(appender);
+        appender.start();
+
+        stubFor(get(urlEqualTo("/v2/bot/profile/" + USER_ID))
+                        .willReturn(aResponse()
+                                            .withHeader("Content-Type", "application/json")
+                                            .withBody("{\"userId\":\"" + USER_ID + "\"}")));
+    }
+
+    @AfterEach
+    public void tearDownAppender() {
+        logger.detachAppender(appender);
+    }
+
+    @Test
+    public void redactsAuthorizationAndUserIds() throws Exception {
+        // Do
+        createClient(WireLoggingInterceptor.builder().loggerName(LOGGER_NAME).build())
+                .getProfile(USER_ID).get();
+
+        // Verify
+        final String logs = String.join("\n", messages());
+        assertThat(logs)
+                .contains("Authorization: <redacted>")
+                .contains("{\"userId\":\"<redacted>\"}")
+                .doesNotContain("Bearer token")
+                .doesNotContain(USER_ID);
+    }
+
+    @Test
+    public void redactsCredentialsOfOAuth() throws Exception {
+        stubFor(post(urlEqualTo("/v2/oauth/accessToken"))
+                        .willReturn(aResponse()
+                                            .withHeader("Content-Type", "application/json")
+                                            .withBody("{\"access_token\":\"issuedToken\","
+                                                      + "\"expires_in\":2592000,\"token_type\":\"Bearer\"}")));
+
+        // Do
+        LineOAuthClient.builder()
+                       .apiEndPoint(URI.create(wireMockServer.baseUrl()))
+                       .wireLoggingInterceptor(WireLoggingInterceptor.builder().loggerName(LOGGER_NAME).build())
+                       .build()
+                       .issueChannelToken(IssueChannelAccessTokenRequest.builder()
+                                                                        .clientId("clientId")
+                                                                        .clientSecret("clientSecret")
+                                                                        .build())
+                       .get();
+
+        // Verify
+        final String logs = String.join("\n", messages());
+        assertThat(logs)
+                .contains("client_id=clientId&client_secret=<redacted>")
+                .contains("{\"access_token\":\"<redacted>\",\"expires_in\":2592000")
+                .doesNotContain("clientSecret")
+                .doesNotContain("issuedToken");
+    }
+
+    @Test
+    public void bodyIsNotUsedAsFormat() throws Exception {
+        stubFor(get(urlEqualTo("/v2/bot/profile/" + USER_ID))
+                        .willReturn(aResponse()
+                                            .withHeader("Content-Type", "application/json")
+                                            .withBody("{\"displayName\":\"{}\"}")));
+
+        // Do
+        createClient(WireLoggingInterceptor.builder().loggerName(LOGGER_NAME).build())
+                .getProfile(USER_ID).get();
+
+        // Verify
+        assertThat(appender.list)
+                .anyMatch(event -> "{}".equals(event.getMessage())
+                                   && "{\"displayName\":\"{}\"}".equals(event.getFormattedMessage()));
+    }
+
+    @Test
+    public void headersLevelOmitsBody() throws Exception {
+        // Do
+        createClient(WireLoggingInterceptor.builder()
+                                           .loggerName(LOGGER_NAME)
+                                           .level(WireLoggingInterceptor.Level.HEADERS)
+                                           .redactUserIds(false)
+                                           .build())
+                .getProfile(USER_ID).get();
+
+        // Verify
+        assertThat(messages())
+                .anyMatch(message -> message.contains(USER_ID))
+                .noneMatch(message -> message.contains("{\"userId\""));
+    }
+
+    @Test
+    public void doNothingWhenLoggerIsDisabled() throws Exception {
+        logger.setLevel(Level.OFF);
+
+        // Do
+        createClient(WireLoggingInterceptor.builder().loggerName(LOGGER_NAME).build())
+                .getProfile(USER_ID).get();
+
+        // Verify
+        assertThat(messages()).isEmpty();
+    }
+
+    @Test
+    public void samplingRatePerEndpoint() throws Exception {
+        // Do
+        createClient(WireLoggingInterceptor.builder()
+                                           .loggerName(LOGGER_NAME)
+                                           .samplingRate("getProfile", 0.0)
+                                           .build())
+                .getProfile(USER_ID).get();
+
+        // Verify
+        assertThat(messages()).isEmpty();
+    }
+
+    private LineMessagingClient createClient(WireLoggingInterceptor interceptor) {
+        return LineMessagingClient.builder("token")
+                                  .apiEndPoint(URI.create(wireMockServer.baseUrl()))
+                                  .wireLoggingInterceptor(interceptor)
+                                  .build();
+    }
+
+    private List<String> messages() {
+        return appender.list.stream()
+                            .map(ILoggingEvent::getFormattedMessage)
+                            .collect(Collectors.toList());
+    }
+}
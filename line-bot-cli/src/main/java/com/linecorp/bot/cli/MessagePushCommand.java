@@ -21,6 +21,8 @@ import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
 
 import com.linecorp.bot.cli.arguments.PayloadProvider;
+import com.linecorp.bot.client.BulkOptions;
+import com.linecorp.bot.client.BulkResult;
 import com.linecorp.bot.client.LineMessagingClient;
 import com.linecorp.bot.model.Multicast;
 import com.linecorp.bot.model.PushMessage;
@@ -42,23 +44,34 @@ public class MessagePushCommand implements CliCommand {
     public void execute() throws Exception {
         // Actually this command always use multicast command to support multiple targets.
         final Multicast multicast = payloadProvider.read(Multicast.class);
-        final BotApiResponse botApiResponse;
-
         if (multicast.getTo().size() == 1) {
             // Send using pushMessage
             final String userId = multicast.getTo().iterator().next();
             final PushMessage pushMessage = new PushMessage(userId, multicast.getMessages());
-            botApiResponse = lineMessagingClient.pushMessage(pushMessage).get();
-        } else {
-            // Send using multicast
-            if (multicast.getMessages().stream().anyMatch(message -> message instanceof FlexMessage)) {
-                log.warn("multicast FlexMessage is not supported as of 2018/07. "
-                         + "If you got exception. Try with single `to`.");
-            }
+            final BotApiResponse botApiResponse = lineMessagingClient.pushMessage(pushMessage).get();
+            log.info("Successfully finished: {}", botApiResponse);
+            return;
+        }
 
-            botApiResponse = lineMessagingClient.multicast(multicast).get();
+        // Send using multicast, split into chunks of the maximum number of recipients.
+        if (multicast.getMessages().stream().anyMatch(message -> message instanceof FlexMessage)) {
+            log.warn("multicast FlexMessage is not supported as of 2018/07. "
+                     + "If you got exception. Try with single `to`.");
+        }
+
+        final BulkResult bulkResult =
+                lineMessagingClient.multicastAll(multicast.getTo().iterator(), multicast, BulkOptions.DEFAULT)
+                                   .get();
+        for (BulkResult.FailedChunk failedChunk : bulkResult.getFailedChunks()) {
+            log.error("Failed to send to {} users: {}",
+                      failedChunk.getUserIds().size(), failedChunk.getUserIds(), failedChunk.getCause());
+        }
+        if (!bulkResult.isAllSucceeded()) {
+            throw new IllegalStateException(
+                    bulkResult.getFailedChunks().size() + " of " + bulkResult.getChunkCount()
+                    + " multicasts failed.");
         }
 
-        log.info("Successfully finished: {}", botApiResponse);
+        log.info("Successfully finished: {}", bulkResult);
     }
 }
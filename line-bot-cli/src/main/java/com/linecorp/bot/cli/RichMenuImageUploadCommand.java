@@ -23,7 +23,11 @@ import java.io.IOException;
 import java.net.FileNameMap;
 import java.net.URLConnection;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Stream;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
@@ -32,6 +36,8 @@ import org.springframework.stereotype.Component;
 import com.google.common.annotations.VisibleForTesting;
 
 import com.linecorp.bot.cli.arguments.Arguments;
+import com.linecorp.bot.client.BulkOptions;
+import com.linecorp.bot.client.BulkUploadResult;
 import com.linecorp.bot.client.LineBlobClient;
 import com.linecorp.bot.model.response.BotApiResponse;
 
@@ -50,19 +56,53 @@ public class RichMenuImageUploadCommand implements CliCommand {
 
     @Override
     public void execute() throws IOException {
-        final String richMenuId = checkNotNull(arguments.getRichMenuId(), "--rich-menu-id= is not set.");
         final String image = checkNotNull(arguments.getImage(), "--image= is not set.");
+        final Path imagePath = Paths.get(image);
+        if (Files.isDirectory(imagePath)) {
+            uploadAll(imagePath);
+            return;
+        }
+
+        final String richMenuId = checkNotNull(arguments.getRichMenuId(), "--rich-menu-id= is not set.");
         final String contentType = checkNotNull(resolveContentTypeForFileName(image),
                                                 "Can't assume Content-Type");
         log.info("Content-Type: {}", contentType);
 
-        byte[] bytes = Files.readAllBytes(Paths.get(image));
         final BotApiResponse botApiResponse =
-                getUnchecked(lineBlobClient.setRichMenuImage(richMenuId, contentType, bytes));
+                getUnchecked(lineBlobClient.setRichMenuImage(richMenuId, contentType, imagePath));
 
         log.info("Request Successfully finished. {}", botApiResponse);
     }
 
+    /**
+     * Uploads all images in the directory, taking the rich menu ID from each file name,
+     * e.g. {@code richmenu-00e97da3ae27b54bd603cf42b9fc7672.png}.
+     */
+    private void uploadAll(final Path directory) throws IOException {
+        final Map<String, Path> images = new LinkedHashMap<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.filter(file -> resolveContentTypeForFileName(file.getFileName().toString()) != null)
+                 .sorted()
+                 .forEach(file -> images.put(richMenuIdOf(file), file));
+        }
+        log.info("Uploading {} images in {}", images.size(), directory);
+
+        final BulkUploadResult result =
+                getUnchecked(lineBlobClient.setRichMenuImages(images, BulkOptions.DEFAULT));
+
+        result.getFailures().forEach((richMenuId, cause) -> {
+            log.error("Failed to upload {}: {}", images.get(richMenuId), cause.toString());
+        });
+        log.info("Uploaded {} of {} images.", result.getSucceededCount(), images.size());
+    }
+
+    @VisibleForTesting
+    static String richMenuIdOf(final Path image) {
+        final String fileName = image.getFileName().toString();
+        final int dot = fileName.lastIndexOf('.');
+        return dot < 0 ? fileName : fileName.substring(0, dot);
+    }
+
     @VisibleForTesting
     static String resolveContentTypeForFileName(final String fileName) {
         return FILE_NAME_MAP.getContentTypeFor(fileName);
@@ -18,6 +18,7 @@ package com.linecorp.bot.cli;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.nio.file.Paths;
 import java.util.function.Function;
 
 import org.junit.jupiter.api.Test;
@@ -35,4 +36,12 @@ public class RichMenuImageUploadCommandTest {
         assertThat(target.apply("image.jpg")).isEqualTo("image/jpeg");
         assertThat(target.apply("image.jpeg")).isEqualTo("image/jpeg");
     }
+
+    @Test
+    public void richMenuIdOfTest() {
+        assertThat(RichMenuImageUploadCommand.richMenuIdOf(Paths.get("dir", "richmenu-0123.png")))
+                .isEqualTo("richmenu-0123");
+        assertThat(RichMenuImageUploadCommand.richMenuIdOf(Paths.get("richmenu-0123")))
+                .isEqualTo("richmenu-0123");
+    }
 }
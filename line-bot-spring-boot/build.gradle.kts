@@ -23,11 +23,15 @@ dependencies {
     implementation(project(":line-bot-parser"))
     implementation("org.springframework.boot:spring-boot-autoconfigure")
     implementation("org.springframework.boot:spring-boot-starter-web")
+    implementation("com.squareup.okhttp3:okhttp")
     implementation(libs.guava)
 
     compileOnly("jakarta.validation:jakarta.validation-api")
+    // Optional. MetricsInterceptor is configured when Micrometer is on the classpath.
+    compileOnly("io.micrometer:micrometer-core")
 
     testImplementation(libs.system.lambda)
+    testImplementation("io.micrometer:micrometer-core")
     testImplementation(libs.wiremock)
     testImplementation("org.hibernate.validator:hibernate-validator")
     testImplementation("org.springframework.boot:spring-boot-starter-test") // MockHttpServletRequest
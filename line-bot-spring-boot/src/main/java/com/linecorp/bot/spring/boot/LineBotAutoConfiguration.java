@@ -16,27 +16,50 @@
 
 package com.linecorp.bot.spring.boot;
 
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.AutoConfigureAfter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
 
+import com.linecorp.bot.client.CallTimingMetrics;
+import com.linecorp.bot.client.CallTimingRecorder;
 import com.linecorp.bot.client.ChannelManagementSyncClient;
 import com.linecorp.bot.client.ChannelTokenSupplier;
 import com.linecorp.bot.client.FixedChannelTokenSupplier;
 import com.linecorp.bot.client.LineBlobClient;
+import com.linecorp.bot.client.LineClientTransport;
 import com.linecorp.bot.client.LineMessagingClient;
 import com.linecorp.bot.client.ManageAudienceBlobClient;
 import com.linecorp.bot.client.ManageAudienceClient;
+import com.linecorp.bot.client.MessageContentCache;
+import com.linecorp.bot.client.MessageContentPrefetcher;
+import com.linecorp.bot.client.MetricsInterceptor;
+import com.linecorp.bot.client.WireLoggingInterceptor;
+import com.linecorp.bot.spring.boot.LineBotProperties.Metrics;
+import com.linecorp.bot.spring.boot.LineBotProperties.Prefetch;
+import com.linecorp.bot.spring.boot.LineBotProperties.Transport;
+import com.linecorp.bot.spring.boot.LineBotProperties.WireLogging;
 import com.linecorp.bot.spring.boot.support.LineMessageHandlerSupport;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import okhttp3.Interceptor;
+
 /**
  * Also refers {@link LineBotWebMvcBeans} for web only beans definition.
  */
 @Configuration
-@AutoConfigureAfter(LineBotWebMvcConfigurer.class)
+@AutoConfigureAfter(
+        value = LineBotWebMvcConfigurer.class,
+        name = "org.springframework.boot.actuate.autoconfigure.metrics.CompositeMeterRegistryAutoConfiguration")
 @EnableConfigurationProperties(LineBotProperties.class)
 @Import(LineMessageHandlerSupport.class)
 public class LineBotAutoConfiguration {
@@ -57,17 +80,60 @@ public class LineBotAutoConfiguration {
         return FixedChannelTokenSupplier.of(channelToken);
     }
 
+    /**
+     * Expose {@link LineClientTransport} shared by all API clients as {@link Bean}.
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public LineClientTransport lineClientTransport() {
+        final Transport transport = lineBotProperties.getTransport();
+        return LineClientTransport
+                .builder()
+                .maxIdleConnections(transport.getMaxIdleConnections())
+                .keepAliveDuration(transport.getKeepAliveDuration())
+                .maxRequests(transport.getMaxRequests())
+                .maxRequestsPerHost(transport.getMaxRequestsPerHost())
+                .http2(transport.isHttp2())
+                .build();
+    }
+
+    /**
+     * Expose {@link WireLoggingInterceptor} shared by all API clients as {@link Bean}.
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public WireLoggingInterceptor wireLoggingInterceptor() {
+        final WireLogging wireLogging = lineBotProperties.getWireLogging();
+        return WireLoggingInterceptor
+                .builder()
+                .level(wireLogging.getLevel())
+                .samplingRate(wireLogging.getSamplingRate())
+                .samplingRates(wireLogging.getSamplingRates())
+                .maxBodyBytes(wireLogging.getMaxBodyBytes())
+                .redactAuthorization(wireLogging.isRedactAuthorization())
+                .redactUserIds(wireLogging.isRedactUserIds())
+                .build();
+    }
+
     /**
      * Expose {@link LineMessagingClient} as {@link Bean}.
      */
     @Bean
     @ConditionalOnMissingBean
     public LineMessagingClient lineMessagingClient(
-            final ChannelTokenSupplier channelTokenSupplier) {
+            final ChannelTokenSupplier channelTokenSupplier,
+            final LineClientTransport lineClientTransport,
+            final WireLoggingInterceptor wireLoggingInterceptor,
+            final ObjectProvider<MetricsInterceptor> metricsInterceptor,
+            final ObjectProvider<CallTimingRecorder> callTimingRecorder) {
         return LineMessagingClient
                 .builder(channelTokenSupplier)
                 .apiEndPoint(lineBotProperties.getApiEndPoint())
                 .blobEndPoint(lineBotProperties.getBlobEndPoint())
+                .transport(lineClientTransport)
+                .wireLoggingInterceptor(wireLoggingInterceptor)
+                .additionalInterceptors(additionalInterceptors(metricsInterceptor))
+                .eventListenerFactory(callTimingRecorder.getIfAvailable())
                 .connectTimeout(lineBotProperties.getConnectTimeout())
                 .readTimeout(lineBotProperties.getReadTimeout())
                 .writeTimeout(lineBotProperties.getWriteTimeout())
@@ -80,24 +146,75 @@ public class LineBotAutoConfiguration {
     @Bean
     @ConditionalOnMissingBean
     public LineBlobClient lineBlobClient(
-            final ChannelTokenSupplier channelTokenSupplier) {
+            final ChannelTokenSupplier channelTokenSupplier,
+            final LineClientTransport lineClientTransport,
+            final WireLoggingInterceptor wireLoggingInterceptor,
+            final ObjectProvider<MetricsInterceptor> metricsInterceptor,
+            final ObjectProvider<CallTimingRecorder> callTimingRecorder) {
         return LineBlobClient
                 .builder(channelTokenSupplier)
                 .apiEndPoint(lineBotProperties.getBlobEndPoint())
+                .transport(lineClientTransport)
+                .wireLoggingInterceptor(wireLoggingInterceptor)
+                .additionalInterceptors(additionalInterceptors(metricsInterceptor))
+                .eventListenerFactory(callTimingRecorder.getIfAvailable())
                 .connectTimeout(lineBotProperties.getConnectTimeout())
                 .readTimeout(lineBotProperties.getReadTimeout())
                 .writeTimeout(lineBotProperties.getWriteTimeout())
                 .build();
     }
 
+    /**
+     * Expose {@link CallTimingRecorder} logging timings as {@link Bean} when
+     * {@code line.bot.call-timing.enabled} is set and timings are not recorded as metrics.
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(name = "line.bot.call-timing.enabled", havingValue = "true")
+    public CallTimingRecorder callTimingRecorder() {
+        return CallTimingRecorder.builder().build();
+    }
+
+    /**
+     * Expose {@link MessageContentPrefetcher} as {@link Bean} when {@code line.bot.prefetch.enabled} is set.
+     */
+    @Bean(destroyMethod = "close")
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(name = "line.bot.prefetch.enabled", havingValue = "true")
+    public MessageContentPrefetcher messageContentPrefetcher(final LineBlobClient lineBlobClient) {
+        final Prefetch prefetch = lineBotProperties.getPrefetch();
+        final MessageContentCache cache = MessageContentCache
+                .builder()
+                .directory(prefetch.getDirectory())
+                .maxBytes(prefetch.getMaxCacheBytes())
+                .evictionPolicy(prefetch.getEvictionPolicy())
+                .build();
+        return MessageContentPrefetcher
+                .builder()
+                .blobClient(lineBlobClient)
+                .cache(cache)
+                .maxConcurrentDownloads(prefetch.getMaxConcurrentDownloads())
+                .maxQueuedDownloads(prefetch.getMaxQueuedDownloads())
+                .build();
+    }
+
     /**
      * Expose {@link ChannelManagementSyncClient} as {@link Bean}.
      */
     @Bean
     @ConditionalOnMissingBean
     public ChannelManagementSyncClient channelManagementClient(
-            final ChannelTokenSupplier channelTokenSupplier) {
+            final ChannelTokenSupplier channelTokenSupplier,
+            final LineClientTransport lineClientTransport,
+            final WireLoggingInterceptor wireLoggingInterceptor,
+            final ObjectProvider<MetricsInterceptor> metricsInterceptor,
+            final ObjectProvider<CallTimingRecorder> callTimingRecorder) {
         return ChannelManagementSyncClient.builder(channelTokenSupplier)
+                                          .apiEndPoint(lineBotProperties.getApiEndPoint())
+                                          .transport(lineClientTransport)
+                                          .wireLoggingInterceptor(wireLoggingInterceptor)
+                                          .additionalInterceptors(additionalInterceptors(metricsInterceptor))
+                                          .eventListenerFactory(callTimingRecorder.getIfAvailable())
                                           .build();
     }
 
@@ -107,11 +224,19 @@ public class LineBotAutoConfiguration {
     @Bean
     @ConditionalOnMissingBean
     public ManageAudienceBlobClient manageAudienceBlobClient(
-            final ChannelTokenSupplier channelTokenSupplier) {
+            final ChannelTokenSupplier channelTokenSupplier,
+            final LineClientTransport lineClientTransport,
+            final WireLoggingInterceptor wireLoggingInterceptor,
+            final ObjectProvider<MetricsInterceptor> metricsInterceptor,
+            final ObjectProvider<CallTimingRecorder> callTimingRecorder) {
         return ManageAudienceBlobClient
                 .builder()
                 .channelTokenSupplier(channelTokenSupplier)
                 .apiEndPoint(lineBotProperties.getBlobEndPoint())
+                .transport(lineClientTransport)
+                .wireLoggingInterceptor(wireLoggingInterceptor)
+                .additionalInterceptors(additionalInterceptors(metricsInterceptor))
+                .eventListenerFactory(callTimingRecorder.getIfAvailable())
                 .connectTimeout(lineBotProperties.getConnectTimeout())
                 .readTimeout(lineBotProperties.getReadTimeout())
                 .writeTimeout(lineBotProperties.getWriteTimeout())
@@ -124,14 +249,68 @@ public class LineBotAutoConfiguration {
     @Bean
     @ConditionalOnMissingBean
     public ManageAudienceClient manageAudienceClient(
-            final ChannelTokenSupplier channelTokenSupplier) {
+            final ChannelTokenSupplier channelTokenSupplier,
+            final LineClientTransport lineClientTransport,
+            final WireLoggingInterceptor wireLoggingInterceptor,
+            final ObjectProvider<MetricsInterceptor> metricsInterceptor,
+            final ObjectProvider<CallTimingRecorder> callTimingRecorder) {
         return ManageAudienceClient
                 .builder()
                 .channelTokenSupplier(channelTokenSupplier)
                 .apiEndPoint(lineBotProperties.getApiEndPoint())
+                .transport(lineClientTransport)
+                .wireLoggingInterceptor(wireLoggingInterceptor)
+                .additionalInterceptors(additionalInterceptors(metricsInterceptor))
+                .eventListenerFactory(callTimingRecorder.getIfAvailable())
                 .connectTimeout(lineBotProperties.getConnectTimeout())
                 .readTimeout(lineBotProperties.getReadTimeout())
                 .writeTimeout(lineBotProperties.getWriteTimeout())
                 .build();
     }
+
+    private static List<Interceptor> additionalInterceptors(
+            final ObjectProvider<MetricsInterceptor> metricsInterceptor) {
+        final List<Interceptor> interceptors = new ArrayList<>();
+        metricsInterceptor.ifAvailable(interceptors::add);
+        return interceptors;
+    }
+
+    /**
+     * Expose {@link MetricsInterceptor} as {@link Bean} when Micrometer {@link MeterRegistry} is available,
+     * and {@link CallTimingRecorder} recording to it when {@code line.bot.call-timing.enabled} is set.
+     * Disabled with {@code line.bot.metrics.enabled=false}.
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(MeterRegistry.class)
+    @ConditionalOnBean(MeterRegistry.class)
+    @ConditionalOnProperty(name = "line.bot.metrics.enabled", havingValue = "true", matchIfMissing = true)
+    static class MetricsConfiguration {
+        @Bean
+        @ConditionalOnMissingBean
+        public MetricsInterceptor lineBotMetricsInterceptor(final MeterRegistry meterRegistry,
+                                                            final LineBotProperties lineBotProperties) {
+            final Metrics metrics = lineBotProperties.getMetrics();
+            return MetricsInterceptor
+                    .builder()
+                    .registry(meterRegistry)
+                    .prefix(metrics.getPrefix())
+                    .percentileHistogram(metrics.isPercentileHistogram())
+                    .build();
+        }
+
+        @Bean
+        @ConditionalOnMissingBean
+        @ConditionalOnProperty(name = "line.bot.call-timing.enabled", havingValue = "true")
+        public CallTimingRecorder lineBotCallTimingRecorder(final MeterRegistry meterRegistry,
+                                                            final LineBotProperties lineBotProperties) {
+            final Metrics metrics = lineBotProperties.getMetrics();
+            final CallTimingMetrics callTimingMetrics = CallTimingMetrics
+                    .builder()
+                    .registry(meterRegistry)
+                    .prefix(metrics.getPrefix() + ".http")
+                    .percentileHistogram(metrics.isPercentileHistogram())
+                    .build();
+            return CallTimingRecorder.builder().consumer(callTimingMetrics).build();
+        }
+    }
 }
@@ -17,6 +17,10 @@
 package com.linecorp.bot.spring.boot;
 
 import java.net.URI;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Map;
 
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
@@ -25,6 +29,8 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.validation.annotation.Validated;
 
 import com.linecorp.bot.client.LineClientConstants;
+import com.linecorp.bot.client.MessageContentCache;
+import com.linecorp.bot.client.WireLoggingInterceptor;
 import com.linecorp.bot.spring.boot.BotPropertiesValidator.ValidBotProperties;
 import com.linecorp.bot.spring.boot.annotation.EventMapping;
 import com.linecorp.bot.spring.boot.annotation.LineMessageHandler;
@@ -74,11 +80,36 @@ public class LineBotProperties {
      */
     private @Valid @NotNull long writeTimeout = LineClientConstants.DEFAULT_WRITE_TIMEOUT_MILLIS;
 
+    /**
+     * HTTP transport shared by all API clients.
+     */
+    private @Valid @NotNull Transport transport = new Transport();
+
+    /**
+     * Configuration of HTTP wire logging.
+     */
+    private @Valid @NotNull WireLogging wireLogging = new WireLogging();
+
     /**
      * Configuration for {@link LineMessageHandler} and {@link EventMapping}.
      */
     private @Valid @NotNull Handler handler = new Handler();
 
+    /**
+     * Configuration of prefetching content of media messages.
+     */
+    private @Valid @NotNull Prefetch prefetch = new Prefetch();
+
+    /**
+     * Configuration of Micrometer metrics of API calls.
+     */
+    private @Valid @NotNull Metrics metrics = new Metrics();
+
+    /**
+     * Configuration of measuring phases of HTTP calls.
+     */
+    private @Valid @NotNull CallTiming callTiming = new CallTiming();
+
     @Data
     public static class Handler {
         /**
@@ -95,6 +126,149 @@ public class LineBotProperties {
         URI path = URI.create("/callback");
     }
 
+    @Data
+    public static class Transport {
+        /**
+         * Maximum number of idle connections kept in the shared connection pool.
+         */
+        int maxIdleConnections = LineClientConstants.DEFAULT_MAX_IDLE_CONNECTIONS;
+
+        /**
+         * Keep-alive duration of idle connections in milliseconds.
+         */
+        long keepAliveDuration = LineClientConstants.DEFAULT_KEEP_ALIVE_DURATION_MILLIS;
+
+        /**
+         * Maximum number of concurrent requests of the shared dispatcher.
+         */
+        int maxRequests = LineClientConstants.DEFAULT_MAX_REQUESTS;
+
+        /**
+         * Maximum number of concurrent requests for each host of the shared dispatcher. The limit is shared
+         * by all clients calling the same host.
+         *
+         * <p>Default: same as {@link #maxRequests}
+         */
+        int maxRequestsPerHost = LineClientConstants.DEFAULT_MAX_REQUESTS_PER_HOST;
+
+        /**
+         * Prefer HTTP/2 when the server supports it.
+         *
+         * <p>Default: {@code true}
+         */
+        boolean http2 = true;
+    }
+
+    @Data
+    public static class WireLogging {
+        /**
+         * Log level of HTTP requests and responses.
+         *
+         * <p>Logs are written only when {@value WireLoggingInterceptor#DEFAULT_LOGGER_NAME} logger is enabled.
+         */
+        @NotNull
+        WireLoggingInterceptor.Level level = WireLoggingInterceptor.Level.BODY;
+
+        /**
+         * Sampling rate between 0.0 and 1.0 of endpoints not listed in {@link #samplingRates}.
+         */
+        double samplingRate = 1.0;
+
+        /**
+         * Sampling rates for each endpoint, keyed by the API method name such as {@code pushMessage}.
+         */
+        @NotNull
+        Map<String, Double> samplingRates = new HashMap<>();
+
+        /**
+         * Maximum bytes of each request or response body to log.
+         */
+        long maxBodyBytes = 32 * 1024;
+
+        /**
+         * Mask the value of Authorization header, i.e. the channel access token, and the channel secrets,
+         * client assertions and tokens sent to or returned from the OAuth endpoints.
+         */
+        boolean redactAuthorization = true;
+
+        /**
+         * Mask user IDs in logged URLs and bodies.
+         */
+        boolean redactUserIds = true;
+    }
+
+    @Data
+    public static class Prefetch {
+        /**
+         * Download content of image, video, audio and file messages before dispatching webhook events.
+         * Handlers get the content from {@link com.linecorp.bot.client.MessageContentPrefetcher}.
+         *
+         * <p>Default: {@code false}
+         */
+        boolean enabled;
+
+        /**
+         * Directory to cache downloaded content in.
+         */
+        @NotNull
+        Path directory = Paths.get(System.getProperty("java.io.tmpdir"), "line-bot-content");
+
+        /**
+         * Maximum total size of cached content in bytes.
+         */
+        long maxCacheBytes = 256L * 1024 * 1024;
+
+        /**
+         * Policy to choose cached content to evict when the cache is full.
+         */
+        @NotNull
+        MessageContentCache.EvictionPolicy evictionPolicy = MessageContentCache.EvictionPolicy.LRU;
+
+        /**
+         * Number of prefetches downloading content at a time.
+         */
+        int maxConcurrentDownloads = 4;
+
+        /**
+         * Number of prefetches waiting to start. Prefetches beyond this are skipped.
+         */
+        int maxQueuedDownloads = 256;
+    }
+
+    @Data
+    public static class Metrics {
+        /**
+         * Record metrics of API calls when a {@code MeterRegistry} bean exists.
+         *
+         * <p>Default: {@code true}
+         */
+        boolean enabled = true;
+
+        /**
+         * Prefix of meter names.
+         */
+        @NotNull
+        String prefix = "line.bot.client";
+
+        /**
+         * Publish histogram buckets of latencies and body sizes to compute percentiles.
+         */
+        boolean percentileHistogram = true;
+    }
+
+    @Data
+    public static class CallTiming {
+        /**
+         * Measure DNS lookup, connect, TLS handshake, time to first byte and body transfer of API calls,
+         * and the connection reuse ratio. Recorded as metrics when Micrometer metrics are enabled,
+         * otherwise logged to {@value com.linecorp.bot.client.CallTimingRecorder#DEFAULT_LOGGER_NAME}
+         * logger at DEBUG level.
+         *
+         * <p>Default: {@code false}
+         */
+        boolean enabled;
+    }
+
     public enum ChannelTokenSupplyMode {
         /**
          * Use fixed channel token for public API user.
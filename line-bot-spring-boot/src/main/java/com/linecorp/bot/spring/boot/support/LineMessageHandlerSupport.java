@@ -29,6 +29,7 @@ import java.util.Objects;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.ConfigurableApplicationContext;
@@ -42,6 +43,7 @@ import org.springframework.web.bind.annotation.RestController;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
 
+import com.linecorp.bot.client.MessageContentPrefetcher;
 import com.linecorp.bot.model.event.Event;
 import com.linecorp.bot.model.event.MessageEvent;
 import com.linecorp.bot.model.event.ReplyEvent;
@@ -80,14 +82,21 @@ public class LineMessageHandlerSupport {
     private final ReplyByReturnValueConsumer.Factory returnValueConsumerFactory;
     private final ConfigurableApplicationContext applicationContext;
 
+    /**
+     * Downloads media content of incoming events while they are dispatched. {@code null} if disabled.
+     */
+    private final MessageContentPrefetcher messageContentPrefetcher;
+
     volatile List<HandlerMethod> eventConsumerList;
 
     @Autowired
     public LineMessageHandlerSupport(
             final ReplyByReturnValueConsumer.Factory returnValueConsumerFactory,
-            final ConfigurableApplicationContext applicationContext) {
+            final ConfigurableApplicationContext applicationContext,
+            final ObjectProvider<MessageContentPrefetcher> messageContentPrefetcher) {
         this.returnValueConsumerFactory = returnValueConsumerFactory;
         this.applicationContext = applicationContext;
+        this.messageContentPrefetcher = messageContentPrefetcher.getIfAvailable();
 
         applicationContext.addApplicationListener(event -> {
             if (event instanceof ContextRefreshedEvent) {
@@ -202,6 +211,10 @@ public class LineMessageHandlerSupport {
 
     @PostMapping("${line.bot.handler.path:/callback}")
     public void callback(@LineBotDestination String destination, @LineBotMessages List<Event> events) {
+        if (messageContentPrefetcher != null) {
+            // Start all downloads first so that they overlap with dispatching.
+            events.forEach(messageContentPrefetcher::prefetch);
+        }
         events.forEach(event -> {
             this.dispatch(destination, event);
         });
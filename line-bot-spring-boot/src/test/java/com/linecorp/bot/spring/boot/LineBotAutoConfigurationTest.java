@@ -0,0 +1,165 @@
+/*
+ * Copyright 2023 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package com.linecorp.bot.spring.boot;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+
+import com.linecorp.bot.client.CallTimingRecorder;
+import com.linecorp.bot.client.ChannelManagementSyncClient;
+import com.linecorp.bot.client.LineClientTransport;
+import com.linecorp.bot.client.MessageContentPrefetcher;
+import com.linecorp.bot.client.MetricsInterceptor;
+import com.linecorp.bot.client.WireLoggingInterceptor;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class LineBotAutoConfigurationTest {
+    private static WireMockServer server;
+
+    private final ApplicationContextRunner contextRunner =
+            new ApplicationContextRunner()
+                    .withConfiguration(AutoConfigurations.of(LineBotAutoConfiguration.class))
+                    .withPropertyValues("line.bot.channel-token=TOKEN",
+                                        "line.bot.channel-secret=SECRET",
+                                        "line.bot.handler.enabled=false");
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeAll
+    public static void beforeAll() {
+        server = new WireMockServer(wireMockConfig().dynamicPort());
+        server.start();
+    }
+
+    @AfterAll
+    public static void afterAll() {
+        server.stop();
+    }
+
+    @Test
+    public void transportFromProperties() {
+        contextRunner
+                .withPropertyValues("line.bot.transport.max-requests=32",
+                                    "line.bot.transport.max-requests-per-host=16")
+                .run(context -> {
+                    final LineClientTransport transport = context.getBean(LineClientTransport.class);
+                    assertThat(transport.dispatcher().getMaxRequests()).isEqualTo(32);
+                    assertThat(transport.dispatcher().getMaxRequestsPerHost()).isEqualTo(16);
+                });
+    }
+
+    @Test
+    public void wireLoggingFromProperties() {
+        contextRunner
+                .withPropertyValues("line.bot.wire-logging.level=HEADERS",
+                                    "line.bot.wire-logging.sampling-rate=0.5",
+                                    "line.bot.wire-logging.redact-authorization=false",
+                                    "line.bot.wire-logging.redact-user-ids=false")
+                .run(context -> {
+                    assertThat(context.getBean(WireLoggingInterceptor.class).toString())
+                            .contains("level=HEADERS", "samplingRate=0.5", "redactAuthorization=false",
+                                      "redactUserIds=false");
+                });
+    }
+
+    @Test
+    public void prefetcherIsDisabledByDefault() {
+        contextRunner.run(context -> assertThat(context).doesNotHaveBean(MessageContentPrefetcher.class));
+    }
+
+    @Test
+    public void prefetcherEnabled() {
+        contextRunner
+                .withPropertyValues("line.bot.prefetch.enabled=true",
+                                    "line.bot.prefetch.directory=" + tempDir)
+                .run(context -> assertThat(context).hasSingleBean(MessageContentPrefetcher.class));
+    }
+
+    @Test
+    public void metricsAreDisabledWithoutMeterRegistry() {
+        contextRunner
+                .withPropertyValues("line.bot.call-timing.enabled=true")
+                .run(context -> {
+                    assertThat(context).doesNotHaveBean(MetricsInterceptor.class);
+                    assertThat(context).hasSingleBean(CallTimingRecorder.class);
+                    assertThat(context).hasBean("callTimingRecorder");
+                });
+    }
+
+    @Test
+    public void metricsWithMeterRegistry() {
+        contextRunner
+                .withBean(MeterRegistry.class, SimpleMeterRegistry::new)
+                .withPropertyValues("line.bot.call-timing.enabled=true")
+                .run(context -> {
+                    assertThat(context).hasSingleBean(MetricsInterceptor.class);
+                    assertThat(context).hasSingleBean(CallTimingRecorder.class);
+                    assertThat(context).hasBean("lineBotCallTimingRecorder");
+                });
+    }
+
+    @Test
+    public void metricsDisabledByProperty() {
+        contextRunner
+                .withBean(MeterRegistry.class, SimpleMeterRegistry::new)
+                .withPropertyValues("line.bot.metrics.enabled=false")
+                .run(context -> {
+                    assertThat(context).doesNotHaveBean(MetricsInterceptor.class);
+                    assertThat(context).doesNotHaveBean(CallTimingRecorder.class);
+                });
+    }
+
+    @Test
+    public void channelManagementClientIsInstrumented() {
+        server.stubFor(get(urlEqualTo("/liff/v1/apps"))
+                               .willReturn(aResponse().withHeader("Content-Type", "application/json")
+                                                      .withBody("{\"apps\":[]}")));
+
+        contextRunner
+                .withBean(MeterRegistry.class, SimpleMeterRegistry::new)
+                .withPropertyValues("line.bot.api-end-point=" + server.baseUrl())
+                .run(context -> {
+                    // Do
+                    context.getBean(ChannelManagementSyncClient.class).getAllLiffApps();
+
+                    // Verify
+                    assertThat(context.getBean(MeterRegistry.class)
+                                      .get("line.bot.client.requests")
+                                      .tag("endpoint", "getAllLiffApps")
+                                      .timer()
+                                      .count()).isOne();
+                });
+    }
+}
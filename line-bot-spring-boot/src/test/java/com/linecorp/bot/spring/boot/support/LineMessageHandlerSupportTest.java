@@ -16,9 +16,12 @@
 
 package com.linecorp.bot.spring.boot.support;
 
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
 import static java.util.Collections.singletonMap;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -31,10 +34,12 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.ConfigurableApplicationContext;
 
 import com.google.common.collect.ImmutableMap;
 
+import com.linecorp.bot.client.MessageContentPrefetcher;
 import com.linecorp.bot.model.event.Event;
 import com.linecorp.bot.model.event.MessageEvent;
 import com.linecorp.bot.model.event.ReplyEvent;
@@ -59,9 +64,28 @@ public class LineMessageHandlerSupportTest {
     @Mock
     private ReplyByReturnValueConsumer replyByReturnValueConsumer;
 
+    @Mock
+    private ObjectProvider<MessageContentPrefetcher> messageContentPrefetcher;
+
     @InjectMocks
     private LineMessageHandlerSupport target;
 
+    @Test
+    public void prefetchContentBeforeDispatching() {
+        final MessageContentPrefetcher prefetcher = mock(MessageContentPrefetcher.class);
+        when(messageContentPrefetcher.getIfAvailable()).thenReturn(prefetcher);
+        final LineMessageHandlerSupport support = new LineMessageHandlerSupport(
+                replyByReturnValueConsumerFactory, applicationContext, messageContentPrefetcher);
+        support.eventConsumerList = emptyList();
+        final MessageEvent<TextMessageContent> event = EventTestUtil.createTextMessage("text");
+
+        // Do
+        support.callback("destination", singletonList(event));
+
+        // Verify
+        verify(prefetcher).prefetch(event);
+    }
+
     @Test
     public void testRefreshForOneItem() throws Exception {
         when(applicationContext.getBeansWithAnnotation(LineMessageHandler.class))
@@ -16,8 +16,8 @@
 
 package com.linecorp.bot.messagingapidemoapp.controller;
 
-import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
@@ -125,18 +125,13 @@ public class ManageAudienceController {
             @RequestParam(required = false) String uploadDescription,
             @RequestParam MultipartFile file
     ) throws IOException {
-        File convFile = File.createTempFile("temp", ".dat");
-        convFile.deleteOnExit();
-        file.transferTo(convFile);
-
+        // Stream the uploaded file directly without copying it to a temporary file.
+        final InputStream inputStream = file.getInputStream();
         return blobClient.createAudienceForUploadingUserIds(
-                description, isIfaAudience, uploadDescription, convFile
+                description, isIfaAudience, uploadDescription, inputStream
         ).thenApply(
-                response -> new RedirectView("/manage_audience/" + response.getAudienceGroupId())
-        ).whenComplete((a, b) -> {
-            boolean deleted = convFile.delete();
-            log.info("Deleted temporary file: {}", deleted);
-        });
+                result -> new RedirectView("/manage_audience/" + result.getAudienceGroupId())
+        ).whenComplete((a, b) -> closeQuietly(inputStream));
     }
 
     @GetMapping("/manage_audience/update_description/{audienceGroupId}")
@@ -249,18 +244,22 @@ public class ManageAudienceController {
             @PathVariable Long audienceGroupId,
             @RequestParam(required = false) String uploadDescription,
             @RequestParam MultipartFile file) throws IOException {
-        File convFile = File.createTempFile("temp", ".dat");
-        convFile.deleteOnExit();
-        file.transferTo(convFile);
-
-        return blobClient.addUserIdsToAudience(
-                audienceGroupId, uploadDescription, convFile
-        ).thenApply(
+        final InputStream inputStream = file.getInputStream();
+        return client.getAudienceData(audienceGroupId).thenCompose(response -> {
+            final boolean isIfaAudience = Boolean.TRUE.equals(response.getAudienceGroup().getIsIfaAudience());
+            return blobClient.addUserIdsToAudience(
+                    audienceGroupId, uploadDescription, isIfaAudience, inputStream);
+        }).thenApply(
                 it -> new RedirectView("/manage_audience/" + audienceGroupId)
-        ).whenComplete((a, b) -> {
-            boolean deleted = convFile.delete();
-            log.info("Deleted temporary file: {}", deleted);
-        });
+        ).whenComplete((a, b) -> closeQuietly(inputStream));
+    }
+
+    private static void closeQuietly(InputStream inputStream) {
+        try {
+            inputStream.close();
+        } catch (IOException e) {
+            log.warn("Failed to close the uploaded file.", e);
+        }
     }
 }
 
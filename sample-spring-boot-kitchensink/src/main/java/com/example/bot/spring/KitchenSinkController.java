@@ -19,10 +19,8 @@ package com.example.bot.spring;
 import static java.util.Collections.singletonList;
 
 import java.io.IOException;
-import java.io.OutputStream;
 import java.io.UncheckedIOException;
 import java.net.URI;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -31,17 +29,14 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.ExecutionException;
-import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
-import com.google.common.io.ByteStreams;
-
+import com.linecorp.bot.client.ContentDownloadResult;
 import com.linecorp.bot.client.LineBlobClient;
 import com.linecorp.bot.client.LineMessagingClient;
-import com.linecorp.bot.client.MessageContentResponse;
 import com.linecorp.bot.model.ReplyMessage;
 import com.linecorp.bot.model.action.DatetimePickerAction;
 import com.linecorp.bot.model.action.MessageAction;
@@ -137,45 +132,35 @@ public class KitchenSinkController {
     @EventMapping
     public void handleImageMessageEvent(MessageEvent<ImageMessageContent> event) throws IOException {
         // You need to install ImageMagick
-        handleHeavyContent(
-                event.getReplyToken(),
-                event.getMessage().getId(),
-                responseBody -> {
-                    final ContentProvider provider = event.getMessage().getContentProvider();
-                    final DownloadedContent jpg;
-                    final DownloadedContent previewImg;
-                    if (provider.isExternal()) {
-                        jpg = new DownloadedContent(null, provider.getOriginalContentUrl());
-                        previewImg = new DownloadedContent(null, provider.getPreviewImageUrl());
-                    } else {
-                        jpg = saveContent("jpg", responseBody);
-                        previewImg = createTempFile("jpg");
-                        system(
-                                "convert",
-                                "-resize", "240x",
-                                jpg.path.toString(),
-                                previewImg.path.toString());
-                    }
-                    reply(event.getReplyToken(),
-                          new ImageMessage(jpg.getUri(), previewImg.getUri()));
-                });
+        final ContentProvider provider = event.getMessage().getContentProvider();
+        final DownloadedContent jpg;
+        final DownloadedContent previewImg;
+        if (provider.isExternal()) {
+            jpg = new DownloadedContent(null, provider.getOriginalContentUrl());
+            previewImg = new DownloadedContent(null, provider.getPreviewImageUrl());
+        } else {
+            jpg = saveContent(event.getReplyToken(), event.getMessage().getId(), "jpg");
+            previewImg = createTempFile("jpg");
+            system(
+                    "convert",
+                    "-resize", "240x",
+                    jpg.path.toString(),
+                    previewImg.path.toString());
+        }
+        reply(event.getReplyToken(),
+              new ImageMessage(jpg.getUri(), previewImg.getUri()));
     }
 
     @EventMapping
     public void handleAudioMessageEvent(MessageEvent<AudioMessageContent> event) throws IOException {
-        handleHeavyContent(
-                event.getReplyToken(),
-                event.getMessage().getId(),
-                responseBody -> {
-                    final ContentProvider provider = event.getMessage().getContentProvider();
-                    final DownloadedContent mp4;
-                    if (provider.isExternal()) {
-                        mp4 = new DownloadedContent(null, provider.getOriginalContentUrl());
-                    } else {
-                        mp4 = saveContent("mp4", responseBody);
-                    }
-                    reply(event.getReplyToken(), new AudioMessage(mp4.getUri(), 100L));
-                });
+        final ContentProvider provider = event.getMessage().getContentProvider();
+        final DownloadedContent mp4;
+        if (provider.isExternal()) {
+            mp4 = new DownloadedContent(null, provider.getOriginalContentUrl());
+        } else {
+            mp4 = saveContent(event.getReplyToken(), event.getMessage().getId(), "mp4");
+        }
+        reply(event.getReplyToken(), new AudioMessage(mp4.getUri(), 100L));
     }
 
     @EventMapping
@@ -183,32 +168,27 @@ public class KitchenSinkController {
         log.info("Got video message: duration={}ms", event.getMessage().getDuration());
 
         // You need to install ffmpeg and ImageMagick.
-        handleHeavyContent(
-                event.getReplyToken(),
-                event.getMessage().getId(),
-                responseBody -> {
-                    final ContentProvider provider = event.getMessage().getContentProvider();
-                    final DownloadedContent mp4;
-                    final DownloadedContent previewImg;
-                    if (provider.isExternal()) {
-                        mp4 = new DownloadedContent(null, provider.getOriginalContentUrl());
-                        previewImg = new DownloadedContent(null, provider.getPreviewImageUrl());
-                    } else {
-                        mp4 = saveContent("mp4", responseBody);
-                        previewImg = createTempFile("jpg");
-                        system("convert",
-                               mp4.path + "[0]",
-                               previewImg.path.toString());
-                    }
-                    String trackingId = UUID.randomUUID().toString();
-                    log.info("Sending video message with trackingId={}", trackingId);
-                    reply(event.getReplyToken(),
-                          VideoMessage.builder()
-                                      .originalContentUrl(mp4.getUri())
-                                      .previewImageUrl(previewImg.uri)
-                                      .trackingId(trackingId)
-                                      .build());
-                });
+        final ContentProvider provider = event.getMessage().getContentProvider();
+        final DownloadedContent mp4;
+        final DownloadedContent previewImg;
+        if (provider.isExternal()) {
+            mp4 = new DownloadedContent(null, provider.getOriginalContentUrl());
+            previewImg = new DownloadedContent(null, provider.getPreviewImageUrl());
+        } else {
+            mp4 = saveContent(event.getReplyToken(), event.getMessage().getId(), "mp4");
+            previewImg = createTempFile("jpg");
+            system("convert",
+                   mp4.path + "[0]",
+                   previewImg.path.toString());
+        }
+        String trackingId = UUID.randomUUID().toString();
+        log.info("Sending video message with trackingId={}", trackingId);
+        reply(event.getReplyToken(),
+              VideoMessage.builder()
+                          .originalContentUrl(mp4.getUri())
+                          .previewImageUrl(previewImg.uri)
+                          .trackingId(trackingId)
+                          .build());
     }
 
     @EventMapping
@@ -318,19 +298,6 @@ public class KitchenSinkController {
         this.reply(replyToken, new TextMessage(message));
     }
 
-    private void handleHeavyContent(String replyToken, String messageId,
-                                    Consumer<MessageContentResponse> messageConsumer) {
-        final MessageContentResponse response;
-        try {
-            response = lineBlobClient.getMessageContent(messageId)
-                                     .get();
-        } catch (InterruptedException | ExecutionException e) {
-            reply(replyToken, new TextMessage("Cannot get image: " + e.getMessage()));
-            throw new RuntimeException(e);
-        }
-        messageConsumer.accept(response);
-    }
-
     private void handleSticker(String replyToken, StickerMessageContent content) {
         reply(replyToken, new StickerMessage(
                 content.getPackageId(), content.getStickerId())
@@ -666,16 +633,17 @@ public class KitchenSinkController {
         }
     }
 
-    private static DownloadedContent saveContent(String ext, MessageContentResponse responseBody) {
-        log.info("Got content-type: {}", responseBody);
-
-        DownloadedContent tempFile = createTempFile(ext);
-        try (OutputStream outputStream = Files.newOutputStream(tempFile.path)) {
-            ByteStreams.copy(responseBody.getStream(), outputStream);
-            log.info("Saved {}: {}", ext, tempFile);
+    private DownloadedContent saveContent(String replyToken, String messageId, String ext) {
+        final DownloadedContent tempFile = createTempFile(ext);
+        try {
+            // The content is written straight into the file, without going through the heap.
+            final ContentDownloadResult result = lineBlobClient.getMessageContent(messageId, tempFile.path)
+                                                               .get();
+            log.info("Saved {}: {} ({})", ext, tempFile, result);
             return tempFile;
-        } catch (IOException e) {
-            throw new UncheckedIOException(e);
+        } catch (InterruptedException | ExecutionException e) {
+            reply(replyToken, new TextMessage("Cannot get content: " + e.getMessage()));
+            throw new RuntimeException(e);
         }
     }
 